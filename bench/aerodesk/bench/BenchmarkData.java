@@ -0,0 +1,207 @@
+package aerodesk.bench;
+
+import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic benchmark fixtures for AeroDesk Pro
+ * Generates flights, Aviation Stack JSON and CSV lines, and provides an
+ * in-process ResultSet stand-in so DAO mapping runs without MySQL.
+ */
+public final class BenchmarkData {
+    
+    private static final String[] AIRPORTS = {
+        "CMB", "DXB", "SIN", "LHR", "JFK", "LAX", "HKG", "SYD", "FRA", "DEL", "BKK", "KUL", "DOH", "CDG", "NRT", "MLE"
+    };
+    private static final String[] AIRLINES = {"UL", "EK", "SQ", "BA", "AA", "QR", "CX", "LH"};
+    private static final String[] AIRCRAFT = {"A320", "A330", "A350", "B737", "B777", "B787"};
+    private static final String[] FIRST_NAMES = {
+        "Amal", "Nimal", "Kasun", "Dilani", "Chamari", "Ruwan", "Fatima", "Mohamed", "Priya", "Ravi",
+        "John", "Sarah", "Olivia", "Liam", "Emma", "Lucas", "José", "Zoë", "Yuki", "Ahmed"
+    };
+    private static final String[] LAST_NAMES = {
+        "Perera", "Fernando", "Silva", "Jayasuriya", "Wijesinghe", "Bandara", "Dissanayake", "Gunawardena",
+        "Herath", "Kumara", "Smith", "Khan", "Patel", "Müller", "Rossi", "Tanaka", "Nguyen", "Garcia"
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * Generates flights spread over a number of days starting today
+     * @param count Number of flights
+     * @param days Number of days to spread departures over
+     * @param seed Random seed
+     * @return Generated flights with IDs 1..count
+     */
+    public static List<Flight> flights(int count, int days, long seed) {
+        Random random = new Random(seed);
+        Flight.FlightStatus[] statuses = Flight.FlightStatus.values();
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        List<Flight> flights = new ArrayList<>(count);
+        
+        for (int i = 1; i <= count; i++) {
+            String origin = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            String destination = AIRPORTS[random.nextInt(AIRPORTS.length)];
+            LocalDateTime depart = start.plusMinutes(random.nextInt(days * 24 * 60));
+            Flight flight = new Flight(
+                AIRLINES[random.nextInt(AIRLINES.length)] + (100 + i),
+                origin,
+                destination,
+                depart,
+                depart.plusMinutes(60 + random.nextInt(600)),
+                AIRCRAFT[random.nextInt(AIRCRAFT.length)]
+            );
+            flight.setFlightId(i);
+            flight.setStatus(statuses[random.nextInt(statuses.length)]);
+            flight.setCreatedAt(start);
+            flight.setUpdatedAt(start);
+            flights.add(flight);
+        }
+        return flights;
+    }
+    
+    /**
+     * Generates bookings with names made of a common first name, a random
+     * syllable and a common surname, so surnames repeat like real passenger lists
+     * @param count Number of bookings
+     * @param seed Random seed
+     * @return Generated bookings with IDs 1..count and references BK0000001..
+     */
+    public static List<Booking> bookings(int count, long seed) {
+        Random random = new Random(seed);
+        List<Booking> bookings = new ArrayList<>(count);
+        
+        for (int i = 1; i <= count; i++) {
+            String syllable = "" + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+            Booking booking = new Booking(
+                1 + random.nextInt(1000),
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + syllable,
+                i % 3 == 0 ? null : String.format("N%08d", random.nextInt(100000000)),
+                null,
+                String.format("BK%07d", i)
+            );
+            booking.setBookingId(i);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+    
+    /**
+     * Builds a flights table row as the MySQL driver would return it
+     * @param flight The flight
+     * @return Column label to value
+     */
+    public static Map<String, Object> flightRow(Flight flight) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", flight.getFlightId());
+        row.put("flight_number", flight.getFlightNo());
+        row.put("origin", flight.getOrigin());
+        row.put("destination", flight.getDestination());
+        row.put("departure_time", Timestamp.valueOf(flight.getDepartTime()));
+        row.put("arrival_time", Timestamp.valueOf(flight.getArriveTime()));
+        row.put("aircraft_type", flight.getAircraftType());
+        row.put("status", flight.getStatus().name());
+        row.put("created_at", Timestamp.valueOf(flight.getCreatedAt()));
+        row.put("updated_at", Timestamp.valueOf(flight.getUpdatedAt()));
+        return row;
+    }
+    
+    /**
+     * Creates a forward-only ResultSet over in-memory rows. Only next(), getInt(),
+     * getLong(), getString(), getTimestamp(), getObject() (by label), wasNull() and
+     * close() are supported; an unknown column raises SQLException like the driver.
+     * @param rows Rows to return
+     * @return ResultSet stand-in
+     */
+    public static ResultSet resultSet(List<Map<String, Object>> rows) {
+        int[] cursor = {-1};
+        boolean[] lastNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(BenchmarkData.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        return ++cursor[0] < rows.size();
+                    case "beforeFirst":
+                        cursor[0] = -1;
+                        return null;
+                    case "close":
+                        return null;
+                    case "wasNull":
+                        return lastNull[0];
+                    case "getInt":
+                    case "getLong":
+                    case "getString":
+                    case "getTimestamp":
+                    case "getObject":
+                        Map<String, Object> row = rows.get(cursor[0]);
+                        String label = (String) args[0];
+                        if (!row.containsKey(label)) {
+                            throw new SQLException("Column '" + label + "' not found.");
+                        }
+                        Object value = row.get(label);
+                        lastNull[0] = value == null;
+                        if (method.getName().equals("getInt")) {
+                            return value == null ? 0 : ((Number) value).intValue();
+                        }
+                        if (method.getName().equals("getLong")) {
+                            return value == null ? 0L : ((Number) value).longValue();
+                        }
+                        if (method.getName().equals("getString")) {
+                            return value == null ? null : value.toString();
+                        }
+                        return value;
+                    default:
+                        throw new UnsupportedOperationException("ResultSet." + method.getName());
+                }
+            });
+    }
+    
+    /**
+     * Builds an Aviation Stack /flights response for one flight
+     * @param flightNumber The IATA flight number
+     * @return JSON text
+     */
+    public static String aviationStackFlightJson(String flightNumber) {
+        return "{\"pagination\":{\"limit\":1,\"offset\":0,\"count\":1,\"total\":1},\"data\":[{"
+            + "\"flight_date\":\"2025-07-19\",\"flight_status\":\"active\","
+            + "\"departure\":{\"airport\":\"Bandaranaike International\",\"timezone\":\"Asia/Colombo\",\"iata\":\"CMB\","
+            + "\"icao\":\"VCBI\",\"terminal\":\"1\",\"gate\":\"12\",\"delay\":15,"
+            + "\"scheduled\":\"2025-07-19T08:00:00+00:00\",\"estimated\":\"2025-07-19T08:15:00+00:00\"},"
+            + "\"arrival\":{\"airport\":\"Dubai\",\"timezone\":\"Asia/Dubai\",\"iata\":\"DXB\",\"icao\":\"OMDB\","
+            + "\"terminal\":\"3\",\"gate\":\"B7\",\"scheduled\":\"2025-07-19T11:10:00+00:00\"},"
+            + "\"airline\":{\"name\":\"SriLankan Airlines\",\"iata\":\"UL\",\"icao\":\"ALK\"},"
+            + "\"flight\":{\"number\":\"225\",\"iata\":\"" + flightNumber + "\",\"icao\":\"ALK225\"},"
+            + "\"aircraft\":{\"registration\":\"4R-ALN\",\"iata\":\"A333\",\"icao\":\"A333\",\"type\":\"A330-300\"},"
+            + "\"live\":{\"updated\":\"2025-07-19T09:00:00+00:00\",\"latitude\":12.5,\"longitude\":68.2,"
+            + "\"altitude\":11277,\"direction\":295,\"speed_horizontal\":870.4,\"speed_vertical\":0,"
+            + "\"is_ground\":false}}]}";
+    }
+    
+    /**
+     * Builds CSV lines in the FlightSchedulingFrame export format
+     * @param flights Flights to export
+     * @return CSV lines without header
+     */
+    public static List<String> csvLines(List<Flight> flights) {
+        List<String> lines = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            lines.add("\"" + flight.getFlightNo() + "\",\"" + flight.getOrigin() + "\",\"" + flight.getDestination()
+                + "\",\"" + flight.getDepartTime() + "\",\"" + flight.getArriveTime() + "\",\""
+                + flight.getAircraftType() + "\",\"" + flight.getStatus() + "\"");
+        }
+        return lines;
+    }
+}
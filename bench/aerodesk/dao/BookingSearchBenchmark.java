@@ -0,0 +1,67 @@
+package aerodesk.dao;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.exception.DatabaseException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks BookingSearchIndex lookups over a seeded index
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BookingSearchBenchmark {
+    
+    @Param({"100000", "2000000"})
+    public int bookings;
+    
+    private BookingSearchIndex index;
+    
+    @Setup
+    public void setUp() {
+        RepositoryFixture.seedBookings(BenchmarkData.bookings(bookings, 42));
+        index = BookingSearchIndex.getInstance();
+    }
+    
+    @Benchmark
+    public List<Integer> surname() throws DatabaseException {
+        return index.search("gunawardena", 50);
+    }
+    
+    @Benchmark
+    public List<Integer> fullName() throws DatabaseException {
+        return index.search("Dilani Perera", 50);
+    }
+    
+    @Benchmark
+    public List<Integer> typo() throws DatabaseException {
+        return index.search("Dilnai Jayasuirya", 50);
+    }
+    
+    @Benchmark
+    public List<Integer> reference() throws DatabaseException {
+        return index.search("BK0054321", 50);
+    }
+    
+    @Benchmark
+    public List<Integer> shortPrefix() throws DatabaseException {
+        return index.search("ch", 50);
+    }
+}
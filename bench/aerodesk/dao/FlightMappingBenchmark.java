@@ -0,0 +1,65 @@
+package aerodesk.dao;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.model.Flight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks FlightDAO row mapping against an in-process ResultSet stand-in
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightMappingBenchmark {
+    
+    @Param({"100", "1000"})
+    public int rows;
+    
+    private FlightDAO flightDAO;
+    private List<Map<String, Object>> rowData;
+    private ResultSet resultSet;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        flightDAO = new FlightDAO();
+        rowData = new ArrayList<>(rows);
+        for (Flight flight : BenchmarkData.flights(rows, 7, 42)) {
+            rowData.add(BenchmarkData.flightRow(flight));
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void openResultSet() {
+        resultSet = BenchmarkData.resultSet(rowData);
+    }
+    
+    @Benchmark
+    public void mapResultSet(Blackhole blackhole) throws SQLException {
+        while (resultSet.next()) {
+            blackhole.consume(flightDAO.mapResultSetToFlight(resultSet));
+        }
+    }
+}
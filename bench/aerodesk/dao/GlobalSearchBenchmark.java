@@ -0,0 +1,69 @@
+package aerodesk.dao;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.exception.DatabaseException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks GlobalSearchIndex pages over seeded flights and bookings
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class GlobalSearchBenchmark {
+    
+    @Param({"100000", "1000000"})
+    public int bookings;
+    
+    private final Set<GlobalSearchIndex.EntityType> all = EnumSet.allOf(GlobalSearchIndex.EntityType.class);
+    private GlobalSearchIndex index;
+    
+    @Setup
+    public void setUp() {
+        RepositoryFixture.seedSearchIndex(BenchmarkData.flights(1000, 7, 42), BenchmarkData.bookings(bookings, 42));
+        index = GlobalSearchIndex.getInstance();
+    }
+    
+    @Benchmark
+    public GlobalSearchIndex.Page surname() throws DatabaseException {
+        return index.search("perera", all, 0, 50);
+    }
+    
+    @Benchmark
+    public GlobalSearchIndex.Page surnameLastPage() throws DatabaseException {
+        return index.search("perera", all, 5000, 50);
+    }
+    
+    @Benchmark
+    public GlobalSearchIndex.Page fullName() throws DatabaseException {
+        return index.search("dilani per", all, 0, 50);
+    }
+    
+    @Benchmark
+    public GlobalSearchIndex.Page flightNumber() throws DatabaseException {
+        return index.search("UL1", all, 0, 50);
+    }
+    
+    @Benchmark
+    public GlobalSearchIndex.Page reference() throws DatabaseException {
+        return index.search("BK0054321", all, 0, 50);
+    }
+}
@@ -0,0 +1,47 @@
+package aerodesk.dao;
+
+import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seeds the flight repository and search indexes for benchmarks without a database
+ */
+public final class RepositoryFixture {
+    
+    private RepositoryFixture() {
+    }
+    
+    /**
+     * Replaces the repository contents with copies of the given flights
+     * @param flights Flights to load
+     */
+    public static void seed(List<Flight> flights) {
+        List<Flight> copies = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            copies.add(new Flight(flight));
+        }
+        FlightRepository.getInstance().replaceAll(copies);
+    }
+    
+    /**
+     * Replaces the booking search index contents with the given bookings
+     * @param bookings Bookings to index
+     */
+    public static void seedBookings(List<Booking> bookings) {
+        BookingSearchIndex.getInstance().replaceAll(bookings);
+    }
+    
+    /**
+     * Replaces the global search index contents with the given flights and bookings
+     * @param flights Flights to index
+     * @param bookings Bookings to index
+     */
+    public static void seedSearchIndex(List<Flight> flights, List<Booking> bookings) {
+        GlobalSearchIndex.getInstance().replaceAll(flights, bookings, Collections.emptyList(),
+            Collections.emptyList(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,42 @@
+package aerodesk.service;
+
+import aerodesk.bench.BenchmarkData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing of an Aviation Stack flight response
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AviationStackParseBenchmark {
+    
+    private AviationStackService service;
+    private String json;
+    
+    @Setup
+    public void setUp() {
+        service = new AviationStackService();
+        json = BenchmarkData.aviationStackFlightJson("UL225");
+    }
+    
+    @Benchmark
+    public AviationStackService.FlightInfo parseFlightData() {
+        return service.parseFlightData(json, "UL225");
+    }
+}
@@ -0,0 +1,49 @@
+package aerodesk.service;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.model.Flight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the single-pass flight KPI aggregation used by DashboardMetrics
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardMetricsBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int flights;
+    
+    private List<Flight> flightList;
+    private LocalDate today;
+    
+    @Setup
+    public void setUp() {
+        flightList = BenchmarkData.flights(flights, 7, 42);
+        today = LocalDate.now();
+    }
+    
+    @Benchmark
+    public Object summarizeFlights() {
+        return DashboardMetrics.summarizeFlights(flightList, today);
+    }
+}
@@ -0,0 +1,83 @@
+package aerodesk.service;
+
+import aerodesk.util.ApiStandInServer;
+import aerodesk.util.ConfigManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Aviation Stack fetch path used by FlightDataIntegrationService
+ * against the local API stand-in, with and without injected failures and 429s
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class FlightDataSyncBenchmark {
+    
+    @Param({"20"})
+    public int latencyMillis;
+    
+    @Param({"0.0", "0.1"})
+    public double errorRate;
+    
+    @Param({"0.0", "0.1"})
+    public double throttleRate;
+    
+    private ApiStandInServer standIn;
+    private AviationStackService service;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("port", "0");
+        overrides.put("latency.ms", String.valueOf(latencyMillis));
+        overrides.put("latency.jitter.ms", String.valueOf(latencyMillis / 4));
+        overrides.put("error.rate", String.valueOf(errorRate));
+        overrides.put("throttle.rate", String.valueOf(throttleRate));
+        standIn = new ApiStandInServer(ConfigManager.getInstance(), overrides);
+        standIn.start();
+        
+        ConfigManager config = ConfigManager.getInstance();
+        config.setProperty("aviationstack.api.url", "http://localhost:" + standIn.getPort() + "/v1");
+        config.setProperty("aviationstack.api.key", "standin");
+        service = new AviationStackService();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        standIn.stop();
+    }
+    
+    @Benchmark
+    public AviationStackService.FlightInfo flightInfo() {
+        return service.getFlightInfo("UL" + (100 + ThreadLocalRandom.current().nextInt(900)));
+    }
+    
+    @Benchmark
+    public AviationStackService.FlightInfo liveTracking() {
+        return service.getLiveFlightTracking("EK" + (100 + ThreadLocalRandom.current().nextInt(900)));
+    }
+}
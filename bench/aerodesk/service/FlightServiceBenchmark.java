@@ -0,0 +1,75 @@
+package aerodesk.service;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.dao.RepositoryFixture;
+import aerodesk.exception.DatabaseException;
+import aerodesk.model.Flight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks FlightService search methods over a seeded in-memory repository
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightServiceBenchmark {
+    
+    @Param({"1000", "10000"})
+    public int flights;
+    
+    private FlightService flightService;
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+    
+    @Setup
+    public void setUp() {
+        RepositoryFixture.seed(BenchmarkData.flights(flights, 30, 42));
+        flightService = new FlightService();
+        rangeStart = LocalDate.now().plusDays(3).atStartOfDay();
+        rangeEnd = rangeStart.plusDays(1);
+    }
+    
+    @Benchmark
+    public List<Flight> searchByNumber() throws DatabaseException {
+        return flightService.searchFlightsByNumber("ul1");
+    }
+    
+    @Benchmark
+    public List<Flight> searchByOrigin() throws DatabaseException {
+        return flightService.searchFlightsByOrigin("cm");
+    }
+    
+    @Benchmark
+    public List<Flight> searchByDestination() throws DatabaseException {
+        return flightService.searchFlightsByDestination("DXB");
+    }
+    
+    @Benchmark
+    public List<Flight> dateRange() throws DatabaseException {
+        return flightService.getFlightsInDateRange(rangeStart, rangeEnd);
+    }
+    
+    @Benchmark
+    public List<Flight> byStatus() throws DatabaseException {
+        return flightService.getFlightsByStatus(Flight.FlightStatus.DELAYED);
+    }
+}
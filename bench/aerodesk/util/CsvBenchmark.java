@@ -0,0 +1,58 @@
+package aerodesk.util;
+
+import aerodesk.bench.BenchmarkData;
+import aerodesk.model.Flight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks CSV import parsing and export formatting for 1,000 flights
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvBenchmark {
+    
+    private List<Flight> flights;
+    private List<String> lines;
+    
+    @Setup
+    public void setUp() {
+        flights = BenchmarkData.flights(1000, 7, 42);
+        lines = BenchmarkData.csvLines(flights);
+    }
+    
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(CsvUtils.parseLine(line));
+        }
+    }
+    
+    @Benchmark
+    public String export() {
+        StringBuilder csv = new StringBuilder(flights.size() * 96);
+        for (Flight flight : flights) {
+            CsvUtils.appendLine(csv, flight.getFlightNo(), flight.getOrigin(), flight.getDestination(),
+                flight.getDepartTime(), flight.getArriveTime(), flight.getAircraftType(), flight.getStatus());
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
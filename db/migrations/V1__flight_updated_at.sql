@@ -0,0 +1,5 @@
+-- Change tracking on flights, polled by the FlightRepository reconcile
+-- (FlightDAO.getFlightsUpdatedSince). On databases that already have the column the
+-- duplicate is skipped.
+
+ALTER TABLE flights ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
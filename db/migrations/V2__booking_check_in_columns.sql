@@ -0,0 +1,16 @@
+-- Check-in tracking on bookings, required by BookingDAO.checkIn: check_in_time replaces
+-- the old use of created_at as the check-in time, version backs the optimistic check and
+-- the unique seat key stops two desks assigning one seat (NULL seats are not affected).
+-- On databases that already have a column or the key the duplicate is skipped. The key
+-- fails if a seat is double-booked; resolve those first, listed by:
+--   SELECT flight_id, seat_number, COUNT(*) FROM bookings
+--   WHERE seat_number IS NOT NULL GROUP BY flight_id, seat_number HAVING COUNT(*) > 1;
+
+ALTER TABLE bookings ADD COLUMN check_in_time DATETIME NULL AFTER check_in_status;
+ALTER TABLE bookings ADD COLUMN version INT NOT NULL DEFAULT 0 AFTER check_in_time;
+
+-- Check-ins so far overwrote created_at with the check-in time
+UPDATE bookings SET check_in_time = created_at
+WHERE check_in_status IN ('CHECKED_IN', 'BOARDED') AND check_in_time IS NULL;
+
+CREATE UNIQUE INDEX uq_bookings_flight_seat ON bookings (flight_id, seat_number);
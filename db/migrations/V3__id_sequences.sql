@@ -0,0 +1,13 @@
+-- Block-allocated ID sequences, required by BaggageDAO.generateTagNumber, which leases
+-- BG tag numbers in blocks; the baggage_tag sequence starts after the highest BG tag
+-- already issued and is left alone where it exists.
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(32) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO id_sequences (name, next_value)
+SELECT 'baggage_tag', COALESCE(MAX(CAST(SUBSTRING(baggage_tag, 3) AS DECIMAL(20, 0))), 0) + 1
+FROM baggage
+WHERE baggage_tag REGEXP '^BG[0-9]+$';
@@ -0,0 +1,5 @@
+-- BaggageDAO.searchBaggage: status = ? AND baggage_tag LIKE 'prefix%'; the UNIQUE key
+-- on baggage_tag covers prefix-only searches. On databases that already have the index
+-- the duplicate is skipped.
+
+CREATE INDEX idx_baggage_status_tag ON baggage (status, baggage_tag);
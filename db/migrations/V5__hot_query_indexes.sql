@@ -0,0 +1,28 @@
+-- Composite and covering indexes for the predicates the DAOs filter on
+-- Applied at startup by SchemaMigrator; on databases that already have an index
+-- the duplicate is skipped. Check plans with: java aerodesk.util.SchemaMigrator --explain
+
+-- BookingDAO.getCheckedInPassengers: flight_id = ? AND check_in_status = ? ORDER BY check_in_time
+CREATE INDEX idx_bookings_flight_status ON bookings (flight_id, check_in_status, check_in_time);
+
+-- BookingDAO.getBookingsByStatus: check_in_status = ? ORDER BY passenger_name
+CREATE INDEX idx_bookings_status_name ON bookings (check_in_status, passenger_name);
+
+-- BaggageDAO.getBaggageByStatus: status = ? ORDER BY created_at
+CREATE INDEX idx_baggage_status_created ON baggage (status, created_at);
+
+-- GateDAO.hasConflict: gate_id = ? AND assignment_time <= ? seeks the index and departure_time >= ?
+-- is checked on its entries, so the count never reads the table
+CREATE INDEX idx_gate_assignments_gate_time ON gate_assignments (gate_id, assignment_time, departure_time);
+
+-- BookingDAO departure gate: flight_id = ? ORDER BY assignment_time DESC LIMIT 1
+CREATE INDEX idx_gate_assignments_flight_time ON gate_assignments (flight_id, assignment_time);
+
+-- FlightDAO.getAllFlights and the departure board: ORDER BY departure_time
+CREATE INDEX idx_flights_departure ON flights (departure_time);
+
+-- Flight status filters: status = ? ordered by departure
+CREATE INDEX idx_flights_status_departure ON flights (status, departure_time);
+
+-- FlightDAO.getFlightsUpdatedSince, polled by the FlightRepository reconcile
+CREATE INDEX idx_flights_updated ON flights (updated_at);
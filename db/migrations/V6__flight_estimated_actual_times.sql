@@ -0,0 +1,8 @@
+-- Estimated and actual times from the flight data feed, kept next to the schedule so
+-- delays can be computed exactly (FlightDataIntegrationService, DelayAnalytics).
+-- On databases that already have a column the duplicate is skipped.
+
+ALTER TABLE flights ADD COLUMN estimated_departure DATETIME NULL;
+ALTER TABLE flights ADD COLUMN actual_departure DATETIME NULL;
+ALTER TABLE flights ADD COLUMN estimated_arrival DATETIME NULL;
+ALTER TABLE flights ADD COLUMN actual_arrival DATETIME NULL;
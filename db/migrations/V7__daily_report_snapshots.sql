@@ -0,0 +1,22 @@
+-- Daily report snapshots materialized by ReportSnapshotService, so the Reports screen
+-- reads past days from one indexed range query instead of the operational tables.
+-- One row per day, category and dimension:
+--   flight_status / status        flights departing that day; measure = delayed flights
+--   route / ORIGIN-DESTINATION    flights departing that day; measure = delayed flights
+--   check_in / check-in status    bookings on flights departing that day
+--   baggage / status              bags checked in that day
+--   gate / gate number            assignments overlapping the day; measure = occupied minutes
+--   gates / ALL                   number of gates
+CREATE TABLE IF NOT EXISTS report_daily_summary (
+    report_date DATE NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    item_count INT NOT NULL,
+    measure INT NOT NULL DEFAULT 0,
+    computed_at DATETIME NOT NULL,
+    PRIMARY KEY (report_date, category, dimension)
+);
+
+-- ReportSummaryDAO daily aggregates: created_at / departure_time ranges
+CREATE INDEX idx_baggage_created ON baggage (created_at);
+CREATE INDEX idx_gate_assignments_departure ON gate_assignments (departure_time);
@@ -22,7 +22,15 @@ CREATE TABLE IF NOT EXISTS flights (
     arrival_time DATETIME NOT NULL,
     aircraft_type VARCHAR(20),
     status ENUM('SCHEDULED', 'BOARDING', 'DEPARTED', 'ARRIVED', 'DELAYED', 'CANCELLED') DEFAULT 'SCHEDULED',
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    estimated_departure DATETIME NULL,
+    actual_departure DATETIME NULL,
+    estimated_arrival DATETIME NULL,
+    actual_arrival DATETIME NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_flights_departure (departure_time),
+    INDEX idx_flights_status_departure (status, departure_time),
+    INDEX idx_flights_updated (updated_at)
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
@@ -32,8 +40,13 @@ CREATE TABLE IF NOT EXISTS bookings (
     flight_id INT NOT NULL,
     seat_number VARCHAR(5),
     check_in_status ENUM('NOT_CHECKED_IN', 'CHECKED_IN', 'BOARDED') DEFAULT 'NOT_CHECKED_IN',
+    check_in_time DATETIME NULL,
+    version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (flight_id) REFERENCES flights(id)
+    FOREIGN KEY (flight_id) REFERENCES flights(id),
+    UNIQUE KEY uq_bookings_flight_seat (flight_id, seat_number),
+    INDEX idx_bookings_flight_status (flight_id, check_in_status, check_in_time),
+    INDEX idx_bookings_status_name (check_in_status, passenger_name)
 );
 
 CREATE TABLE IF NOT EXISTS baggage (
@@ -43,7 +56,10 @@ CREATE TABLE IF NOT EXISTS baggage (
     weight DECIMAL(5,2),
     status ENUM('CHECKED_IN', 'LOADED', 'DELIVERED', 'LOST') DEFAULT 'CHECKED_IN',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (booking_id) REFERENCES bookings(id)
+    FOREIGN KEY (booking_id) REFERENCES bookings(id),
+    INDEX idx_baggage_status_tag (status, baggage_tag),
+    INDEX idx_baggage_status_created (status, created_at),
+    INDEX idx_baggage_created (created_at)
 );
 
 CREATE TABLE IF NOT EXISTS gates (
@@ -62,7 +78,10 @@ CREATE TABLE IF NOT EXISTS gate_assignments (
     departure_time DATETIME NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (gate_id) REFERENCES gates(id),
-    FOREIGN KEY (flight_id) REFERENCES flights(id)
+    FOREIGN KEY (flight_id) REFERENCES flights(id),
+    INDEX idx_gate_assignments_gate_time (gate_id, assignment_time, departure_time),
+    INDEX idx_gate_assignments_flight_time (flight_id, assignment_time),
+    INDEX idx_gate_assignments_departure (departure_time)
 );
 
 -- Users table for authentication
@@ -76,6 +95,32 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Block-allocated sequences; each process leases next_value..next_value+block-1
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(32) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+INSERT IGNORE INTO id_sequences (name, next_value) VALUES ('baggage_tag', 1);
+
+-- Daily report snapshots (see db/migrations/V7__daily_report_snapshots.sql)
+CREATE TABLE IF NOT EXISTS report_daily_summary (
+    report_date DATE NOT NULL,
+    category VARCHAR(20) NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    item_count INT NOT NULL,
+    measure INT NOT NULL DEFAULT 0,
+    computed_at DATETIME NOT NULL,
+    PRIMARY KEY (report_date, category, dimension)
+);
+
+-- Versions from db/migrations applied by SchemaMigrator at startup
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    version INT PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Insert sample data
 INSERT IGNORE INTO flights (flight_number, origin, destination, departure_time, arrival_time, aircraft_type) VALUES
 ('AA101', 'JFK', 'LAX', '2024-01-15 10:00:00', '2024-01-15 13:30:00', 'Boeing 737'),
@@ -1,10 +1,18 @@
 package aerodesk;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import aerodesk.dao.BookingSearchIndex;
 import aerodesk.ui.LoginFrame;
 import aerodesk.ui.SplashScreen;
+import aerodesk.service.GateAllocationService;
+import aerodesk.service.ReportEngine;
+import aerodesk.service.ReportSnapshotService;
 import aerodesk.util.ConfigManager;
+import aerodesk.util.EdtWatchdog;
 import aerodesk.util.FileLogger;
+import aerodesk.util.KpiHistory;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.SchemaMigrator;
 import javax.swing.*;
 
 /**
@@ -26,6 +34,44 @@ public class Main {
         // Start logging
         FileLogger.getInstance().logInfo("AeroDesk Pro starting up...");
         
+        // Bring the database schema and its indexes up to date before anything queries it;
+        // the DAOs and report snapshots rely on the migrated columns and tables
+        if (Boolean.parseBoolean(ConfigManager.getInstance().getProperty("db.migrations.enabled", "true"))) {
+            try {
+                new SchemaMigrator().migrate();
+            } catch (Exception e) {
+                FileLogger.getInstance().logError("Schema migration failed: " + e.getMessage());
+                JOptionPane.showMessageDialog(null,
+                    "Failed to update the database schema: " + e.getMessage(),
+                    "Startup Error",
+                    JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+            }
+        }
+        
+        // Re-plan gate assignments automatically when flights are delayed
+        GateAllocationService.getInstance();
+        
+        // Build the booking search index while the user logs in
+        if (BookingSearchIndex.isEnabled()) {
+            BookingSearchIndex.getInstance().warmUp();
+        }
+        
+        // Replay the KPI history file before the dashboard draws its trends
+        KpiHistory.getInstance();
+        
+        // Compile the report templates in the background before the first export
+        ReportEngine.getInstance().warmUp();
+        
+        // Materialize daily report snapshots nightly and catch up on missed days hourly
+        ReportSnapshotService.getInstance().start();
+        
+        // Periodically append application metrics to metrics.dump.file
+        MetricsRegistry.getInstance().startPeriodicDump();
+        
+        // Report Event Dispatch Thread stalls and slow calls made on it
+        EdtWatchdog.getInstance().start();
+        
         // Launch splash screen (which will then show login screen)
         SwingUtilities.invokeLater(() -> {
             try {
@@ -1,14 +1,20 @@
 package aerodesk.dao;
 
 import aerodesk.model.Baggage;
+import aerodesk.util.ConfigManager;
 import aerodesk.util.DatabaseConnection;
 import aerodesk.util.FileLogger;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.StatementRegistry;
 import aerodesk.exception.DatabaseException;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Baggage operations
@@ -16,6 +22,34 @@ import java.util.List;
  */
 public class BaggageDAO {
     
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String GET_ALL_BAGGAGE = StatementRegistry.declare("baggage.getAllBaggage",
+        "SELECT * FROM baggage ORDER BY created_at DESC");
+    private static final String GET_BAGGAGE_BY_ID = StatementRegistry.declare("baggage.getBaggageById",
+        "SELECT * FROM baggage WHERE id = ?");
+    private static final String GET_BAGGAGE_BY_TAG_NUMBER = StatementRegistry.declare("baggage.getBaggageByTagNumber",
+        "SELECT * FROM baggage WHERE baggage_tag = ?");
+    private static final String GET_BAGGAGE_BY_BOOKING_ID = StatementRegistry.declare("baggage.getBaggageByBookingId",
+        "SELECT * FROM baggage WHERE booking_id = ? ORDER BY created_at");
+    private static final String CREATE_BAGGAGE = StatementRegistry.declare("baggage.createBaggage",
+        "INSERT INTO baggage (baggage_tag, booking_id, weight, status) " +
+        "VALUES (?, ?, ?, ?)");
+    private static final String UPDATE_BAGGAGE = StatementRegistry.declare("baggage.updateBaggage",
+        "UPDATE baggage SET baggage_tag = ?, booking_id = ?, weight = ?, status = ? WHERE id = ?");
+    private static final String DELETE_BAGGAGE = StatementRegistry.declare("baggage.deleteBaggage",
+        "DELETE FROM baggage WHERE id = ?");
+    private static final String UPDATE_BAGGAGE_STATUS = StatementRegistry.declare("baggage.updateBaggageStatus",
+        "UPDATE baggage SET status = ? WHERE id = ?");
+    private static final String GET_BAGGAGE_BY_STATUS = StatementRegistry.declare("baggage.getBaggageByStatus",
+        "SELECT * FROM baggage WHERE status = ? ORDER BY created_at");
+    private static final String GET_BAGGAGE_FOR_STATUS_UPDATE = StatementRegistry.declare("baggage.getBaggageForStatusUpdate",
+        "SELECT * FROM baggage WHERE status != ? ORDER BY created_at");
+    // Report query, streamed through a ReportCursor and kept out of the statement cache
+    private static final String BAGGAGE_REPORT =
+        "SELECT g.baggage_tag, b.passenger_name, f.flight_number, g.weight, g.status, g.created_at " +
+        "FROM baggage g JOIN bookings b ON b.id = g.booking_id JOIN flights f ON f.id = b.flight_id " +
+        "WHERE g.created_at >= ? AND g.created_at < ? ORDER BY g.created_at";
+    
     /**
      * Retrieves all baggage from the database
      * @return List of all baggage
@@ -23,10 +57,9 @@ public class BaggageDAO {
      */
     public List<Baggage> getAllBaggage() throws DatabaseException {
         List<Baggage> baggageList = new ArrayList<>();
-        String sql = "SELECT * FROM baggage ORDER BY created_at DESC";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_BAGGAGE);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -50,10 +83,8 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public Baggage getBaggageById(int baggageId) throws DatabaseException {
-        String sql = "SELECT * FROM baggage WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BAGGAGE_BY_ID)) {
             
             stmt.setInt(1, baggageId);
             
@@ -73,6 +104,49 @@ public class BaggageDAO {
         }
     }
     
+    /**
+     * Retrieves baggage by ID, keeping the order of the IDs
+     * @param baggageIds The baggage IDs
+     * @return Baggage that still exists, in the given order
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Baggage> getBaggageByIds(List<Integer> baggageIds) throws DatabaseException {
+        if (baggageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(baggageIds.size(), "?"));
+        String sql = "SELECT * FROM baggage WHERE id IN (" + placeholders + ")";
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < baggageIds.size(); i++) {
+                stmt.setInt(i + 1, baggageIds.get(i));
+            }
+            
+            Map<Integer, Baggage> baggageById = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Baggage baggage = mapResultSetToBaggage(rs);
+                    baggageById.put(baggage.getBaggageId(), baggage);
+                }
+            }
+            
+            List<Baggage> baggageList = new ArrayList<>(baggageById.size());
+            for (Integer baggageId : baggageIds) {
+                Baggage baggage = baggageById.get(baggageId);
+                if (baggage != null) {
+                    baggageList.add(baggage);
+                }
+            }
+            return baggageList;
+            
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve baggage by ID: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve baggage by ID", e);
+        }
+    }
+    
     /**
      * Retrieves baggage by tag number
      * @param tagNumber The tag number
@@ -80,10 +154,8 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public Baggage getBaggageByTagNumber(String tagNumber) throws DatabaseException {
-        String sql = "SELECT * FROM baggage WHERE baggage_tag = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BAGGAGE_BY_TAG_NUMBER)) {
             
             stmt.setString(1, tagNumber);
             
@@ -103,6 +175,61 @@ public class BaggageDAO {
         }
     }
     
+    /**
+     * Searches baggage by tag prefix and status
+     * The prefix is matched with LIKE 'prefix%' so the baggage_tag index is used
+     * as a range scan; the status filter is applied in SQL as well. At most
+     * baggage.search.limit rows are returned, so a short prefix such as "BG" that
+     * matches every bag stops at the newest ones instead of sorting the whole table.
+     * @param tagPrefix Start of the tag number; empty matches all tags
+     * @param status Status to match, or null for any status
+     * @param canceller Receives the running statement so the search can be cancelled
+     * @return List of matching baggage, newest first, up to the search limit
+     * @throws DatabaseException if database operation fails or the search was cancelled
+     */
+    public List<Baggage> searchBaggage(String tagPrefix, Baggage.BaggageStatus status, QueryCanceller canceller) throws DatabaseException {
+        List<Baggage> baggageList = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM baggage WHERE baggage_tag LIKE ? ESCAPE '!'");
+        if (status != null) {
+            sql.append(" AND status = ?");
+        }
+        sql.append(" ORDER BY created_at DESC LIMIT ?");
+        int limit = ConfigManager.getInstance().getIntProperty("baggage.search.limit", 500);
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            stmt.setString(1, escapeLike(tagPrefix.trim().toUpperCase()) + "%");
+            int index = 2;
+            if (status != null) {
+                stmt.setString(index++, status.name());
+            }
+            stmt.setInt(index, limit);
+            
+            canceller.attach(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    baggageList.add(mapResultSetToBaggage(rs));
+                }
+            } finally {
+                canceller.detach();
+            }
+            
+            return baggageList;
+        
+        } catch (SQLException e) {
+            if (canceller.isCancelled()) {
+                throw new DatabaseException("Baggage search cancelled", e);
+            }
+            FileLogger.getInstance().logError("Failed to search baggage: " + e.getMessage());
+            throw new DatabaseException("Failed to search baggage", e);
+        }
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+    
     /**
      * Retrieves all baggage for a specific booking
      * @param bookingId The booking ID
@@ -111,10 +238,9 @@ public class BaggageDAO {
      */
     public List<Baggage> getBaggageByBookingId(int bookingId) throws DatabaseException {
         List<Baggage> baggageList = new ArrayList<>();
-        String sql = "SELECT * FROM baggage WHERE booking_id = ? ORDER BY created_at";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BAGGAGE_BY_BOOKING_ID)) {
             
             stmt.setInt(1, bookingId);
             
@@ -141,11 +267,8 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public Baggage createBaggage(Baggage baggage) throws DatabaseException {
-        String sql = "INSERT INTO baggage (baggage_tag, booking_id, weight, status) " +
-                    "VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(CREATE_BAGGAGE, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, baggage.getTagNumber());
             stmt.setInt(2, baggage.getBookingId());
@@ -161,6 +284,7 @@ public class BaggageDAO {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     baggage.setBaggageId(generatedKeys.getInt(1));
+                    GlobalSearchIndex.getInstance().baggageSaved(baggage);
                     FileLogger.getInstance().logInfo("Created new baggage: " + baggage.getTagNumber());
                     return baggage;
                 } else {
@@ -174,6 +298,39 @@ public class BaggageDAO {
         }
     }
     
+    /**
+     * Inserts bags on a caller's connection as one batch, inside its transaction;
+     * the caller updates the search index after commit
+     * @param conn Connection with the open transaction
+     * @param baggageList Bags to insert; their IDs are set
+     * @throws SQLException if the insert fails
+     */
+    void insertBaggage(Connection conn, List<Baggage> baggageList) throws SQLException {
+        if (baggageList.isEmpty()) {
+            return;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(CREATE_BAGGAGE, Statement.RETURN_GENERATED_KEYS)) {
+            for (Baggage baggage : baggageList) {
+                stmt.setString(1, baggage.getTagNumber());
+                stmt.setInt(2, baggage.getBookingId());
+                stmt.setDouble(3, baggage.getWeightKg());
+                stmt.setString(4, baggage.getStatus().name());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Baggage baggage : baggageList) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating baggage failed, no ID obtained");
+                    }
+                    baggage.setBaggageId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+    
     /**
      * Updates an existing baggage item in the database
      * @param baggage The baggage to update
@@ -181,10 +338,8 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateBaggage(Baggage baggage) throws DatabaseException {
-        String sql = "UPDATE baggage SET baggage_tag = ?, booking_id = ?, weight = ?, status = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_BAGGAGE)) {
             
             stmt.setString(1, baggage.getTagNumber());
             stmt.setInt(2, baggage.getBookingId());
@@ -195,6 +350,7 @@ public class BaggageDAO {
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().baggageSaved(baggage);
                 FileLogger.getInstance().logInfo("Updated baggage: " + baggage.getTagNumber());
                 return true;
             } else {
@@ -215,16 +371,15 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean deleteBaggage(int baggageId) throws DatabaseException {
-        String sql = "DELETE FROM baggage WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_BAGGAGE)) {
             
             stmt.setInt(1, baggageId);
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.BAGGAGE, baggageId);
                 FileLogger.getInstance().logInfo("Deleted baggage with ID: " + baggageId);
                 return true;
             } else {
@@ -246,10 +401,8 @@ public class BaggageDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateBaggageStatus(int baggageId, Baggage.BaggageStatus newStatus) throws DatabaseException {
-        String sql = "UPDATE baggage SET status = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_BAGGAGE_STATUS)) {
             
             stmt.setString(1, newStatus.name());
             stmt.setInt(2, baggageId);
@@ -257,6 +410,7 @@ public class BaggageDAO {
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().statusChanged(GlobalSearchIndex.EntityType.BAGGAGE, baggageId, newStatus);
                 FileLogger.getInstance().logInfo("Updated baggage status to: " + newStatus);
                 return true;
             } else {
@@ -278,10 +432,9 @@ public class BaggageDAO {
      */
     public List<Baggage> getBaggageByStatus(Baggage.BaggageStatus status) throws DatabaseException {
         List<Baggage> baggageList = new ArrayList<>();
-        String sql = "SELECT * FROM baggage WHERE status = ? ORDER BY created_at";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BAGGAGE_BY_STATUS)) {
             
             stmt.setString(1, status.name());
             
@@ -308,10 +461,9 @@ public class BaggageDAO {
      */
     public List<Baggage> getBaggageForStatusUpdate() throws DatabaseException {
         List<Baggage> baggageList = new ArrayList<>();
-        String sql = "SELECT * FROM baggage WHERE status != ? ORDER BY created_at";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BAGGAGE_FOR_STATUS_UPDATE)) {
             
             stmt.setString(1, Baggage.BaggageStatus.DELIVERED.name());
             
@@ -332,28 +484,26 @@ public class BaggageDAO {
     }
     
     /**
-     * Generates a unique tag number
-     * @return A unique tag number
+     * Opens a streaming cursor over the baggage checked in during a time range, for reports
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @param canceller Receives the statement so the report can be cancelled, or null
+     * @return Cursor the caller must close
      * @throws DatabaseException if database operation fails
      */
+    public ReportCursor openBaggageReport(LocalDateTime from, LocalDateTime to, QueryCanceller canceller) throws DatabaseException {
+        return ReportCursor.open(BAGGAGE_REPORT, from, to, canceller);
+    }
+    
+    /**
+     * Generates a unique tag number from the baggage_tag sequence
+     * Tags come from a block leased by this process, so no two desks get the same
+     * tag and most calls do not touch the database
+     * @return A unique tag number
+     * @throws DatabaseException if a new block of tags cannot be leased
+     */
     public String generateTagNumber() throws DatabaseException {
-        String sql = "SELECT COUNT(*) FROM baggage";
-        
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            if (rs.next()) {
-                int count = rs.getInt(1);
-                return String.format("BG%06d", count + 1);
-            }
-            
-            return "BG000001";
-            
-        } catch (SQLException e) {
-            FileLogger.getInstance().logError("Failed to generate tag number: " + e.getMessage());
-            throw new DatabaseException("Failed to generate tag number", e);
-        }
+        return String.format("BG%06d", BlockSequence.get("baggage_tag").next());
     }
     
     /**
@@ -0,0 +1,130 @@
+package aerodesk.dao;
+
+import aerodesk.util.ConfigManager;
+import aerodesk.util.DatabaseConnection;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.StatementRegistry;
+import aerodesk.exception.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Block-allocated ID sequence for AeroDesk Pro
+ * Each process leases a block of sequence.block.size values from the id_sequences
+ * table in one short transaction, then hands them out from an AtomicLong, so desks
+ * never receive the same value and only one call per block goes to the database.
+ * Values left in a block when the process exits are skipped, never reused.
+ */
+public final class BlockSequence {
+    
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String LEASE_LOCK = StatementRegistry.declare("sequence.lease.lock",
+        "SELECT next_value FROM id_sequences WHERE name = ? FOR UPDATE");
+    private static final String LEASE = StatementRegistry.declare("sequence.lease",
+        "UPDATE id_sequences SET next_value = ? WHERE name = ?");
+    
+    private static final Map<String, BlockSequence> sequences = new HashMap<>();
+    
+    private final String name;
+    private final int blockSize;
+    private volatile Block block = new Block(0, 0);
+    
+    private BlockSequence(String name, int blockSize) {
+        this.name = name;
+        this.blockSize = blockSize;
+    }
+    
+    /**
+     * Gets the sequence stored under a name in id_sequences
+     * @param name Sequence name, e.g. baggage_tag
+     * @return The process-wide sequence
+     */
+    public static synchronized BlockSequence get(String name) {
+        return sequences.computeIfAbsent(name, n -> new BlockSequence(n,
+            Math.max(1, ConfigManager.getInstance().getIntProperty("sequence.block.size", 100))));
+    }
+    
+    /**
+     * Takes the next value, leasing a new block when the current one is used up
+     * @return A value no other caller in any process receives
+     * @throws DatabaseException if a new block cannot be leased
+     */
+    public long next() throws DatabaseException {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            refill(current);
+        }
+    }
+    
+    private synchronized void refill(Block exhausted) throws DatabaseException {
+        // Another thread may have leased while this one waited
+        if (block == exhausted) {
+            block = lease();
+        }
+    }
+    
+    private Block lease() throws DatabaseException {
+        long start = System.nanoTime();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long first;
+                // The row lock serialises desks leasing at the same time
+                try (PreparedStatement lockStmt = conn.prepareStatement(LEASE_LOCK)) {
+                    lockStmt.setString(1, name);
+                    try (ResultSet rs = lockStmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new DatabaseException("Sequence not found: " + name + " (see db/migrations/V3__id_sequences.sql)");
+                        }
+                        first = rs.getLong(1);
+                    }
+                }
+                
+                try (PreparedStatement stmt = conn.prepareStatement(LEASE)) {
+                    stmt.setLong(1, first + blockSize);
+                    stmt.setString(2, name);
+                    stmt.executeUpdate();
+                }
+                
+                conn.commit();
+                MetricsRegistry.getInstance().recordSince("sequence.lease", start);
+                FileLogger.getInstance().logInfo("Leased " + name + " values " + first + "-" + (first + blockSize - 1));
+                return new Block(first, first + blockSize);
+            } catch (SQLException | DatabaseException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to lease " + name + " sequence block: " + e.getMessage());
+            throw new DatabaseException("Failed to lease sequence block", e);
+        }
+    }
+    
+    /**
+     * A leased range of values, [next, end)
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+        
+        Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
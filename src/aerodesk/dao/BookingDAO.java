@@ -1,14 +1,25 @@
 package aerodesk.dao;
 
+import aerodesk.model.Baggage;
+import aerodesk.model.BoardingPass;
 import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+import aerodesk.util.ConfigManager;
 import aerodesk.util.DatabaseConnection;
 import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.StatementRegistry;
+import aerodesk.exception.CheckInConflictException;
 import aerodesk.exception.DatabaseException;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Booking operations
@@ -16,6 +27,43 @@ import java.util.List;
  */
 public class BookingDAO {
     
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String GET_ALL_BOOKINGS = StatementRegistry.declare("booking.getAllBookings",
+        "SELECT * FROM bookings ORDER BY created_at DESC");
+    private static final String GET_BOOKING_BY_ID = StatementRegistry.declare("booking.getBookingById",
+        "SELECT * FROM bookings WHERE id = ?");
+    private static final String GET_BOOKING_BY_REFERENCE = StatementRegistry.declare("booking.getBookingByReference",
+        "SELECT * FROM bookings WHERE booking_reference = ?");
+    private static final String GET_BOOKINGS_BY_FLIGHT_ID = StatementRegistry.declare("booking.getBookingsByFlightId",
+        "SELECT * FROM bookings WHERE flight_id = ? ORDER BY passenger_name");
+    private static final String CREATE_BOOKING = StatementRegistry.declare("booking.createBooking",
+        "INSERT INTO bookings (flight_id, passenger_name, seat_number, booking_reference) " +
+        "VALUES (?, ?, ?, ?)");
+    private static final String UPDATE_BOOKING = StatementRegistry.declare("booking.updateBooking",
+        "UPDATE bookings SET flight_id = ?, passenger_name = ?, seat_number = ?, " +
+        "check_in_status = ?, check_in_time = ?, version = version + 1 WHERE id = ?");
+    private static final String DELETE_BOOKING = StatementRegistry.declare("booking.deleteBooking",
+        "DELETE FROM bookings WHERE id = ?");
+    private static final String CHECK_IN_GROUP = StatementRegistry.declare("booking.checkInGroup",
+        "UPDATE bookings SET seat_number = ?, check_in_status = 'CHECKED_IN', check_in_time = ?, " +
+        "version = version + 1 WHERE id = ? AND version = ? AND check_in_status = 'NOT_CHECKED_IN'");
+    private static final String DEPARTURE_GATE = StatementRegistry.declare("booking.departureGate",
+        "SELECT g.gate_number FROM gate_assignments ga JOIN gates g ON g.id = ga.gate_id " +
+        "WHERE ga.flight_id = ? ORDER BY ga.assignment_time DESC LIMIT 1");
+    private static final String GET_CHECKED_IN_PASSENGERS = StatementRegistry.declare("booking.getCheckedInPassengers",
+        "SELECT * FROM bookings WHERE flight_id = ? AND check_in_status = 'CHECKED_IN' ORDER BY check_in_time");
+    private static final String IS_SEAT_AVAILABLE = StatementRegistry.declare("booking.isSeatAvailable",
+        "SELECT COUNT(*) FROM bookings WHERE flight_id = ? AND seat_number = ?");
+    private static final String SEARCH_BOOKINGS = StatementRegistry.declare("booking.searchBookings",
+        "SELECT * FROM bookings WHERE passenger_name LIKE ? OR booking_reference LIKE ? ORDER BY passenger_name");
+    private static final String GET_BOOKINGS_BY_STATUS = StatementRegistry.declare("booking.getBookingsByStatus",
+        "SELECT * FROM bookings WHERE check_in_status = ? ORDER BY passenger_name");
+    // Report query, streamed through a ReportCursor and kept out of the statement cache
+    private static final String BOOKING_REPORT =
+        "SELECT b.booking_reference, b.passenger_name, f.flight_number, b.seat_number, b.check_in_status, b.check_in_time " +
+        "FROM bookings b JOIN flights f ON f.id = b.flight_id " +
+        "WHERE f.departure_time >= ? AND f.departure_time < ? ORDER BY f.departure_time, b.id";
+    
     /**
      * Retrieves all bookings from the database
      * @return List of all bookings
@@ -23,10 +71,9 @@ public class BookingDAO {
      */
     public List<Booking> getAllBookings() throws DatabaseException {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings ORDER BY created_at DESC";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_BOOKINGS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -50,10 +97,8 @@ public class BookingDAO {
      * @throws DatabaseException if database operation fails
      */
     public Booking getBookingById(int bookingId) throws DatabaseException {
-        String sql = "SELECT * FROM bookings WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BOOKING_BY_ID)) {
             
             stmt.setInt(1, bookingId);
             
@@ -80,10 +125,8 @@ public class BookingDAO {
      * @throws DatabaseException if database operation fails
      */
     public Booking getBookingByReference(String bookingReference) throws DatabaseException {
-        String sql = "SELECT * FROM bookings WHERE booking_reference = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BOOKING_BY_REFERENCE)) {
             
             stmt.setString(1, bookingReference);
             
@@ -111,10 +154,9 @@ public class BookingDAO {
      */
     public List<Booking> getBookingsByFlightId(int flightId) throws DatabaseException {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE flight_id = ? ORDER BY passenger_name";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BOOKINGS_BY_FLIGHT_ID)) {
             
             stmt.setInt(1, flightId);
             
@@ -141,11 +183,8 @@ public class BookingDAO {
      * @throws DatabaseException if database operation fails
      */
     public Booking createBooking(Booking booking) throws DatabaseException {
-        String sql = "INSERT INTO bookings (flight_id, passenger_name, seat_number, booking_reference) " +
-                    "VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(CREATE_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, booking.getFlightId());
             stmt.setString(2, booking.getPassengerName());
@@ -161,6 +200,9 @@ public class BookingDAO {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     booking.setBookingId(generatedKeys.getInt(1));
+                    BookingSearchIndex.getInstance().bookingSaved(booking);
+                    GlobalSearchIndex.getInstance().bookingSaved(booking);
+                    SeatMapIndex.getInstance().bookingSaved(booking);
                     FileLogger.getInstance().logInfo("Created new booking: " + booking.getBookingReference());
                     return booking;
                 } else {
@@ -181,22 +223,23 @@ public class BookingDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateBooking(Booking booking) throws DatabaseException {
-        String sql = "UPDATE bookings SET flight_id = ?, passenger_name = ?, seat_number = ?, " +
-                    "check_in_status = ?, created_at = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_BOOKING)) {
             
             stmt.setInt(1, booking.getFlightId());
             stmt.setString(2, booking.getPassengerName());
             stmt.setString(3, booking.getSeatNo());
             stmt.setString(4, booking.isCheckedIn() ? "CHECKED_IN" : "NOT_CHECKED_IN");
-            stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            stmt.setTimestamp(5, booking.isCheckedIn() && booking.getCheckInTime() != null ? Timestamp.valueOf(booking.getCheckInTime()) : null);
             stmt.setInt(6, booking.getBookingId());
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                booking.setVersion(booking.getVersion() + 1);
+                BookingSearchIndex.getInstance().bookingSaved(booking);
+                GlobalSearchIndex.getInstance().bookingSaved(booking);
+                SeatMapIndex.getInstance().bookingSaved(booking);
                 FileLogger.getInstance().logInfo("Updated booking: " + booking.getBookingReference());
                 return true;
             } else {
@@ -217,16 +260,17 @@ public class BookingDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean deleteBooking(int bookingId) throws DatabaseException {
-        String sql = "DELETE FROM bookings WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_BOOKING)) {
             
             stmt.setInt(1, bookingId);
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                BookingSearchIndex.getInstance().bookingDeleted(bookingId);
+                GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.BOOKING, bookingId);
+                SeatMapIndex.getInstance().bookingDeleted(bookingId);
                 FileLogger.getInstance().logInfo("Deleted booking with ID: " + bookingId);
                 return true;
             } else {
@@ -241,36 +285,133 @@ public class BookingDAO {
     }
     
     /**
-     * Checks in a passenger
-     * @param bookingId The booking ID
-     * @param seatNo The assigned seat number
-     * @return true if check-in was successful
+     * Checks in a passenger in one transaction: claims the seat against the booking
+     * version the desk read, records the check-in time, inserts the bags and reads
+     * the departure gate. Two desks claiming one seat are told apart by the unique
+     * (flight_id, seat_number) key, so the loser rolls back instead of double-booking.
+     * @param booking The booking as read; updated with the seat, check-in time and version on success
+     * @param flight The booking's flight
+     * @param seatNo The seat to claim
+     * @param baggageList Bags with tag numbers to create for the booking; their IDs are set
+     * @return The boarding pass data
+     * @throws CheckInConflictException if the seat is taken or the booking changed since it was read
+     * @throws DatabaseException if database operation fails
+     */
+    public BoardingPass checkIn(Booking booking, Flight flight, String seatNo, List<Baggage> baggageList)
+            throws DatabaseException, CheckInConflictException {
+        return checkInGroup(Collections.singletonList(booking), flight, Collections.singletonList(seatNo), baggageList).get(0);
+    }
+    
+    /**
+     * Checks in a group travelling together in one transaction, as {@link #checkIn} does
+     * for one passenger: the seat claims go to the database as one batch and all bags as
+     * another, so the group costs the same round trips as a single passenger. If any
+     * booking changed or any seat is taken, nobody in the group is checked in.
+     * @param bookings The bookings as read, all on the flight; updated on success
+     * @param flight The group's flight
+     * @param seatNos Seat to claim for each booking, in the same order
+     * @param baggageList Bags with tag numbers for any of the bookings; their IDs are set
+     * @return Boarding pass data for each booking, in the same order
+     * @throws CheckInConflictException if a seat is taken or a booking changed since it was read
      * @throws DatabaseException if database operation fails
      */
-    public boolean checkInPassenger(int bookingId, String seatNo) throws DatabaseException {
-        String sql = "UPDATE bookings SET check_in_status = 'CHECKED_IN', created_at = ?, seat_number = ? WHERE id = ?";
+    public List<BoardingPass> checkInGroup(List<Booking> bookings, Flight flight, List<String> seatNos, List<Baggage> baggageList)
+            throws DatabaseException, CheckInConflictException {
+        LocalDateTime checkInTime = LocalDateTime.now().withNano(0);
+        String gate = null;
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
-            stmt.setString(2, seatNo);
-            stmt.setInt(3, bookingId);
-            
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                FileLogger.getInstance().logInfo("Checked in passenger for booking ID: " + bookingId);
-                return true;
-            } else {
-                FileLogger.getInstance().logWarning("No booking found to check in with ID: " + bookingId);
-                return false;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(CHECK_IN_GROUP)) {
+                    for (int i = 0; i < bookings.size(); i++) {
+                        Booking booking = bookings.get(i);
+                        stmt.setString(1, seatNos.get(i));
+                        stmt.setTimestamp(2, Timestamp.valueOf(checkInTime));
+                        stmt.setInt(3, booking.getBookingId());
+                        stmt.setInt(4, booking.getVersion());
+                        stmt.addBatch();
+                    }
+                    
+                    int[] counts = stmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            throw new CheckInConflictException("Booking " + bookings.get(i).getBookingReference()
+                                + " was checked in or changed at another desk");
+                        }
+                    }
+                } catch (SQLException e) {
+                    if (!isConstraintViolation(e)) {
+                        throw e;
+                    }
+                    throw new CheckInConflictException(seatNos.size() == 1
+                        ? "Seat " + seatNos.get(0) + " is already taken"
+                        : "One of seats " + String.join(", ", seatNos) + " is already taken", e);
+                }
+                
+                new BaggageDAO().insertBaggage(conn, baggageList);
+                
+                try (PreparedStatement gateStmt = conn.prepareStatement(DEPARTURE_GATE)) {
+                    gateStmt.setInt(1, flight.getFlightId());
+                    try (ResultSet rs = gateStmt.executeQuery()) {
+                        if (rs.next()) {
+                            gate = rs.getString(1);
+                        }
+                    }
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } catch (CheckInConflictException e) {
+                conn.rollback();
+                // Another desk took a seat or booking this one thought free; reload the map on next use
+                SeatMapIndex.getInstance().invalidate(flight.getFlightId());
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
             
         } catch (SQLException e) {
-            FileLogger.getInstance().logError("Failed to check in passenger: " + e.getMessage());
-            throw new DatabaseException("Failed to check in passenger", e);
+            FileLogger.getInstance().logError("Failed to check in passengers: " + e.getMessage());
+            throw new DatabaseException("Failed to check in passengers", e);
         }
+        
+        Map<Integer, List<Baggage>> baggageByBooking = new HashMap<>();
+        for (Baggage baggage : baggageList) {
+            baggageByBooking.computeIfAbsent(baggage.getBookingId(), id -> new ArrayList<>()).add(baggage);
+            GlobalSearchIndex.getInstance().baggageSaved(baggage);
+        }
+        List<BoardingPass> boardingPasses = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            booking.setSeatNo(seatNos.get(i));
+            booking.setCheckedIn(true);
+            booking.setCheckInTime(checkInTime);
+            booking.setVersion(booking.getVersion() + 1);
+            SeatMapIndex.getInstance().seatAssigned(booking.getBookingId(), booking.getSeatNo());
+            boardingPasses.add(new BoardingPass(booking, flight, gate,
+                baggageByBooking.getOrDefault(booking.getBookingId(), Collections.emptyList())));
+        }
+        FileLogger.getInstance().logInfo("Checked in " + bookings.size() + " passengers on flight " + flight.getFlightNo()
+            + " with " + baggageList.size() + " bags");
+        return boardingPasses;
+    }
+    
+    /**
+     * Checks whether a failure, or a failed statement of a batch, broke a unique key
+     * @param e The failure
+     * @return true for an integrity constraint violation
+     */
+    private boolean isConstraintViolation(SQLException e) {
+        for (SQLException next = e; next != null; next = next.getNextException()) {
+            if (next instanceof SQLIntegrityConstraintViolationException
+                    || (next.getSQLState() != null && next.getSQLState().startsWith("23"))) {
+                return true;
+            }
+        }
+        return e.getCause() instanceof SQLIntegrityConstraintViolationException;
     }
     
     /**
@@ -281,10 +422,9 @@ public class BookingDAO {
      */
     public List<Booking> getCheckedInPassengers(int flightId) throws DatabaseException {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE flight_id = ? AND check_in_status = 'CHECKED_IN' ORDER BY created_at";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_CHECKED_IN_PASSENGERS)) {
             
             stmt.setInt(1, flightId);
             
@@ -306,16 +446,21 @@ public class BookingDAO {
     
     /**
      * Checks if a seat is available for a flight
+     * Answered from the flight's in-memory seat map; seats outside the aircraft's
+     * layout are checked against the table
      * @param flightId The flight ID
      * @param seatNo The seat number to check
      * @return true if seat is available
      * @throws DatabaseException if database operation fails
      */
     public boolean isSeatAvailable(int flightId, String seatNo) throws DatabaseException {
-        String sql = "SELECT COUNT(*) FROM bookings WHERE flight_id = ? AND seat_number = ?";
+        SeatMap seatMap = SeatMapIndex.getInstance().getSeatMap(flightId);
+        if (seatMap != null && seatMap.hasSeat(seatNo)) {
+            return seatMap.isFree(seatNo);
+        }
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(IS_SEAT_AVAILABLE)) {
             
             stmt.setInt(1, flightId);
             stmt.setString(2, seatNo);
@@ -336,17 +481,31 @@ public class BookingDAO {
     }
     
     /**
-     * Simple search by any field
+     * Searches bookings by passenger name, booking reference or passport number.
+     * Uses the in-memory BookingSearchIndex (typo-tolerant, best matches first)
+     * once built, unless booking.search.index.enabled is false; otherwise a LIKE query
      * @param searchTerm The search term
      * @return List of matching bookings
      * @throws DatabaseException if database operation fails
      */
     public List<Booking> searchBookings(String searchTerm) throws DatabaseException {
+        if (BookingSearchIndex.isEnabled() && !searchTerm.isBlank()) {
+            BookingSearchIndex index = BookingSearchIndex.getInstance();
+            if (index.isLoaded()) {
+                long start = System.nanoTime();
+                int limit = ConfigManager.getInstance().getIntProperty("booking.search.limit", 500);
+                List<Booking> bookings = getBookingsByIds(index.search(searchTerm, limit));
+                MetricsRegistry.getInstance().recordSince("booking.search", start);
+                return bookings;
+            }
+            // Answer from the table until the index has been built
+            index.warmUp();
+        }
+        
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE passenger_name LIKE ? OR booking_reference LIKE ? ORDER BY passenger_name";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SEARCH_BOOKINGS)) {
             
             String searchPattern = "%" + searchTerm + "%";
             stmt.setString(1, searchPattern);
@@ -368,6 +527,49 @@ public class BookingDAO {
         }
     }
     
+    /**
+     * Retrieves bookings by ID, keeping the order of the IDs
+     * @param bookingIds The booking IDs
+     * @return Bookings that still exist, in the given order
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Booking> getBookingsByIds(List<Integer> bookingIds) throws DatabaseException {
+        if (bookingIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+        String sql = "SELECT * FROM bookings WHERE id IN (" + placeholders + ")";
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < bookingIds.size(); i++) {
+                stmt.setInt(i + 1, bookingIds.get(i));
+            }
+            
+            Map<Integer, Booking> bookingsById = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Booking booking = mapResultSetToBooking(rs);
+                    bookingsById.put(booking.getBookingId(), booking);
+                }
+            }
+            
+            List<Booking> bookings = new ArrayList<>(bookingsById.size());
+            for (Integer bookingId : bookingIds) {
+                Booking booking = bookingsById.get(bookingId);
+                if (booking != null) {
+                    bookings.add(booking);
+                }
+            }
+            return bookings;
+            
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve bookings by ID: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve bookings by ID", e);
+        }
+    }
+    
     /**
      * Simple filter by check-in status
      * @param checkedIn true for checked-in passengers, false for not checked-in
@@ -376,10 +578,9 @@ public class BookingDAO {
      */
     public List<Booking> getBookingsByStatus(boolean checkedIn) throws DatabaseException {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE check_in_status = ? ORDER BY passenger_name";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_BOOKINGS_BY_STATUS)) {
             
             String status = checkedIn ? "CHECKED_IN" : "NOT_CHECKED_IN";
             stmt.setString(1, status);
@@ -400,6 +601,18 @@ public class BookingDAO {
         }
     }
     
+    /**
+     * Opens a streaming cursor over the bookings on flights departing in a time range, for reports
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @param canceller Receives the statement so the report can be cancelled, or null
+     * @return Cursor the caller must close
+     * @throws DatabaseException if database operation fails
+     */
+    public ReportCursor openBookingReport(LocalDateTime from, LocalDateTime to, QueryCanceller canceller) throws DatabaseException {
+        return ReportCursor.open(BOOKING_REPORT, from, to, canceller);
+    }
+    
     /**
      * Maps a ResultSet row to a Booking object
      * @param rs The ResultSet containing booking data
@@ -473,6 +686,13 @@ public class BookingDAO {
             // Check-in time not available
         }
         
+        // Handle version (absent before db/migrations/V2__booking_check_in_columns.sql)
+        try {
+            booking.setVersion(rs.getInt("version"));
+        } catch (SQLException e) {
+            booking.setVersion(0);
+        }
+        
         // Handle created at
         try {
             Timestamp createdAt = rs.getTimestamp("created_at");
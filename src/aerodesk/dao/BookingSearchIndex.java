@@ -0,0 +1,643 @@
+package aerodesk.dao;
+
+import aerodesk.model.Booking;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
+import aerodesk.exception.DatabaseException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Process-wide trigram search index over bookings for AeroDesk Pro
+ * Indexes passenger name tokens, booking references and passport numbers as
+ * padded trigrams ("$$smith$") with sorted int posting lists keyed by booking ID,
+ * so lookups never scan the bookings table. Queries match word prefixes and allow
+ * one typo from 4 characters and two from 8 when nothing matches exactly;
+ * candidates are walked newest first and verified with a bounded edit distance,
+ * stopping once the result limit is reached. Kept current by BookingDAO writes
+ * and rebuilt every booking.search.index.rebuild.interval ms to pick up rows
+ * written by other processes; writes made while a rebuild loads are replayed onto
+ * the new index before it replaces the old one.
+ */
+public class BookingSearchIndex {
+    private static BookingSearchIndex instance;
+    
+    private static final int NAME = 0;
+    private static final int REFERENCE = 1;
+    private static final int PASSPORT = 2;
+    
+    // Bounds the work of a typo-tolerant lookup when nothing matches exactly
+    private static final int FUZZY_CANDIDATES = 20000;
+    
+    private final BookingDAO bookingDAO;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Writes made while a rebuild loads, by booking ID (null: deleted); guarded by lock
+    private Map<Integer, Booking> pending;
+    private volatile boolean loaded = false;
+    private final AtomicBoolean warming = new AtomicBoolean(false);
+    
+    private BookingSearchIndex() {
+        this.bookingDAO = new BookingDAO();
+        
+        long intervalMillis = ConfigManager.getInstance().getIntProperty("booking.search.index.rebuild.interval", 600000);
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "BookingSearchIndex.rebuild", () -> {
+            if (!loaded) {
+                return;
+            }
+            try {
+                rebuild();
+            } catch (DatabaseException e) {
+                FileLogger.getInstance().logError("Booking search index rebuild failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static synchronized BookingSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new BookingSearchIndex();
+        }
+        return instance;
+    }
+    
+    /**
+     * Checks whether searches should use the index (booking.search.index.enabled)
+     * @return true unless disabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigManager.getInstance().getProperty("booking.search.index.enabled", "true"));
+    }
+    
+    /**
+     * Starts building the index in the background unless it is built or being built
+     */
+    public void warmUp() {
+        if (loaded || !warming.compareAndSet(false, true)) {
+            return;
+        }
+        TaskScheduler.getInstance().submitBlocking("BookingSearchIndex.load", () -> {
+            try {
+                ensureLoaded();
+            } catch (DatabaseException e) {
+                FileLogger.getInstance().logError("Booking search index load failed: " + e.getMessage());
+            } finally {
+                warming.set(false);
+            }
+        });
+    }
+    
+    /**
+     * Checks whether the index has been built
+     * @return true once searches can be answered without loading
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Finds bookings whose passenger name, booking reference or passport number
+     * matches the text, best matches first
+     * @param text Search text; each word must match a name word, or the whole
+     *             text a reference or passport number
+     * @param limit Maximum number of results
+     * @return Matching booking IDs in rank order
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Integer> search(String text, int limit) throws DatabaseException {
+        ensureLoaded();
+        long start = System.nanoTime();
+        List<Integer> ids;
+        lock.readLock().lock();
+        try {
+            ids = index.search(text, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        MetricsRegistry.getInstance().recordSince("booking.search.index", start);
+        return ids;
+    }
+    
+    /**
+     * Adds or re-indexes a booking after it was written to the database
+     * @param booking The booking as stored
+     */
+    public void bookingSaved(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.put(booking.getBookingId(), booking);
+            }
+            if (loaded) {
+                index.add(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Removes a booking after it was deleted from the database
+     * @param bookingId The booking ID
+     */
+    public void bookingDeleted(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.put(bookingId, null);
+            }
+            if (loaded) {
+                index.remove(bookingId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Rebuilds the index from the bookings table; searches keep using the old
+     * index until the new one is complete
+     * @throws DatabaseException if database operation fails
+     */
+    public synchronized void rebuild() throws DatabaseException {
+        long start = System.nanoTime();
+        setRecording(true);
+        try {
+            List<Booking> bookings = bookingDAO.getAllBookings();
+            replaceAll(bookings);
+            FileLogger.getInstance().logInfo("Booking search index built for " + bookings.size() + " bookings in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } finally {
+            setRecording(false);
+        }
+    }
+    
+    /**
+     * Replaces the index contents without touching the database, replaying the
+     * writes recorded since the rebuild started
+     * @param bookings The bookings to index
+     */
+    void replaceAll(List<Booking> bookings) {
+        Index rebuilt = new Index();
+        for (Booking booking : bookings) {
+            rebuilt.add(booking);
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                // Some of these may already be in the snapshot; add and remove are idempotent
+                for (Map.Entry<Integer, Booking> change : pending.entrySet()) {
+                    if (change.getValue() != null) {
+                        rebuilt.add(change.getValue());
+                    } else {
+                        rebuilt.remove(change.getKey());
+                    }
+                }
+                pending = null;
+            }
+            index = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void setRecording(boolean recording) {
+        lock.writeLock().lock();
+        try {
+            pending = recording ? new HashMap<>() : null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of indexed bookings
+     * @return Indexed booking count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void ensureLoaded() throws DatabaseException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Lower-cases, strips accents and replaces everything but letters and digits with spaces
+     */
+    static String normalize(String value) {
+        if (value == null || value.isBlank() || "N/A".equals(value)) {
+            return null;
+        }
+        String plain = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(plain.length());
+        boolean space = true;
+        for (int i = 0; i < plain.length(); i++) {
+            char c = plain.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.length() > 0 ? normalized.toString() : null;
+    }
+    
+    private static String compact(String normalized) {
+        return normalized != null ? normalized.replace(" ", "") : null;
+    }
+    
+    private static int allowedEdits(String token) {
+        return token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+    }
+    
+    /**
+     * Distance from a query word to the closest prefix of the value word between
+     * from and to (optimal string alignment, so a swap of two letters counts as
+     * one edit)
+     * @return The distance, or max + 1 if it exceeds max
+     */
+    static int prefixDistance(String query, String value, int from, int to, int max) {
+        int rows = query.length();
+        int cols = Math.min(to - from, rows + max);
+        int[] previous2 = new int[cols + 1];
+        int[] previous = new int[cols + 1];
+        int[] current = new int[cols + 1];
+        for (int j = 0; j <= cols; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= rows; i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= cols; j++) {
+                char q = query.charAt(i - 1);
+                char v = value.charAt(from + j - 1);
+                int best = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + (q == v ? 0 : 1));
+                if (i > 1 && j > 1 && q == value.charAt(from + j - 2) && query.charAt(i - 2) == v) {
+                    best = Math.min(best, previous2[j - 2] + 1);
+                }
+                current[j] = best;
+                rowMin = Math.min(rowMin, best);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = max + 1;
+        for (int j = Math.max(0, rows - max); j <= cols; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+    
+    /**
+     * The index structures; callers hold the lock
+     */
+    private static final class Index {
+        // Trigram key -> sorted booking IDs
+        private final Map<Long, IntList> postings = new HashMap<>();
+        // Normalized field values by booking ID, for verification and removal
+        private String[][] fields = new String[3][1024];
+        private int size;
+        
+        void add(Booking booking) {
+            int id = booking.getBookingId();
+            remove(id);
+            ensureCapacity(id);
+            String name = normalize(booking.getPassengerName());
+            String reference = compact(normalize(booking.getBookingReference()));
+            String passport = compact(normalize(booking.getPassportNo()));
+            if (name == null && reference == null && passport == null) {
+                return;
+            }
+            fields[NAME][id] = name;
+            fields[REFERENCE][id] = reference;
+            fields[PASSPORT][id] = passport;
+            for (int field = NAME; field <= PASSPORT; field++) {
+                String value = fields[field][id];
+                if (value == null) {
+                    continue;
+                }
+                for (long key : trigrams(field, value, true)) {
+                    postings.computeIfAbsent(key, k -> new IntList()).add(id);
+                }
+            }
+            size++;
+        }
+        
+        void remove(int id) {
+            if (id >= fields[NAME].length) {
+                return;
+            }
+            boolean present = false;
+            for (int field = NAME; field <= PASSPORT; field++) {
+                String value = fields[field][id];
+                if (value == null) {
+                    continue;
+                }
+                present = true;
+                for (long key : trigrams(field, value, true)) {
+                    IntList list = postings.get(key);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(key);
+                    }
+                }
+                fields[field][id] = null;
+            }
+            if (present) {
+                size--;
+            }
+        }
+        
+        private void ensureCapacity(int id) {
+            if (id >= fields[NAME].length) {
+                int capacity = Math.max(id + 1, fields[NAME].length * 2);
+                for (int field = NAME; field <= PASSPORT; field++) {
+                    fields[field] = Arrays.copyOf(fields[field], capacity);
+                }
+            }
+        }
+        
+        List<Integer> search(String text, int limit) {
+            String normalized = normalize(text);
+            if (normalized == null) {
+                return new ArrayList<>();
+            }
+            // Best (lowest) score per booking across the fields
+            Map<Integer, Integer> scores = new LinkedHashMap<>();
+            String[] tokens = normalized.split(" ");
+            String whole = compact(normalized);
+            boolean byNumber = whole.length() >= 2;
+            
+            // Exact prefixes first; near misses only if nothing matches exactly
+            searchField(NAME, tokens, false, limit, scores);
+            if (byNumber) {
+                searchField(REFERENCE, new String[]{whole}, false, limit, scores);
+                searchField(PASSPORT, new String[]{whole}, false, limit, scores);
+            }
+            if (scores.isEmpty()) {
+                searchField(NAME, tokens, true, limit, scores);
+                if (byNumber) {
+                    searchField(REFERENCE, new String[]{whole}, true, limit, scores);
+                    searchField(PASSPORT, new String[]{whole}, true, limit, scores);
+                }
+            }
+            
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.comparingByValue());
+            List<Integer> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && ids.size() < limit; i++) {
+                ids.add(ranked.get(i).getKey());
+            }
+            return ids;
+        }
+        
+        private void searchField(int field, String[] tokens, boolean fuzzy, int limit, Map<Integer, Integer> scores) {
+            // Look up one word and check the others during verification: exact
+            // lookups use the word with the rarest trigram, which bounds the
+            // matches; typo lookups the longest word, which survives edits best
+            IntList[] lists = null;
+            String probe = null;
+            for (String token : tokens) {
+                if (fuzzy && probe != null && token.length() <= probe.length()) {
+                    continue;
+                }
+                IntList[] candidate = postingLists(field, token);
+                if (fuzzy || lists == null || candidate[0].size < lists[0].size) {
+                    lists = candidate;
+                    probe = token;
+                }
+            }
+            
+            if (!fuzzy) {
+                intersect(field, tokens, lists, limit, scores);
+                return;
+            }
+            // Each edit (a swap included) destroys at most 4 trigrams of the query;
+            // two edits are only tried if nothing is within one, as they need far
+            // more candidates
+            int matched = 0;
+            for (int edits = 1; edits <= allowedEdits(probe) && matched == 0; edits++) {
+                matched = collect(field, tokens, lists, Math.max(1, lists.length - 4 * edits), edits, limit, scores);
+            }
+        }
+        
+        /**
+         * Posting lists of the trigrams of a query word, shortest first
+         */
+        private IntList[] postingLists(int field, String token) {
+            long[] keys = trigrams(field, token, false);
+            IntList[] lists = new IntList[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                IntList list = postings.get(keys[i]);
+                lists[i] = list != null ? list : IntList.EMPTY;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            return lists;
+        }
+        
+        /**
+         * Verifies bookings found in every list, newest first, until limit of them
+         * match. Leapfrogs between the lists so that a rare trigram skips most of
+         * the common ones
+         */
+        private void intersect(int field, String[] tokens, IntList[] lists, int limit, Map<Integer, Integer> scores) {
+            int[] ends = new int[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                ends[i] = lists[i].size;
+            }
+            int candidate = Integer.MAX_VALUE;
+            int agreed = 0;
+            int matched = 0;
+            for (int i = 0; matched < limit; i = (i + 1) % lists.length) {
+                int at = lists[i].floorIndex(candidate, ends[i]);
+                if (at < 0) {
+                    return;
+                }
+                ends[i] = at + 1;
+                int id = lists[i].data[at];
+                if (id != candidate) {
+                    candidate = id;
+                    agreed = 1;
+                } else {
+                    agreed++;
+                }
+                if (agreed == lists.length) {
+                    int score = verify(fields[field][id], tokens, 0);
+                    if (score >= 0) {
+                        scores.merge(id, score, Math::min);
+                        matched++;
+                    }
+                    candidate = id - 1;
+                    agreed = 0;
+                }
+            }
+        }
+        
+        /**
+         * Verifies bookings sharing at least threshold of the query trigrams, newest
+         * first, until limit of them are within the given edits or FUZZY_CANDIDATES
+         * were examined. Such a booking must appear in one of the (lists - threshold
+         * + 1) shortest lists, so only those are walked; the others are probed by
+         * binary search
+         * @return Number of bookings newly matched
+         */
+        private int collect(int field, String[] tokens, IntList[] lists, int threshold, int edits, int limit,
+                Map<Integer, Integer> scores) {
+            int scanned = lists.length - threshold + 1;
+            int[] cursors = new int[scanned];
+            for (int i = 0; i < scanned; i++) {
+                cursors[i] = lists[i].size - 1;
+            }
+            int matched = 0;
+            for (int examined = 0; matched < limit && examined < FUZZY_CANDIDATES; examined++) {
+                int id = -1;
+                for (int i = 0; i < scanned; i++) {
+                    if (cursors[i] >= 0) {
+                        id = Math.max(id, lists[i].data[cursors[i]]);
+                    }
+                }
+                if (id < 0) {
+                    break;
+                }
+                int shared = 0;
+                for (int i = 0; i < scanned; i++) {
+                    if (cursors[i] >= 0 && lists[i].data[cursors[i]] == id) {
+                        shared++;
+                        cursors[i]--;
+                    }
+                }
+                for (int i = scanned; i < lists.length && shared + lists.length - i >= threshold; i++) {
+                    if (lists[i].contains(id)) {
+                        shared++;
+                    }
+                }
+                if (shared < threshold || scores.containsKey(id)) {
+                    continue;
+                }
+                int score = verify(fields[field][id], tokens, edits);
+                if (score >= 0) {
+                    scores.put(id, score);
+                    matched++;
+                }
+            }
+            return matched;
+        }
+        
+        /**
+         * Scores a field value against every query word: 0 per word that is a prefix
+         * of a value word, 1 for a substring and 2 + edits for a prefix within
+         * maxEdits (and the word's own allowance)
+         * @return The total score, or -1 if some word does not match
+         */
+        private int verify(String value, String[] tokens, int maxEdits) {
+            if (value == null) {
+                return -1;
+            }
+            int total = 0;
+            for (String token : tokens) {
+                int max = Math.min(maxEdits, allowedEdits(token));
+                int best = -1;
+                for (int from = 0; from < value.length() && best != 0; ) {
+                    int to = value.indexOf(' ', from);
+                    if (to < 0) {
+                        to = value.length();
+                    }
+                    int score = -1;
+                    if (value.startsWith(token, from)) {
+                        score = 0;
+                    } else if (token.length() >= 3) {
+                        int at = value.indexOf(token, from);
+                        if (at >= 0 && at + token.length() <= to) {
+                            score = 1;
+                        }
+                    }
+                    if (score < 0 && max > 0) {
+                        int distance = prefixDistance(token, value, from, to, max);
+                        score = distance <= max ? 2 + distance : -1;
+                    }
+                    if (score >= 0 && (best < 0 || score < best)) {
+                        best = score;
+                    }
+                    from = to + 1;
+                }
+                if (best < 0) {
+                    return -1;
+                }
+                total += best;
+            }
+            return total;
+        }
+        
+        /**
+         * Trigrams of each word of a value padded as "$$word$"; queries omit the
+         * end padding so that they match as prefixes
+         */
+        private static long[] trigrams(int field, String value, boolean indexed) {
+            int words = 1;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == ' ') {
+                    words++;
+                }
+            }
+            int pad = indexed ? 1 : 0;
+            // Each word of n characters yields n + pad trigrams
+            long[] keys = new long[value.length() - (words - 1) + words * pad];
+            int k = 0;
+            for (int from = 0; from <= value.length(); ) {
+                int to = value.indexOf(' ', from);
+                if (to < 0) {
+                    to = value.length();
+                }
+                char a = '$';
+                char b = '$';
+                for (int i = from; i < to + pad; i++) {
+                    char c = i < to ? value.charAt(i) : '$';
+                    long packed = ((long) field << 48) | ((long) a << 32) | ((long) b << 16) | c;
+                    // Long.hashCode folds the halves together and collides badly on
+                    // packed characters; an odd multiplier spreads them and stays unique
+                    keys[k++] = packed * 0x9E3779B97F4A7C15L;
+                    a = b;
+                    b = c;
+                }
+                from = to + 1;
+            }
+            return keys;
+        }
+    }
+}
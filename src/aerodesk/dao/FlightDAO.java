@@ -3,12 +3,16 @@ package aerodesk.dao;
 import aerodesk.model.Flight;
 import aerodesk.util.DatabaseConnection;
 import aerodesk.util.FileLogger;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.StatementRegistry;
 import aerodesk.exception.DatabaseException;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for Flight operations
@@ -16,6 +20,34 @@ import java.util.List;
  */
 public class FlightDAO {
     
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String GET_ALL_FLIGHTS = StatementRegistry.declare("flight.getAllFlights",
+        "SELECT * FROM flights ORDER BY departure_time");
+    private static final String GET_FLIGHT_BY_ID = StatementRegistry.declare("flight.getFlightById",
+        "SELECT * FROM flights WHERE id = ?");
+    private static final String CREATE_FLIGHT = StatementRegistry.declare("flight.createFlight",
+        "INSERT INTO flights (flight_number, origin, destination, departure_time, arrival_time, aircraft_type, status, " +
+        "estimated_departure, actual_departure, estimated_arrival, actual_arrival) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    private static final String UPDATE_FLIGHT = StatementRegistry.declare("flight.updateFlight",
+        "UPDATE flights SET flight_number = ?, origin = ?, destination = ?, " +
+        "departure_time = ?, arrival_time = ?, aircraft_type = ?, status = ?, " +
+        "estimated_departure = ?, actual_departure = ?, estimated_arrival = ?, actual_arrival = ? " +
+        "WHERE id = ?");
+    private static final String DELETE_FLIGHT = StatementRegistry.declare("flight.deleteFlight",
+        "DELETE FROM flights WHERE id = ?");
+    private static final String GET_FLIGHT_BY_NUMBER = StatementRegistry.declare("flight.getFlightByNumber",
+        "SELECT * FROM flights WHERE flight_number = ?");
+    private static final String GET_FLIGHTS_UPDATED_SINCE = StatementRegistry.declare("flight.getFlightsUpdatedSince",
+        "SELECT * FROM flights WHERE updated_at >= ? ORDER BY departure_time");
+    private static final String GET_ALL_FLIGHT_IDS = StatementRegistry.declare("flight.getAllFlightIds",
+        "SELECT id FROM flights");
+    // Report query, streamed through a ReportCursor and kept out of the statement cache
+    private static final String FLIGHT_REPORT =
+        "SELECT flight_number, origin, destination, departure_time, arrival_time, " +
+        "COALESCE(actual_departure, estimated_departure) AS expected_departure, status, aircraft_type " +
+        "FROM flights WHERE departure_time >= ? AND departure_time < ? ORDER BY departure_time";
+    
     /**
      * Retrieves all flights from the database
      * @return List of all flights
@@ -23,10 +55,9 @@ public class FlightDAO {
      */
     public List<Flight> getAllFlights() throws DatabaseException {
         List<Flight> flights = new ArrayList<>();
-        String sql = "SELECT * FROM flights ORDER BY departure_time";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_FLIGHTS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -50,10 +81,8 @@ public class FlightDAO {
      * @throws DatabaseException if database operation fails
      */
     public Flight getFlightById(int flightId) throws DatabaseException {
-        String sql = "SELECT * FROM flights WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_FLIGHT_BY_ID)) {
             
             stmt.setInt(1, flightId);
             
@@ -80,11 +109,8 @@ public class FlightDAO {
      * @throws DatabaseException if database operation fails
      */
     public Flight createFlight(Flight flight) throws DatabaseException {
-        String sql = "INSERT INTO flights (flight_number, origin, destination, departure_time, arrival_time, aircraft_type, status) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(CREATE_FLIGHT, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, flight.getFlightNo());
             stmt.setString(2, flight.getOrigin());
@@ -93,6 +119,7 @@ public class FlightDAO {
             stmt.setTimestamp(5, Timestamp.valueOf(flight.getArriveTime()));
             stmt.setString(6, flight.getAircraftType());
             stmt.setString(7, flight.getStatus().name());
+            setFeedTimes(stmt, 8, flight);
             
             int affectedRows = stmt.executeUpdate();
             
@@ -103,6 +130,7 @@ public class FlightDAO {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     flight.setFlightId(generatedKeys.getInt(1));
+                    GlobalSearchIndex.getInstance().flightSaved(flight);
                     FileLogger.getInstance().logInfo("Created new flight: " + flight.getFlightNo());
                     return flight;
                 } else {
@@ -123,12 +151,8 @@ public class FlightDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateFlight(Flight flight) throws DatabaseException {
-        String sql = "UPDATE flights SET flight_number = ?, origin = ?, destination = ?, " +
-                    "departure_time = ?, arrival_time = ?, aircraft_type = ?, status = ? " +
-                    "WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_FLIGHT)) {
             
             stmt.setString(1, flight.getFlightNo());
             stmt.setString(2, flight.getOrigin());
@@ -137,11 +161,15 @@ public class FlightDAO {
             stmt.setTimestamp(5, Timestamp.valueOf(flight.getArriveTime()));
             stmt.setString(6, flight.getAircraftType());
             stmt.setString(7, flight.getStatus().name());
-            stmt.setInt(8, flight.getFlightId());
+            setFeedTimes(stmt, 8, flight);
+            stmt.setInt(12, flight.getFlightId());
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().flightSaved(flight);
+                // The aircraft, and with it the seat layout, may have changed
+                SeatMapIndex.getInstance().invalidate(flight.getFlightId());
                 FileLogger.getInstance().logInfo("Updated flight: " + flight.getFlightNo());
                 return true;
             } else {
@@ -162,16 +190,16 @@ public class FlightDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean deleteFlight(int flightId) throws DatabaseException {
-        String sql = "DELETE FROM flights WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_FLIGHT)) {
             
             stmt.setInt(1, flightId);
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.FLIGHT, flightId);
+                SeatMapIndex.getInstance().invalidate(flightId);
                 FileLogger.getInstance().logInfo("Deleted flight with ID: " + flightId);
                 return true;
             } else {
@@ -192,10 +220,8 @@ public class FlightDAO {
      * @throws DatabaseException if database operation fails
      */
     public Flight getFlightByNumber(String flightNo) throws DatabaseException {
-        String sql = "SELECT * FROM flights WHERE flight_number = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_FLIGHT_BY_NUMBER)) {
             
             stmt.setString(1, flightNo);
             
@@ -215,13 +241,104 @@ public class FlightDAO {
         }
     }
     
+    /**
+     * Retrieves flights changed at or after the given time (inclusive, so rows
+     * updated within the same second as the watermark are not missed)
+     * @param since The updated_at watermark
+     * @return List of changed flights
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Flight> getFlightsUpdatedSince(LocalDateTime since) throws DatabaseException {
+        List<Flight> flights = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_FLIGHTS_UPDATED_SINCE)) {
+            
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(mapResultSetToFlight(rs));
+                }
+            }
+            
+            FileLogger.getInstance().logDebug("Retrieved " + flights.size() + " flights updated since " + since);
+            return flights;
+            
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve updated flights: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve updated flights", e);
+        }
+    }
+    
+    /**
+     * Retrieves the IDs of all flights (used to detect deletions)
+     * @return Set of flight IDs
+     * @throws DatabaseException if database operation fails
+     */
+    public Set<Integer> getAllFlightIds() throws DatabaseException {
+        Set<Integer> ids = new HashSet<>();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_FLIGHT_IDS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+            return ids;
+            
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve flight IDs: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve flight IDs", e);
+        }
+    }
+    
+    /**
+     * Opens a streaming cursor over the flights departing in a time range, for reports
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @param canceller Receives the statement so the report can be cancelled, or null
+     * @return Cursor the caller must close
+     * @throws DatabaseException if database operation fails
+     */
+    public ReportCursor openFlightReport(LocalDateTime from, LocalDateTime to, QueryCanceller canceller) throws DatabaseException {
+        return ReportCursor.open(FLIGHT_REPORT, from, to, canceller);
+    }
+    
+    /**
+     * Binds the estimated and actual departure and arrival times, which may be null
+     * @param stmt The statement
+     * @param first Index of the estimated_departure parameter; the other three follow
+     * @param flight The flight
+     * @throws SQLException if binding fails
+     */
+    private void setFeedTimes(PreparedStatement stmt, int first, Flight flight) throws SQLException {
+        LocalDateTime[] times = {
+            flight.getEstimatedDepartTime(), flight.getActualDepartTime(),
+            flight.getEstimatedArriveTime(), flight.getActualArriveTime()
+        };
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] != null) {
+                stmt.setTimestamp(first + i, Timestamp.valueOf(times[i]));
+            } else {
+                stmt.setNull(first + i, Types.TIMESTAMP);
+            }
+        }
+    }
+    
+    private static LocalDateTime getTime(ResultSet rs, String column) throws SQLException {
+        Timestamp time = rs.getTimestamp(column);
+        return time != null ? time.toLocalDateTime() : null;
+    }
+    
     /**
      * Maps a ResultSet row to a Flight object
      * @param rs The ResultSet containing flight data
      * @return Flight object
      * @throws SQLException if mapping fails
      */
-    private Flight mapResultSetToFlight(ResultSet rs) throws SQLException {
+    Flight mapResultSetToFlight(ResultSet rs) throws SQLException {
         Flight flight = new Flight();
         flight.setFlightId(rs.getInt("id"));
         flight.setFlightNo(rs.getString("flight_number"));
@@ -231,12 +348,27 @@ public class FlightDAO {
         flight.setArriveTime(rs.getTimestamp("arrival_time").toLocalDateTime());
         flight.setAircraftType(rs.getString("aircraft_type"));
         flight.setStatus(Flight.FlightStatus.valueOf(rs.getString("status")));
+        // Added by db/migrations/V6__flight_estimated_actual_times.sql
+        flight.setEstimatedDepartTime(getTime(rs, "estimated_departure"));
+        flight.setActualDepartTime(getTime(rs, "actual_departure"));
+        flight.setEstimatedArriveTime(getTime(rs, "estimated_arrival"));
+        flight.setActualArriveTime(getTime(rs, "actual_arrival"));
         
         Timestamp createdAt = rs.getTimestamp("created_at");
         if (createdAt != null) {
             flight.setCreatedAt(createdAt.toLocalDateTime());
         }
         
+        // updated_at is only present once db/migrations/V1__flight_updated_at.sql has been applied
+        try {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            if (updatedAt != null) {
+                flight.setUpdatedAt(updatedAt.toLocalDateTime());
+            }
+        } catch (SQLException e) {
+            // Updated at not available
+        }
+        
         return flight;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,575 @@
+package aerodesk.dao;
+
+import aerodesk.model.Flight;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.TaskScheduler;
+import aerodesk.exception.DatabaseException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Process-wide in-memory flight repository backed by FlightDAO
+ * Keeps every flight indexed by ID, flight number, status, origin, destination
+ * and departure time so screens read from memory instead of reloading the
+ * flights table. Writes go through to MySQL first and then update the indexes;
+ * changes made by other processes are picked up by periodic reconciliation
+ * against flights.updated_at.
+ */
+public class FlightRepository {
+    private static FlightRepository instance;
+    
+    private static final Comparator<Flight> BY_DEPARTURE = Comparator
+            .comparing(Flight::getDepartTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(Flight::getFlightId);
+    
+    private final FlightDAO flightDAO;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Primary and secondary indexes (guarded by lock, entries are never handed out)
+    private final Map<Integer, Flight> flightsById = new HashMap<>();
+    private final Map<String, Flight> flightsByNumber = new HashMap<>();
+    private final Map<Flight.FlightStatus, Set<Flight>> flightsByStatus = new EnumMap<>(Flight.FlightStatus.class);
+    private final Map<String, Set<Flight>> flightsByOrigin = new HashMap<>();
+    private final Map<String, Set<Flight>> flightsByDestination = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Set<Flight>> flightsByDeparture = new TreeMap<>();
+    
+    private final List<FlightChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean loaded = false;
+    private LocalDateTime updatedWatermark;
+    
+    private FlightRepository() {
+        this.flightDAO = new FlightDAO();
+        
+        long intervalMillis = ConfigManager.getInstance().getIntProperty("flight.cache.reconcile.interval", 60000);
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "FlightRepository.reconcile", () -> {
+            try {
+                reconcile();
+            } catch (DatabaseException e) {
+                FileLogger.getInstance().logError("Flight cache reconciliation failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static synchronized FlightRepository getInstance() {
+        if (instance == null) {
+            instance = new FlightRepository();
+        }
+        return instance;
+    }
+    
+    /**
+     * Callback for flights created, changed or removed through this repository or
+     * picked up by reconciliation. A null previous marks a new flight and a null
+     * current a removed one; the initial load fires no events.
+     */
+    public interface FlightChangeListener {
+        /**
+         * Called after a cached flight has been added, replaced or evicted
+         * @param previous Copy of the flight before the change, or null if it is new
+         * @param current Copy of the flight after the change, or null if it was removed
+         */
+        void flightChanged(Flight previous, Flight current);
+    }
+    
+    public void addChangeListener(FlightChangeListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeChangeListener(FlightChangeListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Retrieves all flights ordered by departure time
+     * @return List of all flights (copies, safe to modify)
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> getAllFlights() throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Flight> flights = new ArrayList<>(flightsById.size());
+            for (Set<Flight> bucket : flightsByDeparture.values()) {
+                copyInto(bucket, flights);
+            }
+            return flights;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves a flight by its ID
+     * @param flightId The flight ID
+     * @return Flight copy or null if not found
+     * @throws DatabaseException if the initial load fails
+     */
+    public Flight getFlightById(int flightId) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Flight flight = flightsById.get(flightId);
+            return flight != null ? new Flight(flight) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves a flight by its flight number (case-insensitive)
+     * @param flightNo The flight number
+     * @return Flight copy or null if not found
+     * @throws DatabaseException if the initial load fails
+     */
+    public Flight getFlightByNumber(String flightNo) throws DatabaseException {
+        if (flightNo == null) {
+            return null;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Flight flight = flightsByNumber.get(normalize(flightNo));
+            return flight != null ? new Flight(flight) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves all flights with the given status
+     * @param status The flight status
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> getFlightsByStatus(Flight.FlightStatus status) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return sortedCopies(flightsByStatus.get(status));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves all flights departing from an origin (exact, case-insensitive)
+     * @param origin The origin airport
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> getFlightsByOrigin(String origin) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return sortedCopies(flightsByOrigin.get(normalize(origin)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves all flights arriving at a destination (exact, case-insensitive)
+     * @param destination The destination airport
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> getFlightsByDestination(String destination) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return sortedCopies(flightsByDestination.get(normalize(destination)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves flights whose origin contains the given text, scanning only the
+     * distinct origin keys rather than every flight
+     * @param text The text to look for
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> searchByOrigin(String text) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return searchKeys(flightsByOrigin, normalize(text));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves flights whose destination contains the given text
+     * @param text The text to look for
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> searchByDestination(String text) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return searchKeys(flightsByDestination, normalize(text));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Retrieves flights departing within a time range
+     * @param from Start of range (inclusive)
+     * @param to End of range (inclusive)
+     * @return Flights ordered by departure time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<Flight> getFlightsDepartingBetween(LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Flight> flights = new ArrayList<>();
+            for (Set<Flight> bucket : flightsByDeparture.subMap(from, true, to, true).values()) {
+                copyInto(bucket, flights);
+            }
+            return flights;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Creates a flight in the database and adds it to the cache
+     * @param flight The flight to create
+     * @return The created flight with generated ID
+     * @throws DatabaseException if database operation fails
+     */
+    public Flight createFlight(Flight flight) throws DatabaseException {
+        Flight created = flightDAO.createFlight(flight);
+        if (loaded) {
+            lock.writeLock().lock();
+            try {
+                index(new Flight(created));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            fireChanged(null, created);
+        }
+        return created;
+    }
+    
+    /**
+     * Updates a flight in the database and refreshes its cache entry
+     * @param flight The flight to update
+     * @return true if update was successful
+     * @throws DatabaseException if database operation fails
+     */
+    public boolean updateFlight(Flight flight) throws DatabaseException {
+        boolean updated = flightDAO.updateFlight(flight);
+        if (updated && loaded) {
+            Flight previous;
+            lock.writeLock().lock();
+            try {
+                previous = index(new Flight(flight));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            fireChanged(previous, flight);
+        }
+        return updated;
+    }
+    
+    /**
+     * Deletes a flight from the database and evicts it from the cache
+     * @param flightId The ID of the flight to delete
+     * @return true if deletion was successful
+     * @throws DatabaseException if database operation fails
+     */
+    public boolean deleteFlight(int flightId) throws DatabaseException {
+        boolean deleted = flightDAO.deleteFlight(flightId);
+        if (deleted && loaded) {
+            Flight previous;
+            lock.writeLock().lock();
+            try {
+                previous = unindex(flightId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (previous != null) {
+                fireChanged(previous, null);
+            }
+        }
+        return deleted;
+    }
+    
+    /**
+     * Reloads every flight from the database and rebuilds all indexes; after the
+     * initial load every reloaded flight is reported as changed and every flight
+     * no longer present as removed
+     * @throws DatabaseException if database operation fails
+     */
+    public void reload() throws DatabaseException {
+        List<Flight> flights = flightDAO.getAllFlights();
+        Map<Integer, Flight> previous = replaceAll(flights);
+        FileLogger.getInstance().logInfo("Flight repository loaded " + flights.size() + " flights");
+        
+        if (previous != null) {
+            for (Flight flight : flights) {
+                fireChanged(previous.remove(flight.getFlightId()), flight);
+            }
+            for (Flight removed : previous.values()) {
+                fireChanged(removed, null);
+            }
+        }
+    }
+    
+    /**
+     * Replaces the cache contents without touching the database
+     * @param flights The flights to index (taken over, not copied)
+     * @return The replaced entries by ID, or null if nothing was loaded before
+     */
+    Map<Integer, Flight> replaceAll(List<Flight> flights) {
+        lock.writeLock().lock();
+        try {
+            Map<Integer, Flight> previous = loaded ? new HashMap<>(flightsById) : null;
+            flightsById.clear();
+            flightsByNumber.clear();
+            flightsByStatus.clear();
+            flightsByOrigin.clear();
+            flightsByDestination.clear();
+            flightsByDeparture.clear();
+            updatedWatermark = null;
+            for (Flight flight : flights) {
+                index(flight);
+            }
+            loaded = true;
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Applies changes made outside this process: rows updated since the last
+     * seen updated_at are re-indexed and rows no longer present are evicted.
+     * Falls back to a full reload when change tracking is unavailable.
+     * @throws DatabaseException if database operation fails
+     */
+    public void reconcile() throws DatabaseException {
+        if (!loaded) {
+            return;
+        }
+        
+        LocalDateTime since;
+        lock.readLock().lock();
+        try {
+            since = updatedWatermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        if (since == null) {
+            // No updated_at values seen (column missing or empty table)
+            reload();
+            return;
+        }
+        
+        List<Flight> changed;
+        try {
+            changed = flightDAO.getFlightsUpdatedSince(since);
+        } catch (DatabaseException e) {
+            FileLogger.getInstance().logWarning("Incremental flight reconciliation unavailable, reloading: " + e.getMessage());
+            reload();
+            return;
+        }
+        Set<Integer> liveIds = flightDAO.getAllFlightIds();
+        
+        List<Flight> previousVersions = new ArrayList<>(changed.size());
+        List<Flight> evicted = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Flight flight : changed) {
+                previousVersions.add(index(flight));
+            }
+            for (Integer id : new ArrayList<>(flightsById.keySet())) {
+                if (!liveIds.contains(id)) {
+                    evicted.add(unindex(id));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        // Rows inserted elsewhere without an updated_at value
+        for (Integer id : liveIds) {
+            boolean missing;
+            lock.readLock().lock();
+            try {
+                missing = !flightsById.containsKey(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (missing) {
+                Flight flight = flightDAO.getFlightById(id);
+                if (flight != null) {
+                    Flight previous;
+                    lock.writeLock().lock();
+                    try {
+                        previous = index(flight);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    fireChanged(previous, flight);
+                }
+            }
+        }
+        
+        for (int i = 0; i < changed.size(); i++) {
+            fireChanged(previousVersions.get(i), changed.get(i));
+        }
+        for (Flight removed : evicted) {
+            fireChanged(removed, null);
+        }
+        
+        if (!changed.isEmpty() || !evicted.isEmpty()) {
+            FileLogger.getInstance().logInfo("Flight repository reconciled: " + changed.size() + " changed, " + evicted.size() + " removed");
+        }
+    }
+    
+    /**
+     * Gets the number of cached flights
+     * @return Cached flight count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return flightsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void ensureLoaded() throws DatabaseException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+    
+    // Must hold the write lock; returns the entry that was replaced, if any
+    private Flight index(Flight flight) {
+        Flight previous = unindex(flight.getFlightId());
+        flightsById.put(flight.getFlightId(), flight);
+        if (flight.getFlightNo() != null) {
+            flightsByNumber.put(normalize(flight.getFlightNo()), flight);
+        }
+        if (flight.getStatus() != null) {
+            flightsByStatus.computeIfAbsent(flight.getStatus(), s -> new HashSet<>()).add(flight);
+        }
+        flightsByOrigin.computeIfAbsent(normalize(flight.getOrigin()), k -> new HashSet<>()).add(flight);
+        flightsByDestination.computeIfAbsent(normalize(flight.getDestination()), k -> new HashSet<>()).add(flight);
+        if (flight.getDepartTime() != null) {
+            flightsByDeparture.computeIfAbsent(flight.getDepartTime(), t -> new HashSet<>()).add(flight);
+        }
+        if (flight.getUpdatedAt() != null
+                && (updatedWatermark == null || flight.getUpdatedAt().isAfter(updatedWatermark))) {
+            updatedWatermark = flight.getUpdatedAt();
+        }
+        return previous;
+    }
+    
+    // Must hold the write lock
+    private Flight unindex(int flightId) {
+        Flight existing = flightsById.remove(flightId);
+        if (existing == null) {
+            return null;
+        }
+        if (existing.getFlightNo() != null) {
+            flightsByNumber.remove(normalize(existing.getFlightNo()), existing);
+        }
+        if (existing.getStatus() != null) {
+            removeFrom(flightsByStatus, existing.getStatus(), existing);
+        }
+        removeFrom(flightsByOrigin, normalize(existing.getOrigin()), existing);
+        removeFrom(flightsByDestination, normalize(existing.getDestination()), existing);
+        if (existing.getDepartTime() != null) {
+            removeFrom(flightsByDeparture, existing.getDepartTime(), existing);
+        }
+        return existing;
+    }
+    
+    private void fireChanged(Flight previous, Flight current) {
+        for (FlightChangeListener listener : listeners) {
+            try {
+                listener.flightChanged(previous != null ? new Flight(previous) : null,
+                        current != null ? new Flight(current) : null);
+            } catch (RuntimeException e) {
+                FileLogger.getInstance().logError("Flight change listener failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private <K> void removeFrom(Map<K, Set<Flight>> index, K key, Flight flight) {
+        Set<Flight> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(flight);
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+    
+    private List<Flight> searchKeys(Map<String, Set<Flight>> index, String text) {
+        List<Flight> flights = new ArrayList<>();
+        for (Map.Entry<String, Set<Flight>> entry : index.entrySet()) {
+            if (entry.getKey().contains(text)) {
+                copyInto(entry.getValue(), flights);
+            }
+        }
+        flights.sort(BY_DEPARTURE);
+        return flights;
+    }
+    
+    private List<Flight> sortedCopies(Set<Flight> bucket) {
+        List<Flight> flights = new ArrayList<>();
+        if (bucket != null) {
+            copyInto(bucket, flights);
+            flights.sort(BY_DEPARTURE);
+        }
+        return flights;
+    }
+    
+    private void copyInto(Collection<Flight> source, List<Flight> target) {
+        if (source.size() == 1) {
+            target.add(new Flight(source.iterator().next()));
+            return;
+        }
+        List<Flight> copies = new ArrayList<>(source.size());
+        for (Flight flight : source) {
+            copies.add(new Flight(flight));
+        }
+        copies.sort(BY_DEPARTURE);
+        target.addAll(copies);
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase();
+    }
+}
@@ -4,13 +4,18 @@ import aerodesk.model.Gate;
 import aerodesk.model.GateAssignment;
 import aerodesk.util.DatabaseConnection;
 import aerodesk.util.FileLogger;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.StatementRegistry;
 import aerodesk.exception.DatabaseException;
 import aerodesk.exception.GateConflictException;
 
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data Access Object for Gate operations
@@ -18,6 +23,44 @@ import java.util.List;
  */
 public class GateDAO {
     
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String GET_ALL_GATES = StatementRegistry.declare("gate.getAllGates",
+        "SELECT * FROM gates ORDER BY gate_number");
+    private static final String GET_ACTIVE_GATES = StatementRegistry.declare("gate.getActiveGates",
+        "SELECT * FROM gates WHERE status = 'AVAILABLE' ORDER BY gate_number");
+    private static final String GET_GATE_BY_ID = StatementRegistry.declare("gate.getGateById",
+        "SELECT * FROM gates WHERE id = ?");
+    private static final String GET_GATE_BY_NAME = StatementRegistry.declare("gate.getGateByName",
+        "SELECT * FROM gates WHERE gate_number = ?");
+    private static final String CREATE_GATE = StatementRegistry.declare("gate.createGate",
+        "INSERT INTO gates (gate_number, terminal, status) VALUES (?, ?, ?)");
+    private static final String UPDATE_GATE = StatementRegistry.declare("gate.updateGate",
+        "UPDATE gates SET gate_number = ?, terminal = ?, status = ? WHERE id = ?");
+    private static final String DELETE_GATE = StatementRegistry.declare("gate.deleteGate", "DELETE FROM gates WHERE id = ?");
+    private static final String SET_GATE_STATUS = StatementRegistry.declare("gate.setGateStatus",
+        "UPDATE gates SET status = ? WHERE id = ?");
+    private static final String GET_ALL_ASSIGNMENTS = StatementRegistry.declare("gate.getAllAssignments",
+        "SELECT * FROM gate_assignments ORDER BY id");
+    private static final String GET_ASSIGNMENTS_AFTER = StatementRegistry.declare("gate.getAssignmentsAfter",
+        "SELECT * FROM gate_assignments WHERE id > ? ORDER BY id");
+    private static final String GET_ALL_ASSIGNMENT_IDS = StatementRegistry.declare("gate.getAllAssignmentIds",
+        "SELECT id FROM gate_assignments");
+    private static final String CREATE_ASSIGNMENT_LOCK = StatementRegistry.declare("gate.createAssignment.lock",
+        "SELECT id FROM gates WHERE id = ? FOR UPDATE");
+    private static final String CREATE_ASSIGNMENT = StatementRegistry.declare("gate.createAssignment",
+        "INSERT INTO gate_assignments (gate_id, flight_id, assignment_time, departure_time) VALUES (?, ?, ?, ?)");
+    private static final String REMOVE_ASSIGNMENT = StatementRegistry.declare("gate.removeAssignment",
+        "DELETE FROM gate_assignments WHERE id = ?");
+    // Rows are stored with assignment_time <= departure_time, so the bare columns can seek
+    // idx_gate_assignments_gate_time; bounds are inclusive like GateScheduleIndex
+    private static final String HAS_CONFLICT = StatementRegistry.declare("gate.hasConflict",
+        "SELECT COUNT(*) FROM gate_assignments WHERE gate_id = ? AND assignment_time <= ? AND departure_time >= ?");
+    // Report query, streamed through a ReportCursor and kept out of the statement cache
+    private static final String ASSIGNMENT_REPORT =
+        "SELECT g.gate_number, g.terminal, f.flight_number, a.assignment_time, a.departure_time " +
+        "FROM gate_assignments a JOIN gates g ON g.id = a.gate_id JOIN flights f ON f.id = a.flight_id " +
+        "WHERE a.departure_time >= ? AND a.departure_time < ? ORDER BY a.departure_time, g.gate_number";
+    
     /**
      * Retrieves all gates from the database
      * @return List of all gates
@@ -25,10 +68,9 @@ public class GateDAO {
      */
     public List<Gate> getAllGates() throws DatabaseException {
         List<Gate> gates = new ArrayList<>();
-        String sql = "SELECT * FROM gates ORDER BY gate_number";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_GATES);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -52,10 +94,9 @@ public class GateDAO {
      */
     public List<Gate> getActiveGates() throws DatabaseException {
         List<Gate> gates = new ArrayList<>();
-        String sql = "SELECT * FROM gates WHERE status = 'AVAILABLE' ORDER BY gate_number";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ACTIVE_GATES);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -79,10 +120,8 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public Gate getGateById(int gateId) throws DatabaseException {
-        String sql = "SELECT * FROM gates WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_GATE_BY_ID)) {
             
             stmt.setInt(1, gateId);
             
@@ -109,10 +148,8 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public Gate getGateByName(String gateName) throws DatabaseException {
-        String sql = "SELECT * FROM gates WHERE gate_number = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_GATE_BY_NAME)) {
             
             stmt.setString(1, gateName);
             
@@ -139,10 +176,8 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public Gate createGate(Gate gate) throws DatabaseException {
-        String sql = "INSERT INTO gates (gate_number, terminal, status) VALUES (?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(CREATE_GATE, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, gate.getGateName());
             stmt.setString(2, gate.getTerminal());
@@ -157,6 +192,7 @@ public class GateDAO {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     gate.setGateId(generatedKeys.getInt(1));
+                    GlobalSearchIndex.getInstance().gateSaved(gate);
                     FileLogger.getInstance().logInfo("Created new gate: " + gate.getGateName());
                     return gate;
                 } else {
@@ -177,10 +213,8 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateGate(Gate gate) throws DatabaseException {
-        String sql = "UPDATE gates SET gate_number = ?, terminal = ?, status = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_GATE)) {
             
             stmt.setString(1, gate.getGateName());
             stmt.setString(2, gate.getTerminal());
@@ -190,6 +224,7 @@ public class GateDAO {
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().gateSaved(gate);
                 FileLogger.getInstance().logInfo("Updated gate: " + gate.getGateName());
                 return true;
             } else {
@@ -210,16 +245,15 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean deleteGate(int gateId) throws DatabaseException {
-        String sql = "DELETE FROM gates WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DELETE_GATE)) {
             
             stmt.setInt(1, gateId);
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.GATE, gateId);
                 FileLogger.getInstance().logInfo("Deleted gate with ID: " + gateId);
                 return true;
             } else {
@@ -241,10 +275,8 @@ public class GateDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean setGateStatus(int gateId, Gate.GateStatus status) throws DatabaseException {
-        String sql = "UPDATE gates SET status = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(SET_GATE_STATUS)) {
             
             stmt.setString(1, status.name());
             stmt.setInt(2, gateId);
@@ -252,6 +284,7 @@ public class GateDAO {
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GlobalSearchIndex.getInstance().statusChanged(GlobalSearchIndex.EntityType.GATE, gateId, status);
                 FileLogger.getInstance().logInfo("Set gate " + gateId + " status to: " + status);
                 return true;
             } else {
@@ -289,10 +322,9 @@ public class GateDAO {
     // Gate Assignment methods
     public List<GateAssignment> getAllAssignments() throws DatabaseException {
         List<GateAssignment> assignments = new ArrayList<>();
-        String sql = "SELECT * FROM gate_assignments ORDER BY id";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_ASSIGNMENTS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -309,55 +341,161 @@ public class GateDAO {
         }
     }
     
-    public GateAssignment createAssignment(GateAssignment assignment) throws DatabaseException, GateConflictException {
-        // Check for conflicts first
-        if (hasConflict(assignment)) {
-            throw new GateConflictException("Gate conflict detected for the specified time period");
-        }
-        
-        String sql = "INSERT INTO gate_assignments (gate_id, flight_id, assignment_time, departure_time) VALUES (?, ?, ?, ?)";
+    /**
+     * Retrieves the assignments created after a given ID (IDs are assigned in insert order)
+     * @param lastId Highest assignment ID already seen
+     * @return Newer assignments ordered by ID
+     * @throws DatabaseException if database operation fails
+     */
+    public List<GateAssignment> getAssignmentsAfter(int lastId) throws DatabaseException {
+        List<GateAssignment> assignments = new ArrayList<>();
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_ASSIGNMENTS_AFTER)) {
             
-            stmt.setInt(1, assignment.getGateId());
-            stmt.setInt(2, assignment.getFlightId());
-            stmt.setTimestamp(3, assignment.getAssignmentTime() != null ? Timestamp.valueOf(assignment.getAssignmentTime()) : null);
-            stmt.setTimestamp(4, assignment.getDepartureTime() != null ? Timestamp.valueOf(assignment.getDepartureTime()) : null);
+            stmt.setInt(1, lastId);
             
-            int affectedRows = stmt.executeUpdate();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    assignments.add(mapResultSetToAssignment(rs));
+                }
+            }
+            return assignments;
             
-            if (affectedRows == 0) {
-                throw new DatabaseException("Creating gate assignment failed, no rows affected");
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve new gate assignments: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve new gate assignments", e);
+        }
+    }
+    
+    /**
+     * Retrieves the IDs of all gate assignments (used to detect deletions)
+     * @return Set of assignment IDs
+     * @throws DatabaseException if database operation fails
+     */
+    public Set<Integer> getAllAssignmentIds() throws DatabaseException {
+        Set<Integer> ids = new HashSet<>();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_ASSIGNMENT_IDS);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
             }
+            return ids;
             
-            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    assignment.setAssignmentId(generatedKeys.getInt(1));
-                    FileLogger.getInstance().logInfo("Created new gate assignment: " + assignment.getAssignmentId());
-                    return assignment;
-                } else {
-                    throw new DatabaseException("Creating gate assignment failed, no ID obtained");
-                }
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve gate assignment IDs: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve gate assignment IDs", e);
+        }
+    }
+    
+    /**
+     * Creates a gate assignment. The in-memory schedule rejects obvious conflicts
+     * without touching the database; the authoritative check then runs in the same
+     * transaction as the insert while the gate row is locked, so two concurrent
+     * assignments to the same gate cannot both pass. An assignment time after the
+     * departure time is swapped, so stored rows always run forwards.
+     * @param assignment The assignment to create
+     * @return The created assignment with generated ID
+     * @throws DatabaseException if database operation fails
+     * @throws GateConflictException if the gate is already assigned in that period
+     */
+    public GateAssignment createAssignment(GateAssignment assignment) throws DatabaseException, GateConflictException {
+        normalize(assignment);
+        
+        // Fast path: in-memory overlap check
+        if (GateScheduleIndex.getInstance().hasConflict(assignment.getGateId(),
+                assignment.getAssignmentTime(), assignment.getDepartureTime(), -1)) {
+            throw new GateConflictException("Gate conflict detected for the specified time period");
+        }
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insertAssignment(conn, assignment);
+                conn.commit();
+            } catch (SQLException | DatabaseException | GateConflictException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
             
+            GateScheduleIndex.getInstance().add(assignment);
+            GlobalSearchIndex.getInstance().assignmentSaved(assignment);
+            FileLogger.getInstance().logInfo("Created new gate assignment: " + assignment.getAssignmentId());
+            return assignment;
+            
         } catch (SQLException e) {
             FileLogger.getInstance().logError("Failed to create gate assignment: " + e.getMessage());
             throw new DatabaseException("Failed to create gate assignment", e);
         }
     }
     
-    public boolean removeAssignment(int assignmentId) throws DatabaseException {
-        String sql = "DELETE FROM gate_assignments WHERE id = ?";
+    /**
+     * Moves a flight to a new assignment: the old assignment is deleted and the new
+     * one checked and inserted in one transaction, so the flight never ends up
+     * without a gate. On a conflict the old assignment is kept.
+     * @param oldAssignmentId The assignment to replace
+     * @param replacement The new assignment
+     * @return The created assignment with generated ID
+     * @throws DatabaseException if database operation fails
+     * @throws GateConflictException if the new gate is already assigned in that period, or
+     *         the old assignment was already replaced or removed
+     */
+    public GateAssignment replaceAssignment(int oldAssignmentId, GateAssignment replacement) throws DatabaseException, GateConflictException {
+        normalize(replacement);
+        
+        if (GateScheduleIndex.getInstance().hasConflict(replacement.getGateId(),
+                replacement.getAssignmentTime(), replacement.getDepartureTime(), oldAssignmentId)) {
+            throw new GateConflictException("Gate conflict detected for the specified time period");
+        }
         
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(REMOVE_ASSIGNMENT)) {
+                    stmt.setInt(1, oldAssignmentId);
+                    // Another replan got there first; inserting too would give the flight two gates
+                    if (stmt.executeUpdate() != 1) {
+                        throw new GateConflictException("Gate assignment " + oldAssignmentId + " was already replaced or removed");
+                    }
+                }
+                insertAssignment(conn, replacement);
+                conn.commit();
+            } catch (SQLException | DatabaseException | GateConflictException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+            GateScheduleIndex.getInstance().remove(oldAssignmentId);
+            GateScheduleIndex.getInstance().add(replacement);
+            GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.GATE_ASSIGNMENT, oldAssignmentId);
+            GlobalSearchIndex.getInstance().assignmentSaved(replacement);
+            FileLogger.getInstance().logInfo("Replaced gate assignment " + oldAssignmentId + " with " + replacement.getAssignmentId());
+            return replacement;
+            
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to replace gate assignment: " + e.getMessage());
+            throw new DatabaseException("Failed to replace gate assignment", e);
+        }
+    }
+    
+    public boolean removeAssignment(int assignmentId) throws DatabaseException {
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(REMOVE_ASSIGNMENT)) {
             
             stmt.setInt(1, assignmentId);
             
             int affectedRows = stmt.executeUpdate();
             
             if (affectedRows > 0) {
+                GateScheduleIndex.getInstance().remove(assignmentId);
+                GlobalSearchIndex.getInstance().removed(GlobalSearchIndex.EntityType.GATE_ASSIGNMENT, assignmentId);
                 FileLogger.getInstance().logInfo("Deleted gate assignment with ID: " + assignmentId);
                 return true;
             } else {
@@ -371,33 +509,137 @@ public class GateDAO {
         }
     }
     
-    private boolean hasConflict(GateAssignment newAssignment) throws DatabaseException {
-        String sql = "SELECT COUNT(*) FROM gate_assignments WHERE gate_id = ? AND " +
-                    "((assignment_time BETWEEN ? AND ?) OR (departure_time BETWEEN ? AND ?) OR " +
-                    "(? BETWEEN assignment_time AND departure_time) OR (? BETWEEN assignment_time AND departure_time))";
+    /**
+     * Checks whether a gate is free for a period using the in-memory schedule
+     * @param gateId The gate ID
+     * @param from Period start
+     * @param to Period end
+     * @return true if an existing assignment overlaps the period
+     * @throws DatabaseException if the schedule cannot be loaded
+     */
+    public boolean hasConflict(int gateId, LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        return GateScheduleIndex.getInstance().hasConflict(gateId, from, to, -1);
+    }
+    
+    /**
+     * Opens a streaming cursor over the gate assignments of flights departing in a time range, for reports
+     * @param from Start of the range (inclusive)
+     * @param to End of the range (exclusive)
+     * @param canceller Receives the statement so the report can be cancelled, or null
+     * @return Cursor the caller must close
+     * @throws DatabaseException if database operation fails
+     */
+    public ReportCursor openAssignmentReport(LocalDateTime from, LocalDateTime to, QueryCanceller canceller) throws DatabaseException {
+        return ReportCursor.open(ASSIGNMENT_REPORT, from, to, canceller);
+    }
+    
+    /**
+     * Finds gates that are not in maintenance and have no assignment overlapping a period
+     * @param from Period start
+     * @param to Period end
+     * @return Available gates ordered by gate number
+     * @throws DatabaseException if database operation fails
+     */
+    public List<Gate> findAvailableGates(LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        GateScheduleIndex index = GateScheduleIndex.getInstance();
+        List<Gate> available = new ArrayList<>();
+        for (Gate gate : getAllGates()) {
+            if (gate.getStatus() != Gate.GateStatus.MAINTENANCE
+                    && !index.hasConflict(gate.getGateId(), from, to, -1)) {
+                available.add(gate);
+            }
+        }
+        return available;
+    }
+    
+    /**
+     * Finds free slots of at least a given length on every gate not in maintenance
+     * @param windowStart Window start
+     * @param windowEnd Window end
+     * @param minDuration Minimum slot length
+     * @return Free slots ordered by gate number and start time
+     * @throws DatabaseException if database operation fails
+     */
+    public List<GateScheduleIndex.FreeSlot> findFreeSlots(LocalDateTime windowStart, LocalDateTime windowEnd,
+                                                          Duration minDuration) throws DatabaseException {
+        List<Integer> gateIds = new ArrayList<>();
+        for (Gate gate : getAllGates()) {
+            if (gate.getStatus() != Gate.GateStatus.MAINTENANCE) {
+                gateIds.add(gate.getGateId());
+            }
+        }
+        return GateScheduleIndex.getInstance().findFreeSlots(gateIds, windowStart, windowEnd, minDuration);
+    }
+    
+    /**
+     * Locks the gate row, checks for overlaps and inserts the assignment on the
+     * caller's transaction
+     */
+    private void insertAssignment(Connection conn, GateAssignment assignment) throws SQLException, DatabaseException, GateConflictException {
+        // Serialise writers per gate by locking the gate row until commit
+        try (PreparedStatement lockStmt = conn.prepareStatement(CREATE_ASSIGNMENT_LOCK)) {
+            lockStmt.setInt(1, assignment.getGateId());
+            try (ResultSet rs = lockStmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new DatabaseException("Creating gate assignment failed, gate not found: " + assignment.getGateId());
+                }
+            }
+        }
         
-        try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, newAssignment.getGateId());
-            stmt.setTimestamp(2, newAssignment.getAssignmentTime() != null ? Timestamp.valueOf(newAssignment.getAssignmentTime()) : null);
-            stmt.setTimestamp(3, newAssignment.getDepartureTime() != null ? Timestamp.valueOf(newAssignment.getDepartureTime()) : null);
-            stmt.setTimestamp(4, newAssignment.getAssignmentTime() != null ? Timestamp.valueOf(newAssignment.getAssignmentTime()) : null);
-            stmt.setTimestamp(5, newAssignment.getDepartureTime() != null ? Timestamp.valueOf(newAssignment.getDepartureTime()) : null);
-            stmt.setTimestamp(6, newAssignment.getAssignmentTime() != null ? Timestamp.valueOf(newAssignment.getAssignmentTime()) : null);
-            stmt.setTimestamp(7, newAssignment.getDepartureTime() != null ? Timestamp.valueOf(newAssignment.getDepartureTime()) : null);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+        if (hasConflict(conn, assignment)) {
+            throw new GateConflictException("Gate conflict detected for the specified time period");
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(CREATE_ASSIGNMENT, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, assignment.getGateId());
+            stmt.setInt(2, assignment.getFlightId());
+            stmt.setTimestamp(3, assignment.getAssignmentTime() != null ? Timestamp.valueOf(assignment.getAssignmentTime()) : null);
+            stmt.setTimestamp(4, assignment.getDepartureTime() != null ? Timestamp.valueOf(assignment.getDepartureTime()) : null);
+        
+            int affectedRows = stmt.executeUpdate();
+        
+            if (affectedRows == 0) {
+                throw new DatabaseException("Creating gate assignment failed, no rows affected");
+            }
+        
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    assignment.setAssignmentId(generatedKeys.getInt(1));
+                } else {
+                    throw new DatabaseException("Creating gate assignment failed, no ID obtained");
                 }
             }
-            
+        }
+        
+    }
+        
+    /**
+     * Checks for overlapping assignments on the caller's connection so the check
+     * shares the transaction (and gate row lock) of the insert that follows
+     */
+    private boolean hasConflict(Connection conn, GateAssignment newAssignment) throws SQLException {
+        if (newAssignment.getAssignmentTime() == null || newAssignment.getDepartureTime() == null) {
             return false;
+        }
+        
+        try (PreparedStatement stmt = conn.prepareStatement(HAS_CONFLICT)) {
+            stmt.setInt(1, newAssignment.getGateId());
+            stmt.setTimestamp(2, Timestamp.valueOf(newAssignment.getDepartureTime()));
+            stmt.setTimestamp(3, Timestamp.valueOf(newAssignment.getAssignmentTime()));
             
-        } catch (SQLException e) {
-            FileLogger.getInstance().logError("Failed to check for gate conflicts: " + e.getMessage());
-            throw new DatabaseException("Failed to check for gate conflicts", e);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+    
+    // Orders the period of an assignment so assignment_time <= departure_time
+    private static void normalize(GateAssignment assignment) {
+        LocalDateTime start = assignment.getAssignmentTime();
+        LocalDateTime end = assignment.getDepartureTime();
+        if (start != null && end != null && start.isAfter(end)) {
+            assignment.setAssignmentTime(end);
+            assignment.setDepartureTime(start);
         }
     }
     
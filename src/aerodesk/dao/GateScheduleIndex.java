@@ -0,0 +1,407 @@
+package aerodesk.dao;
+
+import aerodesk.model.GateAssignment;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.IntervalTree;
+import aerodesk.util.TaskScheduler;
+import aerodesk.exception.DatabaseException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory gate schedule index for AeroDesk Pro
+ * Keeps one interval tree of assignments per gate so overlap checks and free
+ * slot searches run in memory. The index is loaded lazily from gate_assignments
+ * and updated by GateDAO after each committed write. Assignments are only ever
+ * inserted or deleted, so on the gate monitor interval it reconciles with
+ * changes made by other processes by reading the rows above the highest known ID
+ * and evicting IDs that are gone, instead of rebuilding every tree.
+ */
+public class GateScheduleIndex {
+    private static GateScheduleIndex instance;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, IntervalTree<GateAssignment>> treesByGate = new HashMap<>();
+    private final Map<Integer, GateAssignment> assignmentsById = new HashMap<>();
+    private volatile boolean loaded = false;
+    private int maxAssignmentId;
+    
+    private GateScheduleIndex() {
+        long intervalMillis = ConfigManager.getInstance().getIntProperty("gate.monitor.interval", 30000);
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "GateScheduleIndex.reconcile", () -> {
+            try {
+                reconcile();
+            } catch (DatabaseException e) {
+                FileLogger.getInstance().logError("Gate schedule reconciliation failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static synchronized GateScheduleIndex getInstance() {
+        if (instance == null) {
+            instance = new GateScheduleIndex();
+        }
+        return instance;
+    }
+    
+    /**
+     * Free time window on a gate
+     */
+    public static class FreeSlot {
+        private final int gateId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        
+        public FreeSlot(int gateId, LocalDateTime start, LocalDateTime end) {
+            this.gateId = gateId;
+            this.start = start;
+            this.end = end;
+        }
+        
+        public int getGateId() { return gateId; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+        
+        public Duration getDuration() {
+            return Duration.between(start, end);
+        }
+        
+        @Override
+        public String toString() {
+            return "Gate " + gateId + ": " + start + " - " + end;
+        }
+    }
+    
+    /**
+     * Reloads every assignment from the database
+     * @throws DatabaseException if the assignments cannot be read
+     */
+    public void reload() throws DatabaseException {
+        List<GateAssignment> assignments = new GateDAO().getAllAssignments();
+        lock.writeLock().lock();
+        try {
+            treesByGate.clear();
+            assignmentsById.clear();
+            maxAssignmentId = 0;
+            for (GateAssignment assignment : assignments) {
+                addInternal(assignment);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        FileLogger.getInstance().logDebug("Gate schedule index loaded with " + assignments.size() + " assignments");
+    }
+    
+    /**
+     * Applies assignments inserted or deleted by other processes since the last load
+     * @throws DatabaseException if the assignments cannot be read
+     */
+    public void reconcile() throws DatabaseException {
+        if (!loaded) {
+            return;
+        }
+        int since;
+        Set<Integer> known;
+        lock.readLock().lock();
+        try {
+            since = maxAssignmentId;
+            known = new HashSet<>(assignmentsById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        GateDAO gateDAO = new GateDAO();
+        List<GateAssignment> added = new ArrayList<>(gateDAO.getAssignmentsAfter(since));
+        Set<Integer> liveIds = gateDAO.getAllAssignmentIds();
+        
+        // IDs below the watermark that committed after it moved (out-of-order commits)
+        int lowestMissing = Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            for (Integer id : liveIds) {
+                if (id <= since && !assignmentsById.containsKey(id)) {
+                    lowestMissing = Math.min(lowestMissing, id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (lowestMissing != Integer.MAX_VALUE) {
+            for (GateAssignment assignment : gateDAO.getAssignmentsAfter(lowestMissing - 1)) {
+                if (assignment.getAssignmentId() <= since) {
+                    added.add(assignment);
+                }
+            }
+        }
+        
+        List<Integer> evicted = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (GateAssignment assignment : added) {
+                if (liveIds.contains(assignment.getAssignmentId())) {
+                    removeInternal(assignment.getAssignmentId());
+                    addInternal(assignment);
+                }
+            }
+            // Only entries known before the ID snapshot; later local adds may postdate it
+            for (Integer id : known) {
+                if (!liveIds.contains(id) && assignmentsById.containsKey(id)) {
+                    removeInternal(id);
+                    evicted.add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!added.isEmpty() || !evicted.isEmpty()) {
+            // The search index picks up other processes' assignments from here
+            GlobalSearchIndex search = GlobalSearchIndex.getInstance();
+            for (GateAssignment assignment : added) {
+                if (liveIds.contains(assignment.getAssignmentId())) {
+                    search.assignmentSaved(assignment);
+                }
+            }
+            for (Integer id : evicted) {
+                search.removed(GlobalSearchIndex.EntityType.GATE_ASSIGNMENT, id);
+            }
+            FileLogger.getInstance().logDebug("Gate schedule reconciled: " + added.size() + " added, " + evicted.size() + " removed");
+        }
+    }
+    
+    /**
+     * Adds or replaces an assignment in the index
+     * @param assignment The committed assignment
+     */
+    public void add(GateAssignment assignment) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(assignment.getAssignmentId());
+            addInternal(assignment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Removes an assignment from the index
+     * @param assignmentId The assignment ID
+     */
+    public void remove(int assignmentId) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(assignmentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Checks whether a gate already has an assignment overlapping [from, to]
+     * @param gateId The gate ID
+     * @param from Window start (inclusive)
+     * @param to Window end (inclusive)
+     * @param excludeAssignmentId Assignment to ignore, or -1
+     * @return true if the window overlaps an existing assignment
+     * @throws DatabaseException if the initial load fails
+     */
+    public boolean hasConflict(int gateId, LocalDateTime from, LocalDateTime to, int excludeAssignmentId) throws DatabaseException {
+        if (from == null || to == null) {
+            return false;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            IntervalTree<GateAssignment> tree = treesByGate.get(gateId);
+            return tree != null && tree.overlapsAny(toKey(min(from, to)), toKey(max(from, to)), excludeAssignmentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the assignments on a gate that overlap [from, to], ordered by start
+     * @param gateId The gate ID
+     * @param from Window start (inclusive)
+     * @param to Window end (inclusive)
+     * @return Overlapping assignments
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<GateAssignment> getAssignments(int gateId, LocalDateTime from, LocalDateTime to) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            IntervalTree<GateAssignment> tree = treesByGate.get(gateId);
+            return tree != null ? tree.findOverlapping(toKey(from), toKey(to)) : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Finds the free slots of at least the given length on each gate within a window
+     * @param gateIds Gates to search
+     * @param windowStart Window start
+     * @param windowEnd Window end
+     * @param minDuration Minimum slot length
+     * @return Free slots ordered by gate (in the given order) and start time
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<FreeSlot> findFreeSlots(List<Integer> gateIds, LocalDateTime windowStart,
+                                        LocalDateTime windowEnd, Duration minDuration) throws DatabaseException {
+        List<FreeSlot> slots = new ArrayList<>();
+        if (!windowEnd.isAfter(windowStart)) {
+            return slots;
+        }
+        ensureLoaded();
+        long from = toKey(windowStart);
+        long to = toKey(windowEnd);
+        long minSeconds = minDuration != null ? minDuration.getSeconds() : 0;
+        
+        lock.readLock().lock();
+        try {
+            for (Integer gateId : gateIds) {
+                IntervalTree<GateAssignment> tree = treesByGate.get(gateId);
+                List<long[]> busy = tree != null ? tree.findOverlappingRanges(from, to) : new ArrayList<>();
+                
+                // Sweep busy ranges in start order; ranges may overlap each other if data predates the checks
+                long cursor = from;
+                for (long[] range : busy) {
+                    if (range[0] > cursor && range[0] - cursor >= minSeconds) {
+                        slots.add(new FreeSlot(gateId, fromKey(cursor), fromKey(range[0])));
+                    }
+                    cursor = Math.max(cursor, range[1]);
+                }
+                if (to > cursor && to - cursor >= minSeconds) {
+                    slots.add(new FreeSlot(gateId, fromKey(cursor), fromKey(to)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return slots;
+    }
+    
+    /**
+     * Gets the IDs of all flights that currently hold a gate assignment
+     * @return Assigned flight IDs
+     * @throws DatabaseException if the initial load fails
+     */
+    public Set<Integer> getAssignedFlightIds() throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<Integer> flightIds = new HashSet<>();
+            for (GateAssignment assignment : assignmentsById.values()) {
+                flightIds.add(assignment.getFlightId());
+            }
+            return flightIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the assignments held by a flight
+     * @param flightId The flight ID
+     * @return Assignments for the flight (normally at most one)
+     * @throws DatabaseException if the initial load fails
+     */
+    public List<GateAssignment> getAssignmentsForFlight(int flightId) throws DatabaseException {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<GateAssignment> assignments = new ArrayList<>();
+            for (GateAssignment assignment : assignmentsById.values()) {
+                if (assignment.getFlightId() == flightId) {
+                    assignments.add(assignment);
+                }
+            }
+            return assignments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of indexed assignments
+     * @return Assignment count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return assignmentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void ensureLoaded() throws DatabaseException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+    
+    private void addInternal(GateAssignment assignment) {
+        maxAssignmentId = Math.max(maxAssignmentId, assignment.getAssignmentId());
+        if (assignment.getAssignmentTime() == null || assignment.getDepartureTime() == null) {
+            return;
+        }
+        LocalDateTime start = min(assignment.getAssignmentTime(), assignment.getDepartureTime());
+        LocalDateTime end = max(assignment.getAssignmentTime(), assignment.getDepartureTime());
+        treesByGate.computeIfAbsent(assignment.getGateId(), id -> new IntervalTree<>())
+                   .insert(toKey(start), toKey(end), assignment.getAssignmentId(), assignment);
+        assignmentsById.put(assignment.getAssignmentId(), assignment);
+    }
+    
+    private void removeInternal(int assignmentId) {
+        GateAssignment existing = assignmentsById.remove(assignmentId);
+        if (existing == null) {
+            return;
+        }
+        IntervalTree<GateAssignment> tree = treesByGate.get(existing.getGateId());
+        if (tree != null) {
+            tree.remove(toKey(min(existing.getAssignmentTime(), existing.getDepartureTime())), assignmentId);
+            if (tree.isEmpty()) {
+                treesByGate.remove(existing.getGateId());
+            }
+        }
+    }
+    
+    static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    static LocalDateTime fromKey(long key) {
+        return LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC);
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? b : a;
+    }
+    
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
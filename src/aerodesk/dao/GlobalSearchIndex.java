@@ -0,0 +1,647 @@
+package aerodesk.dao;
+
+import aerodesk.model.Baggage;
+import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+import aerodesk.model.Gate;
+import aerodesk.model.GateAssignment;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
+import aerodesk.exception.DatabaseException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide inverted index over flights, bookings, baggage, gates and gate
+ * assignments for AeroDesk Pro
+ * Every searchable field is split into words held in a sorted term dictionary, so a
+ * query word matches all terms it prefixes with one range lookup; words are ANDed
+ * and hits are ranked by the weight of the fields they matched. Kept current by the
+ * DAO write methods, the flight repository and the gate schedule reconciliation;
+ * rebuilt every search.index.rebuild.interval ms to pick up bookings, bags and gates
+ * written by other processes, replaying the changes made while the rebuild loads.
+ */
+public class GlobalSearchIndex {
+    private static GlobalSearchIndex instance;
+    
+    // Query words beyond this are ignored
+    private static final int MAX_QUERY_WORDS = 8;
+    private static final int MAX_SCORE = (1 << 22) - 1;
+    
+    /**
+     * Searchable entity types, each with the weights of its indexed fields
+     */
+    public enum EntityType {
+        // Flight number, origin, destination, status, aircraft type
+        FLIGHT("Flight", 3, new int[]{3, 2, 2, 1, 1}),
+        // Passenger name, booking reference, flight number
+        BOOKING("Booking", -1, new int[]{3, 3, 1}),
+        // Tag number, status, baggage type
+        BAGGAGE("Baggage", 1, new int[]{3, 1, 1}),
+        // Gate name, terminal, status
+        GATE("Gate", 2, new int[]{3, 2, 1}),
+        // Gate name, flight number
+        GATE_ASSIGNMENT("Gate Assignment", -1, new int[]{2, 2});
+        
+        private final String label;
+        private final int statusField;
+        private final int[] weights;
+        
+        EntityType(String label, int statusField, int[] weights) {
+            this.label = label;
+            this.statusField = statusField;
+            this.weights = weights;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+    }
+    
+    /**
+     * A ranked search hit
+     */
+    public static final class Hit {
+        private final EntityType type;
+        private final int id;
+        private final int score;
+        
+        Hit(EntityType type, int id, int score) {
+            this.type = type;
+            this.id = id;
+            this.score = score;
+        }
+        
+        public EntityType getType() { return type; }
+        public int getId() { return id; }
+        public int getScore() { return score; }
+    }
+    
+    /**
+     * One page of hits and the total number of matches
+     */
+    public static final class Page {
+        private final List<Hit> hits;
+        private final int offset;
+        private final int total;
+        
+        Page(List<Hit> hits, int offset, int total) {
+            this.hits = hits;
+            this.offset = offset;
+            this.total = total;
+        }
+        
+        public List<Hit> getHits() { return hits; }
+        public int getOffset() { return offset; }
+        public int getTotal() { return total; }
+        
+        public boolean hasNext() {
+            return offset + hits.size() < total;
+        }
+    }
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private volatile boolean loaded = false;
+    // Changes made while a rebuild loads, in order; guarded by lock
+    private List<Consumer<Index>> pending;
+    
+    private GlobalSearchIndex() {
+        FlightRepository.getInstance().addChangeListener((previous, current) -> {
+            if (current != null) {
+                flightSaved(current);
+            } else {
+                removed(EntityType.FLIGHT, previous.getFlightId());
+            }
+        });
+        
+        long intervalMillis = ConfigManager.getInstance().getIntProperty("search.index.rebuild.interval", 3600000);
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "GlobalSearchIndex.rebuild", () -> {
+            if (!loaded) {
+                return;
+            }
+            try {
+                rebuild();
+            } catch (DatabaseException e) {
+                FileLogger.getInstance().logError("Search index rebuild failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static synchronized GlobalSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new GlobalSearchIndex();
+        }
+        return instance;
+    }
+    
+    /**
+     * Searches all entities of the given types; every query word must prefix a
+     * word of some indexed field
+     * @param text Search text
+     * @param types Entity types to include
+     * @param offset Index of the first hit to return
+     * @param limit Maximum number of hits to return
+     * @return The requested page of hits, best first
+     * @throws DatabaseException if the initial load fails
+     */
+    public Page search(String text, Set<EntityType> types, int offset, int limit) throws DatabaseException {
+        ensureLoaded();
+        long start = System.nanoTime();
+        Page page;
+        lock.readLock().lock();
+        try {
+            page = index.search(text, types, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        MetricsRegistry.getInstance().recordSince("search.index", start);
+        return page;
+    }
+    
+    public void flightSaved(Flight flight) {
+        update(index -> index.putFlight(flight));
+    }
+    
+    public void bookingSaved(Booking booking) {
+        update(index -> index.putBooking(booking));
+    }
+    
+    public void baggageSaved(Baggage baggage) {
+        update(index -> index.putBaggage(baggage));
+    }
+    
+    public void gateSaved(Gate gate) {
+        update(index -> index.putGate(gate));
+    }
+    
+    public void assignmentSaved(GateAssignment assignment) {
+        update(index -> index.putAssignment(assignment));
+    }
+    
+    /**
+     * Re-indexes the status of an entity changed without reloading it
+     * @param type FLIGHT, BAGGAGE or GATE
+     * @param id Entity ID
+     * @param status The new status
+     */
+    public void statusChanged(EntityType type, int id, Enum<?> status) {
+        update(index -> index.replaceStatus(type, id, status.name()));
+    }
+    
+    /**
+     * Removes a deleted entity
+     * @param type Entity type
+     * @param id Entity ID
+     */
+    public void removed(EntityType type, int id) {
+        update(index -> index.remove(type, id));
+    }
+    
+    /**
+     * Rebuilds the index from the database; searches keep using the old index
+     * until the new one is complete
+     * @throws DatabaseException if database operation fails
+     */
+    public synchronized void rebuild() throws DatabaseException {
+        long start = System.nanoTime();
+        setRecording(true);
+        try {
+            GateDAO gateDAO = new GateDAO();
+            List<Flight> flights = new FlightDAO().getAllFlights();
+            List<Booking> bookings = new BookingDAO().getAllBookings();
+            List<Baggage> baggage = new BaggageDAO().getAllBaggage();
+            List<Gate> gates = gateDAO.getAllGates();
+            List<GateAssignment> assignments = gateDAO.getAllAssignments();
+            replaceAll(flights, bookings, baggage, gates, assignments);
+            FileLogger.getInstance().logInfo("Search index built for " + size() + " records in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } finally {
+            setRecording(false);
+        }
+    }
+    
+    /**
+     * Replaces the index contents without touching the database, replaying the
+     * changes recorded since the rebuild started
+     */
+    void replaceAll(List<Flight> flights, List<Booking> bookings, List<Baggage> baggage,
+            List<Gate> gates, List<GateAssignment> assignments) {
+        // Flights and gates first: bookings and assignments index their numbers and names
+        Index rebuilt = new Index();
+        flights.forEach(rebuilt::putFlight);
+        gates.forEach(rebuilt::putGate);
+        bookings.forEach(rebuilt::putBooking);
+        baggage.forEach(rebuilt::putBaggage);
+        assignments.forEach(rebuilt::putAssignment);
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                // Some of these may already be in the snapshot; every change is idempotent
+                pending.forEach(change -> change.accept(rebuilt));
+                pending = null;
+            }
+            index = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of indexed records
+     * @return Indexed record count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void update(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            }
+            if (loaded) {
+                change.accept(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void setRecording(boolean recording) {
+        lock.writeLock().lock();
+        try {
+            pending = recording ? new ArrayList<>() : null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void ensureLoaded() throws DatabaseException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+    
+    /**
+     * The index structures; callers hold the lock
+     */
+    private static final class Index {
+        private static final EntityType[] TYPES = EntityType.values();
+        // Postings hold the document number shifted left by this, or'ed with the field
+        private static final int FIELD_BITS = 3;
+        // Fields holding the number or name of a referenced flight or gate
+        private static final int BOOKING_FLIGHT = 2;
+        private static final int ASSIGNMENT_GATE = 0;
+        private static final int ASSIGNMENT_FLIGHT = 1;
+        
+        // Term -> sorted postings
+        private final TreeMap<String, IntList> postings = new TreeMap<>();
+        // (type, entity ID) -> document number
+        private final Map<Long, Integer> documents = new HashMap<>();
+        private final IntList freeDocuments = new IntList();
+        private byte[] docTypes = new byte[1024];
+        private int[] docIds = new int[1024];
+        private String[][] docTerms = new String[1024][];
+        private byte[][] docFields = new byte[1024][];
+        // Flight and gate referenced by each booking or assignment document, or -1
+        private int[] docFlights = new int[1024];
+        private int[] docGates = new int[1024];
+        private int docCount;
+        private int size;
+        // Looked up when indexing bookings and gate assignments
+        private final Map<Integer, String> flightNumbers = new HashMap<>();
+        private final Map<Integer, String> gateNames = new HashMap<>();
+        // Flight or gate ID -> documents indexing its number or name
+        private final Map<Integer, IntList> flightDependents = new HashMap<>();
+        private final Map<Integer, IntList> gateDependents = new HashMap<>();
+        
+        void putFlight(Flight flight) {
+            String previous = flightNumbers.put(flight.getFlightId(), flight.getFlightNo());
+            put(EntityType.FLIGHT, flight.getFlightId(), flight.getFlightNo(), flight.getOrigin(), flight.getDestination(),
+                name(flight.getStatus()), flight.getAircraftType());
+            if (!Objects.equals(previous, flight.getFlightNo())) {
+                IntList docs = flightDependents.getOrDefault(flight.getFlightId(), IntList.EMPTY);
+                for (int i = 0; i < docs.size; i++) {
+                    int doc = docs.data[i];
+                    replaceField(doc, docTypes[doc] == EntityType.BOOKING.ordinal() ? BOOKING_FLIGHT : ASSIGNMENT_FLIGHT,
+                        flight.getFlightNo());
+                }
+            }
+        }
+        
+        void putBooking(Booking booking) {
+            int doc = put(EntityType.BOOKING, booking.getBookingId(), booking.getPassengerName(), booking.getBookingReference(),
+                flightNumbers.get(booking.getFlightId()));
+            link(doc, booking.getFlightId(), -1);
+        }
+        
+        void putBaggage(Baggage baggage) {
+            put(EntityType.BAGGAGE, baggage.getBaggageId(), baggage.getTagNumber(), name(baggage.getStatus()),
+                name(baggage.getBaggageType()));
+        }
+        
+        void putGate(Gate gate) {
+            String previous = gateNames.put(gate.getGateId(), gate.getGateName());
+            put(EntityType.GATE, gate.getGateId(), gate.getGateName(), gate.getTerminal(), name(gate.getStatus()));
+            if (!Objects.equals(previous, gate.getGateName())) {
+                IntList docs = gateDependents.getOrDefault(gate.getGateId(), IntList.EMPTY);
+                for (int i = 0; i < docs.size; i++) {
+                    replaceField(docs.data[i], ASSIGNMENT_GATE, gate.getGateName());
+                }
+            }
+        }
+        
+        void putAssignment(GateAssignment assignment) {
+            int doc = put(EntityType.GATE_ASSIGNMENT, assignment.getAssignmentId(), gateNames.get(assignment.getGateId()),
+                flightNumbers.get(assignment.getFlightId()));
+            link(doc, assignment.getFlightId(), assignment.getGateId());
+        }
+        
+        void replaceStatus(EntityType type, int id, String status) {
+            Integer doc = documents.get(key(type, id));
+            if (doc == null || type.statusField < 0) {
+                return;
+            }
+            replaceField(doc, type.statusField, status);
+        }
+        
+        /**
+         * Re-indexes one field of a document, keeping the others
+         */
+        private void replaceField(int doc, int field, String value) {
+            List<String> terms = new ArrayList<>();
+            List<Integer> fields = new ArrayList<>();
+            String[] oldTerms = docTerms[doc];
+            for (int i = 0; i < oldTerms.length; i++) {
+                if (docFields[doc][i] != field) {
+                    terms.add(oldTerms[i]);
+                    fields.add((int) docFields[doc][i]);
+                }
+            }
+            addTerms(value, field, terms, fields);
+            replace(doc, terms, fields);
+        }
+        
+        /**
+         * Records the flight and gate a document indexes the number and name of
+         */
+        private void link(int doc, int flightId, int gateId) {
+            unlink(doc);
+            docFlights[doc] = flightId;
+            docGates[doc] = gateId;
+            flightDependents.computeIfAbsent(flightId, k -> new IntList()).add(doc);
+            if (gateId >= 0) {
+                gateDependents.computeIfAbsent(gateId, k -> new IntList()).add(doc);
+            }
+        }
+        
+        private void unlink(int doc) {
+            unlink(flightDependents, docFlights[doc], doc);
+            unlink(gateDependents, docGates[doc], doc);
+            docFlights[doc] = -1;
+            docGates[doc] = -1;
+        }
+        
+        private static void unlink(Map<Integer, IntList> dependents, int id, int doc) {
+            IntList docs = id >= 0 ? dependents.get(id) : null;
+            if (docs != null && docs.remove(doc) && docs.size == 0) {
+                dependents.remove(id);
+            }
+        }
+        
+        void remove(EntityType type, int id) {
+            Integer doc = documents.remove(key(type, id));
+            if (type == EntityType.FLIGHT) {
+                flightNumbers.remove(id);
+            } else if (type == EntityType.GATE) {
+                gateNames.remove(id);
+            }
+            if (doc == null) {
+                return;
+            }
+            replace(doc, Collections.emptyList(), Collections.emptyList());
+            unlink(doc);
+            docTerms[doc] = null;
+            docFields[doc] = null;
+            freeDocuments.add(doc);
+            size--;
+        }
+        
+        private int put(EntityType type, int id, String... values) {
+            List<String> terms = new ArrayList<>();
+            List<Integer> fields = new ArrayList<>();
+            for (int field = 0; field < values.length; field++) {
+                addTerms(values[field], field, terms, fields);
+            }
+            Integer doc = documents.get(key(type, id));
+            if (doc == null) {
+                doc = allocate(type, id);
+            }
+            replace(doc, terms, fields);
+            return doc;
+        }
+        
+        private int allocate(EntityType type, int id) {
+            int doc;
+            if (freeDocuments.size > 0) {
+                doc = freeDocuments.data[freeDocuments.size - 1];
+                freeDocuments.remove(doc);
+            } else {
+                doc = docCount++;
+                if (doc == docIds.length) {
+                    int capacity = doc * 2;
+                    docTypes = Arrays.copyOf(docTypes, capacity);
+                    docIds = Arrays.copyOf(docIds, capacity);
+                    docTerms = Arrays.copyOf(docTerms, capacity);
+                    docFields = Arrays.copyOf(docFields, capacity);
+                    docFlights = Arrays.copyOf(docFlights, capacity);
+                    docGates = Arrays.copyOf(docGates, capacity);
+                }
+            }
+            docTypes[doc] = (byte) type.ordinal();
+            docIds[doc] = id;
+            docTerms[doc] = new String[0];
+            docFields[doc] = new byte[0];
+            docFlights[doc] = -1;
+            docGates[doc] = -1;
+            documents.put(key(type, id), doc);
+            size++;
+            return doc;
+        }
+        
+        /**
+         * Swaps a document's terms, touching only the posting lists that change
+         */
+        private void replace(int doc, List<String> terms, List<Integer> fields) {
+            String[] oldTerms = docTerms[doc];
+            byte[] oldFields = docFields[doc];
+            for (int i = 0; i < oldTerms.length; i++) {
+                if (!contains(terms, fields, oldTerms[i], oldFields[i])) {
+                    IntList list = postings.get(oldTerms[i]);
+                    if (list != null && list.remove(posting(doc, oldFields[i])) && list.size == 0) {
+                        postings.remove(oldTerms[i]);
+                    }
+                }
+            }
+            String[] newTerms = new String[terms.size()];
+            byte[] newFields = new byte[terms.size()];
+            for (int i = 0; i < newTerms.length; i++) {
+                String term = terms.get(i);
+                Map.Entry<String, IntList> entry = postings.ceilingEntry(term);
+                if (entry != null && entry.getKey().equals(term)) {
+                    // Share the dictionary's copy of the term
+                    term = entry.getKey();
+                    entry.getValue().add(posting(doc, fields.get(i)));
+                } else {
+                    IntList list = new IntList();
+                    list.add(posting(doc, fields.get(i)));
+                    postings.put(term, list);
+                }
+                newTerms[i] = term;
+                newFields[i] = (byte) (int) fields.get(i);
+            }
+            docTerms[doc] = newTerms;
+            docFields[doc] = newFields;
+        }
+        
+        private static boolean contains(List<String> terms, List<Integer> fields, String term, int field) {
+            for (int i = 0; i < terms.size(); i++) {
+                if (fields.get(i) == field && terms.get(i).equals(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static int posting(int doc, int field) {
+            return doc << FIELD_BITS | field;
+        }
+        
+        Page search(String text, Set<EntityType> types, int offset, int limit) {
+            String normalized = BookingSearchIndex.normalize(text);
+            if (normalized == null) {
+                return new Page(new ArrayList<>(), offset, 0);
+            }
+            Set<String> words = new LinkedHashSet<>(Arrays.asList(normalized.split(" ")));
+            String[] tokens = words.stream().limit(MAX_QUERY_WORDS).toArray(String[]::new);
+            
+            // Documents with a term starting with every query word, scored by the sum
+            // over the words of the best weight among the fields each matched; a
+            // whole-term match counts double. The per-word buffers are reused
+            BitSet matches = new BitSet(docCount);
+            BitSet docs = new BitSet(docCount);
+            byte[] best = new byte[docCount];
+            int[] scores = new int[docCount];
+            for (int t = 0; t < tokens.length; t++) {
+                String token = tokens[t];
+                SortedMap<String, IntList> range = postings.subMap(token, true, token + Character.MAX_VALUE, true);
+                if (range.isEmpty()) {
+                    return new Page(new ArrayList<>(), offset, 0);
+                }
+                docs.clear();
+                for (Map.Entry<String, IntList> entry : range.entrySet()) {
+                    int factor = entry.getKey().length() == token.length() ? 2 : 1;
+                    IntList list = entry.getValue();
+                    for (int i = 0; i < list.size; i++) {
+                        int doc = list.data[i] >>> FIELD_BITS;
+                        int weight = TYPES[docTypes[doc]].weights[list.data[i] & ((1 << FIELD_BITS) - 1)] * factor;
+                        if (weight > best[doc]) {
+                            best[doc] = (byte) weight;
+                        }
+                        docs.set(doc);
+                    }
+                }
+                if (t == 0) {
+                    matches.or(docs);
+                } else {
+                    matches.and(docs);
+                }
+                for (int doc = docs.nextSetBit(0); doc >= 0; doc = docs.nextSetBit(doc + 1)) {
+                    scores[doc] += best[doc];
+                    best[doc] = 0;
+                }
+                if (matches.isEmpty()) {
+                    return new Page(new ArrayList<>(), offset, 0);
+                }
+            }
+            
+            // Rank by score, then entity type, then newest first, packed into one
+            // long per hit so the ranking is a primitive sort
+            long[] ranked = new long[matches.cardinality()];
+            int total = 0;
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                EntityType type = TYPES[docTypes[doc]];
+                if (!types.contains(type)) {
+                    continue;
+                }
+                int score = scores[doc];
+                ranked[total++] = ((long) (MAX_SCORE - score) << 40) | ((long) type.ordinal() << 32)
+                    | (Integer.MAX_VALUE - docIds[doc]);
+            }
+            Arrays.sort(ranked, 0, total);
+            
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < total && hits.size() < limit; i++) {
+                long packed = ranked[i];
+                hits.add(new Hit(TYPES[(int) (packed >>> 32) & 0xFF], Integer.MAX_VALUE - (int) packed,
+                    MAX_SCORE - (int) (packed >>> 40)));
+            }
+            return new Page(hits, offset, total);
+        }
+        
+        /**
+         * Adds the words of a field value, plus the value without spaces so that
+         * codes such as "UL 225" also match "ul225"
+         */
+        private static void addTerms(String value, int field, List<String> terms, List<Integer> fields) {
+            String normalized = BookingSearchIndex.normalize(value);
+            if (normalized == null) {
+                return;
+            }
+            for (String word : normalized.split(" ")) {
+                terms.add(word);
+                fields.add(field);
+            }
+            if (normalized.indexOf(' ') >= 0) {
+                terms.add(normalized.replace(" ", ""));
+                fields.add(field);
+            }
+        }
+        
+        private static String name(Enum<?> value) {
+            return value != null ? value.name() : null;
+        }
+        
+        private static long key(EntityType type, int id) {
+            return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package aerodesk.dao;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of IDs used as a posting list by the search indexes
+ */
+final class IntList {
+    static final IntList EMPTY = new IntList();
+    
+    int[] data = new int[4];
+    int size;
+    
+    void add(int id) {
+        // IDs mostly arrive in increasing order, so appending is the common case
+        if (size == 0 || data[size - 1] < id) {
+            grow();
+            data[size++] = id;
+            return;
+        }
+        int at = Arrays.binarySearch(data, 0, size, id);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+        grow();
+        System.arraycopy(data, at, data, at + 1, size - at);
+        data[at] = id;
+        size++;
+    }
+    
+    boolean remove(int id) {
+        int at = Arrays.binarySearch(data, 0, size, id);
+        if (at < 0) {
+            return false;
+        }
+        System.arraycopy(data, at + 1, data, at, size - at - 1);
+        size--;
+        return true;
+    }
+    
+    /**
+     * Index of the largest ID not above id among the first end entries, or -1
+     */
+    int floorIndex(int id, int end) {
+        int at = Arrays.binarySearch(data, 0, end, id);
+        return at >= 0 ? at : -at - 2;
+    }
+    
+    boolean contains(int id) {
+        return Arrays.binarySearch(data, 0, size, id) >= 0;
+    }
+    
+    private void grow() {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, size * 2);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package aerodesk.dao;
+
+import aerodesk.exception.DatabaseException;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.DatabaseConnection;
+import aerodesk.util.FileLogger;
+import aerodesk.util.QueryCanceller;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Forward-only cursor over a report query for AeroDesk Pro
+ * Streams rows from the database instead of collecting them in a list, so a report
+ * of any size holds only the current fetch in memory: MySQL Connector/J streams row
+ * by row (fetch size Integer.MIN_VALUE), other drivers fetch report.fetch.size rows
+ * per round trip. The pooled connection stays leased until the cursor is closed.
+ * Report SQL is not declared in StatementRegistry, so the driver-specific fetch
+ * size never reaches a cached statement.
+ */
+public final class ReportCursor implements AutoCloseable {
+    
+    private final Connection conn;
+    private final PreparedStatement stmt;
+    private final ResultSet rs;
+    private final QueryCanceller canceller;
+    private int rows;
+    
+    private ReportCursor(Connection conn, PreparedStatement stmt, ResultSet rs, QueryCanceller canceller) {
+        this.conn = conn;
+        this.stmt = stmt;
+        this.rs = rs;
+        this.canceller = canceller;
+    }
+    
+    /**
+     * Executes a report query over a departure or creation time range
+     * @param sql Query with two timestamp parameters, from (inclusive) and to (exclusive)
+     * @param from Start of the range
+     * @param to End of the range
+     * @param canceller Receives the statement so the report can be cancelled, or null
+     * @return Cursor positioned before the first row
+     * @throws DatabaseException if the query fails
+     */
+    static ReportCursor open(String sql, LocalDateTime from, LocalDateTime to, QueryCanceller canceller) throws DatabaseException {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = DatabaseConnection.getInstance().getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize("mysql".equals(DatabaseConnection.getInstance().getBackend())
+                ? Integer.MIN_VALUE : ConfigManager.getInstance().getIntProperty("report.fetch.size", 500));
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+            if (canceller != null) {
+                canceller.attach(stmt);
+            }
+            return new ReportCursor(conn, stmt, stmt.executeQuery(), canceller);
+        } catch (SQLException e) {
+            if (canceller != null) {
+                canceller.detach();
+            }
+            closeQuietly(stmt, conn);
+            FileLogger.getInstance().logError("Failed to open report query: " + e.getMessage());
+            throw new DatabaseException("Failed to open report query", e);
+        }
+    }
+    
+    /**
+     * Moves to the next row
+     * @return false after the last row
+     * @throws DatabaseException if the row cannot be read, e.g. the report was cancelled
+     */
+    public boolean next() throws DatabaseException {
+        try {
+            if (rs.next()) {
+                rows++;
+                return true;
+            }
+            return false;
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read report row " + (rows + 1), e);
+        }
+    }
+    
+    /**
+     * Reads a column of the current row
+     * @param column Column label
+     * @param type Expected type: String, Date (read as Timestamp), BigDecimal or Integer
+     * @return The value, or null for SQL NULL
+     * @throws DatabaseException if the column cannot be read
+     */
+    public Object getValue(String column, Class<?> type) throws DatabaseException {
+        try {
+            if (Date.class.isAssignableFrom(type)) {
+                return rs.getTimestamp(column);
+            }
+            if (type == BigDecimal.class) {
+                return rs.getBigDecimal(column);
+            }
+            if (type == Integer.class) {
+                int value = rs.getInt(column);
+                return rs.wasNull() ? null : value;
+            }
+            return rs.getString(column);
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to read report column " + column, e);
+        }
+    }
+    
+    /**
+     * @return Rows read so far
+     */
+    public int getRowCount() {
+        return rows;
+    }
+    
+    /**
+     * Closes the result set and returns the connection to the pool
+     */
+    @Override
+    public void close() {
+        if (canceller != null) {
+            canceller.detach();
+        }
+        try {
+            rs.close();
+        } catch (SQLException e) {
+            FileLogger.getInstance().logWarning("Failed to close report cursor: " + e.getMessage());
+        }
+        closeQuietly(stmt, conn);
+    }
+    
+    private static void closeQuietly(PreparedStatement stmt, Connection conn) {
+        try {
+            if (stmt != null) {
+                stmt.close();
+            }
+        } catch (SQLException e) {
+            FileLogger.getInstance().logWarning("Failed to close report statement: " + e.getMessage());
+        }
+        try {
+            if (conn != null) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            FileLogger.getInstance().logWarning("Failed to close report connection: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package aerodesk.dao;
+
+import aerodesk.model.DailySummary;
+import aerodesk.util.DatabaseConnection;
+import aerodesk.util.FileLogger;
+import aerodesk.util.StatementRegistry;
+import aerodesk.exception.DatabaseException;
+
+import java.sql.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for daily report summaries
+ * Computes the daily flight, check-in, baggage and gate counts from the operational
+ * tables and stores them as snapshots in report_daily_summary
+ */
+public class ReportSummaryDAO {
+    
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String FLIGHT_COUNTS = StatementRegistry.declare("summary.flightCounts",
+        "SELECT status, origin, destination, COUNT(*), " +
+        "SUM(CASE WHEN status <> 'CANCELLED' AND COALESCE(actual_departure, estimated_departure) > departure_time THEN 1 ELSE 0 END) " +
+        "FROM flights WHERE departure_time >= ? AND departure_time < ? GROUP BY status, origin, destination");
+    private static final String CHECK_IN_COUNTS = StatementRegistry.declare("summary.checkInCounts",
+        "SELECT b.check_in_status, COUNT(*) FROM bookings b JOIN flights f ON f.id = b.flight_id " +
+        "WHERE f.departure_time >= ? AND f.departure_time < ? GROUP BY b.check_in_status");
+    private static final String BAGGAGE_COUNTS = StatementRegistry.declare("summary.baggageCounts",
+        "SELECT status, COUNT(*) FROM baggage WHERE created_at >= ? AND created_at < ? GROUP BY status");
+    private static final String GATE_OCCUPANCY = StatementRegistry.declare("summary.gateOccupancy",
+        "SELECT g.gate_number, a.assignment_time, a.departure_time FROM gate_assignments a JOIN gates g ON g.id = a.gate_id " +
+        "WHERE a.departure_time >= ? AND a.assignment_time < ? ORDER BY g.gate_number, a.assignment_time");
+    private static final String GATE_COUNT = StatementRegistry.declare("summary.gateCount",
+        "SELECT COUNT(*) FROM gates");
+    private static final String DELETE_DAY = StatementRegistry.declare("summary.deleteDay",
+        "DELETE FROM report_daily_summary WHERE report_date = ?");
+    private static final String INSERT_ROW = StatementRegistry.declare("summary.insertRow",
+        "INSERT INTO report_daily_summary (report_date, category, dimension, item_count, measure, computed_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)");
+    private static final String GET_SUMMARIES = StatementRegistry.declare("summary.getSummaries",
+        "SELECT report_date, category, dimension, item_count, measure, computed_at FROM report_daily_summary " +
+        "WHERE report_date >= ? AND report_date < ? ORDER BY report_date");
+    private static final String GET_COMPUTED_TIMES = StatementRegistry.declare("summary.getComputedTimes",
+        "SELECT report_date, MIN(computed_at) FROM report_daily_summary " +
+        "WHERE report_date >= ? AND report_date < ? GROUP BY report_date");
+    
+    /**
+     * Computes the counts of one day from the operational tables
+     * @param day The day
+     * @param until End of the counted period: the next midnight, or now for today so far
+     * @return Live summary of the day
+     * @throws DatabaseException if database operation fails
+     */
+    public DailySummary computeDay(LocalDate day, LocalDateTime until) throws DatabaseException {
+        DailySummary summary = new DailySummary(day, until, true);
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(until);
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(FLIGHT_COUNTS)) {
+                stmt.setTimestamp(1, start);
+                stmt.setTimestamp(2, end);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        summary.add(DailySummary.FLIGHT_STATUS, dimension(rs.getString(1)), rs.getInt(4), rs.getInt(5));
+                        summary.add(DailySummary.ROUTE, rs.getString(2) + "-" + rs.getString(3), rs.getInt(4), rs.getInt(5));
+                    }
+                }
+            }
+            addCounts(conn, CHECK_IN_COUNTS, start, end, summary, DailySummary.CHECK_IN);
+            addCounts(conn, BAGGAGE_COUNTS, start, end, summary, DailySummary.BAGGAGE);
+            
+            // Occupied minutes per gate, clipped to the period; assignments are stored with
+            // assignment_time <= departure_time, and overlapping ones are merged so that
+            // no minute of a gate counts twice
+            try (PreparedStatement stmt = conn.prepareStatement(GATE_OCCUPANCY)) {
+                stmt.setTimestamp(1, start);
+                stmt.setTimestamp(2, end);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    String gate = null;
+                    LocalDateTime runFrom = null;
+                    LocalDateTime runTo = null;
+                    while (rs.next()) {
+                        LocalDateTime from = max(rs.getTimestamp(2).toLocalDateTime(), start.toLocalDateTime());
+                        LocalDateTime to = min(rs.getTimestamp(3).toLocalDateTime(), until);
+                        if (!rs.getString(1).equals(gate) || runTo == null || from.isAfter(runTo)) {
+                            addOccupied(summary, gate, runFrom, runTo);
+                            gate = rs.getString(1);
+                            runFrom = from;
+                            runTo = to;
+                        } else {
+                            runTo = max(runTo, to);
+                        }
+                        summary.add(DailySummary.GATE, gate, 1, 0);
+                    }
+                    addOccupied(summary, gate, runFrom, runTo);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(GATE_COUNT);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    summary.add(DailySummary.GATES, DailySummary.ALL, rs.getInt(1), 0);
+                }
+            }
+            
+            summary.setComputedAt(LocalDateTime.now());
+            return summary;
+        
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to compute daily summary for " + day + ": " + e.getMessage());
+            throw new DatabaseException("Failed to compute daily summary", e);
+        }
+    }
+    
+    /**
+     * Replaces the stored snapshot of a day
+     * @param summary The computed summary
+     * @throws DatabaseException if database operation fails
+     */
+    public void saveDay(DailySummary summary) throws DatabaseException {
+        Date day = Date.valueOf(summary.getDate());
+        Timestamp computedAt = Timestamp.valueOf(summary.getComputedAt());
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_DAY)) {
+                    stmt.setDate(1, day);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_ROW)) {
+                    for (String category : new String[]{DailySummary.FLIGHT_STATUS, DailySummary.ROUTE, DailySummary.CHECK_IN,
+                            DailySummary.BAGGAGE, DailySummary.GATE, DailySummary.GATES}) {
+                        for (String dimension : summary.getDimensions(category)) {
+                            stmt.setDate(1, day);
+                            stmt.setString(2, category);
+                            stmt.setString(3, dimension);
+                            stmt.setInt(4, summary.getCount(category, dimension));
+                            stmt.setInt(5, summary.getMeasure(category, dimension));
+                            stmt.setTimestamp(6, computedAt);
+                            stmt.addBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to save daily summary for " + summary.getDate() + ": " + e.getMessage());
+            throw new DatabaseException("Failed to save daily summary", e);
+        }
+    }
+    
+    /**
+     * Retrieves the stored snapshots of a range of days
+     * @param from First day (inclusive)
+     * @param to Last day (exclusive)
+     * @return One summary per stored day, oldest first
+     * @throws DatabaseException if database operation fails
+     */
+    public List<DailySummary> getSummaries(LocalDate from, LocalDate to) throws DatabaseException {
+        List<DailySummary> summaries = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_SUMMARIES)) {
+            
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                DailySummary summary = null;
+                while (rs.next()) {
+                    LocalDate day = rs.getDate("report_date").toLocalDate();
+                    if (summary == null || !summary.getDate().equals(day)) {
+                        summary = new DailySummary(day, day.plusDays(1).atStartOfDay(), false);
+                        summary.setComputedAt(rs.getTimestamp("computed_at").toLocalDateTime());
+                        summaries.add(summary);
+                    }
+                    summary.add(rs.getString("category"), rs.getString("dimension"), rs.getInt("item_count"), rs.getInt("measure"));
+                }
+            }
+            return summaries;
+        
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve daily summaries: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve daily summaries", e);
+        }
+    }
+    
+    /**
+     * Retrieves when each stored day was computed
+     * @param from First day (inclusive)
+     * @param to Last day (exclusive)
+     * @return Day -> computation time, for the stored days only
+     * @throws DatabaseException if database operation fails
+     */
+    public Map<LocalDate, LocalDateTime> getComputedTimes(LocalDate from, LocalDate to) throws DatabaseException {
+        Map<LocalDate, LocalDateTime> computed = new HashMap<>();
+        
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_COMPUTED_TIMES)) {
+            
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    computed.put(rs.getDate(1).toLocalDate(), rs.getTimestamp(2).toLocalDateTime());
+                }
+            }
+            return computed;
+        
+        } catch (SQLException e) {
+            FileLogger.getInstance().logError("Failed to retrieve daily summary times: " + e.getMessage());
+            throw new DatabaseException("Failed to retrieve daily summary times", e);
+        }
+    }
+    
+    private void addCounts(Connection conn, String sql, Timestamp start, Timestamp end,
+                           DailySummary summary, String category) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, start);
+            stmt.setTimestamp(2, end);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    summary.add(category, dimension(rs.getString(1)), rs.getInt(2), 0);
+                }
+            }
+        }
+    }
+    
+    private static void addOccupied(DailySummary summary, String gate, LocalDateTime from, LocalDateTime to) {
+        if (gate != null && to.isAfter(from)) {
+            summary.add(DailySummary.GATE, gate, 0, (int) Duration.between(from, to).toMinutes());
+        }
+    }
+    
+    private static String dimension(String value) {
+        return value != null ? value : "UNKNOWN";
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
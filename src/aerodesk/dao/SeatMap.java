@@ -0,0 +1,204 @@
+package aerodesk.dao;
+
+import aerodesk.model.SeatLayout;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat occupancy of one flight for AeroDesk Pro
+ * One bit per seat of the aircraft's layout, row-major, so availability is a bit
+ * test and free-seat searches scan 64 seats per word. Seats are owned by booking
+ * IDs so a booking that changes seat frees its old one. Kept current by
+ * SeatMapIndex; all methods are safe to call from any thread.
+ */
+public final class SeatMap {
+    private final int flightId;
+    private final SeatLayout layout;
+    private final BitSet occupied;
+    // Seat index -> booking ID holding it
+    private final int[] owners;
+    // Booking ID -> seat index, or -1 for bookings without a seat on the map
+    private final Map<Integer, Integer> seatsByBooking = new HashMap<>();
+    
+    SeatMap(int flightId, SeatLayout layout) {
+        this.flightId = flightId;
+        this.layout = layout;
+        this.occupied = new BitSet(layout.getCapacity());
+        this.owners = new int[layout.getCapacity()];
+    }
+    
+    public int getFlightId() {
+        return flightId;
+    }
+    
+    public SeatLayout getLayout() {
+        return layout;
+    }
+    
+    /**
+     * Checks whether a seat number exists in this aircraft's layout
+     * @param seatNo Seat number such as "12A"
+     * @return true if the seat is on the map
+     */
+    public boolean hasSeat(String seatNo) {
+        return layout.indexOf(seatNo) >= 0;
+    }
+    
+    /**
+     * Checks whether a seat is free
+     * @param seatNo Seat number such as "12A"
+     * @return true if the seat is on the map and nobody holds it
+     */
+    public synchronized boolean isFree(String seatNo) {
+        int index = layout.indexOf(seatNo);
+        return index >= 0 && !occupied.get(index);
+    }
+    
+    /**
+     * Finds the first free seat at or after a seat, front to back
+     * @param fromSeatNo Seat to start from, or null for the front row
+     * @return Seat number, or null if the rest of the cabin is full
+     */
+    public synchronized String nextFree(String fromSeatNo) {
+        int from = fromSeatNo != null ? Math.max(0, layout.indexOf(fromSeatNo)) : 0;
+        int index = occupied.nextClearBit(from);
+        return index < layout.getCapacity() ? layout.getSeatNo(index) : null;
+    }
+    
+    /**
+     * Finds the frontmost block of adjacent free seats in one row, not split by an aisle
+     * @param count Number of seats
+     * @return Seat numbers left to right, or an empty list if no block is free
+     */
+    public synchronized List<String> findAdjacent(int count) {
+        List<String> seats = new ArrayList<>(Math.max(count, 0));
+        int first = findBlock(occupied, count);
+        if (first >= 0) {
+            for (int i = first; i < first + count; i++) {
+                seats.add(layout.getSeatNo(i));
+            }
+        }
+        return seats;
+    }
+    
+    /**
+     * Seats a group as close together as the cabin allows: one block of adjacent
+     * seats if there is one, otherwise the largest blocks still free, front to back
+     * @param count Group size
+     * @return Seat numbers in block order, or an empty list if fewer seats are free
+     */
+    public synchronized List<String> findGroupSeats(int count) {
+        List<String> seats = new ArrayList<>(Math.max(count, 0));
+        if (count <= 0 || layout.getCapacity() - occupied.cardinality() < count) {
+            return seats;
+        }
+        BitSet taken = (BitSet) occupied.clone();
+        int remaining = count;
+        int block = count;
+        while (remaining > 0) {
+            block = Math.min(block, remaining);
+            int first = findBlock(taken, block);
+            if (first < 0) {
+                // Enough free seats remain, so single seats always succeed
+                block--;
+                continue;
+            }
+            for (int i = first; i < first + block; i++) {
+                taken.set(i);
+                seats.add(layout.getSeatNo(i));
+            }
+            remaining -= block;
+        }
+        return seats;
+    }
+    
+    /**
+     * Finds the frontmost block of clear bits in one row section
+     * @return Index of the block's first seat, or -1
+     */
+    private int findBlock(BitSet taken, int count) {
+        if (count <= 0) {
+            return -1;
+        }
+        int columns = layout.getColumns();
+        for (int row = 0; row < layout.getRows(); row++) {
+            int rowStart = row * columns;
+            for (int section = 0; section < layout.getSectionCount(); section++) {
+                int end = rowStart + layout.getSectionEnd(section);
+                int free = taken.nextClearBit(rowStart + layout.getSectionStart(section));
+                while (free + count <= end) {
+                    int next = taken.nextSetBit(free);
+                    if (next < 0 || next >= free + count) {
+                        return free;
+                    }
+                    free = taken.nextClearBit(next);
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Gets the number of occupied seats
+     * @return Occupied seat count
+     */
+    public synchronized int getOccupiedCount() {
+        return occupied.cardinality();
+    }
+    
+    /**
+     * Copies the occupancy bits, e.g. to paint the map without holding the lock
+     * @return Bit i set if seat index i is occupied
+     */
+    public synchronized BitSet snapshot() {
+        return (BitSet) occupied.clone();
+    }
+    
+    /**
+     * Moves a booking to a seat, freeing the seat it held before
+     * @param bookingId The booking ID
+     * @param seatNo New seat number, or null/off-map to hold no seat
+     */
+    synchronized void assign(int bookingId, String seatNo) {
+        release(bookingId);
+        int index = layout.indexOf(seatNo);
+        seatsByBooking.put(bookingId, index);
+        if (index >= 0) {
+            occupied.set(index);
+            owners[index] = bookingId;
+        }
+    }
+    
+    /**
+     * Frees the seat a booking holds and forgets the booking
+     * @param bookingId The booking ID
+     * @return true if the booking was on this flight
+     */
+    synchronized boolean release(int bookingId) {
+        Integer index = seatsByBooking.remove(bookingId);
+        if (index == null) {
+            return false;
+        }
+        if (index >= 0 && owners[index] == bookingId) {
+            occupied.clear(index);
+            owners[index] = 0;
+            // A seat double-booked in the database stays taken by the other booking
+            for (Map.Entry<Integer, Integer> entry : seatsByBooking.entrySet()) {
+                if (entry.getValue() == (int) index) {
+                    occupied.set(index);
+                    owners[index] = entry.getKey();
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+    
+    synchronized boolean contains(int bookingId) {
+        return seatsByBooking.containsKey(bookingId);
+    }
+}
@@ -0,0 +1,149 @@
+package aerodesk.dao;
+
+import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+import aerodesk.model.SeatLayout;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
+import aerodesk.exception.DatabaseException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory seat maps for AeroDesk Pro
+ * A flight's seat map is loaded from its bookings the first time it is needed and
+ * then kept current by BookingDAO after each committed write, so seat availability
+ * and free-seat searches never query the database. Updates wait for a load in
+ * progress so none is lost. Loaded maps are dropped every seat.map.reload.interval
+ * ms to pick up changes made by other processes.
+ */
+public class SeatMapIndex {
+    private static SeatMapIndex instance;
+    
+    private final Map<Integer, SeatMap> mapsByFlight = new ConcurrentHashMap<>();
+    // Booking ID -> flight ID for bookings on loaded maps
+    private final Map<Integer, Integer> flightsByBooking = new ConcurrentHashMap<>();
+    
+    private SeatMapIndex() {
+        long intervalMillis = ConfigManager.getInstance().getIntProperty("seat.map.reload.interval", 300000);
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "SeatMapIndex.evict", this::clear,
+            intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    public static synchronized SeatMapIndex getInstance() {
+        if (instance == null) {
+            instance = new SeatMapIndex();
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets the seat map of a flight, loading it on first use
+     * @param flightId The flight ID
+     * @return The seat map, or null if the flight does not exist
+     * @throws DatabaseException if the flight's bookings cannot be read
+     */
+    public SeatMap getSeatMap(int flightId) throws DatabaseException {
+        SeatMap seatMap = mapsByFlight.get(flightId);
+        if (seatMap != null) {
+            return seatMap;
+        }
+        synchronized (this) {
+            seatMap = mapsByFlight.get(flightId);
+            if (seatMap == null) {
+                seatMap = load(flightId);
+                if (seatMap != null) {
+                    mapsByFlight.put(flightId, seatMap);
+                }
+            }
+            return seatMap;
+        }
+    }
+    
+    /**
+     * Records a created or updated booking's flight and seat
+     * @param booking The committed booking
+     */
+    public synchronized void bookingSaved(Booking booking) {
+        Integer previousFlight = flightsByBooking.get(booking.getBookingId());
+        if (previousFlight != null && previousFlight != booking.getFlightId()) {
+            release(booking.getBookingId());
+        }
+        SeatMap seatMap = mapsByFlight.get(booking.getFlightId());
+        if (seatMap != null) {
+            seatMap.assign(booking.getBookingId(), booking.getSeatNo());
+            flightsByBooking.put(booking.getBookingId(), booking.getFlightId());
+        }
+    }
+    
+    /**
+     * Moves a booking on a loaded map to a new seat
+     * @param bookingId The booking ID
+     * @param seatNo The new seat number
+     */
+    public synchronized void seatAssigned(int bookingId, String seatNo) {
+        Integer flightId = flightsByBooking.get(bookingId);
+        SeatMap seatMap = flightId != null ? mapsByFlight.get(flightId) : null;
+        if (seatMap != null) {
+            seatMap.assign(bookingId, seatNo);
+        }
+    }
+    
+    /**
+     * Frees the seat of a deleted booking
+     * @param bookingId The booking ID
+     */
+    public synchronized void bookingDeleted(int bookingId) {
+        release(bookingId);
+    }
+    
+    /**
+     * Drops a flight's seat map, e.g. after its aircraft changed
+     * @param flightId The flight ID
+     */
+    public synchronized void invalidate(int flightId) {
+        SeatMap seatMap = mapsByFlight.remove(flightId);
+        if (seatMap != null) {
+            flightsByBooking.values().removeIf(id -> id == flightId);
+        }
+    }
+    
+    /**
+     * Drops every loaded seat map; they are reloaded on next use
+     */
+    public synchronized void clear() {
+        mapsByFlight.clear();
+        flightsByBooking.clear();
+    }
+    
+    private void release(int bookingId) {
+        Integer flightId = flightsByBooking.remove(bookingId);
+        SeatMap seatMap = flightId != null ? mapsByFlight.get(flightId) : null;
+        if (seatMap != null) {
+            seatMap.release(bookingId);
+        }
+    }
+    
+    private SeatMap load(int flightId) throws DatabaseException {
+        long start = System.nanoTime();
+        Flight flight = FlightRepository.getInstance().getFlightById(flightId);
+        if (flight == null) {
+            return null;
+        }
+        SeatMap seatMap = new SeatMap(flightId, SeatLayout.forAircraft(flight.getAircraftType()));
+        List<Booking> bookings = new BookingDAO().getBookingsByFlightId(flightId);
+        for (Booking booking : bookings) {
+            seatMap.assign(booking.getBookingId(), booking.getSeatNo());
+            flightsByBooking.put(booking.getBookingId(), flightId);
+        }
+        MetricsRegistry.getInstance().recordSince("seat.map.load", start);
+        FileLogger.getInstance().logDebug("Seat map loaded for flight " + flight.getFlightNo() + ": "
+            + seatMap.getOccupiedCount() + "/" + seatMap.getLayout().getCapacity() + " seats taken");
+        return seatMap;
+    }
+}
@@ -3,6 +3,7 @@ package aerodesk.dao;
 import aerodesk.model.User;
 import aerodesk.util.DatabaseConnection;
 import aerodesk.util.FileLogger;
+import aerodesk.util.StatementRegistry;
 import aerodesk.exception.DatabaseException;
 
 import java.sql.*;
@@ -16,6 +17,20 @@ import java.util.List;
  */
 public class UserDAO {
     
+    // Named statements, cached per pooled connection (see StatementRegistry)
+    private static final String AUTHENTICATE_USER = StatementRegistry.declare("user.authenticateUser",
+        "SELECT * FROM users WHERE username = ? AND password_hash = ? AND role = ? AND is_active = TRUE");
+    private static final String GET_USER_BY_USERNAME = StatementRegistry.declare("user.getUserByUsername",
+        "SELECT * FROM users WHERE username = ?");
+    private static final String GET_ALL_ACTIVE_USERS = StatementRegistry.declare("user.getAllActiveUsers",
+        "SELECT * FROM users WHERE is_active = TRUE ORDER BY username");
+    private static final String CREATE_USER = StatementRegistry.declare("user.createUser",
+        "INSERT INTO users (username, password_hash, role, full_name, is_active) VALUES (?, ?, ?, ?, ?)");
+    private static final String UPDATE_USER = StatementRegistry.declare("user.updateUser",
+        "UPDATE users SET password_hash = ?, role = ?, full_name = ?, is_active = ? WHERE id = ?");
+    private static final String DEACTIVATE_USER = StatementRegistry.declare("user.deactivateUser",
+        "UPDATE users SET is_active = FALSE WHERE id = ?");
+    
     /**
      * Authenticates a user with username, password, and role
      * @param username The username
@@ -25,10 +40,8 @@ public class UserDAO {
      * @throws DatabaseException if database operation fails
      */
     public User authenticateUser(String username, String password, String role) throws DatabaseException {
-        String sql = "SELECT * FROM users WHERE username = ? AND password_hash = ? AND role = ? AND is_active = TRUE";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(AUTHENTICATE_USER)) {
             
             stmt.setString(1, username);
             stmt.setString(2, password);
@@ -58,10 +71,8 @@ public class UserDAO {
      * @throws DatabaseException if database operation fails
      */
     public User getUserByUsername(String username) throws DatabaseException {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(GET_USER_BY_USERNAME)) {
             
             stmt.setString(1, username);
             
@@ -85,10 +96,9 @@ public class UserDAO {
      */
     public List<User> getAllActiveUsers() throws DatabaseException {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE is_active = TRUE ORDER BY username";
         
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement stmt = conn.prepareStatement(GET_ALL_ACTIVE_USERS);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
@@ -112,10 +122,8 @@ public class UserDAO {
      * @throws DatabaseException if database operation fails
      */
     public User createUser(User user) throws DatabaseException {
-        String sql = "INSERT INTO users (username, password_hash, role, full_name, is_active) VALUES (?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(CREATE_USER, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, user.getUsername());
             stmt.setString(2, user.getPasswordHash());
@@ -152,10 +160,8 @@ public class UserDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateUser(User user) throws DatabaseException {
-        String sql = "UPDATE users SET password_hash = ?, role = ?, full_name = ?, is_active = ? WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_USER)) {
             
             stmt.setString(1, user.getPasswordHash());
             stmt.setString(2, user.getRole());
@@ -184,10 +190,8 @@ public class UserDAO {
      * @throws DatabaseException if database operation fails
      */
     public boolean deactivateUser(int userId) throws DatabaseException {
-        String sql = "UPDATE users SET is_active = FALSE WHERE id = ?";
-        
         try (Connection conn = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(DEACTIVATE_USER)) {
             
             stmt.setInt(1, userId);
             
@@ -0,0 +1,20 @@
+package aerodesk.exception;
+
+/**
+ * Custom exception for check-ins that lose a race in AeroDesk Pro
+ * Thrown when the seat was claimed or the booking was changed at another desk
+ */
+public class CheckInConflictException extends Exception {
+    
+    public CheckInConflictException(String message) {
+        super(message);
+    }
+    
+    public CheckInConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public CheckInConflictException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
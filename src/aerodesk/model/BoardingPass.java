@@ -0,0 +1,59 @@
+package aerodesk.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boarding pass model class for AeroDesk Pro
+ * The data printed on a boarding pass, assembled by the check-in service
+ */
+public class BoardingPass {
+    private final Booking booking;
+    private final Flight flight;
+    private final String gate;
+    private final List<Baggage> baggage;
+    
+    public BoardingPass(Booking booking, Flight flight, String gate, List<Baggage> baggage) {
+        this.booking = booking;
+        this.flight = flight;
+        this.gate = gate;
+        this.baggage = new ArrayList<>(baggage);
+    }
+    
+    public Booking getBooking() {
+        return booking;
+    }
+    
+    public Flight getFlight() {
+        return flight;
+    }
+    
+    public String getPassengerName() {
+        return booking.getPassengerName();
+    }
+    
+    public String getBookingReference() {
+        return booking.getBookingReference();
+    }
+    
+    public String getSeatNo() {
+        return booking.getSeatNo();
+    }
+    
+    public LocalDateTime getCheckInTime() {
+        return booking.getCheckInTime();
+    }
+    
+    /**
+     * Gets the departure gate
+     * @return Gate number, or "TBD" if the flight has no gate yet
+     */
+    public String getGate() {
+        return gate != null ? gate : "TBD";
+    }
+    
+    public List<Baggage> getBaggage() {
+        return baggage;
+    }
+}
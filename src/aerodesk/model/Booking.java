@@ -16,6 +16,8 @@ public class Booking {
     private LocalDateTime checkInTime;
     private String bookingReference;
     private LocalDateTime createdAt;
+    // Incremented on every update; check-in only succeeds against the version it read
+    private int version;
     
     // Default constructor
     public Booking() {}
@@ -103,6 +105,14 @@ public class Booking {
         this.createdAt = createdAt;
     }
     
+    public int getVersion() {
+        return version;
+    }
+    
+    public void setVersion(int version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return String.format("Booking{bookingRef='%s', passenger='%s', flightId=%d, checkedIn=%s}", 
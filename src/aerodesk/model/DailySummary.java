@@ -0,0 +1,133 @@
+package aerodesk.model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Daily report summary model for AeroDesk Pro
+ * Counts for one day by category and dimension (e.g. flight_status / DELAYED), either
+ * read from a materialized snapshot or computed live for today so far
+ */
+public class DailySummary {
+    public static final String FLIGHT_STATUS = "flight_status";
+    public static final String ROUTE = "route";
+    public static final String CHECK_IN = "check_in";
+    public static final String BAGGAGE = "baggage";
+    public static final String GATE = "gate";
+    public static final String GATES = "gates";
+    public static final String ALL = "ALL";
+    
+    private final LocalDate date;
+    private final LocalDateTime until;
+    private final boolean live;
+    private LocalDateTime computedAt;
+    // Category -> dimension -> {item count, measure}
+    private final Map<String, Map<String, int[]>> entries = new HashMap<>();
+    
+    /**
+     * Creates an empty summary
+     * @param date The day
+     * @param until End of the counted period: the next midnight, or now for today
+     * @param live true if computed from the operational tables rather than a snapshot
+     */
+    public DailySummary(LocalDate date, LocalDateTime until, boolean live) {
+        this.date = date;
+        this.until = until;
+        this.live = live;
+    }
+    
+    public LocalDate getDate() { return date; }
+    public LocalDateTime getUntil() { return until; }
+    public boolean isLive() { return live; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+    
+    /**
+     * Adds to the count and measure of a dimension
+     */
+    public void add(String category, String dimension, int count, int measure) {
+        int[] entry = entries.computeIfAbsent(category, c -> new HashMap<>()).computeIfAbsent(dimension, d -> new int[2]);
+        entry[0] += count;
+        entry[1] += measure;
+    }
+    
+    /**
+     * @return Dimensions of a category, sorted
+     */
+    public Set<String> getDimensions(String category) {
+        return new TreeSet<>(entries.getOrDefault(category, Collections.emptyMap()).keySet());
+    }
+    
+    public int getCount(String category, String dimension) {
+        int[] entry = entries.getOrDefault(category, Collections.emptyMap()).get(dimension);
+        return entry != null ? entry[0] : 0;
+    }
+    
+    public int getMeasure(String category, String dimension) {
+        int[] entry = entries.getOrDefault(category, Collections.emptyMap()).get(dimension);
+        return entry != null ? entry[1] : 0;
+    }
+    
+    public int getTotalCount(String category) {
+        int total = 0;
+        for (int[] entry : entries.getOrDefault(category, Collections.emptyMap()).values()) {
+            total += entry[0];
+        }
+        return total;
+    }
+    
+    public int getTotalMeasure(String category) {
+        int total = 0;
+        for (int[] entry : entries.getOrDefault(category, Collections.emptyMap()).values()) {
+            total += entry[1];
+        }
+        return total;
+    }
+    
+    public int getFlights() { return getTotalCount(FLIGHT_STATUS); }
+    public int getDelayedFlights() { return getTotalMeasure(FLIGHT_STATUS); }
+    public int getCancelledFlights() { return getCount(FLIGHT_STATUS, Flight.FlightStatus.CANCELLED.name()); }
+    public int getBookings() { return getTotalCount(CHECK_IN); }
+    public int getBags() { return getTotalCount(BAGGAGE); }
+    
+    public int getCheckedIn() {
+        return getCount(CHECK_IN, "CHECKED_IN") + getCount(CHECK_IN, "BOARDED");
+    }
+    
+    public int getDeliveredBags() {
+        return getCount(BAGGAGE, Baggage.BaggageStatus.DELIVERED.name());
+    }
+    
+    /**
+     * @return Percentage of bookings checked in or boarded, 0 without bookings
+     */
+    public double getCheckInRate() {
+        return percent(getCheckedIn(), getBookings());
+    }
+    
+    /**
+     * @return Percentage of bags delivered, 0 without bags
+     */
+    public double getDeliveryRate() {
+        return percent(getDeliveredBags(), getBags());
+    }
+    
+    /**
+     * @return Percentage of gate time occupied over the counted period, 0 without gates;
+     *         the GATE measures are per-gate minutes with overlapping assignments merged
+     */
+    public double getGateUtilization() {
+        long minutes = Duration.between(date.atStartOfDay(), until).toMinutes();
+        return percent(getTotalMeasure(GATE), (long) getCount(GATES, ALL) * minutes);
+    }
+    
+    private static double percent(long part, long whole) {
+        return whole > 0 ? 100.0 * part / whole : 0;
+    }
+}
@@ -13,6 +13,12 @@ public class Flight {
     private String destination;
     private LocalDateTime departTime;
     private LocalDateTime arriveTime;
+    // Latest estimate and actual times reported by the flight data feed; departTime
+    // and arriveTime stay the schedule
+    private LocalDateTime estimatedDepartTime;
+    private LocalDateTime actualDepartTime;
+    private LocalDateTime estimatedArriveTime;
+    private LocalDateTime actualArriveTime;
     private String aircraftType;
     private FlightStatus status;
     private LocalDateTime createdAt;
@@ -37,6 +43,24 @@ public class Flight {
         this.status = FlightStatus.SCHEDULED;
     }
     
+    // Copy constructor
+    public Flight(Flight other) {
+        this.flightId = other.flightId;
+        this.flightNo = other.flightNo;
+        this.origin = other.origin;
+        this.destination = other.destination;
+        this.departTime = other.departTime;
+        this.arriveTime = other.arriveTime;
+        this.estimatedDepartTime = other.estimatedDepartTime;
+        this.actualDepartTime = other.actualDepartTime;
+        this.estimatedArriveTime = other.estimatedArriveTime;
+        this.actualArriveTime = other.actualArriveTime;
+        this.aircraftType = other.aircraftType;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+    
     // Getters and Setters
     public int getFlightId() {
         return flightId;
@@ -86,6 +110,65 @@ public class Flight {
         this.arriveTime = arriveTime;
     }
     
+    public LocalDateTime getEstimatedDepartTime() {
+        return estimatedDepartTime;
+    }
+    
+    public void setEstimatedDepartTime(LocalDateTime estimatedDepartTime) {
+        this.estimatedDepartTime = estimatedDepartTime;
+    }
+    
+    public LocalDateTime getActualDepartTime() {
+        return actualDepartTime;
+    }
+    
+    public void setActualDepartTime(LocalDateTime actualDepartTime) {
+        this.actualDepartTime = actualDepartTime;
+    }
+    
+    public LocalDateTime getEstimatedArriveTime() {
+        return estimatedArriveTime;
+    }
+    
+    public void setEstimatedArriveTime(LocalDateTime estimatedArriveTime) {
+        this.estimatedArriveTime = estimatedArriveTime;
+    }
+    
+    public LocalDateTime getActualArriveTime() {
+        return actualArriveTime;
+    }
+    
+    public void setActualArriveTime(LocalDateTime actualArriveTime) {
+        this.actualArriveTime = actualArriveTime;
+    }
+    
+    /**
+     * Gets the best known departure time: actual, else estimated, else scheduled
+     * @return Expected departure time
+     */
+    public LocalDateTime getExpectedDepartTime() {
+        if (actualDepartTime != null) {
+            return actualDepartTime;
+        }
+        return estimatedDepartTime != null ? estimatedDepartTime : departTime;
+    }
+    
+    /**
+     * Gets the airline code the flight number starts with, e.g. "UL" for UL 504
+     * @return Upper-case airline code, or null if the number has no letter prefix
+     */
+    public String getAirlineCode() {
+        if (flightNo == null) {
+            return null;
+        }
+        int i = 0;
+        while (i < flightNo.length() && !Character.isDigit(flightNo.charAt(i))) {
+            i++;
+        }
+        String code = flightNo.substring(0, i).trim().toUpperCase();
+        return code.isEmpty() ? null : code;
+    }
+    
     public String getAircraftType() {
         return aircraftType;
     }
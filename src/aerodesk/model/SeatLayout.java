@@ -0,0 +1,156 @@
+package aerodesk.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cabin seat layout model class for AeroDesk Pro
+ * Describes the economy grid of an aircraft type as numbered rows and seat letters
+ * split into sections by aisles, e.g. "ABC DEFG HJK" for a 3-4-3 wide-body. Seats
+ * are numbered row-major from 0, so a seat map can keep one bit per seat.
+ */
+public final class SeatLayout {
+    
+    private static final SeatLayout DEFAULT = new SeatLayout(30, "ABC DEF");
+    // Type prefix -> layout; more specific prefixes come first
+    private static final Map<String, SeatLayout> LAYOUTS = new LinkedHashMap<>();
+    
+    static {
+        LAYOUTS.put("A380", new SeatLayout(60, "ABC DEFG HJK"));
+        LAYOUTS.put("A350", new SeatLayout(42, "ABC DEF GHK"));
+        LAYOUTS.put("A330", new SeatLayout(36, "AC DEFG HK"));
+        LAYOUTS.put("A321", new SeatLayout(38, "ABC DEF"));
+        LAYOUTS.put("A320", DEFAULT);
+        LAYOUTS.put("A319", new SeatLayout(24, "ABC DEF"));
+        LAYOUTS.put("B747", new SeatLayout(50, "ABC DEFG HJK"));
+        LAYOUTS.put("B777", new SeatLayout(42, "ABC DEFG HJK"));
+        LAYOUTS.put("B787", new SeatLayout(38, "ABC DEF GHK"));
+        LAYOUTS.put("B757", new SeatLayout(34, "ABC DEF"));
+        LAYOUTS.put("B737-7", new SeatLayout(24, "ABC DEF"));
+        LAYOUTS.put("B737-9", new SeatLayout(36, "ABC DEF"));
+        LAYOUTS.put("B737", new SeatLayout(32, "ABC DEF"));
+    }
+    
+    private final int rows;
+    private final String letters;
+    // Column index where each section starts, plus the column count at the end
+    private final int[] sectionStarts;
+    
+    /**
+     * Creates a layout
+     * @param rows Number of rows, numbered from 1
+     * @param sections Seat letters of one row with a space for each aisle
+     */
+    public SeatLayout(int rows, String sections) {
+        String[] parts = sections.trim().split(" +");
+        this.rows = rows;
+        this.letters = sections.replace(" ", "");
+        this.sectionStarts = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            sectionStarts[i + 1] = sectionStarts[i] + parts[i].length();
+        }
+    }
+    
+    /**
+     * Gets the layout for an aircraft type such as "Boeing 777-300ER" or "A330";
+     * unknown types get a 30-row single-aisle layout
+     * @param aircraftType The aircraft type
+     * @return The seat layout
+     */
+    public static SeatLayout forAircraft(String aircraftType) {
+        if (aircraftType == null) {
+            return DEFAULT;
+        }
+        String type = aircraftType.toUpperCase().replace("AIRBUS", "").replace("BOEING", "B").replace(" ", "");
+        for (Map.Entry<String, SeatLayout> entry : LAYOUTS.entrySet()) {
+            if (type.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return DEFAULT;
+    }
+    
+    public int getRows() {
+        return rows;
+    }
+    
+    public int getColumns() {
+        return letters.length();
+    }
+    
+    public int getCapacity() {
+        return rows * letters.length();
+    }
+    
+    public int getSectionCount() {
+        return sectionStarts.length - 1;
+    }
+    
+    /**
+     * Gets the first column of a section
+     * @param section Section number from the left
+     * @return Column index
+     */
+    public int getSectionStart(int section) {
+        return sectionStarts[section];
+    }
+    
+    /**
+     * Gets the column after the last column of a section
+     * @param section Section number from the left
+     * @return Column index
+     */
+    public int getSectionEnd(int section) {
+        return sectionStarts[section + 1];
+    }
+    
+    public char getLetter(int column) {
+        return letters.charAt(column);
+    }
+    
+    /**
+     * Gets the seat number of a row and column index
+     * @param row Row index from 0
+     * @param column Column index from 0
+     * @return Seat number such as "12A"
+     */
+    public String getSeatNo(int row, int column) {
+        return (row + 1) + String.valueOf(letters.charAt(column));
+    }
+    
+    /**
+     * Gets the seat number of a seat index
+     * @param index Seat index from 0
+     * @return Seat number such as "12A"
+     */
+    public String getSeatNo(int index) {
+        return getSeatNo(index / letters.length(), index % letters.length());
+    }
+    
+    /**
+     * Gets the index of a seat number
+     * @param seatNo Seat number such as "12A" (case-insensitive)
+     * @return Seat index, or -1 if the seat is not in this layout
+     */
+    public int indexOf(String seatNo) {
+        if (seatNo == null) {
+            return -1;
+        }
+        String seat = seatNo.trim().toUpperCase();
+        int length = seat.length();
+        if (length < 2 || !Character.isLetter(seat.charAt(length - 1))) {
+            return -1;
+        }
+        int column = letters.indexOf(seat.charAt(length - 1));
+        int row;
+        try {
+            row = Integer.parseInt(seat.substring(0, length - 1)) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (column < 0 || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * letters.length() + column;
+    }
+}
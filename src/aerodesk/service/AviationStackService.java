@@ -456,7 +456,7 @@ public class AviationStackService {
     }
     
     // Enhanced parsing methods...
-    private FlightInfo parseFlightData(String jsonData, String flightNumber) {
+    FlightInfo parseFlightData(String jsonData, String flightNumber) {
         FlightInfo flightInfo = new FlightInfo();
         flightInfo.setFlightNumber(flightNumber);
         
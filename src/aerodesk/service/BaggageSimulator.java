@@ -3,12 +3,12 @@ package aerodesk.service;
 import aerodesk.dao.BaggageDAO;
 import aerodesk.model.Baggage;
 import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
 import aerodesk.exception.DatabaseException;
 
 import javax.swing.*;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -18,11 +18,12 @@ import java.util.concurrent.TimeUnit;
 public class BaggageSimulator {
     private static BaggageSimulator instance;
     private final BaggageDAO baggageDAO;
-    private ScheduledExecutorService executor;
+    private final TaskScheduler scheduler;
     private boolean isRunning = false;
     
     private BaggageSimulator() {
         this.baggageDAO = new BaggageDAO();
+        this.scheduler = TaskScheduler.getInstance();
     }
     
     public static BaggageSimulator getInstance() {
@@ -41,10 +42,9 @@ public class BaggageSimulator {
         }
         
         isRunning = true;
-        executor = Executors.newScheduledThreadPool(1);
         
         // Schedule baggage status updates every 10 seconds
-        executor.scheduleAtFixedRate(this::updateBaggageStatus, 0, 10, TimeUnit.SECONDS);
+        scheduler.scheduleBlockingAtFixedRate(this, "BaggageSimulator.statusUpdates", this::updateBaggageStatus, 0, 10, TimeUnit.SECONDS);
         
         FileLogger.getInstance().logInfo("Baggage simulation started");
     }
@@ -58,17 +58,7 @@ public class BaggageSimulator {
         }
         
         isRunning = false;
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        scheduler.cancelAll(this);
         
         FileLogger.getInstance().logInfo("Baggage simulation stopped");
     }
@@ -77,6 +67,7 @@ public class BaggageSimulator {
      * Updates baggage status in the background
      */
     private void updateBaggageStatus() {
+        long start = System.nanoTime();
         try {
             List<Baggage> baggageForUpdate = baggageDAO.getBaggageForStatusUpdate();
             
@@ -88,6 +79,7 @@ public class BaggageSimulator {
                     boolean updated = baggageDAO.updateBaggageStatus(baggage.getBaggageId(), newStatus);
                     
                     if (updated) {
+                        MetricsRegistry.getInstance().increment("baggage.status.updates");
                         FileLogger.getInstance().logInfo("Updated baggage " + baggage.getTagNumber() + 
                                                        " status from " + baggage.getStatus() + " to " + newStatus);
                         
@@ -103,6 +95,8 @@ public class BaggageSimulator {
             FileLogger.getInstance().logError("Error updating baggage status: " + e.getMessage());
         } catch (Exception e) {
             FileLogger.getInstance().logError("Unexpected error in baggage simulation: " + e.getMessage());
+        } finally {
+            MetricsRegistry.getInstance().recordSince("baggage.simulation.tick", start);
         }
     }
     
@@ -0,0 +1,182 @@
+package aerodesk.service;
+
+import aerodesk.dao.BaggageDAO;
+import aerodesk.dao.BookingDAO;
+import aerodesk.dao.FlightRepository;
+import aerodesk.dao.GateDAO;
+import aerodesk.dao.GateScheduleIndex;
+import aerodesk.dao.SeatMap;
+import aerodesk.dao.SeatMapIndex;
+import aerodesk.model.Baggage;
+import aerodesk.model.BoardingPass;
+import aerodesk.model.Booking;
+import aerodesk.model.Flight;
+import aerodesk.model.Gate;
+import aerodesk.model.GateAssignment;
+import aerodesk.exception.CheckInConflictException;
+import aerodesk.exception.DatabaseException;
+import aerodesk.util.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Passenger check-in service for AeroDesk Pro
+ * A check-in is one database transaction: the seat is claimed against the booking
+ * version the desk read, the check-in time recorded and the bags inserted with tags
+ * from the in-memory tag sequence. The flight comes from FlightRepository and taken
+ * seats are rejected from the seat map before the transaction starts, so the only
+ * round trips are the transaction's own statements. Groups are seated together from
+ * the seat map and checked in with batched statements in one transaction.
+ */
+public class CheckInService {
+    private static CheckInService instance;
+    
+    private final BookingDAO bookingDAO;
+    private final BaggageDAO baggageDAO;
+    private final FlightRepository flightRepository;
+    private final SeatMapIndex seatMapIndex;
+    
+    private CheckInService() {
+        this.bookingDAO = new BookingDAO();
+        this.baggageDAO = new BaggageDAO();
+        this.flightRepository = FlightRepository.getInstance();
+        this.seatMapIndex = SeatMapIndex.getInstance();
+    }
+    
+    public static synchronized CheckInService getInstance() {
+        if (instance == null) {
+            instance = new CheckInService();
+        }
+        return instance;
+    }
+    
+    /**
+     * Checks a passenger in to a seat and tags their bags
+     * @param booking The booking as read by the desk; updated on success
+     * @param seatNo The seat to claim
+     * @param bagWeights Weight in kg of each checked bag, may be empty
+     * @return The boarding pass data
+     * @throws CheckInConflictException if the seat is taken or the booking changed since it was read
+     * @throws DatabaseException if database operation fails
+     */
+    public BoardingPass checkIn(Booking booking, String seatNo, List<Double> bagWeights)
+            throws DatabaseException, CheckInConflictException {
+        long start = System.nanoTime();
+        String seat = seatNo.trim().toUpperCase();
+        Flight flight = flightRepository.getFlightById(booking.getFlightId());
+        if (flight == null) {
+            throw new DatabaseException("Flight not found for booking " + booking.getBookingReference());
+        }
+        
+        // Fail fast on a seat known to be taken; the unique seat key has the final word
+        SeatMap seatMap = seatMapIndex.getSeatMap(flight.getFlightId());
+        if (seatMap != null && seatMap.hasSeat(seat) && !seatMap.isFree(seat) && !seat.equalsIgnoreCase(booking.getSeatNo())) {
+            MetricsRegistry.getInstance().increment("checkin.conflicts");
+            // The seat may have been freed at another desk; the next read reloads the map
+            seatMapIndex.invalidate(flight.getFlightId());
+            throw new CheckInConflictException("Seat " + seat + " is already taken");
+        }
+        
+        List<Baggage> baggageList = new ArrayList<>(bagWeights.size());
+        for (Double weight : bagWeights) {
+            Baggage baggage = new Baggage(booking.getBookingId(), weight, Baggage.BaggageType.CHECKED,
+                baggageDAO.generateTagNumber());
+            baggage.setStatus(Baggage.BaggageStatus.CHECKED_IN);
+            baggageList.add(baggage);
+        }
+        
+        try {
+            BoardingPass boardingPass = bookingDAO.checkIn(booking, flight, seat, baggageList);
+            MetricsRegistry.getInstance().recordSince("checkin", start);
+            return boardingPass;
+        } catch (CheckInConflictException e) {
+            MetricsRegistry.getInstance().increment("checkin.conflicts");
+            throw e;
+        }
+    }
+    
+    /**
+     * Checks in a family or tour group on one flight, seated together from the seat map,
+     * with every seat claim and bag created in a single transaction
+     * @param bookings The group's bookings as read by the desk; updated on success
+     * @param bagWeights Weight in kg of each checked bag per passenger, may be empty
+     * @return Boarding pass data for each booking, in the same order
+     * @throws CheckInConflictException if there are not enough seats or a booking changed since it was read
+     * @throws DatabaseException if database operation fails
+     */
+    public List<BoardingPass> checkInGroup(List<Booking> bookings, List<Double> bagWeights)
+            throws DatabaseException, CheckInConflictException {
+        long start = System.nanoTime();
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int flightId = bookings.get(0).getFlightId();
+        for (Booking booking : bookings) {
+            if (booking.getFlightId() != flightId) {
+                throw new IllegalArgumentException("A group check-in must be for bookings on one flight");
+            }
+            if (booking.isCheckedIn()) {
+                throw new CheckInConflictException("Booking " + booking.getBookingReference() + " is already checked in");
+            }
+        }
+        Flight flight = flightRepository.getFlightById(flightId);
+        SeatMap seatMap = seatMapIndex.getSeatMap(flightId);
+        if (flight == null || seatMap == null) {
+            throw new DatabaseException("Flight not found for booking " + bookings.get(0).getBookingReference());
+        }
+        
+        List<String> seats = seatMap.findGroupSeats(bookings.size());
+        if (seats.isEmpty()) {
+            MetricsRegistry.getInstance().increment("checkin.conflicts");
+            seatMapIndex.invalidate(flightId);
+            throw new CheckInConflictException("Not enough free seats on flight " + flight.getFlightNo()
+                + " for a group of " + bookings.size());
+        }
+        
+        List<Baggage> baggageList = new ArrayList<>(bookings.size() * bagWeights.size());
+        for (Booking booking : bookings) {
+            for (Double weight : bagWeights) {
+                Baggage baggage = new Baggage(booking.getBookingId(), weight, Baggage.BaggageType.CHECKED,
+                    baggageDAO.generateTagNumber());
+                baggage.setStatus(Baggage.BaggageStatus.CHECKED_IN);
+                baggageList.add(baggage);
+            }
+        }
+        
+        try {
+            List<BoardingPass> boardingPasses = bookingDAO.checkInGroup(bookings, flight, seats, baggageList);
+            MetricsRegistry.getInstance().recordSince("checkin.group", start);
+            return boardingPasses;
+        } catch (CheckInConflictException e) {
+            MetricsRegistry.getInstance().increment("checkin.conflicts");
+            throw e;
+        }
+    }
+    
+    /**
+     * Assembles the boarding pass of a passenger already checked in, e.g. to reprint it
+     * @param booking The checked-in booking
+     * @return The boarding pass data
+     * @throws DatabaseException if the flight, gate or bags cannot be read
+     */
+    public BoardingPass getBoardingPass(Booking booking) throws DatabaseException {
+        Flight flight = flightRepository.getFlightById(booking.getFlightId());
+        if (flight == null) {
+            throw new DatabaseException("Flight not found for booking " + booking.getBookingReference());
+        }
+        // The latest assignment is the gate the flight departs from
+        GateAssignment latest = null;
+        for (GateAssignment assignment : GateScheduleIndex.getInstance().getAssignmentsForFlight(flight.getFlightId())) {
+            if (latest == null || assignment.getAssignmentTime().isAfter(latest.getAssignmentTime())) {
+                latest = assignment;
+            }
+        }
+        String gateName = null;
+        if (latest != null) {
+            Gate gate = new GateDAO().getGateById(latest.getGateId());
+            gateName = gate != null ? gate.getGateName() : null;
+        }
+        return new BoardingPass(booking, flight, gateName, baggageDAO.getBaggageByBookingId(booking.getBookingId()));
+    }
+}
@@ -6,18 +6,21 @@ import aerodesk.model.Booking;
 import aerodesk.model.Baggage;
 import aerodesk.model.GateAssignment;
 import aerodesk.util.FileLogger;
-import aerodesk.dao.FlightDAO;
+import aerodesk.util.KpiHistory;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.StatusCounter;
+import aerodesk.util.TaskScheduler;
+import aerodesk.dao.FlightRepository;
 import aerodesk.dao.BookingDAO;
 import aerodesk.dao.BaggageDAO;
 import aerodesk.dao.GateDAO;
 import aerodesk.exception.DatabaseException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,8 +31,8 @@ public class DashboardMetrics {
     
     private static DashboardMetrics instance;
     private final Map<String, KPI> kpiData;
-    private final ScheduledExecutorService scheduler;
-    private final FlightDAO flightDAO;
+    private final TaskScheduler scheduler;
+    private final FlightRepository flightRepository;
     private final BookingDAO bookingDAO;
     private final BaggageDAO baggageDAO;
     private final GateDAO gateDAO;
@@ -37,8 +40,8 @@ public class DashboardMetrics {
     
     private DashboardMetrics() {
         this.kpiData = new ConcurrentHashMap<>();
-        this.scheduler = Executors.newScheduledThreadPool(1);
-        this.flightDAO = new FlightDAO();
+        this.scheduler = TaskScheduler.getInstance();
+        this.flightRepository = FlightRepository.getInstance();
         this.bookingDAO = new BookingDAO();
         this.baggageDAO = new BaggageDAO();
         this.gateDAO = new GateDAO();
@@ -74,8 +77,8 @@ public class DashboardMetrics {
      * Start automatic metrics collection
      */
     private void startMetricsCollection() {
-        // Update metrics every 30 seconds
-        scheduler.scheduleAtFixedRate(() -> {
+        // Update metrics every 30 seconds (database work runs on a virtual thread)
+        scheduler.scheduleBlockingAtFixedRate(this, "DashboardMetrics.collect", () -> {
             try {
                 updateAllMetrics();
                 FileLogger.getInstance().logInfo("Dashboard metrics updated at " + LocalDateTime.now().format(timeFormatter));
@@ -89,39 +92,97 @@ public class DashboardMetrics {
      * Update all KPI metrics
      */
     public void updateAllMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        LocalDateTime updateStart = LocalDateTime.now();
+        long start = System.nanoTime();
         updateFlightMetrics();
+        metrics.recordSince("dashboard.flights", start);
+        long step = System.nanoTime();
         updateCheckInMetrics();
+        metrics.recordSince("dashboard.checkins", step);
+        step = System.nanoTime();
         updateBaggageMetrics();
+        metrics.recordSince("dashboard.baggage", step);
+        step = System.nanoTime();
         updateGateMetrics();
-        updateDelayMetrics();
+        metrics.recordSince("dashboard.gates", step);
+        metrics.recordSince("dashboard.update", start);
+        recordHistory(updateStart);
     }
     
     /**
-     * Update flight-related metrics
+     * Appends the KPI values updated since a time to the KPI history; KPIs whose
+     * query failed keep their previous value and are not recorded again
+     */
+    private void recordHistory(LocalDateTime updatedSince) {
+        Map<String, Double> values = new HashMap<>();
+        for (Map.Entry<String, KPI> entry : kpiData.entrySet()) {
+            if (entry.getValue().getLastUpdated().isBefore(updatedSince)) {
+                continue;
+            }
+            try {
+                // Values are formatted with the default locale, e.g. "12,5" for the average delay
+                values.put(entry.getKey(), Double.parseDouble(entry.getValue().getValue().replace(',', '.')));
+            } catch (NumberFormatException e) {
+                FileLogger.getInstance().logWarning("KPI " + entry.getKey() + " is not numeric: " + entry.getValue().getValue());
+            }
+        }
+        KpiHistory.getInstance().record(values);
+    }
+    
+    /**
+     * Flight KPIs for one day, computed in a single pass
+     */
+    static final class FlightSummary {
+        long totalFlights;
+        long onTimeFlights;
+        long delayedFlights;
+        long cancelledFlights;
+        double avgDelay;
+    }
+    
+    /**
+     * Aggregates the flights departing on a day
+     * @param flights Flights to scan
+     * @param day The day to summarize
+     * @return Counts and the average delay of the flights that left or will leave late
+     */
+    static FlightSummary summarizeFlights(List<Flight> flights, LocalDate day) {
+        StatusCounter<Flight.FlightStatus> counts = StatusCounter.forDays(Flight.FlightStatus.class, day, 1);
+        double delaySum = 0;
+        long lateFlights = 0;
+        
+        for (Flight f : flights) {
+            if (counts.add(f.getDepartTime(), f.getStatus())) {
+                // Scheduled against estimated or actual departure, for flights the feed reported
+                long delay = DelayAnalytics.delayMinutes(f);
+                if (delay > 0) {
+                    delaySum += delay;
+                    lateFlights++;
+                }
+            }
+        }
+        
+        FlightSummary summary = new FlightSummary();
+        summary.totalFlights = counts.getTotal();
+        summary.onTimeFlights = counts.sum(Flight.FlightStatus.ON_TIME, Flight.FlightStatus.SCHEDULED);
+        summary.delayedFlights = counts.get(Flight.FlightStatus.DELAYED);
+        summary.cancelledFlights = counts.get(Flight.FlightStatus.CANCELLED);
+        summary.avgDelay = lateFlights > 0 ? delaySum / lateFlights : 0.0;
+        return summary;
+    }
+    
+    /**
+     * Update flight-related and delay metrics in a single pass over today's flights
      */
     private void updateFlightMetrics() {
         try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-            
-            long totalFlights = flights.stream()
-                .filter(f -> f.getDepartTime() != null && f.getDepartTime().toLocalDate().equals(today.toLocalDate()))
-                .count();
-            
-            long onTimeFlights = flights.stream()
-                .filter(f -> f.getDepartTime() != null && f.getDepartTime().toLocalDate().equals(today.toLocalDate()))
-                .filter(f -> "ON_TIME".equals(f.getStatus()) || "SCHEDULED".equals(f.getStatus()))
-                .count();
-            
-            long delayedFlights = flights.stream()
-                .filter(f -> f.getDepartTime() != null && f.getDepartTime().toLocalDate().equals(today.toLocalDate()))
-                .filter(f -> "DELAYED".equals(f.getStatus()))
-                .count();
-            
-            long cancelledFlights = flights.stream()
-                .filter(f -> f.getDepartTime() != null && f.getDepartTime().toLocalDate().equals(today.toLocalDate()))
-                .filter(f -> "CANCELLED".equals(f.getStatus()))
-                .count();
+            FlightSummary summary = summarizeFlights(flightRepository.getAllFlights(), LocalDate.now());
+            long totalFlights = summary.totalFlights;
+            long onTimeFlights = summary.onTimeFlights;
+            long delayedFlights = summary.delayedFlights;
+            long cancelledFlights = summary.cancelledFlights;
+            double avgDelay = summary.avgDelay;
             
             // Update KPIs
             updateKPI("total_flights", String.valueOf(totalFlights), getStatusForCount(totalFlights, 50, 100));
@@ -131,6 +192,8 @@ public class DashboardMetrics {
                 getStatusForCount(delayedFlights, 5, 10));
             updateKPI("cancelled_flights", String.valueOf(cancelledFlights), 
                 getStatusForCount(cancelledFlights, 2, 5));
+            updateKPI("avg_delay", String.format("%.1f", avgDelay), 
+                getStatusForDelay(avgDelay));
             
         } catch (DatabaseException e) {
             FileLogger.getInstance().logError("Error updating flight metrics: " + e.getMessage());
@@ -197,32 +260,6 @@ public class DashboardMetrics {
         }
     }
     
-    /**
-     * Update delay metrics
-     */
-    private void updateDelayMetrics() {
-        try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
-            
-            double avgDelay = flights.stream()
-                .filter(f -> f.getDepartTime() != null && f.getDepartTime().toLocalDate().equals(today.toLocalDate()))
-                .filter(f -> "DELAYED".equals(f.getStatus()))
-                .mapToDouble(f -> {
-                    // Calculate delay in minutes (simplified)
-                    return 15.0 + (f.getFlightNo().hashCode() % 45);
-                })
-                .average()
-                .orElse(0.0);
-            
-            updateKPI("avg_delay", String.format("%.1f", avgDelay), 
-                getStatusForDelay(avgDelay));
-            
-        } catch (DatabaseException e) {
-            FileLogger.getInstance().logError("Error updating delay metrics: " + e.getMessage());
-        }
-    }
-    
     /**
      * Update a specific KPI
      */
@@ -304,17 +341,7 @@ public class DashboardMetrics {
      * Shutdown the metrics service
      */
     public void shutdown() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                scheduler.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        scheduler.cancelAll(this);
         FileLogger.getInstance().logInfo("Dashboard metrics service shutdown");
     }
 } 
\ No newline at end of file
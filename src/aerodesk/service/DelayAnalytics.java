@@ -0,0 +1,304 @@
+package aerodesk.service;
+
+import aerodesk.dao.FlightRepository;
+import aerodesk.exception.DatabaseException;
+import aerodesk.model.Flight;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Delay analytics engine for AeroDesk Pro
+ * Tracks the departure delay of every flight with an estimated or actual departure
+ * (minutes after the scheduled time; early departures count as 0) and keeps the
+ * overall, per-route and per-airline delay distributions as one-minute histograms.
+ * Flights are loaded once from the FlightRepository; after that each change the
+ * repository reports replaces or, for a removed flight, withdraws only that flight's
+ * previous delay, so averages and percentiles never rescan the flights.
+ */
+public class DelayAnalytics {
+    private static DelayAnalytics instance;
+    
+    // Histogram buckets are whole minutes; longer delays share the last bucket
+    static final int MAX_DELAY_MINUTES = 720;
+    
+    private final FlightRepository flightRepository;
+    // Flight ID -> the delay recorded for it
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Distribution overall = new Distribution("All flights");
+    private final Map<String, Distribution> byRoute = new HashMap<>();
+    private final Map<String, Distribution> byAirline = new HashMap<>();
+    // Scheduled departure minute -> {delay minutes, flights}, for rolling averages
+    private final NavigableMap<LocalDateTime, long[]> byDeparture = new TreeMap<>();
+    private boolean loaded = false;
+    
+    private DelayAnalytics() {
+        this.flightRepository = FlightRepository.getInstance();
+        flightRepository.addChangeListener(this::flightChanged);
+    }
+    
+    public static synchronized DelayAnalytics getInstance() {
+        if (instance == null) {
+            instance = new DelayAnalytics();
+        }
+        return instance;
+    }
+    
+    /**
+     * Computes a flight's departure delay
+     * @param flight The flight
+     * @return Minutes departed (or expected to depart) after the schedule, 0 if on time
+     *         or early, or -1 if no estimated or actual departure is known or the flight
+     *         is cancelled
+     */
+    public static long delayMinutes(Flight flight) {
+        if (flight.getDepartTime() == null || flight.getStatus() == Flight.FlightStatus.CANCELLED
+                || (flight.getActualDepartTime() == null && flight.getEstimatedDepartTime() == null)) {
+            return -1;
+        }
+        return Math.max(0, ChronoUnit.MINUTES.between(flight.getDepartTime(), flight.getExpectedDepartTime()));
+    }
+    
+    /**
+     * Gets the delay summary over all flights with a known delay
+     * @return Summary of all flights
+     * @throws DatabaseException if the flights cannot be loaded
+     */
+    public synchronized DelaySummary getOverall() throws DatabaseException {
+        ensureLoaded();
+        return overall.summarize();
+    }
+    
+    /**
+     * Averages the delays of flights scheduled to depart within a window before now
+     * @param window e.g. one hour
+     * @return Average delay in minutes, or 0 if no flight in the window has a known delay
+     * @throws DatabaseException if the flights cannot be loaded
+     */
+    public synchronized double getRollingAverage(Duration window) throws DatabaseException {
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        long minutes = 0;
+        long flights = 0;
+        for (long[] bucket : byDeparture.subMap(now.minus(window), false, now, true).values()) {
+            minutes += bucket[0];
+            flights += bucket[1];
+        }
+        return flights > 0 ? (double) minutes / flights : 0;
+    }
+    
+    /**
+     * Gets the delay distribution of each route, worst average first
+     * @return One summary per route, keyed "ORIGIN-DESTINATION"
+     * @throws DatabaseException if the flights cannot be loaded
+     */
+    public synchronized List<DelaySummary> getRouteSummaries() throws DatabaseException {
+        ensureLoaded();
+        return summarize(byRoute);
+    }
+    
+    /**
+     * Gets the delay distribution of each airline, worst average first
+     * @return One summary per airline code
+     * @throws DatabaseException if the flights cannot be loaded
+     */
+    public synchronized List<DelaySummary> getAirlineSummaries() throws DatabaseException {
+        ensureLoaded();
+        return summarize(byAirline);
+    }
+    
+    /**
+     * Gets the delay of one flight
+     * @param flightId The flight ID
+     * @return Delay in minutes, or -1 if unknown
+     * @throws DatabaseException if the flights cannot be loaded
+     */
+    public synchronized long getFlightDelay(int flightId) throws DatabaseException {
+        ensureLoaded();
+        Entry entry = entries.get(flightId);
+        return entry != null ? entry.minutes : -1;
+    }
+    
+    private void ensureLoaded() throws DatabaseException {
+        if (loaded) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (Flight flight : flightRepository.getAllFlights()) {
+            update(flight);
+        }
+        loaded = true;
+        MetricsRegistry.getInstance().recordSince("delays.load", start);
+        FileLogger.getInstance().logInfo("Delay analytics loaded " + entries.size() + " flights with a known delay");
+    }
+    
+    private synchronized void flightChanged(Flight previous, Flight current) {
+        // Before the first query the initial load picks the change up
+        if (!loaded) {
+            return;
+        }
+        if (current != null) {
+            update(current);
+        } else {
+            remove(previous.getFlightId());
+        }
+        MetricsRegistry.getInstance().increment("delays.updates");
+    }
+    
+    // Replaces the flight's previous contribution, if any, with its current delay
+    private void update(Flight flight) {
+        remove(flight.getFlightId());
+        long minutes = delayMinutes(flight);
+        if (minutes >= 0) {
+            Entry entry = new Entry(flight, minutes);
+            entries.put(flight.getFlightId(), entry);
+            apply(entry, 1);
+        }
+    }
+    
+    // Withdraws the flight's contribution, if any, from every distribution
+    private void remove(int flightId) {
+        Entry previous = entries.remove(flightId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+    
+    private void apply(Entry entry, int sign) {
+        overall.add(entry.minutes, sign);
+        applyTo(byRoute, entry.route, entry.minutes, sign);
+        if (entry.airline != null) {
+            applyTo(byAirline, entry.airline, entry.minutes, sign);
+        }
+        long[] bucket = byDeparture.computeIfAbsent(entry.departure, d -> new long[2]);
+        bucket[0] += sign * entry.minutes;
+        bucket[1] += sign;
+        if (bucket[1] == 0) {
+            byDeparture.remove(entry.departure);
+        }
+    }
+    
+    private static void applyTo(Map<String, Distribution> distributions, String key, long minutes, int sign) {
+        Distribution distribution = distributions.computeIfAbsent(key, Distribution::new);
+        distribution.add(minutes, sign);
+        if (distribution.flights == 0) {
+            distributions.remove(key);
+        }
+    }
+    
+    private static List<DelaySummary> summarize(Map<String, Distribution> distributions) {
+        List<DelaySummary> summaries = new ArrayList<>(distributions.size());
+        for (Distribution distribution : distributions.values()) {
+            summaries.add(distribution.summarize());
+        }
+        summaries.sort(Comparator.comparingDouble(DelaySummary::getAverage).reversed()
+            .thenComparing(DelaySummary::getKey));
+        return summaries;
+    }
+    
+    /**
+     * The delay recorded for one flight and the groups it was counted in
+     */
+    private static final class Entry {
+        private final long minutes;
+        private final String route;
+        private final String airline;
+        private final LocalDateTime departure;
+        
+        Entry(Flight flight, long minutes) {
+            this.minutes = minutes;
+            this.route = flight.getOrigin() + "-" + flight.getDestination();
+            this.airline = flight.getAirlineCode();
+            this.departure = flight.getDepartTime().truncatedTo(ChronoUnit.MINUTES);
+        }
+    }
+    
+    /**
+     * Delay histogram with one bucket per minute, supporting removal
+     */
+    private static final class Distribution {
+        private final String key;
+        private final int[] counts = new int[MAX_DELAY_MINUTES + 1];
+        private long totalMinutes;
+        private int flights;
+        
+        Distribution(String key) {
+            this.key = key;
+        }
+        
+        void add(long minutes, int sign) {
+            counts[(int) Math.min(minutes, MAX_DELAY_MINUTES)] += sign;
+            totalMinutes += sign * minutes;
+            flights += sign;
+        }
+        
+        // Smallest delay at or below which the given fraction of flights fall
+        int percentile(double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * flights));
+            long seen = 0;
+            for (int minutes = 0; minutes < counts.length; minutes++) {
+                seen += counts[minutes];
+                if (seen >= rank) {
+                    return minutes;
+                }
+            }
+            return MAX_DELAY_MINUTES;
+        }
+        
+        DelaySummary summarize() {
+            if (flights == 0) {
+                return new DelaySummary(key, 0, 0, 0, 0, 0, 0);
+            }
+            int delayed = flights - counts[0];
+            return new DelaySummary(key, flights, delayed, (double) totalMinutes / flights,
+                percentile(0.5), percentile(0.9), percentile(0.95));
+        }
+    }
+    
+    /**
+     * Delay distribution of a group of flights
+     */
+    public static final class DelaySummary {
+        private final String key;
+        private final int flights;
+        private final int delayedFlights;
+        private final double average;
+        private final int p50;
+        private final int p90;
+        private final int p95;
+        
+        DelaySummary(String key, int flights, int delayedFlights, double average, int p50, int p90, int p95) {
+            this.key = key;
+            this.flights = flights;
+            this.delayedFlights = delayedFlights;
+            this.average = average;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p95 = p95;
+        }
+        
+        public String getKey() { return key; }
+        public int getFlights() { return flights; }
+        public int getDelayedFlights() { return delayedFlights; }
+        public double getAverage() { return average; }
+        public int getP50() { return p50; }
+        public int getP90() { return p90; }
+        public int getP95() { return p95; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: %d flights, %d delayed, avg %.1f min, p50 %d, p90 %d, p95 %d",
+                key, flights, delayedFlights, average, p50, p90, p95);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package aerodesk.service;
 
-import aerodesk.dao.FlightDAO;
+import aerodesk.dao.FlightRepository;
 import aerodesk.model.Flight;
 import aerodesk.util.FileLogger;
+import aerodesk.util.TaskScheduler;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -17,14 +17,14 @@ import java.util.concurrent.TimeUnit;
 public class FlightDataIntegrationService {
     
     private AviationStackService aviationService;
-    private FlightDAO flightDAO;
-    private ScheduledExecutorService scheduler;
+    private FlightRepository flightRepository;
+    private final TaskScheduler scheduler;
     private boolean isRunning = false;
     
     public FlightDataIntegrationService() {
         this.aviationService = new AviationStackService();
-        this.flightDAO = new FlightDAO();
-        this.scheduler = Executors.newScheduledThreadPool(2);
+        this.flightRepository = FlightRepository.getInstance();
+        this.scheduler = TaskScheduler.getInstance();
     }
     
     /**
@@ -40,7 +40,7 @@ public class FlightDataIntegrationService {
         FileLogger.getInstance().logInfo("Starting flight data synchronization service");
         
         // Sync flight data every 5 minutes
-        scheduler.scheduleAtFixedRate(() -> {
+        scheduler.scheduleBlockingAtFixedRate(this, "FlightDataSync.sync", () -> {
             try {
                 syncFlightData();
             } catch (Exception e) {
@@ -49,7 +49,7 @@ public class FlightDataIntegrationService {
         }, 0, 5, TimeUnit.MINUTES);
         
         // Update flight status every 2 minutes
-        scheduler.scheduleAtFixedRate(() -> {
+        scheduler.scheduleBlockingAtFixedRate(this, "FlightDataSync.liveStatus", () -> {
             try {
                 updateFlightStatus();
             } catch (Exception e) {
@@ -67,7 +67,7 @@ public class FlightDataIntegrationService {
         }
         
         isRunning = false;
-        scheduler.shutdown();
+        scheduler.cancelAll(this);
         FileLogger.getInstance().logInfo("Flight data synchronization service stopped");
     }
     
@@ -76,17 +76,20 @@ public class FlightDataIntegrationService {
      */
     private void syncFlightData() {
         try {
-            List<Flight> localFlights = flightDAO.getAllFlights();
+            List<Flight> localFlights = flightRepository.getAllFlights();
             
             for (Flight localFlight : localFlights) {
                 try {
                     AviationStackService.FlightInfo apiFlight = aviationService.getFlightInfo(localFlight.getFlightNo());
                     
-                    // Update local flight with API data if available
+                    // Update local flight with API data if available; unchanged flights are not written
                     if (apiFlight != null && apiFlight.getStatus() != null) {
+                        Flight before = new Flight(localFlight);
                         updateLocalFlightWithApiData(localFlight, apiFlight);
-                        flightDAO.updateFlight(localFlight);
-                        FileLogger.getInstance().logInfo("Updated flight " + localFlight.getFlightNo() + " with API data");
+                        if (hasChanged(before, localFlight)) {
+                            flightRepository.updateFlight(localFlight);
+                            FileLogger.getInstance().logInfo("Updated flight " + localFlight.getFlightNo() + " with API data");
+                        }
                     }
                 } catch (Exception e) {
                     FileLogger.getInstance().logError("Error syncing flight " + localFlight.getFlightNo() + ": " + e.getMessage());
@@ -102,7 +105,7 @@ public class FlightDataIntegrationService {
      */
     private void updateFlightStatus() {
         try {
-            List<Flight> localFlights = flightDAO.getAllFlights();
+            List<Flight> localFlights = flightRepository.getAllFlights();
             
             for (Flight localFlight : localFlights) {
                 try {
@@ -110,9 +113,12 @@ public class FlightDataIntegrationService {
                     
                     if (apiFlight != null && apiFlight.isLive()) {
                         // Update flight status with live data
+                        Flight before = new Flight(localFlight);
                         updateFlightStatusWithLiveData(localFlight, apiFlight);
-                        flightDAO.updateFlight(localFlight);
-                        FileLogger.getInstance().logInfo("Updated live status for flight " + localFlight.getFlightNo());
+                        if (hasChanged(before, localFlight)) {
+                            flightRepository.updateFlight(localFlight);
+                            FileLogger.getInstance().logInfo("Updated live status for flight " + localFlight.getFlightNo());
+                        }
                     }
                 } catch (Exception e) {
                     FileLogger.getInstance().logError("Error updating status for flight " + localFlight.getFlightNo() + ": " + e.getMessage());
@@ -132,15 +138,8 @@ public class FlightDataIntegrationService {
             localFlight.setStatus(mapApiStatusToLocal(apiFlight.getStatus()));
         }
         
-        // Update departure time
-        if (apiFlight.getEstimatedDeparture() != null) {
-            localFlight.setDepartTime(apiFlight.getEstimatedDeparture());
-        }
-        
-        // Update arrival time
-        if (apiFlight.getEstimatedArrival() != null) {
-            localFlight.setArriveTime(apiFlight.getEstimatedArrival());
-        }
+        // Estimated and actual times are kept next to the schedule, so delays stay measurable
+        applyFeedTimes(localFlight, apiFlight);
         
         // Update aircraft information
         if (apiFlight.getAircraftType() != null) {
@@ -169,6 +168,38 @@ public class FlightDataIntegrationService {
         if (apiFlight.getStatus() != null) {
             localFlight.setStatus(mapApiStatusToLocal(apiFlight.getStatus()));
         }
+        
+        applyFeedTimes(localFlight, apiFlight);
+    }
+    
+    /**
+     * Copies the estimated and actual times the feed reported; times it left out are kept
+     */
+    private void applyFeedTimes(Flight localFlight, AviationStackService.FlightInfo apiFlight) {
+        if (apiFlight.getEstimatedDeparture() != null) {
+            localFlight.setEstimatedDepartTime(apiFlight.getEstimatedDeparture());
+        }
+        if (apiFlight.getActualDeparture() != null) {
+            localFlight.setActualDepartTime(apiFlight.getActualDeparture());
+        }
+        if (apiFlight.getEstimatedArrival() != null) {
+            localFlight.setEstimatedArriveTime(apiFlight.getEstimatedArrival());
+        }
+        if (apiFlight.getActualArrival() != null) {
+            localFlight.setActualArriveTime(apiFlight.getActualArrival());
+        }
+    }
+    
+    /**
+     * Checks whether the feed changed any field it updates
+     */
+    private boolean hasChanged(Flight before, Flight after) {
+        return before.getStatus() != after.getStatus()
+            || !Objects.equals(before.getAircraftType(), after.getAircraftType())
+            || !Objects.equals(before.getEstimatedDepartTime(), after.getEstimatedDepartTime())
+            || !Objects.equals(before.getActualDepartTime(), after.getActualDepartTime())
+            || !Objects.equals(before.getEstimatedArriveTime(), after.getEstimatedArriveTime())
+            || !Objects.equals(before.getActualArriveTime(), after.getActualArriveTime());
     }
     
     /**
@@ -198,7 +229,7 @@ public class FlightDataIntegrationService {
     public String getEnhancedFlightInfo(String flightNumber) {
         try {
             // Get local flight data
-            Flight localFlight = flightDAO.getFlightByNumber(flightNumber);
+            Flight localFlight = flightRepository.getFlightByNumber(flightNumber);
             if (localFlight == null) {
                 return "Flight not found in local database";
             }
@@ -244,7 +275,7 @@ public class FlightDataIntegrationService {
      */
     public boolean validateFlightData(String flightNumber) {
         try {
-            Flight localFlight = flightDAO.getFlightByNumber(flightNumber);
+            Flight localFlight = flightRepository.getFlightByNumber(flightNumber);
             if (localFlight == null) {
                 return false;
             }
@@ -267,7 +298,7 @@ public class FlightDataIntegrationService {
      */
     public String getFlightStatistics() {
         try {
-            List<Flight> localFlights = flightDAO.getAllFlights();
+            List<Flight> localFlights = flightRepository.getAllFlights();
             int totalFlights = localFlights.size();
             int scheduledFlights = 0;
             int inFlightFlights = 0;
@@ -1,6 +1,6 @@
 package aerodesk.service;
 
-import aerodesk.dao.FlightDAO;
+import aerodesk.dao.FlightRepository;
 import aerodesk.model.Flight;
 import aerodesk.exception.DatabaseException;
 import aerodesk.util.FileLogger;
@@ -14,10 +14,10 @@ import java.util.stream.Collectors;
  * Handles business logic for flight scheduling
  */
 public class FlightService {
-    private final FlightDAO flightDAO;
+    private final FlightRepository flightRepository;
     
     public FlightService() {
-        this.flightDAO = new FlightDAO();
+        this.flightRepository = FlightRepository.getInstance();
     }
     
     /**
@@ -32,7 +32,7 @@ public class FlightService {
         validateFlightTimes(flight);
         
         FileLogger.getInstance().logInfo("Creating flight: " + flight.getFlightNo());
-        return flightDAO.createFlight(flight);
+        return flightRepository.createFlight(flight);
     }
     
     /**
@@ -46,13 +46,13 @@ public class FlightService {
         validateFlightTimes(flight);
         
         // Check if flight number is unique (excluding current flight)
-        Flight existingFlight = flightDAO.getFlightById(flight.getFlightId());
+        Flight existingFlight = flightRepository.getFlightById(flight.getFlightId());
         if (existingFlight != null && !existingFlight.getFlightNo().equals(flight.getFlightNo())) {
             checkFlightNumberUniqueness(flight.getFlightNo());
         }
         
         FileLogger.getInstance().logInfo("Updating flight: " + flight.getFlightNo());
-        return flightDAO.updateFlight(flight);
+        return flightRepository.updateFlight(flight);
     }
     
     /**
@@ -62,13 +62,13 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public boolean deleteFlight(int flightId) throws DatabaseException {
-        Flight flight = flightDAO.getFlightById(flightId);
+        Flight flight = flightRepository.getFlightById(flightId);
         if (flight == null) {
             throw new DatabaseException("Flight not found with ID: " + flightId);
         }
         
         FileLogger.getInstance().logInfo("Deleting flight: " + flight.getFlightNo());
-        return flightDAO.deleteFlight(flightId);
+        return flightRepository.deleteFlight(flightId);
     }
     
     /**
@@ -77,7 +77,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> getAllFlights() throws DatabaseException {
-        return flightDAO.getAllFlights();
+        return flightRepository.getAllFlights();
     }
     
     /**
@@ -87,7 +87,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public Flight getFlightById(int flightId) throws DatabaseException {
-        return flightDAO.getFlightById(flightId);
+        return flightRepository.getFlightById(flightId);
     }
     
     /**
@@ -97,7 +97,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> searchFlightsByNumber(String flightNo) throws DatabaseException {
-        List<Flight> allFlights = flightDAO.getAllFlights();
+        List<Flight> allFlights = flightRepository.getAllFlights();
         return allFlights.stream()
                 .filter(flight -> flight.getFlightNo().toLowerCase().contains(flightNo.toLowerCase()))
                 .collect(Collectors.toList());
@@ -110,10 +110,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> searchFlightsByOrigin(String origin) throws DatabaseException {
-        List<Flight> allFlights = flightDAO.getAllFlights();
-        return allFlights.stream()
-                .filter(flight -> flight.getOrigin().toLowerCase().contains(origin.toLowerCase()))
-                .collect(Collectors.toList());
+        return flightRepository.searchByOrigin(origin);
     }
     
     /**
@@ -123,10 +120,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> searchFlightsByDestination(String destination) throws DatabaseException {
-        List<Flight> allFlights = flightDAO.getAllFlights();
-        return allFlights.stream()
-                .filter(flight -> flight.getDestination().toLowerCase().contains(destination.toLowerCase()))
-                .collect(Collectors.toList());
+        return flightRepository.searchByDestination(destination);
     }
     
     /**
@@ -137,10 +131,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> getFlightsInDateRange(LocalDateTime startDate, LocalDateTime endDate) throws DatabaseException {
-        List<Flight> allFlights = flightDAO.getAllFlights();
-        return allFlights.stream()
-                .filter(flight -> !flight.getDepartTime().isBefore(startDate) && !flight.getDepartTime().isAfter(endDate))
-                .collect(Collectors.toList());
+        return flightRepository.getFlightsDepartingBetween(startDate, endDate);
     }
     
     /**
@@ -150,10 +141,7 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public List<Flight> getFlightsByStatus(Flight.FlightStatus status) throws DatabaseException {
-        List<Flight> allFlights = flightDAO.getAllFlights();
-        return allFlights.stream()
-                .filter(flight -> flight.getStatus() == status)
-                .collect(Collectors.toList());
+        return flightRepository.getFlightsByStatus(status);
     }
     
     /**
@@ -164,14 +152,14 @@ public class FlightService {
      * @throws DatabaseException if database operation fails
      */
     public boolean updateFlightStatus(int flightId, Flight.FlightStatus newStatus) throws DatabaseException {
-        Flight flight = flightDAO.getFlightById(flightId);
+        Flight flight = flightRepository.getFlightById(flightId);
         if (flight == null) {
             throw new DatabaseException("Flight not found with ID: " + flightId);
         }
         
         flight.setStatus(newStatus);
         FileLogger.getInstance().logInfo("Updated flight " + flight.getFlightNo() + " status to: " + newStatus);
-        return flightDAO.updateFlight(flight);
+        return flightRepository.updateFlight(flight);
     }
     
     /**
@@ -230,15 +218,8 @@ public class FlightService {
      * @throws DatabaseException if flight number already exists
      */
     private void checkFlightNumberUniqueness(String flightNo) throws DatabaseException {
-        try {
-            List<Flight> existingFlights = searchFlightsByNumber(flightNo);
-            for (Flight existingFlight : existingFlights) {
-                if (existingFlight.getFlightNo().equalsIgnoreCase(flightNo)) {
-                    throw new DatabaseException("Flight number " + flightNo + " already exists");
-                }
-            }
-        } catch (DatabaseException e) {
-            throw e;
+        if (flightRepository.getFlightByNumber(flightNo) != null) {
+            throw new DatabaseException("Flight number " + flightNo + " already exists");
         }
     }
     
@@ -0,0 +1,366 @@
+package aerodesk.service;
+
+import aerodesk.dao.FlightRepository;
+import aerodesk.dao.GateDAO;
+import aerodesk.dao.GateScheduleIndex;
+import aerodesk.model.Flight;
+import aerodesk.model.Gate;
+import aerodesk.model.GateAssignment;
+import aerodesk.exception.DatabaseException;
+import aerodesk.exception.GateConflictException;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.TaskScheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Automated gate allocation service for AeroDesk Pro
+ * Assigns a whole day's departures to gates in one pass: flights are taken in
+ * order of gate occupancy and each goes to the feasible gate with the smallest
+ * idle gap (best fit), preferring the airline's configured terminal and keeping
+ * a buffer between consecutive flights. Existing assignments are kept fixed.
+ * When a flight becomes DELAYED only that flight is re-planned; changes arriving
+ * while its re-plan runs are coalesced into one more run, so a flight is never
+ * re-planned twice at once.
+ */
+public class GateAllocationService {
+    private static GateAllocationService instance;
+    
+    // Added to the cost of a gate outside the preferred terminal so it is only used as a fallback
+    private static final long TERMINAL_PENALTY = 1L << 40;
+    
+    private final GateDAO gateDAO;
+    private final FlightRepository flightRepository;
+    private final GateScheduleIndex scheduleIndex;
+    private final long bufferSeconds;
+    private final long turnaroundSeconds;
+    // Flight ID -> latest version awaiting a re-plan; present while a re-plan task runs
+    private final Map<Integer, Flight> pendingReplans = new ConcurrentHashMap<>();
+    
+    private GateAllocationService() {
+        this.gateDAO = new GateDAO();
+        this.flightRepository = FlightRepository.getInstance();
+        this.scheduleIndex = GateScheduleIndex.getInstance();
+        
+        ConfigManager config = ConfigManager.getInstance();
+        this.bufferSeconds = config.getIntProperty("gate.allocation.buffer.minutes", 15) * 60L;
+        this.turnaroundSeconds = config.getIntProperty("gate.allocation.turnaround.minutes", 45) * 60L;
+        
+        if (Boolean.parseBoolean(config.getProperty("gate.allocation.auto.replan", "true"))) {
+            flightRepository.addChangeListener(this::onFlightChanged);
+        }
+    }
+    
+    public static synchronized GateAllocationService getInstance() {
+        if (instance == null) {
+            instance = new GateAllocationService();
+        }
+        return instance;
+    }
+    
+    /**
+     * Result of a planning run
+     */
+    public static class AllocationPlan {
+        private final LocalDate day;
+        private final List<GateAssignment> assignments = new ArrayList<>();
+        private final List<Flight> unassigned = new ArrayList<>();
+        private long elapsedNanos;
+        
+        public AllocationPlan(LocalDate day) {
+            this.day = day;
+        }
+        
+        public LocalDate getDay() { return day; }
+        public List<GateAssignment> getAssignments() { return assignments; }
+        public List<Flight> getUnassigned() { return unassigned; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+        
+        @Override
+        public String toString() {
+            return "Plan for " + day + ": " + assignments.size() + " assigned, "
+                    + unassigned.size() + " unassigned in " + getElapsedMillis() + " ms";
+        }
+    }
+    
+    /**
+     * Per-gate busy periods used while planning (epoch seconds, disjoint, keyed by start)
+     */
+    private static final class GateTimeline {
+        final Gate gate;
+        final TreeMap<Long, Long> busy = new TreeMap<>();
+        
+        GateTimeline(Gate gate) {
+            this.gate = gate;
+        }
+        
+        void occupy(long start, long end) {
+            // Merge with any overlapping period so the map stays disjoint
+            Map.Entry<Long, Long> floor = busy.floorEntry(start);
+            if (floor != null && floor.getValue() >= start) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+                busy.remove(floor.getKey());
+            }
+            Map.Entry<Long, Long> next = busy.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                end = Math.max(end, next.getValue());
+                busy.remove(next.getKey());
+                next = busy.ceilingEntry(start);
+            }
+            busy.put(start, end);
+        }
+    }
+    
+    /**
+     * Plans gate assignments for every unassigned, active departure on a day.
+     * Nothing is written to the database; see {@link #applyPlan(AllocationPlan)}.
+     * @param day The day to plan
+     * @return The proposed assignments and the flights that could not be placed
+     * @throws DatabaseException if flights, gates or assignments cannot be read
+     */
+    public AllocationPlan planDay(LocalDate day) throws DatabaseException {
+        long started = System.nanoTime();
+        AllocationPlan plan = new AllocationPlan(day);
+        
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = day.plusDays(1).atStartOfDay().minusNanos(1);
+        
+        Set<Integer> assignedFlights = scheduleIndex.getAssignedFlightIds();
+        List<Flight> flights = new ArrayList<>();
+        for (Flight flight : flightRepository.getFlightsDepartingBetween(dayStart, dayEnd)) {
+            if (isPlannable(flight) && !assignedFlights.contains(flight.getFlightId())) {
+                flights.add(flight);
+            }
+        }
+        // Departure order equals occupancy order since every flight uses the same turnaround;
+        // gates are held until the expected departure, which includes any reported delay
+        flights.sort(Comparator.comparing(Flight::getExpectedDepartTime).thenComparingInt(Flight::getFlightId));
+        
+        List<GateTimeline> timelines = loadTimelines(dayStart.minusDays(1), dayEnd.plusDays(1), -1);
+        long dayStartKey = toKey(dayStart);
+        
+        for (Flight flight : flights) {
+            long end = toKey(flight.getExpectedDepartTime());
+            long start = end - turnaroundSeconds;
+            GateTimeline best = chooseGate(timelines, flight, start, end, dayStartKey);
+            if (best == null) {
+                plan.unassigned.add(flight);
+                continue;
+            }
+            best.occupy(start, end);
+            plan.assignments.add(new GateAssignment(flight.getFlightId(), best.gate.getGateId(),
+                    fromKey(start), flight.getExpectedDepartTime()));
+        }
+        
+        plan.elapsedNanos = System.nanoTime() - started;
+        FileLogger.getInstance().logInfo("Gate allocation " + plan);
+        return plan;
+    }
+    
+    /**
+     * Persists a plan. Each assignment is still checked transactionally by GateDAO,
+     * so assignments that became conflicting since planning are skipped.
+     * @param plan The plan to apply
+     * @return Number of assignments created
+     * @throws DatabaseException if database operation fails
+     */
+    public int applyPlan(AllocationPlan plan) throws DatabaseException {
+        int created = 0;
+        for (GateAssignment assignment : plan.getAssignments()) {
+            try {
+                gateDAO.createAssignment(assignment);
+                created++;
+            } catch (GateConflictException e) {
+                FileLogger.getInstance().logWarning("Skipped planned assignment for flight " + assignment.getFlightId()
+                        + " on gate " + assignment.getGateId() + ": " + e.getMessage());
+            }
+        }
+        FileLogger.getInstance().logInfo("Applied gate plan for " + plan.getDay() + ": " + created + " of "
+                + plan.getAssignments().size() + " assignments created");
+        return created;
+    }
+    
+    /**
+     * Re-plans a single flight after its times or status changed. The current gate
+     * is kept when the new window still fits there; otherwise the flight moves to
+     * the best free gate, or loses its gate if none is free.
+     * @param flight The flight to re-plan
+     * @return The flight's assignment after re-planning, or null if none
+     * @throws DatabaseException if database operation fails
+     */
+    public GateAssignment replan(Flight flight) throws DatabaseException {
+        LocalDateTime departure = flight.getExpectedDepartTime();
+        if (departure == null) {
+            return null;
+        }
+        List<GateAssignment> current = scheduleIndex.getAssignmentsForFlight(flight.getFlightId());
+        GateAssignment existing = current.isEmpty() ? null : current.get(0);
+        
+        long end = toKey(departure);
+        long start = end - turnaroundSeconds;
+        LocalDateTime newStart = fromKey(start);
+        int excludeId = existing != null ? existing.getAssignmentId() : -1;
+        
+        if (existing != null && newStart.equals(existing.getAssignmentTime())
+                && departure.equals(existing.getDepartureTime())) {
+            return existing;
+        }
+        
+        List<GateTimeline> timelines = loadTimelines(newStart.minusDays(1), departure.plusDays(1), excludeId);
+        GateTimeline best = null;
+        if (existing != null) {
+            for (GateTimeline timeline : timelines) {
+                if (timeline.gate.getGateId() == existing.getGateId() && fits(timeline, start, end)) {
+                    best = timeline;
+                    break;
+                }
+            }
+        }
+        if (best == null) {
+            best = chooseGate(timelines, flight, start, end, toKey(departure.toLocalDate().atStartOfDay()));
+        }
+        
+        if (best == null) {
+            if (existing != null) {
+                gateDAO.removeAssignment(existing.getAssignmentId());
+            }
+            FileLogger.getInstance().logWarning("No gate available for re-planned flight " + flight.getFlightNo());
+            return null;
+        }
+        
+        GateAssignment replacement = new GateAssignment(flight.getFlightId(), best.gate.getGateId(),
+                newStart, departure);
+        try {
+            // Old and new assignment change in one transaction, so a failure keeps the old gate
+            if (existing != null) {
+                gateDAO.replaceAssignment(existing.getAssignmentId(), replacement);
+            } else {
+                gateDAO.createAssignment(replacement);
+            }
+            FileLogger.getInstance().logInfo("Re-planned flight " + flight.getFlightNo() + " to gate " + best.gate.getGateName());
+            return replacement;
+        } catch (GateConflictException e) {
+            FileLogger.getInstance().logWarning("Re-plan of flight " + flight.getFlightNo() + " lost a race: " + e.getMessage());
+            return existing;
+        }
+    }
+    
+    private void onFlightChanged(Flight previous, Flight current) {
+        if (current == null || current.getStatus() != Flight.FlightStatus.DELAYED) {
+            return;
+        }
+        boolean becameDelayed = previous == null || previous.getStatus() != Flight.FlightStatus.DELAYED;
+        boolean moved = previous != null && !Objects.equals(previous.getExpectedDepartTime(), current.getExpectedDepartTime());
+        if ((becameDelayed || moved) && pendingReplans.put(current.getFlightId(), current) == null) {
+            TaskScheduler.getInstance().submitBlocking("GateAllocation.replan", () -> replanPending(current.getFlightId()));
+        }
+    }
+    
+    /**
+     * Re-plans a flight until no newer change of it is pending
+     */
+    private void replanPending(int flightId) {
+        Flight flight;
+        while ((flight = pendingReplans.get(flightId)) != null) {
+            try {
+                replan(flight);
+            } catch (DatabaseException | RuntimeException e) {
+                // Logged and dropped, so the flight's next change re-plans it again
+                FileLogger.getInstance().logError("Failed to re-plan gate for flight " + flight.getFlightNo() + ": " + e.getMessage());
+            }
+            if (pendingReplans.remove(flightId, flight)) {
+                return;
+            }
+        }
+    }
+    
+    private List<GateTimeline> loadTimelines(LocalDateTime from, LocalDateTime to, int excludeAssignmentId) throws DatabaseException {
+        List<GateTimeline> timelines = new ArrayList<>();
+        for (Gate gate : gateDAO.getAllGates()) {
+            if (gate.getStatus() == Gate.GateStatus.MAINTENANCE) {
+                continue;
+            }
+            GateTimeline timeline = new GateTimeline(gate);
+            for (GateAssignment assignment : scheduleIndex.getAssignments(gate.getGateId(), from, to)) {
+                if (assignment.getAssignmentId() == excludeAssignmentId) {
+                    continue;
+                }
+                long a = toKey(assignment.getAssignmentTime());
+                long b = toKey(assignment.getDepartureTime());
+                timeline.occupy(Math.min(a, b), Math.max(a, b));
+            }
+            timelines.add(timeline);
+        }
+        return timelines;
+    }
+    
+    private GateTimeline chooseGate(List<GateTimeline> timelines, Flight flight, long start, long end, long dayStartKey) {
+        String preferredTerminal = getPreferredTerminal(flight);
+        GateTimeline best = null;
+        long bestCost = Long.MAX_VALUE;
+        
+        for (GateTimeline timeline : timelines) {
+            if (!fits(timeline, start, end)) {
+                continue;
+            }
+            Map.Entry<Long, Long> previous = timeline.busy.floorEntry(start);
+            // Idle time left on the gate; an unused gate counts as idle since midnight plus a day
+            long cost = previous != null ? start - previous.getValue() : start - dayStartKey + 86400L;
+            if (preferredTerminal != null && !preferredTerminal.equalsIgnoreCase(timeline.gate.getTerminal())) {
+                cost += TERMINAL_PENALTY;
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = timeline;
+            }
+        }
+        return best;
+    }
+    
+    private boolean fits(GateTimeline timeline, long start, long end) {
+        Map.Entry<Long, Long> previous = timeline.busy.floorEntry(start);
+        if (previous != null && previous.getValue() + bufferSeconds > start) {
+            return false;
+        }
+        Map.Entry<Long, Long> next = timeline.busy.higherEntry(start);
+        return next == null || next.getKey() >= end + bufferSeconds;
+    }
+    
+    private boolean isPlannable(Flight flight) {
+        return flight.getDepartTime() != null
+                && flight.getStatus() != Flight.FlightStatus.CANCELLED
+                && flight.getStatus() != Flight.FlightStatus.DEPARTED;
+    }
+    
+    /**
+     * Looks up the configured terminal for the flight's airline code
+     * (gate.terminal.preference.&lt;code&gt;, e.g. gate.terminal.preference.UL=T1)
+     */
+    private String getPreferredTerminal(Flight flight) {
+        String airlineCode = flight.getAirlineCode();
+        if (airlineCode == null) {
+            return null;
+        }
+        return ConfigManager.getInstance().getProperty("gate.terminal.preference." + airlineCode, null);
+    }
+    
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+    
+    private static LocalDateTime fromKey(long key) {
+        return LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,601 @@
+package aerodesk.service;
+
+import aerodesk.dao.BaggageDAO;
+import aerodesk.dao.BookingDAO;
+import aerodesk.dao.FlightDAO;
+import aerodesk.dao.GateDAO;
+import aerodesk.dao.ReportCursor;
+import aerodesk.exception.DatabaseException;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.TaskScheduler;
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JRParameter;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperPrint;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.design.JRDesignBand;
+import net.sf.jasperreports.engine.design.JRDesignExpression;
+import net.sf.jasperreports.engine.design.JRDesignField;
+import net.sf.jasperreports.engine.design.JRDesignParameter;
+import net.sf.jasperreports.engine.design.JRDesignSection;
+import net.sf.jasperreports.engine.design.JRDesignStaticText;
+import net.sf.jasperreports.engine.design.JRDesignTextField;
+import net.sf.jasperreports.engine.design.JasperDesign;
+import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.JRPrintServiceExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.type.HorizontalTextAlignEnum;
+import net.sf.jasperreports.engine.type.OrientationEnum;
+import net.sf.jasperreports.engine.type.TextAdjustEnum;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimplePrintServiceExporterConfiguration;
+import net.sf.jasperreports.export.SimpleWriterExporterOutput;
+import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
+
+import javax.print.PrintService;
+import javax.print.attribute.PrintRequestAttributeSet;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report generation engine for AeroDesk Pro
+ * Lays out the flights, bookings, baggage and gate reports with JasperReports. Each
+ * template is compiled once, by {@link #warmUp()} at startup or on first use, and the
+ * compiled report is kept for the life of the process; a &lt;name&gt;.jrxml file in
+ * report.templates.dir replaces the built-in layout if it uses the same fields.
+ * Reports are filled from a {@link ReportCursor}, so rows stream from the database
+ * instead of being collected first, and filled pages beyond report.virtualizer.pages
+ * are swapped to report.swap.dir, so a month of bookings fills in bounded heap.
+ * Fills block; callers run them off the EDT.
+ *
+ * PDF export needs the jasperreports-pdf extension jar on the classpath.
+ */
+public class ReportEngine {
+    private static ReportEngine instance;
+    
+    // Ranges are [from, to); the "all time" range fits MySQL DATETIME
+    public static final LocalDateTime ALL_TIME_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final LocalDateTime ALL_TIME_TO = LocalDateTime.of(9999, 12, 31, 0, 0);
+    
+    private static final String PDF_EXPORTER_CLASS = "net.sf.jasperreports.pdf.JRPdfExporter";
+    private static final String RANGE_PARAMETER = "RANGE";
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Landscape A4 in points
+    private static final int PAGE_WIDTH = 842;
+    private static final int PAGE_HEIGHT = 595;
+    private static final int MARGIN = 20;
+    private static final int ROW_HEIGHT = 16;
+    
+    /**
+     * Output formats
+     */
+    public enum Format {
+        PDF("pdf", "PDF document"),
+        XLSX("xlsx", "Excel workbook"),
+        CSV("csv", "CSV file");
+        
+        private final String extension;
+        private final String description;
+        
+        Format(String extension, String description) {
+            this.extension = extension;
+            this.description = description;
+        }
+        
+        public String getExtension() { return extension; }
+        public String getDescription() { return description; }
+    }
+    
+    /**
+     * The reports and their columns; column widths add up to the printable page width
+     */
+    public enum Template {
+        FLIGHTS("flights", "Flights Report",
+            new Column("flight_number", "Flight No", 80, String.class),
+            new Column("origin", "Origin", 60, String.class),
+            new Column("destination", "Destination", 70, String.class),
+            new Column("departure_time", "Departure", 120, Date.class),
+            new Column("arrival_time", "Arrival", 120, Date.class),
+            new Column("expected_departure", "Expected Departure", 120, Date.class),
+            new Column("status", "Status", 100, String.class),
+            new Column("aircraft_type", "Aircraft", 132, String.class)),
+        BOOKINGS("bookings", "Bookings Report",
+            new Column("booking_reference", "Reference", 90, String.class),
+            new Column("passenger_name", "Passenger", 232, String.class),
+            new Column("flight_number", "Flight", 90, String.class),
+            new Column("seat_number", "Seat", 60, String.class),
+            new Column("check_in_status", "Check-in Status", 150, String.class),
+            new Column("check_in_time", "Check-in Time", 180, Date.class)),
+        BAGGAGE("baggage", "Baggage Report",
+            new Column("baggage_tag", "Tag", 120, String.class),
+            new Column("passenger_name", "Passenger", 242, String.class),
+            new Column("flight_number", "Flight", 90, String.class),
+            new Column("weight", "Weight (kg)", 80, BigDecimal.class),
+            new Column("status", "Status", 110, String.class),
+            new Column("created_at", "Checked In", 160, Date.class)),
+        GATES("gates", "Gate Assignments Report",
+            new Column("gate_number", "Gate", 80, String.class),
+            new Column("terminal", "Terminal", 80, String.class),
+            new Column("flight_number", "Flight", 162, String.class),
+            new Column("assignment_time", "Assigned From", 240, Date.class),
+            new Column("departure_time", "Departure", 240, Date.class));
+        
+        private final String fileName;
+        private final String title;
+        private final Column[] columns;
+        
+        Template(String fileName, String title, Column... columns) {
+            this.fileName = fileName;
+            this.title = title;
+            this.columns = columns;
+        }
+        
+        public String getTitle() { return title; }
+    }
+    
+    private final Path templatesDir;
+    private final Path swapDir;
+    private final int virtualizerPages;
+    private final boolean pdfAvailable;
+    private final Map<Template, JasperReport> compiled = new EnumMap<>(Template.class);
+    
+    private ReportEngine() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.templatesDir = Paths.get(config.getProperty("report.templates.dir", "reports"));
+        this.swapDir = Paths.get(config.getProperty("report.swap.dir", System.getProperty("java.io.tmpdir")));
+        this.virtualizerPages = config.getIntProperty("report.virtualizer.pages", 20);
+        this.pdfAvailable = isClassPresent(PDF_EXPORTER_CLASS);
+    }
+    
+    public static synchronized ReportEngine getInstance() {
+        if (instance == null) {
+            instance = new ReportEngine();
+        }
+        return instance;
+    }
+    
+    /**
+     * Compiles all templates in the background, so the first export does not wait
+     */
+    public void warmUp() {
+        TaskScheduler.getInstance().submitBlocking("ReportEngine.compile", () -> {
+            for (Template template : Template.values()) {
+                try {
+                    getReport(template);
+                } catch (JRException e) {
+                    FileLogger.getInstance().logError("Failed to compile " + template.fileName + " report: " + e.getMessage());
+                }
+            }
+        });
+    }
+    
+    /**
+     * @return The formats that can be exported with the libraries on the classpath
+     */
+    public Set<Format> getFormats() {
+        Set<Format> formats = EnumSet.allOf(Format.class);
+        if (!pdfAvailable) {
+            formats.remove(Format.PDF);
+        }
+        return formats;
+    }
+    
+    /**
+     * Fills a report and writes it to a file
+     * @param template The report
+     * @param from Start of the date range (inclusive)
+     * @param to End of the date range (exclusive)
+     * @param format Output format
+     * @param file Output file
+     * @param canceller Cancels the report query, or null
+     * @return What was written
+     * @throws DatabaseException if the report query fails
+     * @throws JRException if the report cannot be filled or exported
+     * @throws IOException if the file cannot be written
+     */
+    public Result export(Template template, LocalDateTime from, LocalDateTime to, Format format, File file,
+                         QueryCanceller canceller) throws DatabaseException, JRException, IOException {
+        if (!getFormats().contains(format)) {
+            throw new JRException(format + " export needs the jasperreports-pdf extension on the classpath");
+        }
+        long start = System.nanoTime();
+        JRSwapFileVirtualizer virtualizer = newVirtualizer();
+        try {
+            Filled filled = fill(template, from, to, canceller, virtualizer);
+            long exportStart = System.nanoTime();
+            write(filled.print, format, file);
+            MetricsRegistry.getInstance().recordSince("report.export." + format.getExtension(), exportStart);
+            Result result = new Result(file, filled.rows, filled.print.getPages().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            FileLogger.getInstance().logInfo("Exported " + template.fileName + " report to " + file.getAbsolutePath() + ": " + result);
+            return result;
+        } finally {
+            virtualizer.cleanup();
+        }
+    }
+    
+    /**
+     * Fills a report for printing; the caller shows the print dialog on the EDT and
+     * then prints it with {@link #print}
+     * @param template The report
+     * @param from Start of the date range (inclusive)
+     * @param to End of the date range (exclusive)
+     * @param canceller Cancels the report query, or null
+     * @return The filled report; close it once printed or abandoned
+     * @throws DatabaseException if the report query fails
+     * @throws JRException if the report cannot be filled
+     */
+    public PrintJob fillForPrint(Template template, LocalDateTime from, LocalDateTime to, QueryCanceller canceller)
+            throws DatabaseException, JRException {
+        JRSwapFileVirtualizer virtualizer = newVirtualizer();
+        try {
+            Filled filled = fill(template, from, to, canceller, virtualizer);
+            return new PrintJob(filled.print, virtualizer);
+        } catch (DatabaseException | JRException | RuntimeException e) {
+            virtualizer.cleanup();
+            throw e;
+        }
+    }
+    
+    /**
+     * Sends a filled report to a printer chosen in a print dialog, without dialogs of its own
+     * @param job The filled report
+     * @param service The chosen printer
+     * @param attributes The settings chosen in the dialog
+     * @throws JRException if the report cannot be printed
+     */
+    public void print(PrintJob job, PrintService service, PrintRequestAttributeSet attributes) throws JRException {
+        long start = System.nanoTime();
+        SimplePrintServiceExporterConfiguration configuration = new SimplePrintServiceExporterConfiguration();
+        configuration.setPrintService(service);
+        configuration.setPrintRequestAttributeSet(attributes);
+        configuration.setDisplayPageDialog(false);
+        configuration.setDisplayPrintDialog(false);
+        JRPrintServiceExporter exporter = new JRPrintServiceExporter();
+        exporter.setExporterInput(new SimpleExporterInput(job.print));
+        exporter.setConfiguration(configuration);
+        exporter.exportReport();
+        MetricsRegistry.getInstance().recordSince("report.print", start);
+    }
+    
+    private Filled fill(Template template, LocalDateTime from, LocalDateTime to, QueryCanceller canceller,
+                        JRSwapFileVirtualizer virtualizer) throws DatabaseException, JRException {
+        JasperReport report = getReport(template);
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(RANGE_PARAMETER, describeRange(from, to));
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+        
+        long start = System.nanoTime();
+        // The cursor holds a pooled connection only while the report fills
+        try (ReportCursor cursor = open(template, from, to, canceller)) {
+            JasperPrint print = JasperFillManager.fillReport(report, parameters, new CursorDataSource(cursor));
+            virtualizer.setReadOnly(true);
+            MetricsRegistry.getInstance().recordSince("report.fill", start);
+            return new Filled(print, cursor.getRowCount());
+        }
+    }
+    
+    private ReportCursor open(Template template, LocalDateTime from, LocalDateTime to, QueryCanceller canceller)
+            throws DatabaseException {
+        switch (template) {
+            case FLIGHTS:
+                return new FlightDAO().openFlightReport(from, to, canceller);
+            case BOOKINGS:
+                return new BookingDAO().openBookingReport(from, to, canceller);
+            case BAGGAGE:
+                return new BaggageDAO().openBaggageReport(from, to, canceller);
+            default:
+                return new GateDAO().openAssignmentReport(from, to, canceller);
+        }
+    }
+    
+    private void write(JasperPrint print, Format format, File file) throws JRException, IOException {
+        switch (format) {
+            case PDF:
+                try (OutputStream out = new FileOutputStream(file)) {
+                    JasperExportManager.exportReportToPdfStream(print, out);
+                }
+                break;
+            case XLSX:
+                JRXlsxExporter xlsx = new JRXlsxExporter();
+                SimpleXlsxReportConfiguration configuration = new SimpleXlsxReportConfiguration();
+                configuration.setDetectCellType(true);
+                configuration.setRemoveEmptySpaceBetweenRows(true);
+                configuration.setWhitePageBackground(false);
+                xlsx.setConfiguration(configuration);
+                xlsx.setExporterInput(new SimpleExporterInput(print));
+                xlsx.setExporterOutput(new SimpleOutputStreamExporterOutput(file));
+                xlsx.exportReport();
+                break;
+            default:
+                JRCsvExporter csv = new JRCsvExporter();
+                csv.setExporterInput(new SimpleExporterInput(print));
+                csv.setExporterOutput(new SimpleWriterExporterOutput(file, "UTF-8"));
+                csv.exportReport();
+        }
+    }
+    
+    /**
+     * Gets the compiled report, compiling it on first use
+     */
+    private synchronized JasperReport getReport(Template template) throws JRException {
+        JasperReport report = compiled.get(template);
+        if (report == null) {
+            long start = System.nanoTime();
+            report = compile(template);
+            compiled.put(template, report);
+            MetricsRegistry.getInstance().recordSince("report.compile", start);
+            FileLogger.getInstance().logInfo(String.format("Compiled %s report in %.0f ms", template.fileName,
+                (System.nanoTime() - start) / 1e6));
+        }
+        return report;
+    }
+    
+    private JasperReport compile(Template template) throws JRException {
+        Path custom = templatesDir.resolve(template.fileName + ".jrxml");
+        if (Files.isRegularFile(custom)) {
+            try {
+                return JasperCompileManager.compileReport(custom.toString());
+            } catch (JRException | LinkageError e) {
+                // JRXML parsing needs Jackson XML, which is not bundled in lib/
+                FileLogger.getInstance().logWarning("Using the built-in " + template.fileName
+                    + " report; " + custom + " could not be compiled: " + e);
+            }
+        }
+        return JasperCompileManager.compileReport(design(template));
+    }
+    
+    /**
+     * Lays out a report: title and date range, column headers repeated on every page,
+     * one row per record, page numbers and a row count
+     */
+    private static JasperDesign design(Template template) throws JRException {
+        JasperDesign design = new JasperDesign();
+        design.setName(template.fileName);
+        design.setOrientation(OrientationEnum.LANDSCAPE);
+        design.setPageWidth(PAGE_WIDTH);
+        design.setPageHeight(PAGE_HEIGHT);
+        design.setColumnWidth(PAGE_WIDTH - 2 * MARGIN);
+        design.setLeftMargin(MARGIN);
+        design.setRightMargin(MARGIN);
+        design.setTopMargin(MARGIN);
+        design.setBottomMargin(MARGIN);
+        // Spreadsheets get one header row and no page furniture
+        design.setProperty("net.sf.jasperreports.export.xls.exclude.origin.keep.first.band.1", "columnHeader");
+        design.setProperty("net.sf.jasperreports.export.xls.exclude.origin.band.2", "pageFooter");
+        design.setProperty("net.sf.jasperreports.export.csv.exclude.origin.keep.first.band.1", "columnHeader");
+        design.setProperty("net.sf.jasperreports.export.csv.exclude.origin.band.2", "pageFooter");
+        design.setProperty("net.sf.jasperreports.export.csv.exclude.origin.band.3", "title");
+        design.setProperty("net.sf.jasperreports.export.csv.exclude.origin.band.4", "summary");
+        
+        JRDesignParameter range = new JRDesignParameter();
+        range.setName(RANGE_PARAMETER);
+        range.setValueClass(String.class);
+        design.addParameter(range);
+        
+        JRDesignBand title = new JRDesignBand();
+        title.setHeight(44);
+        JRDesignStaticText heading = staticText("AeroDesk Pro - " + template.title, 0, 0, design.getColumnWidth(), 22);
+        heading.setFontSize(16f);
+        title.addElement(heading);
+        title.addElement(textField("$P{" + RANGE_PARAMETER + "}", 0, 24, design.getColumnWidth(), null));
+        design.setTitle(title);
+        
+        JRDesignBand header = new JRDesignBand();
+        header.setHeight(ROW_HEIGHT + 4);
+        JRDesignBand detail = new JRDesignBand();
+        detail.setHeight(ROW_HEIGHT);
+        int x = 0;
+        for (Column column : template.columns) {
+            JRDesignField field = new JRDesignField();
+            field.setName(column.field);
+            field.setValueClass(column.type);
+            design.addField(field);
+            
+            JRDesignStaticText label = staticText(column.header, x, 0, column.width, ROW_HEIGHT);
+            label.getLineBox().getBottomPen().setLineWidth(1f);
+            header.addElement(label);
+            String pattern = column.type == Date.class ? DATE_PATTERN : column.type == BigDecimal.class ? "0.0" : null;
+            JRDesignTextField value = textField("$F{" + column.field + "}", x, 0, column.width, pattern);
+            // Long values wrap onto more lines rather than being cut in the exported cell
+            value.setTextAdjust(TextAdjustEnum.STRETCH_HEIGHT);
+            if (column.type == BigDecimal.class) {
+                value.setHorizontalTextAlign(HorizontalTextAlignEnum.RIGHT);
+            }
+            detail.addElement(value);
+            x += column.width;
+        }
+        design.setColumnHeader(header);
+        ((JRDesignSection) design.getDetailSection()).addBand(detail);
+        
+        JRDesignBand footer = new JRDesignBand();
+        footer.setHeight(ROW_HEIGHT);
+        JRDesignTextField page = textField("\"Page \" + $V{PAGE_NUMBER}", 0, 0, design.getColumnWidth(), null);
+        page.setHorizontalTextAlign(HorizontalTextAlignEnum.RIGHT);
+        footer.addElement(page);
+        design.setPageFooter(footer);
+        
+        JRDesignBand summary = new JRDesignBand();
+        summary.setHeight(ROW_HEIGHT + 4);
+        summary.addElement(textField("$V{REPORT_COUNT} + \" rows\"", 0, 4, design.getColumnWidth(), null));
+        design.setSummary(summary);
+        return design;
+    }
+    
+    private static JRDesignStaticText staticText(String text, int x, int y, int width, int height) {
+        JRDesignStaticText element = new JRDesignStaticText();
+        element.setText(text);
+        element.setX(x);
+        element.setY(y);
+        element.setWidth(width);
+        element.setHeight(height);
+        element.setBold(true);
+        return element;
+    }
+    
+    private static JRDesignTextField textField(String expression, int x, int y, int width, String pattern) {
+        JRDesignTextField element = new JRDesignTextField();
+        element.setExpression(new JRDesignExpression(expression));
+        element.setX(x);
+        element.setY(y);
+        element.setWidth(width);
+        element.setHeight(ROW_HEIGHT);
+        element.setPattern(pattern);
+        element.setBlankWhenNull(true);
+        return element;
+    }
+    
+    private JRSwapFileVirtualizer newVirtualizer() {
+        // Swap file blocks of 4 KB, grown 100 blocks at a time
+        return new JRSwapFileVirtualizer(virtualizerPages, new JRSwapFile(swapDir.toString(), 4096, 100), true);
+    }
+    
+    private static String describeRange(LocalDateTime from, LocalDateTime to) {
+        String range = !from.isAfter(ALL_TIME_FROM) && !to.isBefore(ALL_TIME_TO) ? "All dates"
+            : DAY_FORMATTER.format(from) + " to " + DAY_FORMATTER.format(to.minusNanos(1));
+        return range + " - generated " + LocalDateTime.now().format(DateTimeFormatter.ofPattern(DATE_PATTERN));
+    }
+    
+    private static boolean isClassPresent(String className) {
+        try {
+            Class.forName(className, false, ReportEngine.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * A report column: the query column it shows, its header and width in points
+     */
+    private static final class Column {
+        private final String field;
+        private final String header;
+        private final int width;
+        private final Class<?> type;
+        
+        Column(String field, String header, int width, Class<?> type) {
+            this.field = field;
+            this.header = header;
+            this.width = width;
+            this.type = type;
+        }
+    }
+    
+    /**
+     * Streams report rows from a cursor into the fill
+     */
+    private static final class CursorDataSource implements JRDataSource {
+        private final ReportCursor cursor;
+        
+        CursorDataSource(ReportCursor cursor) {
+            this.cursor = cursor;
+        }
+        
+        @Override
+        public boolean next() throws JRException {
+            try {
+                return cursor.next();
+            } catch (DatabaseException e) {
+                throw new JRException(e.getMessage(), e);
+            }
+        }
+        
+        @Override
+        public Object getFieldValue(JRField field) throws JRException {
+            try {
+                return cursor.getValue(field.getName(), field.getValueClass());
+            } catch (DatabaseException e) {
+                throw new JRException(e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * A report filled for printing, paged out to a swap file until closed
+     */
+    public static final class PrintJob implements AutoCloseable {
+        private final JasperPrint print;
+        private final JRSwapFileVirtualizer virtualizer;
+        
+        PrintJob(JasperPrint print, JRSwapFileVirtualizer virtualizer) {
+            this.print = print;
+            this.virtualizer = virtualizer;
+        }
+        
+        public int getPages() {
+            return print.getPages().size();
+        }
+        
+        /**
+         * Deletes the swap file
+         */
+        @Override
+        public void close() {
+            virtualizer.cleanup();
+        }
+    }
+    
+    private static final class Filled {
+        private final JasperPrint print;
+        private final int rows;
+        
+        Filled(JasperPrint print, int rows) {
+            this.print = print;
+            this.rows = rows;
+        }
+    }
+    
+    /**
+     * What an export wrote
+     */
+    public static final class Result {
+        private final File file;
+        private final int rows;
+        private final int pages;
+        private final long elapsedMillis;
+        
+        Result(File file, int rows, int pages, long elapsedMillis) {
+            this.file = file;
+            this.rows = rows;
+            this.pages = pages;
+            this.elapsedMillis = elapsedMillis;
+        }
+        
+        public File getFile() { return file; }
+        public int getRows() { return rows; }
+        public int getPages() { return pages; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        
+        @Override
+        public String toString() {
+            return rows + " rows, " + pages + " pages in " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package aerodesk.service;
+
+import aerodesk.dao.ReportSummaryDAO;
+import aerodesk.exception.DatabaseException;
+import aerodesk.model.DailySummary;
+import aerodesk.util.ConfigManager;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily report snapshot job for AeroDesk Pro
+ * Materializes the daily flight, check-in, baggage and gate summaries of completed
+ * days into report_daily_summary, so the Reports screen reads past days from the
+ * snapshots and computes only today so far from the operational tables. The job runs
+ * shortly after midnight to close the previous day and every report.snapshot.interval
+ * ms to catch up: each run computes the days of the last report.snapshot.days that
+ * have no snapshot or whose snapshot was taken less than report.snapshot.settle.days
+ * after the day ended, so check-ins, bag scans and departures recorded late are
+ * counted before a snapshot becomes final.
+ */
+public class ReportSnapshotService {
+    private static ReportSnapshotService instance;
+    
+    // Past midnight, so late updates of the closing day are in
+    private static final Duration NIGHTLY_OFFSET = Duration.ofMinutes(5);
+    
+    private final ReportSummaryDAO summaryDAO;
+    private final int snapshotDays;
+    private final Duration settle;
+    private final long intervalMillis;
+    private boolean started = false;
+    
+    private ReportSnapshotService() {
+        this.summaryDAO = new ReportSummaryDAO();
+        ConfigManager config = ConfigManager.getInstance();
+        this.snapshotDays = config.getIntProperty("report.snapshot.days", 90);
+        this.settle = Duration.ofDays(config.getIntProperty("report.snapshot.settle.days", 2));
+        this.intervalMillis = config.getIntProperty("report.snapshot.interval", 3600000);
+    }
+    
+    public static synchronized ReportSnapshotService getInstance() {
+        if (instance == null) {
+            instance = new ReportSnapshotService();
+        }
+        return instance;
+    }
+    
+    /**
+     * Schedules the nightly and the periodic materialization; the first periodic run
+     * starts right away to fill in days missed while the application was not running
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        TaskScheduler scheduler = TaskScheduler.getInstance();
+        scheduler.scheduleBlockingAtFixedRate(this, "ReportSnapshots.periodic", this::materializePending,
+            0, intervalMillis, TimeUnit.MILLISECONDS);
+        LocalDateTime nextNightly = LocalDate.now().plusDays(1).atStartOfDay().plus(NIGHTLY_OFFSET);
+        scheduler.scheduleBlockingAtFixedRate(this, "ReportSnapshots.nightly", this::materializePending,
+            Duration.between(LocalDateTime.now(), nextNightly).toMillis(), TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Computes and stores the snapshots that are missing or were taken before their day settled
+     * @return Number of days materialized
+     */
+    public synchronized int materializePending() {
+        LocalDate today = LocalDate.now();
+        LocalDate first = today.minusDays(snapshotDays);
+        long start = System.nanoTime();
+        int materialized = 0;
+        try {
+            Map<LocalDate, LocalDateTime> computed = summaryDAO.getComputedTimes(first, today);
+            for (LocalDate day = first; day.isBefore(today); day = day.plusDays(1)) {
+                LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+                LocalDateTime computedAt = computed.get(day);
+                if (computedAt == null || computedAt.isBefore(dayEnd.plus(settle))) {
+                    summaryDAO.saveDay(summaryDAO.computeDay(day, dayEnd));
+                    materialized++;
+                }
+            }
+        } catch (DatabaseException e) {
+            FileLogger.getInstance().logError("Report snapshot job failed after " + materialized + " days: " + e.getMessage());
+        }
+        if (materialized > 0) {
+            MetricsRegistry.getInstance().recordSince("report.snapshots.materialize", start);
+            FileLogger.getInstance().logInfo(String.format("Materialized %d daily report snapshots in %.0f ms",
+                materialized, (System.nanoTime() - start) / 1e6));
+        }
+        return materialized;
+    }
+    
+    /**
+     * Gets the daily summaries of recent days: past days from the snapshots, today so
+     * far computed live
+     * @param days Number of days including today
+     * @return Summaries oldest first; a past day without a snapshot is left out
+     * @throws DatabaseException if database operation fails
+     */
+    public List<DailySummary> getRecentDays(int days) throws DatabaseException {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        List<DailySummary> summaries = summaryDAO.getSummaries(today.minusDays(days - 1), today);
+        MetricsRegistry.getInstance().recordSince("report.snapshots.read", start);
+        
+        long liveStart = System.nanoTime();
+        summaries.add(summaryDAO.computeDay(today, LocalDateTime.now()));
+        MetricsRegistry.getInstance().recordSince("report.snapshots.today", liveStart);
+        return summaries;
+    }
+}
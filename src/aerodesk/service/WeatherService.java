@@ -2,6 +2,7 @@ package aerodesk.service;
 
 import aerodesk.util.FileLogger;
 import aerodesk.util.ConfigManager;
+import aerodesk.util.MetricsRegistry;
 import aerodesk.model.Weather;
 import java.io.IOException;
 import java.net.http.HttpClient;
@@ -24,7 +25,7 @@ public class WeatherService {
     private static WeatherService instance;
     private final HttpClient httpClient;
     private final String apiKey;
-    private final String baseUrl = "https://api.openweathermap.org/data/2.5/weather";
+    private final String baseUrl;
     private final Map<String, Weather> weatherCache;
     private final Map<String, LocalDateTime> cacheTimestamps;
     private static final int CACHE_DURATION_MINUTES = 10;
@@ -32,6 +33,7 @@ public class WeatherService {
     private WeatherService() {
         this.httpClient = HttpClient.newHttpClient();
         this.apiKey = ConfigManager.getInstance().getProperty("openweathermap.api.key", "demo_key");
+        this.baseUrl = ConfigManager.getInstance().getProperty("weather.api.url", "https://api.openweathermap.org/data/2.5/weather");
         this.weatherCache = new ConcurrentHashMap<>();
         this.cacheTimestamps = new ConcurrentHashMap<>();
     }
@@ -55,6 +57,7 @@ public class WeatherService {
             try {
                 // Check cache first
                 if (isCacheValid(airportCode)) {
+                    MetricsRegistry.getInstance().increment("weather.cache.hits");
                     FileLogger.getInstance().logInfo("Weather data retrieved from cache for " + airportCode);
                     return weatherCache.get(airportCode);
                 }
@@ -69,7 +72,11 @@ public class WeatherService {
                     .GET()
                     .build();
                 
+                MetricsRegistry.getInstance().increment("weather.cache.misses");
+                long start = System.nanoTime();
                 HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                MetricsRegistry.getInstance().recordSince("http.weather", start);
+                MetricsRegistry.getInstance().increment("http.status." + response.statusCode());
                 
                 if (response.statusCode() == 200) {
                     Weather weather = parseWeatherResponse(response.body(), airportCode);
@@ -77,11 +84,15 @@ public class WeatherService {
                     FileLogger.getInstance().logInfo("Weather data fetched for " + airportCode + ": " + weather.getDescription());
                     return weather;
                 } else {
+                    MetricsRegistry.getInstance().increment("http.errors");
+                    MetricsRegistry.getInstance().increment("http.weather.errors");
                     FileLogger.getInstance().logError("Weather API error for " + airportCode + ": " + response.statusCode());
                     return createMockWeatherData(airportCode);
                 }
                 
             } catch (Exception e) {
+                MetricsRegistry.getInstance().increment("http.errors");
+                MetricsRegistry.getInstance().increment("http.weather.errors");
                 FileLogger.getInstance().logError("Error fetching weather for " + airportCode + ": " + e.getMessage());
                 return createMockWeatherData(airportCode);
             }
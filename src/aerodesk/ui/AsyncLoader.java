@@ -0,0 +1,242 @@
+package aerodesk.ui;
+
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.QueryCanceller;
+import aerodesk.util.TaskScheduler;
+
+import javax.swing.SwingUtilities;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Background data loader for AeroDesk Pro frames
+ * Runs DAO/API queries off the EDT on the task scheduler's I/O threads, keyed per
+ * frame: {@link #latest} cancels a running query that a newer one supersedes (search
+ * fields), {@link #refresh} skips a request while the same key is still loading
+ * (timers, refresh buttons). Results that finish together are applied to the EDT in a
+ * single batched update; results of superseded or cancelled queries are dropped, and
+ * {@link CancellableQuery} loads also have their JDBC statement cancelled.
+ */
+public final class AsyncLoader {
+    
+    /**
+     * A query run off the EDT
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T load() throws Exception;
+    }
+    
+    /**
+     * A query that hands its JDBC statement to a canceller, so superseding or
+     * cancelling the load stops the statement on the database as well
+     */
+    @FunctionalInterface
+    public interface CancellableQuery<T> {
+        T load(QueryCanceller canceller) throws Exception;
+    }
+    
+    private final String owner;
+    private final TaskScheduler scheduler;
+    private final Map<String, Load<?>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Runnable> deliveries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deliveryPosted = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+    
+    /**
+     * Creates a loader whose queries are cancelled when the window is closed
+     * @param window The owning frame
+     */
+    public AsyncLoader(Window window) {
+        this(window.getClass().getSimpleName());
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                close();
+            }
+        });
+    }
+    
+    /**
+     * Creates a loader for a panel; call {@link #close()} from its cleanup
+     * @param owner Owner name used in logs and metrics
+     */
+    public AsyncLoader(String owner) {
+        this.owner = owner;
+        this.scheduler = TaskScheduler.getInstance();
+    }
+    
+    /**
+     * Runs a query, cancelling any query still running under the same key
+     * @param key Load key, e.g. "search"
+     * @param query The query
+     * @param onResult Receives the result on the EDT
+     * @param onError Receives the failure on the EDT
+     */
+    public <T> void latest(String key, Query<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+        start(key, canceller -> query.load(), onResult, onError, true);
+    }
+    
+    /**
+     * Runs a cancellable query, cancelling the statement of any query still
+     * running under the same key
+     * @param key Load key, e.g. "search"
+     * @param query The query
+     * @param onResult Receives the result on the EDT
+     * @param onError Receives the failure on the EDT
+     */
+    public <T> void latestCancellable(String key, CancellableQuery<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+        start(key, query, onResult, onError, true);
+    }
+    
+    /**
+     * Runs a query unless one is already running under the same key
+     * @param key Load key, e.g. "flights"
+     * @param query The query
+     * @param onResult Receives the result on the EDT
+     * @param onError Receives the failure on the EDT
+     * @return true if the query was started, false if it joined the running one
+     */
+    public <T> boolean refresh(String key, Query<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+        return start(key, canceller -> query.load(), onResult, onError, false);
+    }
+    
+    /**
+     * Checks whether a query is running under a key
+     * @param key Load key
+     * @return true while the query has not been delivered
+     */
+    public boolean isLoading(String key) {
+        return inFlight.containsKey(key);
+    }
+    
+    /**
+     * Cancels the query running under a key; its result will not be delivered
+     * @param key Load key
+     */
+    public void cancel(String key) {
+        Load<?> load = inFlight.remove(key);
+        if (load != null) {
+            load.cancel();
+        }
+    }
+    
+    /**
+     * Cancels all queries and stops delivering results
+     */
+    public void close() {
+        closed = true;
+        for (String key : inFlight.keySet()) {
+            cancel(key);
+        }
+        deliveries.clear();
+    }
+    
+    private <T> boolean start(String key, CancellableQuery<T> query, Consumer<T> onResult, Consumer<Exception> onError, boolean supersede) {
+        if (closed) {
+            return false;
+        }
+        Load<T> load = new Load<>(key, query, onResult, onError);
+        if (supersede) {
+            Load<?> previous = inFlight.put(key, load);
+            if (previous != null) {
+                previous.cancel();
+                MetricsRegistry.getInstance().increment("ui.load.superseded");
+            }
+        } else if (inFlight.putIfAbsent(key, load) != null) {
+            MetricsRegistry.getInstance().increment("ui.load.deduplicated");
+            return false;
+        }
+        load.future = scheduler.submitBlocking(owner + "." + key, load::run);
+        return true;
+    }
+    
+    private void deliver(Runnable delivery) {
+        deliveries.add(delivery);
+        if (deliveryPosted.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+    
+    private void drain() {
+        deliveryPosted.set(false);
+        Runnable delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            delivery.run();
+        }
+    }
+    
+    /**
+     * One submitted query and its delivery callbacks
+     */
+    private final class Load<T> {
+        private final String key;
+        private final CancellableQuery<T> query;
+        private final QueryCanceller canceller = new QueryCanceller();
+        private final Consumer<T> onResult;
+        private final Consumer<Exception> onError;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+        
+        Load(String key, CancellableQuery<T> query, Consumer<T> onResult, Consumer<Exception> onError) {
+            this.key = key;
+            this.query = query;
+            this.onResult = onResult;
+            this.onError = onError;
+        }
+        
+        void run() {
+            if (cancelled) {
+                return;
+            }
+            long start = System.nanoTime();
+            T result = null;
+            Exception failure = null;
+            try {
+                result = query.load(canceller);
+            } catch (Exception e) {
+                failure = e;
+            }
+            MetricsRegistry.getInstance().recordSince("ui.load." + owner + "." + key, start);
+            
+            T value = result;
+            Exception error = failure;
+            if (cancelled) {
+                // Superseded while running; the failure is the cancellation itself
+                return;
+            }
+            deliver(() -> {
+                // Only the load still registered under its key may update the model
+                if (cancelled || closed || !inFlight.remove(key, this)) {
+                    return;
+                }
+                if (error == null) {
+                    onResult.accept(value);
+                } else {
+                    FileLogger.getInstance().logError(owner + " failed to load " + key + ": " + error.getMessage());
+                    onError.accept(error);
+                }
+            });
+        }
+        
+        void cancel() {
+            cancelled = true;
+            canceller.cancel();
+            // No interrupt: it would close the JDBC socket under the driver;
+            // running statements are stopped through the canceller instead
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
 import aerodesk.util.IconManager;
 import aerodesk.util.ConfigManager;
+import aerodesk.util.TaskScheduler;
 import aerodesk.service.AviationStackService;
 import aerodesk.service.AviationStackService.FlightInfo;
 import aerodesk.service.AviationStackService.AirportInfo;
@@ -23,10 +24,9 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Enhanced Aviation Stack API Integration Frame
@@ -36,7 +36,8 @@ public class AviationStackFrame extends JFrame {
     
     // Services and data
     private AviationStackService aviationService;
-    private ScheduledExecutorService scheduler;
+    private final TaskScheduler scheduler = TaskScheduler.getInstance();
+    private final AsyncLoader loader;
     private AtomicInteger apiCallCount = new AtomicInteger(0);
     private LocalDateTime lastApiCall = LocalDateTime.now();
     
@@ -91,7 +92,6 @@ public class AviationStackFrame extends JFrame {
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
     
     // Real-time data management
-    private ScheduledExecutorService realTimeScheduler;
     private volatile boolean isRealTimeActive = false;
     private String currentTrackingFlight = null;
     private List<FlightInfo> cachedFlights = new ArrayList<>();
@@ -101,6 +101,7 @@ public class AviationStackFrame extends JFrame {
         aviationService = new AviationStackService();
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         setupSearchTimer();
         startStatusUpdates();
@@ -243,9 +244,6 @@ public class AviationStackFrame extends JFrame {
         // Main tabbed pane
         mainTabbedPane = new JTabbedPane();
         mainTabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 12));
-        
-        // Scheduler for background updates
-        scheduler = Executors.newScheduledThreadPool(3);
     }
     
     private void setupLayout() {
@@ -541,49 +539,37 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Tracking flight " + flightNumber + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            boolean apiError = false;
-            String errorMsg = null;
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                try {
-                    return aviationService.getFlightStatusSummary(flightNumber);
-                } catch (Exception ex) {
-                    apiError = true;
-                    errorMsg = ex.getMessage();
-                    // Return mock data directly
-                    return aviationService.getFlightStatusSummary(flightNumber);
-                }
+        // Tracking, live tracking and their refreshes all write the flight result area
+        AtomicReference<String> apiError = new AtomicReference<>();
+        loader.latest("flight", () -> {
+            incrementApiCallCount();
+            try {
+                return aviationService.getFlightStatusSummary(flightNumber);
+            } catch (Exception ex) {
+                apiError.set(ex.getMessage());
+                // Return mock data directly
+                return aviationService.getFlightStatusSummary(flightNumber);
             }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    if (apiError) {
-                        flightResultArea.setForeground(Color.RED);
-                        flightResultArea.setText(
-                            "[API ERROR: " + errorMsg + "]\n[Mock data shown due to API error or rate limit]\n\n" + result +
-                            "\n\n[DEBUG: This is fallback mock data. If you see this, the API is rate-limited or unavailable.]"
-                        );
-                        updateStatus("API error or rate limit. Showing mock data.", ThemeManager.ERROR_RED);
-                    } else {
-                        flightResultArea.setForeground(Color.BLACK);
-                        flightResultArea.setText(formatFlightResult(result, flightNumber));
-                        updateStatus("Flight tracking completed", ThemeManager.SUCCESS_GREEN);
-                    }
-                    FileLogger.getInstance().logInfo("Flight tracked: " + flightNumber);
-                } catch (Exception ex) {
-                    flightResultArea.setForeground(Color.RED);
-                    flightResultArea.setText("Error tracking flight: " + ex.getMessage() +
-                        "\n[Mock data shown due to API error or rate limit]\n[DEBUG: Exception in done() block]");
-                    updateStatus("Flight tracking failed. Showing mock data.", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Flight tracking error: " + ex.getMessage());
-                }
+        }, result -> {
+            if (apiError.get() != null) {
+                flightResultArea.setForeground(Color.RED);
+                flightResultArea.setText(
+                    "[API ERROR: " + apiError.get() + "]\n[Mock data shown due to API error or rate limit]\n\n" + result +
+                    "\n\n[DEBUG: This is fallback mock data. If you see this, the API is rate-limited or unavailable.]"
+                );
+                updateStatus("API error or rate limit. Showing mock data.", ThemeManager.ERROR_RED);
+            } else {
+                flightResultArea.setForeground(Color.BLACK);
+                flightResultArea.setText(formatFlightResult(result, flightNumber));
+                updateStatus("Flight tracking completed", ThemeManager.SUCCESS_GREEN);
             }
-        };
-        worker.execute();
+            FileLogger.getInstance().logInfo("Flight tracked: " + flightNumber);
+        }, ex -> {
+            flightResultArea.setForeground(Color.RED);
+            flightResultArea.setText("Error tracking flight: " + ex.getMessage() +
+                "\n[Mock data shown due to API error or rate limit]");
+            updateStatus("Flight tracking failed. Showing mock data.", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatFlightResult(String result, String flightNumber) {
@@ -610,50 +596,37 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Getting airport info for " + airportCode + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            boolean apiError = false;
-            String errorMsg = null;
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                try {
-                    AviationStackService.AirportInfo airport = aviationService.getAirportInfo(airportCode);
-                    return formatAirportResult(airport, airportCode);
-                } catch (Exception ex) {
-                    apiError = true;
-                    errorMsg = ex.getMessage();
-                    AviationStackService.AirportInfo airport = aviationService.getAirportInfo(airportCode);
-                    return formatAirportResult(airport, airportCode);
-                }
+        AtomicReference<String> apiError = new AtomicReference<>();
+        loader.latest("airport", () -> {
+            incrementApiCallCount();
+            try {
+                AviationStackService.AirportInfo airport = aviationService.getAirportInfo(airportCode);
+                return formatAirportResult(airport, airportCode);
+            } catch (Exception ex) {
+                apiError.set(ex.getMessage());
+                AviationStackService.AirportInfo airport = aviationService.getAirportInfo(airportCode);
+                return formatAirportResult(airport, airportCode);
             }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    if (apiError) {
-                        airportResultArea.setForeground(Color.RED);
-                        airportResultArea.setText(
-                            "[API ERROR: " + errorMsg + "]\n[Mock data shown due to API error or rate limit]\n\n" + result +
-                            "\n\n[DEBUG: This is fallback mock data. If you see this, the API is rate-limited or unavailable.]"
-                        );
-                        updateStatus("API error or rate limit. Showing mock data.", ThemeManager.ERROR_RED);
-                    } else {
-                        airportResultArea.setForeground(Color.BLACK);
-                        airportResultArea.setText(result);
-                        updateStatus("Airport info retrieved", ThemeManager.SUCCESS_GREEN);
-                    }
-                    FileLogger.getInstance().logInfo("Airport info retrieved: " + airportCode);
-                } catch (Exception ex) {
-                    airportResultArea.setForeground(Color.RED);
-                    airportResultArea.setText("Error getting airport info: " + ex.getMessage() +
-                        "\n[Mock data shown due to API error or rate limit]\n[DEBUG: Exception in done() block]");
-                    updateStatus("Airport info failed. Showing mock data.", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Airport info error: " + ex.getMessage());
-                }
+        }, result -> {
+            if (apiError.get() != null) {
+                airportResultArea.setForeground(Color.RED);
+                airportResultArea.setText(
+                    "[API ERROR: " + apiError.get() + "]\n[Mock data shown due to API error or rate limit]\n\n" + result +
+                    "\n\n[DEBUG: This is fallback mock data. If you see this, the API is rate-limited or unavailable.]"
+                );
+                updateStatus("API error or rate limit. Showing mock data.", ThemeManager.ERROR_RED);
+            } else {
+                airportResultArea.setForeground(Color.BLACK);
+                airportResultArea.setText(result);
+                updateStatus("Airport info retrieved", ThemeManager.SUCCESS_GREEN);
             }
-        };
-        worker.execute();
+            FileLogger.getInstance().logInfo("Airport info retrieved: " + airportCode);
+        }, ex -> {
+            airportResultArea.setForeground(Color.RED);
+            airportResultArea.setText("Error getting airport info: " + ex.getMessage() +
+                "\n[Mock data shown due to API error or rate limit]");
+            updateStatus("Airport info failed. Showing mock data.", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatAirportResult(AviationStackService.AirportInfo airport, String airportCode) {
@@ -691,29 +664,18 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Searching routes from " + origin + " to " + destination + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                List<AviationStackService.FlightInfo> flights = aviationService.searchFlightsByRoute(origin, destination, null);
-                return formatRouteSearchResult(flights, origin, destination);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    routeResultArea.setText(result);
-                    updateStatus("Route search completed", ThemeManager.SUCCESS_GREEN);
-                    FileLogger.getInstance().logInfo("Route search completed: " + origin + " to " + destination);
-                } catch (Exception ex) {
-                    routeResultArea.setText("Error searching routes: " + ex.getMessage());
-                    updateStatus("Route search failed", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Route search error: " + ex.getMessage());
-                }
-            }
-        };
-        worker.execute();
+        loader.latest("route", () -> {
+            incrementApiCallCount();
+            List<AviationStackService.FlightInfo> flights = aviationService.searchFlightsByRoute(origin, destination, null);
+            return formatRouteSearchResult(flights, origin, destination);
+        }, result -> {
+            routeResultArea.setText(result);
+            updateStatus("Route search completed", ThemeManager.SUCCESS_GREEN);
+            FileLogger.getInstance().logInfo("Route search completed: " + origin + " to " + destination);
+        }, ex -> {
+            routeResultArea.setText("Error searching routes: " + ex.getMessage());
+            updateStatus("Route search failed", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatRouteSearchResult(List<AviationStackService.FlightInfo> flights, String origin, String destination) {
@@ -753,32 +715,21 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Starting live tracking for " + flightNumber + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                AviationStackService.FlightInfo flight = aviationService.getLiveFlightTracking(flightNumber);
-                return formatLiveTrackingResult(flight, flightNumber);
-            }
+        loader.latest("flight", () -> {
+            incrementApiCallCount();
+            AviationStackService.FlightInfo flight = aviationService.getLiveFlightTracking(flightNumber);
+            return formatLiveTrackingResult(flight, flightNumber);
+        }, result -> {
+            flightResultArea.setText(result);
+            updateStatus("Live tracking active", ThemeManager.SUCCESS_GREEN);
+            FileLogger.getInstance().logInfo("Live tracking started: " + flightNumber);
             
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    flightResultArea.setText(result);
-                    updateStatus("Live tracking active", ThemeManager.SUCCESS_GREEN);
-                    FileLogger.getInstance().logInfo("Live tracking started: " + flightNumber);
-                    
-                    // Start continuous tracking updates
-                    startContinuousTracking(flightNumber);
-                } catch (Exception ex) {
-                    flightResultArea.setText("Error starting live tracking: " + ex.getMessage());
-                    updateStatus("Live tracking failed", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Live tracking error: " + ex.getMessage());
-                }
-            }
-        };
-        worker.execute();
+            // Start continuous tracking updates
+            startContinuousTracking(flightNumber);
+        }, ex -> {
+            flightResultArea.setText("Error starting live tracking: " + ex.getMessage());
+            updateStatus("Live tracking failed", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatLiveTrackingResult(AviationStackService.FlightInfo flight, String flightNumber) {
@@ -819,7 +770,8 @@ public class AviationStackFrame extends JFrame {
         }
         
         liveUpdatesActive = true;
-        scheduler.scheduleAtFixedRate(() -> {
+        // Re-registering under the same name replaces any previous tracking task
+        scheduler.scheduleAtFixedRate(this, "AviationStack.continuousTracking", () -> {
             if (liveUpdatesActive) {
                 SwingUtilities.invokeLater(() -> {
                     updateLiveTrackingData(flightNumber);
@@ -829,26 +781,15 @@ public class AviationStackFrame extends JFrame {
     }
     
     private void updateLiveTrackingData(String flightNumber) {
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                AviationStackService.FlightInfo flight = aviationService.getLiveFlightTracking(flightNumber);
-                return formatLiveTrackingResult(flight, flightNumber);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    flightResultArea.setText(result);
-                    updateStatus("Live tracking updated - " + LocalDateTime.now().format(timeFormatter), ThemeManager.SUCCESS_GREEN);
-                } catch (Exception ex) {
-                    updateStatus("Live tracking update failed", ThemeManager.ERROR_RED);
-                }
-            }
-        };
-        worker.execute();
+        // Periodic update: skipped while a lookup for the result area is still running
+        loader.refresh("flight", () -> {
+            incrementApiCallCount();
+            AviationStackService.FlightInfo flight = aviationService.getLiveFlightTracking(flightNumber);
+            return formatLiveTrackingResult(flight, flightNumber);
+        }, result -> {
+            flightResultArea.setText(result);
+            updateStatus("Live tracking updated - " + LocalDateTime.now().format(timeFormatter), ThemeManager.SUCCESS_GREEN);
+        }, ex -> updateStatus("Live tracking update failed", ThemeManager.ERROR_RED));
     }
     
     private void getAirlineInfo() {
@@ -856,29 +797,18 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Getting airline information for " + airlineCode + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                AviationStackService.AirlineInfo airline = aviationService.getAirlineInfo(airlineCode);
-                return formatAirlineResult(airline, airlineCode);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    resultArea.setText(result);
-                    updateStatus("Airline info retrieved", ThemeManager.SUCCESS_GREEN);
-                    FileLogger.getInstance().logInfo("Airline info retrieved: " + airlineCode);
-                } catch (Exception ex) {
-                    resultArea.setText("Error getting airline info: " + ex.getMessage());
-                    updateStatus("Airline info failed", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Airline info error: " + ex.getMessage());
-                }
-            }
-        };
-        worker.execute();
+        loader.latest("info", () -> {
+            incrementApiCallCount();
+            AviationStackService.AirlineInfo airline = aviationService.getAirlineInfo(airlineCode);
+            return formatAirlineResult(airline, airlineCode);
+        }, result -> {
+            resultArea.setText(result);
+            updateStatus("Airline info retrieved", ThemeManager.SUCCESS_GREEN);
+            FileLogger.getInstance().logInfo("Airline info retrieved: " + airlineCode);
+        }, ex -> {
+            resultArea.setText("Error getting airline info: " + ex.getMessage());
+            updateStatus("Airline info failed", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatAirlineResult(AviationStackService.AirlineInfo airline, String airlineCode) {
@@ -904,28 +834,17 @@ public class AviationStackFrame extends JFrame {
         
         updateStatus("Getting airport statistics for " + airportCode + "...", ThemeManager.WARNING_AMBER);
         
-        SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                incrementApiCallCount();
-                return formatAirportStatsResult(aviationService.getAirportStatistics(airportCode), airportCode);
-            }
-            
-            @Override
-            protected void done() {
-                try {
-                    String result = get();
-                    resultArea.setText(result);
-                    updateStatus("Airport stats retrieved", ThemeManager.SUCCESS_GREEN);
-                    FileLogger.getInstance().logInfo("Airport stats retrieved: " + airportCode);
-                } catch (Exception ex) {
-                    resultArea.setText("Error getting airport stats: " + ex.getMessage());
-                    updateStatus("Airport stats failed", ThemeManager.ERROR_RED);
-                    FileLogger.getInstance().logError("Airport stats error: " + ex.getMessage());
-                }
-            }
-        };
-        worker.execute();
+        loader.latest("info", () -> {
+            incrementApiCallCount();
+            return formatAirportStatsResult(aviationService.getAirportStatistics(airportCode), airportCode);
+        }, result -> {
+            resultArea.setText(result);
+            updateStatus("Airport stats retrieved", ThemeManager.SUCCESS_GREEN);
+            FileLogger.getInstance().logInfo("Airport stats retrieved: " + airportCode);
+        }, ex -> {
+            resultArea.setText("Error getting airport stats: " + ex.getMessage());
+            updateStatus("Airport stats failed", ThemeManager.ERROR_RED);
+        });
     }
     
     private String formatAirportStatsResult(String stats, String airportCode) {
@@ -946,7 +865,7 @@ public class AviationStackFrame extends JFrame {
     
     private void startStatusUpdates() {
         // Simulate periodic status updates
-        scheduler.scheduleAtFixedRate(() -> {
+        scheduler.scheduleAtFixedRate(this, "AviationStack.statusUpdates", () -> {
             SwingUtilities.invokeLater(() -> {
                 // Update flight table with mock data
                 updateFlightTable();
@@ -1091,23 +1010,24 @@ public class AviationStackFrame extends JFrame {
     private void incrementApiCallCount() {
         apiCallCount.incrementAndGet();
         lastApiCall = LocalDateTime.now();
-        apiCallCountLabel.setText("API Calls: " + apiCallCount.get());
-        updateApiStats();
+        // Called from background loads, so the labels are updated on the EDT
+        SwingUtilities.invokeLater(() -> {
+            apiCallCountLabel.setText("API Calls: " + apiCallCount.get());
+            updateApiStats();
+        });
     }
     
     // Real-time data update methods
     private void initializeRealTimeUpdates() {
-        realTimeScheduler = Executors.newScheduledThreadPool(2);
-        
         // Start real-time flight data updates every 30 seconds
-        realTimeScheduler.scheduleAtFixedRate(() -> {
+        scheduler.scheduleAtFixedRate(this, "AviationStack.realTimeFlights", () -> {
             if (isRealTimeActive) {
                 updateRealTimeFlightData();
             }
         }, 0, 30, TimeUnit.SECONDS);
         
         // Start live tracking updates every 15 seconds if active
-        realTimeScheduler.scheduleAtFixedRate(() -> {
+        scheduler.scheduleAtFixedRate(this, "AviationStack.liveTracking", () -> {
             if (currentTrackingFlight != null && isRealTimeActive) {
                 updateLiveTrackingData(currentTrackingFlight);
             }
@@ -1117,47 +1037,33 @@ public class AviationStackFrame extends JFrame {
     }
     
     private void updateRealTimeFlightData() {
-        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception {
+        loader.refresh("realTime", () -> {
+            // Get real flight data from API
+            List<FlightInfo> flights = new ArrayList<>();
+            
+            // Track multiple flights for demo
+            String[] demoFlights = {"AA101", "DL202", "UA303", "SW404", "BA505"};
+            
+            for (String flightNumber : demoFlights) {
                 try {
-                    // Get real flight data from API
-                    List<FlightInfo> flights = new ArrayList<>();
-                    
-                    // Track multiple flights for demo
-                    String[] demoFlights = {"AA101", "DL202", "UA303", "SW404", "BA505"};
-                    
-                    for (String flightNumber : demoFlights) {
-                        try {
-                            FlightInfo flight = aviationService.getFlightInfo(flightNumber);
-                            if (flight != null) {
-                                flights.add(flight);
-                                liveFlightData.put(flightNumber, flight);
-                            }
-                        } catch (Exception e) {
-                            FileLogger.getInstance().logError("Error updating flight " + flightNumber + ": " + e.getMessage());
-                        }
+                    FlightInfo flight = aviationService.getFlightInfo(flightNumber);
+                    if (flight != null) {
+                        flights.add(flight);
+                        liveFlightData.put(flightNumber, flight);
                     }
-                    
-                    cachedFlights = flights;
-                    incrementApiCallCount();
-                    
                 } catch (Exception e) {
-                    FileLogger.getInstance().logError("Real-time update error: " + e.getMessage());
+                    FileLogger.getInstance().logError("Error updating flight " + flightNumber + ": " + e.getMessage());
                 }
-                return null;
             }
             
-            @Override
-            protected void done() {
-                SwingUtilities.invokeLater(() -> {
-                    updateFlightTableWithRealData();
-                    updateStatus("Real-time data updated", ThemeManager.SUCCESS_GREEN);
-                    lastUpdateLabel.setText("Last Update: " + LocalDateTime.now().format(timeFormatter));
-                });
-            }
-        };
-        worker.execute();
+            incrementApiCallCount();
+            return flights;
+        }, flights -> {
+            cachedFlights = flights;
+            updateFlightTableWithRealData();
+            updateStatus("Real-time data updated", ThemeManager.SUCCESS_GREEN);
+            lastUpdateLabel.setText("Last Update: " + LocalDateTime.now().format(timeFormatter));
+        }, ex -> updateStatus("Real-time update failed", ThemeManager.ERROR_RED));
     }
     
     private void updateFlightTableWithRealData() {
@@ -1223,12 +1129,7 @@ public class AviationStackFrame extends JFrame {
     @Override
     public void dispose() {
         stopRealTimeUpdates();
-        if (realTimeScheduler != null && !realTimeScheduler.isShutdown()) {
-            realTimeScheduler.shutdown();
-        }
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-        }
+        scheduler.cancelAll(this);
         if (searchTimer != null) {
             searchTimer.stop();
         }
@@ -73,11 +73,15 @@ public class BaggageFrame extends JFrame {
     // Search timer for debouncing
     private Timer searchTimer;
     
+    // Background loads for the passenger and baggage tables
+    private final AsyncLoader loader;
+    
     public BaggageFrame() {
         this.baggageDAO = new BaggageDAO();
         this.bookingDAO = new BookingDAO();
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         configureWindow();
         loadCheckedInPassengers();
@@ -499,6 +503,8 @@ public class BaggageFrame extends JFrame {
         searchField.addKeyListener(new KeyAdapter() {
             @Override
             public void keyReleased(KeyEvent e) {
+                // Stop the query for the previous text now rather than when the timer fires
+                loader.cancel("baggage");
                 searchTimer.restart();
             }
         });
@@ -620,11 +626,9 @@ public class BaggageFrame extends JFrame {
     }
     
     private void loadCheckedInPassengers() {
-        try {
-            List<Booking> checkedInBookings = bookingDAO.getAllBookings().stream()
-                .filter(Booking::isCheckedIn)
-                .toList();
-            
+        loader.refresh("passengers", () -> bookingDAO.getAllBookings().stream()
+            .filter(Booking::isCheckedIn)
+            .toList(), checkedInBookings -> {
             passengersTableModel.setRowCount(0);
             for (Booking booking : checkedInBookings) {
                 Object[] row = {
@@ -638,15 +642,12 @@ public class BaggageFrame extends JFrame {
             }
             
             FileLogger.getInstance().logInfo("Loaded " + checkedInBookings.size() + " checked-in passengers");
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error loading checked-in passengers: " + ex.getMessage());
-        }
+        }, ex -> updateStatus("Error loading checked-in passengers: " + ex.getMessage()));
     }
     
     private void loadAllBaggage() {
-        try {
-            List<Baggage> allBaggage = baggageDAO.getAllBaggage();
-            
+        // Shares the "baggage" key with searches so whichever was requested last fills the table
+        loader.latest("baggage", baggageDAO::getAllBaggage, allBaggage -> {
             baggageTableModel.setRowCount(0);
             for (Baggage baggage : allBaggage) {
                 Object[] row = {
@@ -661,9 +662,7 @@ public class BaggageFrame extends JFrame {
             }
             
             FileLogger.getInstance().logInfo("Loaded " + allBaggage.size() + " baggage items");
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error loading baggage: " + ex.getMessage());
-        }
+        }, ex -> updateStatus("Error loading baggage: " + ex.getMessage()));
     }
     
     private Booking getBookingFromTableRow(int row) {
@@ -716,6 +715,8 @@ public class BaggageFrame extends JFrame {
             typeComboBox.setSelectedItem(baggage.getBaggageType().toString());
             statusComboBox.setSelectedItem(baggage.getStatus().toString());
             tagNumberField.setEnabled(false); // Don't allow tag number editing
+        } else {
+            tagNumberField.setToolTipText("Leave blank to issue the next BG tag");
         }
         
         formPanel.add(createStyledLabel("Tag Number:"));
@@ -744,12 +745,15 @@ public class BaggageFrame extends JFrame {
                 String type = (String) typeComboBox.getSelectedItem();
                 String status = (String) statusComboBox.getSelectedItem();
                 
-                if (tagNumber.isEmpty()) {
+                if (tagNumber.isEmpty() && baggage != null) {
                     JOptionPane.showMessageDialog(dialog, "Tag number is required", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     return;
                 }
                 
                 if (baggage == null) {
+                    if (tagNumber.isEmpty()) {
+                        tagNumber = baggageDAO.generateTagNumber();
+                    }
                     // Adding new baggage
                     Baggage newBaggage = new Baggage();
                     newBaggage.setTagNumber(tagNumber);
@@ -891,11 +895,11 @@ public class BaggageFrame extends JFrame {
     }
     
     private void exportData() {
-        try {
+        // The CSV is built off the EDT; only the dialog is shown on it
+        loader.refresh("export", () -> {
             List<Baggage> allBaggage = baggageDAO.getAllBaggage();
             if (allBaggage.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "No baggage data to export", "Export", JOptionPane.INFORMATION_MESSAGE);
-                return;
+                return null;
             }
             
             StringBuilder csv = new StringBuilder();
@@ -912,13 +916,19 @@ public class BaggageFrame extends JFrame {
                     baggage.getUpdatedAt() != null ? baggage.getUpdatedAt().format(dateFormatter) : "N/A"
                 ));
             }
+            return csv.toString();
+        }, csv -> {
+            if (csv == null) {
+                JOptionPane.showMessageDialog(this, "No baggage data to export", "Export", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
             
             // For simplicity, show in dialog (in real app, save to file)
             JDialog dialog = new JDialog(this, "Export Data", true);
             dialog.setLayout(new BorderLayout());
             dialog.setPreferredSize(new Dimension(600, 400));
             
-            JTextArea exportArea = new JTextArea(csv.toString());
+            JTextArea exportArea = new JTextArea(csv);
             exportArea.setEditable(false);
             exportArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
             
@@ -940,51 +950,23 @@ public class BaggageFrame extends JFrame {
             dialog.setVisible(true);
             
             updateStatus("Data exported successfully");
-            
-        } catch (DatabaseException ex) {
+        }, ex -> {
+            FileLogger.getInstance().logError("Error exporting baggage data: " + ex.getMessage());
             JOptionPane.showMessageDialog(this, "Error exporting data: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
     // Search and filter methods
     private void performSearch() {
         String searchTerm = searchField.getText().trim();
         String statusFilter = (String) statusFilterComboBox.getSelectedItem();
+        Baggage.BaggageStatus status = statusFilter.equals("All Status") ? null : Baggage.BaggageStatus.valueOf(statusFilter);
         
-        try {
-            List<Baggage> baggageList;
-            
-            baggageList = baggageDAO.getAllBaggage();
-            
-            // Apply search filter
-            if (!searchTerm.isEmpty()) {
-                List<Baggage> filteredList = new ArrayList<>();
-                for (Baggage baggage : baggageList) {
-                    if (baggage.getTagNumber().toLowerCase().contains(searchTerm.toLowerCase())) {
-                        filteredList.add(baggage);
-                    }
-                }
-                baggageList = filteredList;
-            }
-            
-            // Apply status filter
-            if (!statusFilter.equals("All Status")) {
-                List<Baggage> filteredList = new ArrayList<>();
-                for (Baggage baggage : baggageList) {
-                    if (baggage.getStatus().toString().equals(statusFilter)) {
-                        filteredList.add(baggage);
-                    }
-                }
-                baggageList = filteredList;
-            }
-            
+        // Tag prefix and status are matched in SQL; a newer search cancels the running statement
+        loader.latestCancellable("baggage", canceller -> baggageDAO.searchBaggage(searchTerm, status, canceller), baggageList -> {
             updateBaggageTable(baggageList);
             updateStatus("Found " + baggageList.size() + " baggage items");
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error searching baggage: " + ex.getMessage());
-            updateStatus("Search failed: " + ex.getMessage());
-        }
+        }, ex -> updateStatus("Search failed: " + ex.getMessage()));
     }
     
     private void clearSearch() {
@@ -1026,8 +1008,7 @@ public class BaggageFrame extends JFrame {
     }
     
     private void updateStats() {
-        try {
-            List<Baggage> allBaggage = baggageDAO.getAllBaggage();
+        loader.latest("stats", baggageDAO::getAllBaggage, allBaggage -> {
             int total = allBaggage.size();
             int checkedIn = 0, delivered = 0;
             
@@ -1041,19 +1022,16 @@ public class BaggageFrame extends JFrame {
             
             statsLabel.setText(String.format("Total: %d | Checked In: %d | Delivered: %d", 
                 total, checkedIn, delivered));
-                
-        } catch (DatabaseException ex) {
-            statsLabel.setText("Stats: Error loading data");
-        }
+        }, ex -> statsLabel.setText("Stats: Error loading data"));
     }
     
     // Simulation methods
     private void updateBaggageStatus() {
         if (!simulationRunning) return;
         
-        try {
+        // Skipped while the previous tick is still writing
+        loader.refresh("simulation", () -> {
             List<Baggage> allBaggage = baggageDAO.getAllBaggage();
-            if (allBaggage.isEmpty()) return;
             
             // Randomly update status of some baggage
             int updateCount = 0;
@@ -1070,16 +1048,14 @@ public class BaggageFrame extends JFrame {
                     }
                 }
             }
-            
+            return updateCount;
+        }, updateCount -> {
             if (updateCount > 0) {
                 loadAllBaggage();
                 updateStats();
                 updateStatus("Simulation updated " + updateCount + " baggage items");
             }
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error in simulation: " + ex.getMessage());
-        }
+        }, ex -> FileLogger.getInstance().logError("Error in simulation: " + ex.getMessage()));
     }
     
     private Baggage.BaggageStatus getNextStatus(Baggage.BaggageStatus currentStatus) {
@@ -3,10 +3,14 @@ package aerodesk.ui;
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
 import aerodesk.dao.BookingDAO;
-import aerodesk.dao.FlightDAO;
+import aerodesk.dao.SeatMapIndex;
+import aerodesk.model.BoardingPass;
+import aerodesk.model.Baggage;
 import aerodesk.model.Booking;
 import aerodesk.model.Flight;
+import aerodesk.exception.CheckInConflictException;
 import aerodesk.exception.DatabaseException;
+import aerodesk.service.CheckInService;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -20,6 +24,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.regex.Pattern;
 import javax.swing.Timer;
 
@@ -44,7 +49,7 @@ public class CheckInFrame extends JFrame {
     private JButton checkInButton;
     private JButton generateBoardingPassButton;
     private JButton exportButton;
-    private JButton bulkCheckInButton;
+    private JButton groupCheckInButton;
     
     // Status and progress
     private JLabel statusLabel;
@@ -53,7 +58,6 @@ public class CheckInFrame extends JFrame {
     
     // Data components
     private BookingDAO bookingDAO;
-    private FlightDAO flightDAO;
     private Booking selectedBooking;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     
@@ -64,11 +68,14 @@ public class CheckInFrame extends JFrame {
     // Search timer for debouncing
     private Timer searchTimer;
     
+    // Background loads for the bookings table
+    private final AsyncLoader loader;
+    
     public CheckInFrame() {
         this.bookingDAO = new BookingDAO();
-        this.flightDAO = new FlightDAO();
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         configureWindow();
         loadBookings();
@@ -86,7 +93,7 @@ public class CheckInFrame extends JFrame {
         checkInButton = new JButton("Check In Passenger");
         generateBoardingPassButton = new JButton("Generate Boarding Pass");
         exportButton = new JButton("Export Data");
-        bulkCheckInButton = new JButton("Bulk Check-In");
+        groupCheckInButton = new JButton("Group Check-In");
         
         // Status components
         statusLabel = new JLabel("Ready");
@@ -106,7 +113,7 @@ public class CheckInFrame extends JFrame {
         styleEnhancedButton(checkInButton, "Check In Passenger", ThemeManager.SUCCESS_GREEN, ThemeManager.WHITE);
         styleEnhancedButton(generateBoardingPassButton, "Generate Boarding Pass", ThemeManager.PRIMARY_BLUE, ThemeManager.WHITE);
         styleEnhancedButton(exportButton, "Export Data", ThemeManager.SECONDARY_BLUE, ThemeManager.WHITE);
-        styleEnhancedButton(bulkCheckInButton, "Bulk Check-In", ThemeManager.ACCENT_ORANGE, ThemeManager.WHITE);
+        styleEnhancedButton(groupCheckInButton, "Group Check-In", ThemeManager.ACCENT_ORANGE, ThemeManager.WHITE);
         
         // Search button styling
         styleEnhancedButton(searchButton, "Search", ThemeManager.PRIMARY_BLUE, ThemeManager.WHITE);
@@ -174,7 +181,7 @@ public class CheckInFrame extends JFrame {
         bookingsTable = new JTable(tableModel);
         tableSorter = new TableRowSorter<>(tableModel);
         bookingsTable.setRowSorter(tableSorter);
-        bookingsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        bookingsTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         
         // Enhanced table styling
         bookingsTable.setRowHeight(35);
@@ -427,7 +434,7 @@ public class CheckInFrame extends JFrame {
         JPanel secondaryActions = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
         secondaryActions.setOpaque(false);
         secondaryActions.add(exportButton);
-        secondaryActions.add(bulkCheckInButton);
+        secondaryActions.add(groupCheckInButton);
         
         // Add separators
         JSeparator separator = new JSeparator(JSeparator.VERTICAL);
@@ -447,7 +454,7 @@ public class CheckInFrame extends JFrame {
         buttonPanel.add(checkInButton);
         buttonPanel.add(generateBoardingPassButton);
         buttonPanel.add(exportButton);
-        buttonPanel.add(bulkCheckInButton);
+        buttonPanel.add(groupCheckInButton);
         
         return buttonPanel;
     }
@@ -459,7 +466,7 @@ public class CheckInFrame extends JFrame {
         checkInButton.addActionListener(e -> checkInPassenger());
         generateBoardingPassButton.addActionListener(e -> generateBoardingPass());
         exportButton.addActionListener(e -> exportData());
-        bulkCheckInButton.addActionListener(e -> bulkCheckIn());
+        groupCheckInButton.addActionListener(e -> groupCheckIn());
         
         // Initialize search timer for debouncing
         searchTimer = new Timer(500, e -> searchBookings());
@@ -471,7 +478,7 @@ public class CheckInFrame extends JFrame {
                 int selectedRow = bookingsTable.getSelectedRow();
                 if (selectedRow >= 0) {
                     selectedBooking = getBookingFromTableRow(selectedRow);
-                    checkInButton.setEnabled(true);
+                    checkInButton.setEnabled(!loader.isLoading("checkIn"));
                     generateBoardingPassButton.setEnabled(true);
                 } else {
                     selectedBooking = null;
@@ -506,7 +513,8 @@ public class CheckInFrame extends JFrame {
         String searchTerm = searchField.getText().trim();
         String statusFilter = (String) statusFilterComboBox.getSelectedItem();
         
-        try {
+        // Searches and full loads share the "bookings" key; the newest request wins
+        loader.latest("bookings", () -> {
             List<Booking> bookings;
             
             // Simple search - just search by passenger name or booking reference
@@ -527,14 +535,11 @@ public class CheckInFrame extends JFrame {
                 }
                 bookings = filteredBookings;
             }
-            
+            return bookings;
+        }, bookings -> {
             updateTable(bookings);
             statusLabel.setText("Found " + bookings.size() + " bookings");
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error searching bookings: " + ex.getMessage());
-            JOptionPane.showMessageDialog(this, "Error searching bookings: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, ex -> JOptionPane.showMessageDialog(this, "Error searching bookings: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void clearSearch() {
@@ -544,14 +549,10 @@ public class CheckInFrame extends JFrame {
     }
     
     private void loadBookings() {
-        try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
+        loader.latest("bookings", bookingDAO::getAllBookings, bookings -> {
             updateTable(bookings);
             FileLogger.getInstance().logInfo("Loaded " + bookings.size() + " bookings");
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error loading bookings: " + ex.getMessage());
-            JOptionPane.showMessageDialog(this, "Error loading bookings: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, ex -> JOptionPane.showMessageDialog(this, "Error loading bookings: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private void updateTable(List<Booking> bookings) {
@@ -593,21 +594,107 @@ public class CheckInFrame extends JFrame {
             return;
         }
         
-        try {
-            selectedBooking.setCheckedIn(true);
-            selectedBooking.setCheckInTime(LocalDateTime.now());
-            bookingDAO.updateBooking(selectedBooking);
-            
-            FileLogger.getInstance().logInfo("Passenger checked in: " + selectedBooking.getPassengerName());
-            JOptionPane.showMessageDialog(this, 
-                "Passenger " + selectedBooking.getPassengerName() + " checked in successfully!", 
-                "Check-In Successful", 
-                JOptionPane.INFORMATION_MESSAGE);
-            
-            loadBookings();
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error checking in passenger: " + ex.getMessage());
-            JOptionPane.showMessageDialog(this, "Error checking in passenger: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        // The seat map is read from the flight's bookings once, then served from memory
+        Booking booking = selectedBooking;
+        loader.latest("seatMap", () -> SeatMapIndex.getInstance().getSeatMap(booking.getFlightId()), seatMap -> {
+            if (seatMap == null) {
+                JOptionPane.showMessageDialog(this, "Flight not found for this booking", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            String seat = SeatMapPicker.pick(this, "Select Seat - " + booking.getPassengerName(), seatMap, booking.getSeatNo());
+            if (seat == null) {
+                statusLabel.setText("Check-in cancelled");
+                return;
+            }
+            if (!seat.equalsIgnoreCase(String.valueOf(booking.getSeatNo())) && !seatMap.isFree(seat)) {
+                JOptionPane.showMessageDialog(this, "Seat " + seat + " has just been taken, please choose another", "Seat Taken", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            List<Double> bagWeights = promptBagWeights();
+            if (bagWeights == null) {
+                statusLabel.setText("Check-in cancelled");
+                return;
+            }
+            completeCheckIn(booking, seat, bagWeights);
+        }, ex -> JOptionPane.showMessageDialog(this, "Error loading seat map: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+    
+    /**
+     * Asks for the passenger's checked bags
+     * @return Weight of each bag in kg, or null if cancelled
+     */
+    private List<Double> promptBagWeights() {
+        JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(1, 0, 9, 1));
+        JTextField weightField = new JTextField("23.0", 6);
+        JPanel panel = new JPanel(new GridLayout(2, 2, 8, 8));
+        panel.add(new JLabel("Checked bags:"));
+        panel.add(countSpinner);
+        panel.add(new JLabel("Weight per bag (kg):"));
+        panel.add(weightField);
+        
+        while (true) {
+            int option = JOptionPane.showConfirmDialog(this, panel, "Checked Baggage", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+            if (option != JOptionPane.OK_OPTION) {
+                return null;
+            }
+            try {
+                double weight = Double.parseDouble(weightField.getText().trim());
+                if (weight <= 0 || weight > 99) {
+                    throw new NumberFormatException();
+                }
+                List<Double> weights = new ArrayList<>();
+                for (int i = 0; i < (Integer) countSpinner.getValue(); i++) {
+                    weights.add(weight);
+                }
+                return weights;
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Please enter a valid weight", "Validation Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+    
+    private void completeCheckIn(Booking booking, String seat, List<Double> bagWeights) {
+        // One transaction claims the seat, records the time and tags the bags; one
+        // check-in runs at a time and its result is always shown, as it commits anyway
+        boolean started = loader.refresh("checkIn", () -> CheckInService.getInstance().checkIn(booking, seat, bagWeights), boardingPass -> {
+            setCheckInEnabled(true);
+            updateBookingRow(booking);
+            statusLabel.setText("Checked in " + booking.getPassengerName() + " to seat " + seat);
+            showBoardingPass(boardingPass);
+        }, ex -> {
+            setCheckInEnabled(true);
+            if (ex instanceof CheckInConflictException) {
+                JOptionPane.showMessageDialog(this, ex.getMessage() + ". Please reselect the passenger and try again.", "Check-In Conflict", JOptionPane.WARNING_MESSAGE);
+                loadBookings();
+            } else {
+                JOptionPane.showMessageDialog(this, "Error checking in passenger: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+            statusLabel.setText("Check-in failed");
+        });
+        if (started) {
+            setCheckInEnabled(false);
+            statusLabel.setText("Checking in " + booking.getPassengerName() + "...");
+        } else {
+            JOptionPane.showMessageDialog(this, "Another check-in is still in progress, please try again when it completes", "Check-In In Progress", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+    
+    /**
+     * Enables the check-in buttons, or disables them while a check-in is being written
+     */
+    private void setCheckInEnabled(boolean enabled) {
+        checkInButton.setEnabled(enabled && selectedBooking != null);
+        groupCheckInButton.setEnabled(enabled);
+    }
+    
+    private void updateBookingRow(Booking booking) {
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if ((Integer) tableModel.getValueAt(row, 0) == booking.getBookingId()) {
+                tableModel.setValueAt(booking.getSeatNo(), row, 4);
+                tableModel.setValueAt("Checked In", row, 5);
+                tableModel.setValueAt(booking.getCheckInTime().format(dateFormatter), row, 6);
+                return;
+            }
         }
     }
     
@@ -622,46 +709,59 @@ public class CheckInFrame extends JFrame {
             return;
         }
         
-        try {
-            Flight flight = flightDAO.getFlightById(selectedBooking.getFlightId());
-            if (flight == null) {
-                JOptionPane.showMessageDialog(this, "Flight information not found", "Flight Not Found", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            String boardingPass = generateBoardingPassText(selectedBooking, flight);
-            
-            // Show boarding pass in a dialog
-            JTextArea boardingPassArea = new JTextArea(boardingPass);
-            boardingPassArea.setEditable(false);
-            boardingPassArea.setFont(ThemeManager.MONOSPACE_FONT);
-            ThemeManager.styleTextArea(boardingPassArea);
-            
-            JScrollPane scrollPane = new JScrollPane(boardingPassArea);
-            scrollPane.setPreferredSize(new Dimension(400, 300));
-            
-            JOptionPane.showMessageDialog(this, scrollPane, "Boarding Pass - " + selectedBooking.getPassengerName(), JOptionPane.INFORMATION_MESSAGE);
-            
-            FileLogger.getInstance().logInfo("Boarding pass generated for: " + selectedBooking.getPassengerName());
-        } catch (DatabaseException ex) {
+        Booking booking = selectedBooking;
+        loader.latest("boardingPass", () -> CheckInService.getInstance().getBoardingPass(booking), this::showBoardingPass, ex -> {
             FileLogger.getInstance().logError("Error generating boarding pass: " + ex.getMessage());
             JOptionPane.showMessageDialog(this, "Error generating boarding pass: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void showBoardingPass(BoardingPass boardingPass) {
+        showBoardingPasses(Collections.singletonList(boardingPass));
+    }
+    
+    private void showBoardingPasses(List<BoardingPass> boardingPasses) {
+        StringBuilder text = new StringBuilder();
+        for (BoardingPass boardingPass : boardingPasses) {
+            text.append(generateBoardingPassText(boardingPass)).append('\n');
+        }
+        String title = boardingPasses.size() == 1
+            ? "Boarding Pass - " + boardingPasses.get(0).getPassengerName()
+            : "Boarding Passes - " + boardingPasses.size() + " passengers";
+        
+        // Show boarding pass in a dialog
+        JTextArea boardingPassArea = new JTextArea(text.toString());
+        boardingPassArea.setEditable(false);
+        boardingPassArea.setFont(ThemeManager.MONOSPACE_FONT);
+        ThemeManager.styleTextArea(boardingPassArea);
+        
+        JScrollPane scrollPane = new JScrollPane(boardingPassArea);
+        scrollPane.setPreferredSize(new Dimension(400, 300));
+        
+        JOptionPane.showMessageDialog(this, scrollPane, title, JOptionPane.INFORMATION_MESSAGE);
+        
+        for (BoardingPass boardingPass : boardingPasses) {
+            FileLogger.getInstance().logInfo("Boarding pass generated for: " + boardingPass.getPassengerName());
         }
     }
     
-    private String generateBoardingPassText(Booking booking, Flight flight) {
+    private String generateBoardingPassText(BoardingPass pass) {
+        Flight flight = pass.getFlight();
         StringBuilder boardingPass = new StringBuilder();
         boardingPass.append("╔══════════════════════════════════════════════════════════════╗\n");
         boardingPass.append("║                        BOARDING PASS                        ║\n");
         boardingPass.append("╠══════════════════════════════════════════════════════════════╣\n");
-        boardingPass.append("║ Passenger: ").append(String.format("%-45s", booking.getPassengerName())).append("║\n");
-        boardingPass.append("║ Booking Ref: ").append(String.format("%-42s", booking.getBookingReference())).append("║\n");
+        boardingPass.append("║ Passenger: ").append(String.format("%-45s", pass.getPassengerName())).append("║\n");
+        boardingPass.append("║ Booking Ref: ").append(String.format("%-42s", pass.getBookingReference())).append("║\n");
         boardingPass.append("║ Flight: ").append(String.format("%-47s", flight.getFlightNo())).append("║\n");
-        boardingPass.append("║ Seat: ").append(String.format("%-49s", booking.getSeatNo())).append("║\n");
+        boardingPass.append("║ Seat: ").append(String.format("%-49s", pass.getSeatNo())).append("║\n");
         boardingPass.append("║ Route: ").append(String.format("%-48s", flight.getOrigin() + " → " + flight.getDestination())).append("║\n");
         boardingPass.append("║ Departure: ").append(String.format("%-44s", flight.getDepartTime().format(dateFormatter))).append("║\n");
-        boardingPass.append("║ Gate: ").append(String.format("%-49s", "TBD")).append("║\n");
-        boardingPass.append("║ Check-in Time: ").append(String.format("%-40s", booking.getCheckInTime().format(dateFormatter))).append("║\n");
+        boardingPass.append("║ Gate: ").append(String.format("%-49s", pass.getGate())).append("║\n");
+        boardingPass.append("║ Check-in Time: ").append(String.format("%-40s", pass.getCheckInTime() != null ? pass.getCheckInTime().format(dateFormatter) : "N/A")).append("║\n");
+        for (Baggage baggage : pass.getBaggage()) {
+            boardingPass.append("║ Bag Tag: ").append(String.format("%-46s", baggage.getTagNumber() + " (" + baggage.getWeightKg() + " kg)")).append("║\n");
+        }
         boardingPass.append("║                                                              ║\n");
         boardingPass.append("║ Please arrive at the gate 30 minutes before departure       ║\n");
         boardingPass.append("╚══════════════════════════════════════════════════════════════╝\n");
@@ -670,11 +770,12 @@ public class CheckInFrame extends JFrame {
     }
     
     private void exportData() {
-        try {
+        // Query and file write run off the EDT; a second click while exporting is ignored
+        loader.refresh("export", () -> {
             List<Booking> bookings = bookingDAO.getAllBookings();
-            String csvContent = "ID,Booking Reference,Passenger Name,Flight No,Seat,Status,Check-in Time,Passport Number\n";
+            StringBuilder csvContent = new StringBuilder("ID,Booking Reference,Passenger Name,Flight No,Seat,Status,Check-in Time,Passport Number\n");
             for (Booking booking : bookings) {
-                csvContent += String.format("%d,%s,%s,%s,%s,%s,%s,%s\n",
+                csvContent.append(String.format("%d,%s,%s,%s,%s,%s,%s,%s\n",
                     booking.getBookingId(),
                     booking.getBookingReference(),
                     booking.getPassengerName(),
@@ -683,66 +784,92 @@ public class CheckInFrame extends JFrame {
                     booking.isCheckedIn() ? "Checked In" : "Not Checked In",
                     booking.getCheckInTime() != null ? booking.getCheckInTime().format(dateFormatter) : "Not checked in",
                     booking.getPassportNo() != null ? booking.getPassportNo() : "N/A"
-                );
+                ));
             }
             
             String filename = "passenger_bookings_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
             // Simple file save implementation
             try (java.io.PrintWriter writer = new java.io.PrintWriter(filename)) {
-                writer.write(csvContent);
+                writer.write(csvContent.toString());
             }
+            return filename;
+        }, filename -> {
             FileLogger.getInstance().logInfo("Data exported to " + filename);
             JOptionPane.showMessageDialog(this, "Data exported successfully to " + filename, "Export Successful", JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception ex) {
+        }, ex -> {
             FileLogger.getInstance().logError("Error exporting data: " + ex.getMessage());
             JOptionPane.showMessageDialog(this, "Error exporting data: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
-    private void bulkCheckIn() {
-        if (selectedBooking == null) {
-            JOptionPane.showMessageDialog(this, "Please select a passenger to bulk check in", "No Selection", JOptionPane.WARNING_MESSAGE);
+    private void groupCheckIn() {
+        int[] rows = bookingsTable.getSelectedRows();
+        if (rows.length < 2) {
+            JOptionPane.showMessageDialog(this, "Select the passengers travelling together (Ctrl/Shift-click) to check them in as a group", "Group Check-In", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-
-        if (selectedBooking.isCheckedIn()) {
-            JOptionPane.showMessageDialog(this, "Passenger is already checked in", "Already Checked In", JOptionPane.INFORMATION_MESSAGE);
-            return;
+        List<Integer> bookingIds = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            bookingIds.add((Integer) tableModel.getValueAt(bookingsTable.convertRowIndexToModel(row), 0));
         }
-
-        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to bulk check in all passengers?", "Confirm Bulk Check-In", JOptionPane.YES_NO_OPTION);
-        if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                progressBar.setVisible(true);
-                statusLabel.setText("Bulk checking in...");
-                bookingsTable.setEnabled(false);
-                
-                // Simple bulk check-in implementation
-                List<Booking> allBookings = bookingDAO.getAllBookings();
-                for (Booking booking : allBookings) {
-                    if (!booking.isCheckedIn()) {
-                        booking.setCheckedIn(true);
-                        booking.setCheckInTime(LocalDateTime.now());
-                        bookingDAO.updateBooking(booking);
-                    }
+        
+        // Current versions of the group's bookings in one query, then one transaction for all of them
+        loader.latest("group", () -> bookingDAO.getBookingsByIds(bookingIds), bookings -> {
+            for (Booking booking : bookings) {
+                if (booking.isCheckedIn()) {
+                    JOptionPane.showMessageDialog(this, booking.getPassengerName() + " is already checked in", "Already Checked In", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                if (booking.getFlightId() != bookings.get(0).getFlightId()) {
+                    JOptionPane.showMessageDialog(this, "A group must be booked on the same flight", "Group Check-In", JOptionPane.WARNING_MESSAGE);
+                    return;
                 }
-                
+            }
+            int confirm = JOptionPane.showConfirmDialog(this, "Check in " + bookings.size() + " passengers seated together?", "Confirm Group Check-In", JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) {
+                return;
+            }
+            List<Double> bagWeights = promptBagWeights();
+            if (bagWeights == null) {
+                statusLabel.setText("Group check-in cancelled");
+                return;
+            }
+            completeGroupCheckIn(bookings, bagWeights);
+        }, ex -> JOptionPane.showMessageDialog(this, "Error loading bookings: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+    }
+    
+    private void completeGroupCheckIn(List<Booking> bookings, List<Double> bagWeights) {
+        // Shares the single-passenger key, so only one check-in is written at a time
+        boolean started = loader.refresh("checkIn", () -> CheckInService.getInstance().checkInGroup(bookings, bagWeights), boardingPasses -> {
+            setCheckInEnabled(true);
+            progressBar.setVisible(false);
+            for (Booking booking : bookings) {
+                updateBookingRow(booking);
+            }
+            statusLabel.setText("Checked in group of " + bookings.size());
+            showBoardingPasses(boardingPasses);
+        }, ex -> {
+            setCheckInEnabled(true);
+            progressBar.setVisible(false);
+            if (ex instanceof CheckInConflictException) {
+                JOptionPane.showMessageDialog(this, ex.getMessage() + ". Nobody in the group was checked in.", "Check-In Conflict", JOptionPane.WARNING_MESSAGE);
                 loadBookings();
-                statusLabel.setText("Bulk check-in complete!");
-                progressBar.setVisible(false);
-                bookingsTable.setEnabled(true);
-                FileLogger.getInstance().logInfo("All bookings bulk checked in.");
-                JOptionPane.showMessageDialog(this, "All bookings bulk checked in successfully!", "Bulk Check-In Successful", JOptionPane.INFORMATION_MESSAGE);
-            } catch (DatabaseException ex) {
-                FileLogger.getInstance().logError("Error bulk checking in: " + ex.getMessage());
-                JOptionPane.showMessageDialog(this, "Error bulk checking in: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Error checking in group: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
+            statusLabel.setText("Group check-in failed");
+        });
+        if (started) {
+            setCheckInEnabled(false);
+            progressBar.setVisible(true);
+            statusLabel.setText("Checking in group of " + bookings.size() + "...");
+        } else {
+            JOptionPane.showMessageDialog(this, "Another check-in is still in progress, please try again when it completes", "Check-In In Progress", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 
     private void updateStats() {
-        try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
+        loader.latest("stats", bookingDAO::getAllBookings, bookings -> {
             int total = bookings.size();
             int checkedIn = 0;
             int notCheckedIn = 0;
@@ -756,10 +883,7 @@ public class CheckInFrame extends JFrame {
             }
 
             statsLabel.setText("Total: " + total + " | Checked In: " + checkedIn + " | Pending: " + notCheckedIn);
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Error updating stats: " + ex.getMessage());
-            statsLabel.setText("Error loading stats");
-        }
+        }, ex -> statsLabel.setText("Error loading stats"));
     }
     
     private void configureWindow() {
@@ -781,7 +905,7 @@ public class CheckInFrame extends JFrame {
         checkInButton.setToolTipText("Check in the selected passenger");
         generateBoardingPassButton.setToolTipText("Generate boarding pass for checked-in passenger");
         exportButton.setToolTipText("Export passenger data to CSV file");
-        bulkCheckInButton.setToolTipText("Check in all pending passengers");
+        groupCheckInButton.setToolTipText("Check in the selected passengers together, seated side by side");
         
         // Search tooltips
         searchButton.setToolTipText("Search for passengers");
@@ -17,11 +17,13 @@ public class DashboardFrame extends JFrame {
     
     private final DashboardPanel dashboardPanel;
     private final MapPanel mapPanel;
+    private final EngineRoomPanel engineRoomPanel;
     private final JTabbedPane tabbedPane;
     
     public DashboardFrame() {
         this.dashboardPanel = new DashboardPanel();
         this.mapPanel = new MapPanel();
+        this.engineRoomPanel = new EngineRoomPanel();
         this.tabbedPane = new JTabbedPane();
         
         initializeFrame();
@@ -61,6 +63,7 @@ public class DashboardFrame extends JFrame {
         // Add tabs
         tabbedPane.addTab("Live KPIs", null, dashboardPanel, "Real-time Key Performance Indicators");
         tabbedPane.addTab("Flight Map", null, mapPanel, "Interactive Flight Status & Weather Map");
+        tabbedPane.addTab("Engine Room", null, engineRoomPanel, "Live application diagnostics");
         
         add(tabbedPane, BorderLayout.CENTER);
         
@@ -138,9 +141,10 @@ public class DashboardFrame extends JFrame {
      * Setup event handlers
      */
     private void setupEventHandlers() {
+        // windowClosed fires on every dispose(), not only when the close button is used
         addWindowListener(new WindowAdapter() {
             @Override
-            public void windowClosing(WindowEvent e) {
+            public void windowClosed(WindowEvent e) {
                 cleanup();
             }
         });
@@ -241,6 +245,9 @@ public class DashboardFrame extends JFrame {
             if (mapPanel != null) {
                 mapPanel.cleanup();
             }
+            if (engineRoomPanel != null) {
+                engineRoomPanel.cleanup();
+            }
             
             FileLogger.getInstance().logInfo("Dashboard frame cleanup completed");
             
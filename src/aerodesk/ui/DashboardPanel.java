@@ -4,17 +4,18 @@ import aerodesk.model.KPI;
 import aerodesk.service.DashboardMetrics;
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
+import aerodesk.util.KpiHistory;
+import aerodesk.util.TaskScheduler;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -23,19 +24,24 @@ import java.util.concurrent.TimeUnit;
  */
 public class DashboardPanel extends JPanel {
     
+    // Sparklines show the minute averages of the last two hours
+    private static final long SPARKLINE_SECONDS = 2 * 3600;
+    
     private final DashboardMetrics metrics;
     private final Map<String, JLabel> kpiLabels;
     private final Map<String, JLabel> statusLabels;
+    private final Map<String, TrendChart> sparklines;
     private JLabel lastUpdateLabel;
     private JTextArea summaryArea;
-    private final ScheduledExecutorService updateScheduler;
+    private final TaskScheduler updateScheduler;
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
     
     public DashboardPanel() {
         this.metrics = DashboardMetrics.getInstance();
         this.kpiLabels = new java.util.HashMap<>();
         this.statusLabels = new java.util.HashMap<>();
-        this.updateScheduler = Executors.newScheduledThreadPool(1);
+        this.sparklines = new java.util.HashMap<>();
+        this.updateScheduler = TaskScheduler.getInstance();
         
         initializeComponents();
         setupLayout();
@@ -60,6 +66,7 @@ public class DashboardPanel extends JPanel {
         for (String key : kpiKeys) {
             kpiLabels.put(key, createKPILabel());
             statusLabels.put(key, createStatusLabel());
+            sparklines.put(key, new TrendChart());
         }
         
         // Last update label
@@ -177,8 +184,12 @@ public class DashboardPanel extends JPanel {
         topPanel.add(titleLabel, BorderLayout.WEST);
         topPanel.add(statusLabel, BorderLayout.EAST);
         
+        TrendChart sparkline = sparklines.get(kpiKey);
+        sparkline.setToolTipText(title + ", last 2 hours");
+        
         card.add(topPanel, BorderLayout.NORTH);
         card.add(valueLabel, BorderLayout.CENTER);
+        card.add(sparkline, BorderLayout.SOUTH);
         
         return card;
     }
@@ -248,7 +259,7 @@ public class DashboardPanel extends JPanel {
      * Start automatic updates
      */
     private void startAutoUpdate() {
-        updateScheduler.scheduleAtFixedRate(() -> {
+        updateScheduler.scheduleAtFixedRate(this, "DashboardPanel.autoUpdate", () -> {
             SwingUtilities.invokeLater(this::refreshData);
         }, 0, 30, TimeUnit.SECONDS);
     }
@@ -259,6 +270,8 @@ public class DashboardPanel extends JPanel {
     public void refreshData() {
         try {
             Map<String, KPI> kpis = metrics.getAllKPIs();
+            KpiHistory history = KpiHistory.getInstance();
+            long since = Instant.now().getEpochSecond() - SPARKLINE_SECONDS;
             
             for (Map.Entry<String, KPI> entry : kpis.entrySet()) {
                 String key = entry.getKey();
@@ -289,6 +302,11 @@ public class DashboardPanel extends JPanel {
                             valueLabel.setForeground(ThemeManager.DARK_GRAY);
                     }
                 }
+                
+                TrendChart sparkline = sparklines.get(key);
+                if (sparkline != null) {
+                    sparkline.setPoints(history.getMinuteAverages(key, since));
+                }
             }
             
             // Update summary
@@ -345,17 +363,7 @@ public class DashboardPanel extends JPanel {
      * Cleanup resources
      */
     public void cleanup() {
-        if (updateScheduler != null && !updateScheduler.isShutdown()) {
-            updateScheduler.shutdown();
-            try {
-                if (!updateScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    updateScheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                updateScheduler.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        updateScheduler.cancelAll(this);
         FileLogger.getInstance().logInfo("Dashboard panel cleanup completed");
     }
 } 
\ No newline at end of file
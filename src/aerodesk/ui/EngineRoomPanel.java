@@ -0,0 +1,338 @@
+package aerodesk.ui;
+
+import aerodesk.util.EdtWatchdog;
+import aerodesk.util.FileLogger;
+import aerodesk.util.MetricsRegistry;
+import aerodesk.util.TaskScheduler;
+import aerodesk.util.ThemeManager;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Engine Room" diagnostics panel for the Dashboard
+ * Shows live database, HTTP, cache, scheduler, heap, GC and EDT health from the
+ * in-memory metrics registry and JVM MXBeans, without querying the database.
+ */
+public final class EngineRoomPanel extends JPanel {
+    
+    private static final int REFRESH_SECONDS = 2;
+    private static final String[] CARDS = {
+        "DB Query Latency", "DB Connections", "HTTP Latency", "Cache Hit Ratio",
+        "Scheduler Backlog", "Heap", "GC Pauses", "EDT Latency"
+    };
+    
+    private final MetricsRegistry metrics;
+    private final TaskScheduler scheduler;
+    private final Map<String, JLabel> valueLabels = new HashMap<>();
+    private final Map<String, JLabel> detailLabels = new HashMap<>();
+    private final DefaultTableModel timerModel;
+    private final JLabel lastUpdateLabel;
+    private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+    
+    // Previous readings for per-interval rates, only touched on the timer thread
+    private long lastGcMillis = -1;
+    private long lastConnectionsOpened = -1;
+    
+    public EngineRoomPanel() {
+        this.metrics = MetricsRegistry.getInstance();
+        this.scheduler = TaskScheduler.getInstance();
+        this.timerModel = new DefaultTableModel(
+            new String[]{"Metric", "Calls", "Errors", "Error %", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        this.lastUpdateLabel = new JLabel("Waiting for metrics...");
+        
+        setupLayout();
+        startAutoUpdate();
+        
+        FileLogger.getInstance().logInfo("Engine room panel initialized");
+    }
+    
+    /**
+     * Setup panel layout
+     */
+    private void setupLayout() {
+        setLayout(new BorderLayout(20, 20));
+        setBackground(ThemeManager.WHITE);
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+        
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(ThemeManager.PRIMARY_BLUE);
+        headerPanel.setBorder(new EmptyBorder(15, 20, 15, 20));
+        JLabel titleLabel = new JLabel("Engine Room");
+        titleLabel.setFont(ThemeManager.TITLE_FONT);
+        titleLabel.setForeground(ThemeManager.WHITE);
+        lastUpdateLabel.setFont(ThemeManager.SUBHEADER_FONT);
+        lastUpdateLabel.setForeground(ThemeManager.WHITE);
+        JButton stallReportBtn = new JButton("EDT Stall Report");
+        stallReportBtn.setPreferredSize(new Dimension(150, 35));
+        ThemeManager.styleButton(stallReportBtn, ThemeManager.WHITE, ThemeManager.PRIMARY_BLUE);
+        stallReportBtn.addActionListener(e -> showStallReport());
+        
+        JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 0));
+        rightPanel.setOpaque(false);
+        rightPanel.add(lastUpdateLabel);
+        rightPanel.add(stallReportBtn);
+        
+        headerPanel.add(titleLabel, BorderLayout.WEST);
+        headerPanel.add(rightPanel, BorderLayout.EAST);
+        add(headerPanel, BorderLayout.NORTH);
+        
+        JPanel gridPanel = new JPanel(new GridLayout(2, 4, 15, 15));
+        gridPanel.setBackground(ThemeManager.WHITE);
+        for (String card : CARDS) {
+            gridPanel.add(createCard(card));
+        }
+        
+        JTable timerTable = new JTable(timerModel);
+        ThemeManager.styleTable(timerTable);
+        timerTable.setAutoCreateRowSorter(true);
+        JScrollPane tableScroll = new JScrollPane(timerTable);
+        tableScroll.setBorder(BorderFactory.createTitledBorder(
+            BorderFactory.createLineBorder(ThemeManager.DARK_GRAY),
+            "Timers",
+            javax.swing.border.TitledBorder.LEFT,
+            javax.swing.border.TitledBorder.TOP,
+            ThemeManager.SUBHEADER_FONT,
+            ThemeManager.DARK_GRAY
+        ));
+        
+        JPanel contentPanel = new JPanel(new BorderLayout(20, 20));
+        contentPanel.setBackground(ThemeManager.WHITE);
+        contentPanel.add(gridPanel, BorderLayout.NORTH);
+        contentPanel.add(tableScroll, BorderLayout.CENTER);
+        add(contentPanel, BorderLayout.CENTER);
+    }
+    
+    /**
+     * Create a diagnostics card
+     */
+    private JPanel createCard(String title) {
+        JPanel card = new JPanel(new BorderLayout(5, 5));
+        card.setBackground(ThemeManager.LIGHT_GRAY);
+        card.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(ThemeManager.DARK_GRAY, 1),
+            new EmptyBorder(10, 15, 10, 15)
+        ));
+        
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(ThemeManager.SUBHEADER_FONT);
+        titleLabel.setForeground(ThemeManager.DARK_GRAY);
+        
+        JLabel valueLabel = new JLabel("-");
+        valueLabel.setFont(new Font("Arial", Font.BOLD, 20));
+        valueLabel.setForeground(ThemeManager.PRIMARY_BLUE);
+        
+        JLabel detailLabel = new JLabel(" ");
+        detailLabel.setFont(ThemeManager.BODY_FONT);
+        detailLabel.setForeground(ThemeManager.DARK_GRAY);
+        
+        valueLabels.put(title, valueLabel);
+        detailLabels.put(title, detailLabel);
+        
+        card.add(titleLabel, BorderLayout.NORTH);
+        card.add(valueLabel, BorderLayout.CENTER);
+        card.add(detailLabel, BorderLayout.SOUTH);
+        return card;
+    }
+    
+    /**
+     * Start automatic updates; readings are taken on the timer thread and only
+     * the finished values are handed to the EDT
+     */
+    private void startAutoUpdate() {
+        scheduler.scheduleAtFixedRate(this, "EngineRoomPanel.refresh", () -> {
+            Reading reading = takeReading();
+            long posted = System.nanoTime();
+            SwingUtilities.invokeLater(() -> {
+                metrics.recordSince("edt.latency", posted);
+                apply(reading);
+            });
+        }, 0, REFRESH_SECONDS, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Collects all card values and timer rows from in-memory metrics
+     */
+    private Reading takeReading() {
+        MetricsRegistry.Snapshot snapshot = metrics.snapshot();
+        Map<String, Long> counters = snapshot.getCounters();
+        Map<String, Double> gauges = snapshot.getGauges();
+        Reading reading = new Reading(snapshot.getTakenAt().format(timeFormatter));
+        
+        MetricsRegistry.HistogramSnapshot db = metrics.combined("db", name -> name.startsWith("db.") && !name.equals("db.connect"));
+        long dbErrors = counters.getOrDefault("db.errors", 0L);
+        reading.card("DB Query Latency", latency(db), db.getCount() + " statements, " + dbErrors + " errors",
+            severity(db.getP99Millis(), 250, 1000));
+        
+        long opened = counters.getOrDefault("db.connections.opened", 0L);
+        double perSecond = lastConnectionsOpened >= 0 ? (opened - lastConnectionsOpened) / (double) REFRESH_SECONDS : 0;
+        lastConnectionsOpened = opened;
+        MetricsRegistry.HistogramSnapshot connect = metrics.combined("db.connect", "db.connect"::equals);
+        reading.card("DB Connections", String.format("%.0f in use, %.0f idle", gauges.getOrDefault("db.connections.open", 0.0),
+                gauges.getOrDefault("db.pool.idle", 0.0)),
+            String.format("%.1f opened/s, connect p99 %.1f ms", perSecond, connect.getP99Millis()),
+            severity(connect.getP99Millis(), 100, 500));
+        
+        MetricsRegistry.HistogramSnapshot http = metrics.combined("http", name -> name.startsWith("http."));
+        long httpErrors = counters.getOrDefault("http.errors", 0L);
+        double httpErrorRate = http.getCount() > 0 ? 100.0 * httpErrors / http.getCount() : 0;
+        reading.card("HTTP Latency", latency(http), String.format("%d calls, %.1f%% errors", http.getCount(), httpErrorRate),
+            Math.max(severity(http.getP99Millis(), 2000, 10000), severity(httpErrorRate, 5, 25)));
+        
+        long hits = 0;
+        long misses = 0;
+        StringBuilder caches = new StringBuilder();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (entry.getKey().endsWith(".cache.hits")) {
+                String cache = entry.getKey().substring(0, entry.getKey().length() - ".cache.hits".length());
+                long cacheHits = entry.getValue();
+                long cacheMisses = counters.getOrDefault(cache + ".cache.misses", 0L);
+                hits += cacheHits;
+                misses += cacheMisses;
+                caches.append(caches.length() > 0 ? ", " : "").append(cache).append(' ')
+                      .append(String.format("%.0f%%", ratio(cacheHits, cacheMisses)));
+            }
+        }
+        reading.card("Cache Hit Ratio", hits + misses > 0 ? String.format("%.1f%%", ratio(hits, misses)) : "-",
+            caches.length() > 0 ? caches.toString() : "no cache traffic yet", 0);
+        
+        long overruns = 0;
+        long skipped = 0;
+        for (TaskScheduler.TaskStats stats : scheduler.getTaskStats()) {
+            overruns += stats.getOverruns();
+            skipped += stats.getSkipped();
+        }
+        double queued = gauges.getOrDefault("scheduler.queued.timer.jobs", 0.0);
+        reading.card("Scheduler Backlog", String.format("%.0f queued", queued),
+            overruns + " overruns, " + skipped + " skipped runs", severity(skipped, 1, 10));
+        
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long maxHeap = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        double heapPercent = 100.0 * heap.getUsed() / maxHeap;
+        reading.card("Heap", String.format("%d / %d MB", heap.getUsed() >> 20, maxHeap >> 20),
+            String.format("%.0f%% used, %d threads", heapPercent, ManagementFactory.getThreadMXBean().getThreadCount()),
+            severity(heapPercent, 75, 90));
+        
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        long recentGc = lastGcMillis >= 0 ? gcMillis - lastGcMillis : 0;
+        lastGcMillis = gcMillis;
+        reading.card("GC Pauses", recentGc + " ms / " + REFRESH_SECONDS + " s",
+            gcCount + " collections, " + gcMillis + " ms total", severity(recentGc, 100, 500));
+        
+        MetricsRegistry.HistogramSnapshot edt = metrics.combined("edt", name -> name.equals("edt.latency") || name.equals("edt.heartbeat"));
+        long stalls = counters.getOrDefault("edt.stalls", 0L);
+        reading.card("EDT Latency", String.format("p99 %.1f ms", edt.getP99Millis()),
+            String.format("max %.1f ms, %d stalls, %d slow calls on EDT", edt.getMaxMillis(), stalls,
+                counters.getOrDefault("edt.slow.calls", 0L)),
+            Math.max(severity(edt.getP99Millis(), 100, 500), severity(stalls, 1, 10)));
+        
+        for (MetricsRegistry.HistogramSnapshot timer : snapshot.getHistograms()) {
+            long errors = counters.getOrDefault(timer.getName() + ".errors", 0L);
+            reading.rows.add(new Object[]{
+                timer.getName(), timer.getCount(), errors,
+                String.format("%.1f", timer.getCount() > 0 ? 100.0 * errors / timer.getCount() : 0),
+                String.format("%.2f", timer.getP50Millis()), String.format("%.2f", timer.getP95Millis()),
+                String.format("%.2f", timer.getP99Millis()), String.format("%.2f", timer.getMaxMillis())
+            });
+        }
+        return reading;
+    }
+    
+    /**
+     * Shows a reading; runs on the EDT
+     */
+    private void apply(Reading reading) {
+        for (String card : CARDS) {
+            String[] values = reading.cards.get(card);
+            JLabel valueLabel = valueLabels.get(card);
+            valueLabel.setText(values[0]);
+            detailLabels.get(card).setText(values[1]);
+            switch (Integer.parseInt(values[2])) {
+                case 2:
+                    valueLabel.setForeground(ThemeManager.ERROR_RED);
+                    break;
+                case 1:
+                    valueLabel.setForeground(ThemeManager.WARNING_AMBER);
+                    break;
+                default:
+                    valueLabel.setForeground(ThemeManager.PRIMARY_BLUE);
+            }
+        }
+        
+        timerModel.setRowCount(0);
+        for (Object[] row : reading.rows) {
+            timerModel.addRow(row);
+        }
+        lastUpdateLabel.setText("Last Update: " + reading.time);
+    }
+    
+    /**
+     * Show the rolling EDT stall history
+     */
+    private void showStallReport() {
+        JTextArea reportArea = new JTextArea(EdtWatchdog.getInstance().getReport(), 20, 90);
+        reportArea.setEditable(false);
+        reportArea.setFont(ThemeManager.MONOSPACE_FONT);
+        JOptionPane.showMessageDialog(this, new JScrollPane(reportArea), "EDT Stall Report", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    private static String latency(MetricsRegistry.HistogramSnapshot histogram) {
+        return histogram.getCount() > 0
+            ? String.format("p50 %.1f / p99 %.1f ms", histogram.getP50Millis(), histogram.getP99Millis())
+            : "no calls yet";
+    }
+    
+    private static double ratio(long hits, long misses) {
+        return hits + misses > 0 ? 100.0 * hits / (hits + misses) : 0;
+    }
+    
+    private static int severity(double value, double warning, double critical) {
+        return value >= critical ? 2 : value >= warning ? 1 : 0;
+    }
+    
+    /**
+     * Cleanup resources
+     */
+    public void cleanup() {
+        scheduler.cancelAll(this);
+        FileLogger.getInstance().logInfo("Engine room panel cleanup completed");
+    }
+    
+    /**
+     * Values for one refresh: card text by title plus timer table rows
+     */
+    private static final class Reading {
+        private final String time;
+        private final Map<String, String[]> cards = new HashMap<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        
+        Reading(String time) {
+            this.time = time;
+        }
+        
+        void card(String title, String value, String detail, int severity) {
+            cards.put(title, new String[]{value, detail, String.valueOf(severity)});
+        }
+    }
+}
@@ -3,7 +3,8 @@ package aerodesk.ui;
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
 import aerodesk.util.IconManager;
-import aerodesk.dao.FlightDAO;
+import aerodesk.util.CsvUtils;
+import aerodesk.dao.FlightRepository;
 import aerodesk.model.Flight;
 import aerodesk.exception.DatabaseException;
 
@@ -55,7 +56,7 @@ public class FlightSchedulingFrame extends JFrame {
     private JLabel statusLabel;
     private JProgressBar progressBar;
     
-    private FlightDAO flightDAO;
+    private FlightRepository flightRepository;
     private Flight selectedFlight;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     
@@ -63,10 +64,14 @@ public class FlightSchedulingFrame extends JFrame {
     private static final Pattern FLIGHT_NUMBER_PATTERN = Pattern.compile("^[A-Z]{2}\\d{3,4}$");
     private static final Pattern AIRPORT_CODE_PATTERN = Pattern.compile("^[A-Z]{3}$");
     
+    // Background loads for the flights table
+    private final AsyncLoader loader;
+    
     public FlightSchedulingFrame() {
-        this.flightDAO = new FlightDAO();
+        this.flightRepository = FlightRepository.getInstance();
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         configureWindow();
         loadFlights();
@@ -693,7 +698,7 @@ public class FlightSchedulingFrame extends JFrame {
         
         // Find and set selected flight
         try {
-            List<Flight> flights = flightDAO.getAllFlights();
+            List<Flight> flights = flightRepository.getAllFlights();
             for (Flight flight : flights) {
                 if (flight.getFlightNo().equals(flightNo)) {
                     selectedFlight = flight;
@@ -858,13 +863,12 @@ public class FlightSchedulingFrame extends JFrame {
             writer.println("Flight No,Origin,Destination,Departure,Arrival,Aircraft,Status");
             
             // Write data
+            Object[] row = new Object[tableModel.getColumnCount()];
             for (int i = 0; i < tableModel.getRowCount(); i++) {
-                StringBuilder line = new StringBuilder();
-                for (int j = 0; j < tableModel.getColumnCount(); j++) {
-                    if (j > 0) line.append(",");
-                    line.append("\"").append(tableModel.getValueAt(i, j)).append("\"");
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = tableModel.getValueAt(i, j);
                 }
-                writer.println(line.toString());
+                writer.println(CsvUtils.formatLine(row));
             }
         }
     }
@@ -880,7 +884,7 @@ public class FlightSchedulingFrame extends JFrame {
                     continue; // Skip header
                 }
                 
-                String[] values = parseCSVLine(line);
+                String[] values = CsvUtils.parseLine(line);
                 if (values.length >= 7) {
                     try {
                         Flight flight = new Flight(
@@ -892,7 +896,7 @@ public class FlightSchedulingFrame extends JFrame {
                             values[5]  // aircraftType
                         );
                         flight.setStatus(Flight.FlightStatus.valueOf(values[6]));
-                        flightDAO.createFlight(flight);
+                        flightRepository.createFlight(flight);
                     } catch (Exception ex) {
                         FileLogger.getInstance().logWarning("Skipping invalid flight data: " + line);
                     }
@@ -901,26 +905,6 @@ public class FlightSchedulingFrame extends JFrame {
         }
     }
     
-    private String[] parseCSVLine(String line) {
-        java.util.List<String> result = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder current = new StringBuilder();
-        
-        for (char c : line.toCharArray()) {
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString().trim());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        result.add(current.toString().trim());
-        
-        return result.toArray(new String[0]);
-    }
-    
     // ========== VALIDATION METHODS ==========
     
     private boolean validateFlightNumber(String flightNo) {
@@ -991,7 +975,7 @@ public class FlightSchedulingFrame extends JFrame {
                     return;
                 }
                 
-                flightDAO.createFlight(flight);
+                flightRepository.createFlight(flight);
                 hideProgress();
                 FileLogger.getInstance().logInfo("Flight created: " + flight.getFlightNo());
                 updateStatus("Flight created successfully", ThemeManager.SUCCESS_GREEN);
@@ -1019,7 +1003,7 @@ public class FlightSchedulingFrame extends JFrame {
                 showProgress("Updating flight...");
                 
                 flight.setFlightId(selectedFlight.getFlightId());
-                flightDAO.updateFlight(flight);
+                flightRepository.updateFlight(flight);
                 hideProgress();
                 FileLogger.getInstance().logInfo("Flight updated: " + flight.getFlightNo());
                 updateStatus("Flight updated successfully", ThemeManager.SUCCESS_GREEN);
@@ -1050,7 +1034,7 @@ public class FlightSchedulingFrame extends JFrame {
         if (choice == JOptionPane.YES_OPTION) {
             try {
                 showProgress("Deleting flight...");
-                flightDAO.deleteFlight(selectedFlight.getFlightId());
+                flightRepository.deleteFlight(selectedFlight.getFlightId());
                 hideProgress();
                 FileLogger.getInstance().logInfo("Flight deleted: " + selectedFlight.getFlightNo());
                 updateStatus("Flight deleted successfully", ThemeManager.SUCCESS_GREEN);
@@ -1068,7 +1052,7 @@ public class FlightSchedulingFrame extends JFrame {
     
     private boolean checkFlightConflicts(Flight newFlight) {
         try {
-            List<Flight> existingFlights = flightDAO.getAllFlights();
+            List<Flight> existingFlights = flightRepository.getAllFlights();
             
             for (Flight existing : existingFlights) {
                 // Check for same flight number
@@ -1144,9 +1128,8 @@ public class FlightSchedulingFrame extends JFrame {
     }
     
     private void loadFlights() {
-        try {
-            showProgress("Loading flights...");
-            List<Flight> flights = flightDAO.getAllFlights();
+        showProgress("Loading flights...");
+        loader.latest("flights", flightRepository::getAllFlights, flights -> {
             tableModel.setRowCount(0);
             
             for (Flight flight : flights) {
@@ -1165,11 +1148,10 @@ public class FlightSchedulingFrame extends JFrame {
             hideProgress();
             FileLogger.getInstance().logInfo("Loaded " + flights.size() + " flights");
             updateStatus("Loaded " + flights.size() + " flights", ThemeManager.SUCCESS_GREEN);
-        } catch (DatabaseException ex) {
+        }, ex -> {
             hideProgress();
-            FileLogger.getInstance().logError("Error loading flights: " + ex.getMessage());
             updateStatus("Load failed", ThemeManager.ERROR_RED);
             JOptionPane.showMessageDialog(this, "Error loading flights: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 } 
\ No newline at end of file
@@ -2,12 +2,14 @@ package aerodesk.ui;
 
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
-import aerodesk.dao.FlightDAO;
+import aerodesk.dao.FlightRepository;
 import aerodesk.dao.GateDAO;
 import aerodesk.model.Flight;
 import aerodesk.model.GateAssignment;
 import aerodesk.exception.DatabaseException;
 import aerodesk.util.ApiIntegrator;
+import aerodesk.util.StatusCounter;
+import aerodesk.util.TaskScheduler;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -19,9 +21,10 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -70,10 +73,11 @@ public class FlightStatusFrame extends JFrame {
     private JLabel connectionStatusLabel;
     
     // Data access objects
-    private FlightDAO flightDAO;
+    private FlightRepository flightRepository;
     private GateDAO gateDAO;
     private ApiIntegrator apiIntegrator;
-    private ScheduledExecutorService updateScheduler;
+    private final TaskScheduler updateScheduler = TaskScheduler.getInstance();
+    private final AsyncLoader loader;
     
     // State management
     private boolean liveUpdatesActive = false;
@@ -85,13 +89,13 @@ public class FlightStatusFrame extends JFrame {
     private Timer searchTimer;
     
     public FlightStatusFrame() {
-        this.flightDAO = new FlightDAO();
+        this.flightRepository = FlightRepository.getInstance();
         this.gateDAO = new GateDAO();
         this.apiIntegrator = new ApiIntegrator();
-        this.updateScheduler = Executors.newScheduledThreadPool(2);
         
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         configureWindow();
         loadFlightData();
@@ -488,24 +492,12 @@ public class FlightStatusFrame extends JFrame {
         progressBar.setVisible(true);
         progressBar.setIndeterminate(true);
         
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                loadFlightData();
-                loadWeatherData();
-                updateSystemStatus();
-                updateApiStatus();
-                return null;
-            }
-            
-            @Override
-            protected void done() {
-                progressBar.setVisible(false);
-                lastUpdateLabel.setText("Last Update: " + LocalDateTime.now().format(dateFormatter));
-                FileLogger.getInstance().logInfo("Flight status data refreshed manually");
-            }
-        };
-        worker.execute();
+        // The flight table load hides the progress bar when it is delivered
+        loadFlightData();
+        loadWeatherData();
+        updateSystemStatus();
+        updateApiStatus();
+        FileLogger.getInstance().logInfo("Flight status data refreshed manually");
     }
     
     private void handleStartLiveUpdates() {
@@ -516,14 +508,14 @@ public class FlightStatusFrame extends JFrame {
         liveStatusLabel.setForeground(ThemeManager.SUCCESS_GREEN);
         
         // Schedule periodic updates every 30 seconds
-        updateScheduler.scheduleAtFixedRate(() -> {
+        updateScheduler.scheduleAtFixedRate(this, "FlightStatus.liveUpdates", () -> {
             if (liveUpdatesActive) {
+                // The loaders read the selected weather location, so start them on the EDT
                 SwingUtilities.invokeLater(() -> {
                     loadFlightData();
                     loadWeatherData();
                     updateSystemStatus();
                     updateApiStatus();
-                    lastUpdateLabel.setText("Last Update: " + LocalDateTime.now().format(dateFormatter));
                 });
             }
         }, 30, 30, TimeUnit.SECONDS);
@@ -537,6 +529,7 @@ public class FlightStatusFrame extends JFrame {
     
     private void handleStopLiveUpdates() {
         liveUpdatesActive = false;
+        updateScheduler.cancel(this, "FlightStatus.liveUpdates");
         startLiveUpdatesButton.setEnabled(true);
         stopLiveUpdatesButton.setEnabled(false);
         liveStatusLabel.setText("Live Updates: Inactive");
@@ -611,7 +604,7 @@ public class FlightStatusFrame extends JFrame {
             int modelRow = flightsTable.convertRowIndexToModel(selectedRow);
             String flightNo = flightsTableModel.getValueAt(modelRow, 0).toString();
             try {
-                selectedFlight = flightDAO.getFlightByNumber(flightNo);
+                selectedFlight = flightRepository.getFlightByNumber(flightNo);
             } catch (DatabaseException ex) {
                 FileLogger.getInstance().logError("Error getting selected flight: " + ex.getMessage());
             }
@@ -625,116 +618,128 @@ public class FlightStatusFrame extends JFrame {
     }
     
     private void showEnhancedFlightDetails(Flight flight) {
-        StringBuilder details = new StringBuilder();
-        details.append("Flight Details for ").append(flight.getFlightNo()).append("\n");
-        details.append("=====================================\n\n");
-        details.append("Origin: ").append(flight.getOrigin()).append("\n");
-        details.append("Destination: ").append(flight.getDestination()).append("\n");
-        details.append("Aircraft: ").append(flight.getAircraftType()).append("\n");
-        details.append("Status: ").append(flight.getStatus()).append("\n\n");
-        
-        if (flight.getDepartTime() != null) {
-            details.append("Departure: ").append(flight.getDepartTime().format(dateFormatter)).append("\n");
-        }
-        if (flight.getArriveTime() != null) {
-            details.append("Arrival: ").append(flight.getArriveTime().format(dateFormatter)).append("\n");
-        }
-        
-        // Get gate assignment
-        try {
-            List<GateAssignment> assignments = gateDAO.getAllAssignments();
-            for (GateAssignment assignment : assignments) {
-                if (assignment.getFlightId() == flight.getFlightId()) {
-                    details.append("Gate: ").append(assignment.getGateId()).append("\n");
-                    break;
+        // The gate lookup and the API call block, so build the text off the EDT
+        loader.latest("flightDetails", () -> {
+            StringBuilder details = new StringBuilder();
+            details.append("Flight Details for ").append(flight.getFlightNo()).append("\n");
+            details.append("=====================================\n\n");
+            details.append("Origin: ").append(flight.getOrigin()).append("\n");
+            details.append("Destination: ").append(flight.getDestination()).append("\n");
+            details.append("Aircraft: ").append(flight.getAircraftType()).append("\n");
+            details.append("Status: ").append(flight.getStatus()).append("\n\n");
+            
+            if (flight.getDepartTime() != null) {
+                details.append("Departure: ").append(flight.getDepartTime().format(dateFormatter)).append("\n");
+            }
+            if (flight.getArriveTime() != null) {
+                details.append("Arrival: ").append(flight.getArriveTime().format(dateFormatter)).append("\n");
+            }
+            
+            // Get gate assignment
+            try {
+                List<GateAssignment> assignments = gateDAO.getAllAssignments();
+                for (GateAssignment assignment : assignments) {
+                    if (assignment.getFlightId() == flight.getFlightId()) {
+                        details.append("Gate: ").append(assignment.getGateId()).append("\n");
+                        break;
+                    }
                 }
+            } catch (DatabaseException ex) {
+                details.append("Gate: Not assigned\n");
             }
-        } catch (DatabaseException ex) {
-            details.append("Gate: Not assigned\n");
-        }
-        
-        // Calculate delay information
-        String delayInfo = calculateEnhancedDelay(flight);
-        details.append("Delay Status: ").append(delayInfo).append("\n");
-        
-        // Try to get real-time API data
-        try {
-            String apiData = ApiIntegrator.getFlightData(flight.getFlightNo());
-            if (apiData != null && !apiData.contains("mock")) {
-                details.append("\nReal-time API Data:\n");
-                details.append("API Status: Available\n");
-                details.append("Live Tracking: Active\n");
-            } else {
+            
+            // Calculate delay information
+            String delayInfo = calculateEnhancedDelay(flight);
+            details.append("Delay Status: ").append(delayInfo).append("\n");
+            
+            // Try to get real-time API data
+            try {
+                String apiData = ApiIntegrator.getFlightData(flight.getFlightNo());
+                if (apiData != null && !apiData.contains("mock")) {
+                    details.append("\nReal-time API Data:\n");
+                    details.append("API Status: Available\n");
+                    details.append("Live Tracking: Active\n");
+                } else {
+                    details.append("\nReal-time API Data:\n");
+                    details.append("API Status: Using Mock Data\n");
+                    details.append("Live Tracking: Simulated\n");
+                }
+            } catch (Exception ex) {
                 details.append("\nReal-time API Data:\n");
-                details.append("API Status: Using Mock Data\n");
-                details.append("Live Tracking: Simulated\n");
+                details.append("API Status: Unavailable\n");
+                details.append("Live Tracking: Offline\n");
             }
-        } catch (Exception ex) {
-            details.append("\nReal-time API Data:\n");
-            details.append("API Status: Unavailable\n");
-            details.append("Live Tracking: Offline\n");
-        }
-        
-        JTextArea detailsArea = new JTextArea(details.toString());
-        detailsArea.setEditable(false);
-        detailsArea.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        detailsArea.setLineWrap(true);
-        detailsArea.setWrapStyleWord(true);
-        
-        JScrollPane scrollPane = new JScrollPane(detailsArea);
-        scrollPane.setPreferredSize(new Dimension(500, 400));
-        
-        JOptionPane.showMessageDialog(this, 
-            scrollPane, 
-            "Flight Details - " + flight.getFlightNo(), 
-            JOptionPane.INFORMATION_MESSAGE);
+            
+            return details.toString();
+        }, details -> {
+            JTextArea detailsArea = new JTextArea(details);
+            detailsArea.setEditable(false);
+            detailsArea.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            detailsArea.setLineWrap(true);
+            detailsArea.setWrapStyleWord(true);
+            
+            JScrollPane scrollPane = new JScrollPane(detailsArea);
+            scrollPane.setPreferredSize(new Dimension(500, 400));
+            
+            JOptionPane.showMessageDialog(this, 
+                scrollPane, 
+                "Flight Details - " + flight.getFlightNo(), 
+                JOptionPane.INFORMATION_MESSAGE);
+        }, ex -> {
+            FileLogger.getInstance().logError("Failed to load flight details: " + ex.getMessage());
+            JOptionPane.showMessageDialog(this, 
+                "Failed to load flight details: " + ex.getMessage(), 
+                "Error", 
+                JOptionPane.ERROR_MESSAGE);
+        });
     }
     
     private void loadFlightData() {
-        try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            flightsTableModel.setRowCount(0);
+        loader.refresh("flights", () -> {
+            List<Flight> flights = flightRepository.getAllFlights();
+            
+            // Get gate assignments once rather than once per flight
+            Map<Integer, Integer> gateByFlight = new HashMap<>();
+            for (GateAssignment assignment : gateDAO.getAllAssignments()) {
+                gateByFlight.putIfAbsent(assignment.getFlightId(), assignment.getGateId());
+            }
             
+            List<Object[]> rows = new ArrayList<>(flights.size());
             for (Flight flight : flights) {
-                try {
-                    // Get gate assignment
-                    String gateInfo = "Not Assigned";
-                    List<GateAssignment> assignments = gateDAO.getAllAssignments();
-                    for (GateAssignment assignment : assignments) {
-                        if (assignment.getFlightId() == flight.getFlightId()) {
-                            gateInfo = "Gate " + assignment.getGateId();
-                            break;
-                        }
-                    }
-                    
-                    // Calculate enhanced delay
-                    String delayInfo = calculateEnhancedDelay(flight);
-                    
-                    Object[] row = {
-                        flight.getFlightNo(),
-                        flight.getOrigin(),
-                        flight.getDestination(),
-                        flight.getDepartTime() != null ? flight.getDepartTime().format(shortDateFormatter) : "N/A",
-                        flight.getArriveTime() != null ? flight.getArriveTime().format(shortDateFormatter) : "N/A",
-                        flight.getStatus(),
-                        gateInfo,
-                        delayInfo,
-                        flight.getAircraftType()
-                    };
-                    flightsTableModel.addRow(row);
-                } catch (DatabaseException ex) {
-                    FileLogger.getInstance().logError("Error loading gate info for flight: " + ex.getMessage());
-                }
+                Integer gateId = gateByFlight.get(flight.getFlightId());
+                String gateInfo = gateId != null ? "Gate " + gateId : "Not Assigned";
+                
+                // Calculate enhanced delay
+                String delayInfo = calculateEnhancedDelay(flight);
+                
+                rows.add(new Object[]{
+                    flight.getFlightNo(),
+                    flight.getOrigin(),
+                    flight.getDestination(),
+                    flight.getDepartTime() != null ? flight.getDepartTime().format(shortDateFormatter) : "N/A",
+                    flight.getArriveTime() != null ? flight.getArriveTime().format(shortDateFormatter) : "N/A",
+                    flight.getStatus(),
+                    gateInfo,
+                    delayInfo,
+                    flight.getAircraftType()
+                });
+            }
+            return rows;
+        }, rows -> {
+            flightsTableModel.setRowCount(0);
+            for (Object[] row : rows) {
+                flightsTableModel.addRow(row);
             }
             
             updateStats();
-            FileLogger.getInstance().logInfo("Loaded " + flights.size() + " flights for status display");
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load flight data: " + ex.getMessage());
+            progressBar.setVisible(false);
+            lastUpdateLabel.setText("Last Update: " + LocalDateTime.now().format(dateFormatter));
+            FileLogger.getInstance().logInfo("Loaded " + rows.size() + " flights for status display");
+        }, ex -> {
+            progressBar.setVisible(false);
             connectionStatusLabel.setText("Database: Error");
             connectionStatusLabel.setForeground(ThemeManager.ERROR_RED);
-        }
+        });
     }
     
     private String calculateEnhancedDelay(Flight flight) {
@@ -773,21 +778,19 @@ public class FlightStatusFrame extends JFrame {
     }
     
     private void loadWeatherData() {
-        try {
-            String selectedLocation = weatherLocationComboBox.getSelectedItem().toString();
-            String cityName = extractCityName(selectedLocation);
-            
-            String weatherInfo = apiIntegrator.getWeatherData(cityName);
+        String selectedLocation = weatherLocationComboBox.getSelectedItem().toString();
+        String cityName = extractCityName(selectedLocation);
+        
+        // Changing location again cancels the lookup for the previous one
+        loader.latest("weather", () -> apiIntegrator.getWeatherData(cityName), weatherInfo -> {
             weatherArea.setText(formatWeatherData(weatherInfo, selectedLocation));
             weatherLabel.setText("Weather: " + selectedLocation + " - Updated");
             weatherLabel.setForeground(ThemeManager.SUCCESS_GREEN);
-        } catch (Exception ex) {
-            String selectedLocation = weatherLocationComboBox.getSelectedItem().toString();
+        }, ex -> {
             weatherArea.setText(getMockWeatherForLocation(selectedLocation));
             weatherLabel.setText("Weather: " + selectedLocation + " - Using Mock Data");
             weatherLabel.setForeground(ThemeManager.WARNING_AMBER);
-            FileLogger.getInstance().logError("Error loading weather data: " + ex.getMessage());
-        }
+        });
     }
     
     private String extractCityName(String locationString) {
@@ -821,7 +824,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 70%\n" +
                        "Pressure: 1012 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Los Angeles":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -832,7 +835,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 45%\n" +
                        "Pressure: 1015 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Chicago":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -843,7 +846,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 80%\n" +
                        "Pressure: 1008 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Atlanta":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -854,7 +857,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 60%\n" +
                        "Pressure: 1014 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Dallas":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -865,7 +868,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 55%\n" +
                        "Pressure: 1010 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Miami":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -876,7 +879,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 75%\n" +
                        "Pressure: 1013 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Denver":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -887,7 +890,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 40%\n" +
                        "Pressure: 1005 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Seattle":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -898,7 +901,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 85%\n" +
                        "Pressure: 1010 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "San Francisco":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -909,7 +912,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 80%\n" +
                        "Pressure: 1012 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Boston":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -920,7 +923,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 65%\n" +
                        "Pressure: 1011 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Las Vegas":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -931,7 +934,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 25%\n" +
                        "Pressure: 1008 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             case "Phoenix":
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -942,7 +945,7 @@ public class FlightStatusFrame extends JFrame {
                        "Humidity: 20%\n" +
                        "Pressure: 1006 hPa\n\n" +
                        "Note: Using simulated weather data";
-                       
+            
             default:
                 return "Weather Information for " + location + "\n" +
                        "=====================================\n\n" +
@@ -957,86 +960,102 @@ public class FlightStatusFrame extends JFrame {
     }
     
     private void updateSystemStatus() {
-        StringBuilder status = new StringBuilder();
         LocalDateTime now = LocalDateTime.now();
+        boolean live = liveUpdatesActive;
         
-        status.append("System Status Report\n");
-        status.append("===================\n\n");
-        status.append("Timestamp: ").append(now.format(dateFormatter)).append("\n");
-        status.append("Live Updates: ").append(liveUpdatesActive ? "Active" : "Inactive").append("\n");
-        
-        try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            long activeFlights = flights.stream()
-                .filter(f -> f.getStatus() == Flight.FlightStatus.ON_TIME || 
-                           f.getStatus() == Flight.FlightStatus.DEPARTED ||
-                           f.getStatus() == Flight.FlightStatus.DELAYED)
-                .count();
-            
-            long delayedFlights = flights.stream()
-                .filter(f -> f.getStatus() == Flight.FlightStatus.DELAYED)
-                .count();
+        loader.refresh("systemStatus", () -> {
+            List<Flight> flights = flightRepository.getAllFlights();
+            StatusCounter<Flight.FlightStatus> counts = StatusCounter.of(Flight.FlightStatus.class);
+            for (Flight flight : flights) {
+                counts.add(flight.getStatus());
+            }
+            long activeFlights = counts.sum(Flight.FlightStatus.ON_TIME, 
+                                            Flight.FlightStatus.DEPARTED, 
+                                            Flight.FlightStatus.DELAYED);
+            long delayedFlights = counts.get(Flight.FlightStatus.DELAYED);
             
-            status.append("Total Flights: ").append(flights.size()).append("\n");
-            status.append("Active Flights: ").append(activeFlights).append("\n");
-            status.append("Delayed Flights: ").append(delayedFlights).append("\n");
+            StringBuilder database = new StringBuilder();
+            database.append("Total Flights: ").append(flights.size()).append("\n");
+            database.append("Active Flights: ").append(activeFlights).append("\n");
+            database.append("Delayed Flights: ").append(delayedFlights).append("\n");
             
             List<GateAssignment> assignments = gateDAO.getAllAssignments();
-            status.append("Gate Assignments: ").append(assignments.size()).append("\n");
-            
+            database.append("Gate Assignments: ").append(assignments.size()).append("\n");
+            return database.toString();
+        }, database -> {
+            systemStatusArea.setText(formatSystemStatus(now, live, database));
             connectionStatusLabel.setText("Database: Connected");
             connectionStatusLabel.setForeground(ThemeManager.SUCCESS_GREEN);
-            
-        } catch (DatabaseException ex) {
-            status.append("Database Status: Error - ").append(ex.getMessage()).append("\n");
+        }, ex -> {
+            systemStatusArea.setText(formatSystemStatus(now, live, "Database Status: Error - " + ex.getMessage() + "\n"));
             connectionStatusLabel.setText("Database: Error");
             connectionStatusLabel.setForeground(ThemeManager.ERROR_RED);
-        }
+        });
+    }
+    
+    private String formatSystemStatus(LocalDateTime now, boolean live, String database) {
+        StringBuilder status = new StringBuilder();
+        
+        status.append("System Status Report\n");
+        status.append("===================\n\n");
+        status.append("Timestamp: ").append(now.format(dateFormatter)).append("\n");
+        status.append("Live Updates: ").append(live ? "Active" : "Inactive").append("\n");
+        status.append(database);
         
         status.append("\nSystem Memory: ").append(Runtime.getRuntime().totalMemory() / 1024 / 1024).append(" MB\n");
         status.append("Free Memory: ").append(Runtime.getRuntime().freeMemory() / 1024 / 1024).append(" MB\n");
         status.append("Last Refresh: ").append(now.format(dateFormatter)).append("\n");
-        
-        systemStatusArea.setText(status.toString());
+        return status.toString();
     }
     
     private void updateApiStatus() {
-        StringBuilder status = new StringBuilder();
         LocalDateTime now = LocalDateTime.now();
-        
-        status.append("API Status Report\n");
-        status.append("=================\n\n");
-        
-        // Check Aviation Stack API
-        boolean aviationStackAvailable = apiIntegrator.isAviationStackAvailable();
-        status.append("Aviation Stack API: ").append(aviationStackAvailable ? "Available" : "Unavailable").append("\n");
-        
-        // Check general API availability
-        boolean apiAvailable = apiIntegrator.isApiAvailable();
-        status.append("Weather API: ").append(apiAvailable ? "Available" : "Unavailable").append("\n");
-        
-        // API response times (simulated)
-        status.append("Avg Response Time: ").append(aviationStackAvailable ? "~2.5s" : "N/A").append("\n");
-        status.append("Last API Call: ").append(now.format(dateFormatter)).append("\n");
-        
-        // API usage statistics
-        status.append("\nAPI Usage:\n");
-        status.append("- Flight Tracking: ").append(aviationStackAvailable ? "Active" : "Offline").append("\n");
-        status.append("- Weather Data: ").append(apiAvailable ? "Active" : "Mock Data").append("\n");
-        status.append("- Live Updates: ").append(liveUpdatesActive ? "Enabled" : "Disabled").append("\n");
-        
-        apiStatusArea.setText(status.toString());
-        
-        if (aviationStackAvailable && apiAvailable) {
-            apiStatusLabel.setText("API Status: All Systems Operational");
-            apiStatusLabel.setForeground(ThemeManager.SUCCESS_GREEN);
-        } else if (aviationStackAvailable || apiAvailable) {
-            apiStatusLabel.setText("API Status: Partial Availability");
-            apiStatusLabel.setForeground(ThemeManager.WARNING_AMBER);
-        } else {
+        boolean live = liveUpdatesActive;
+        
+        // Both checks are network round trips
+        loader.refresh("apiStatus", () -> new boolean[]{
+            apiIntegrator.isAviationStackAvailable(),
+            apiIntegrator.isApiAvailable()
+        }, available -> {
+            boolean aviationStackAvailable = available[0];
+            boolean apiAvailable = available[1];
+            StringBuilder status = new StringBuilder();
+            
+            status.append("API Status Report\n");
+            status.append("=================\n\n");
+            
+            // Check Aviation Stack API
+            status.append("Aviation Stack API: ").append(aviationStackAvailable ? "Available" : "Unavailable").append("\n");
+            
+            // Check general API availability
+            status.append("Weather API: ").append(apiAvailable ? "Available" : "Unavailable").append("\n");
+            
+            // API response times (simulated)
+            status.append("Avg Response Time: ").append(aviationStackAvailable ? "~2.5s" : "N/A").append("\n");
+            status.append("Last API Call: ").append(now.format(dateFormatter)).append("\n");
+            
+            // API usage statistics
+            status.append("\nAPI Usage:\n");
+            status.append("- Flight Tracking: ").append(aviationStackAvailable ? "Active" : "Offline").append("\n");
+            status.append("- Weather Data: ").append(apiAvailable ? "Active" : "Mock Data").append("\n");
+            status.append("- Live Updates: ").append(live ? "Enabled" : "Disabled").append("\n");
+            
+            apiStatusArea.setText(status.toString());
+            
+            if (aviationStackAvailable && apiAvailable) {
+                apiStatusLabel.setText("API Status: All Systems Operational");
+                apiStatusLabel.setForeground(ThemeManager.SUCCESS_GREEN);
+            } else if (aviationStackAvailable || apiAvailable) {
+                apiStatusLabel.setText("API Status: Partial Availability");
+                apiStatusLabel.setForeground(ThemeManager.WARNING_AMBER);
+            } else {
+                apiStatusLabel.setText("API Status: Using Mock Data");
+                apiStatusLabel.setForeground(ThemeManager.ERROR_RED);
+            }
+        }, ex -> {
             apiStatusLabel.setText("API Status: Using Mock Data");
             apiStatusLabel.setForeground(ThemeManager.ERROR_RED);
-        }
+        });
     }
     
     private void updateStats() {
@@ -1069,10 +1088,8 @@ public class FlightStatusFrame extends JFrame {
     @Override
     public void dispose() {
         // Clean up resources
-        if (updateScheduler != null && !updateScheduler.isShutdown()) {
-            liveUpdatesActive = false;
-            updateScheduler.shutdown();
-        }
+        liveUpdatesActive = false;
+        updateScheduler.cancelAll(this);
         if (searchTimer != null) {
             searchTimer.stop();
         }
@@ -3,10 +3,11 @@ package aerodesk.ui;
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
 import aerodesk.dao.GateDAO;
-import aerodesk.dao.FlightDAO;
+import aerodesk.dao.FlightRepository;
 import aerodesk.model.Gate;
 import aerodesk.model.GateAssignment;
 import aerodesk.model.Flight;
+import aerodesk.service.GateAllocationService;
 import aerodesk.exception.DatabaseException;
 import aerodesk.exception.GateConflictException;
 
@@ -20,10 +21,13 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import javax.swing.Timer;
 
 /**
@@ -54,6 +58,7 @@ public class GateManagementFrame extends JFrame {
     private JButton removeAssignmentButton;
     private JButton exportButton;
     private JButton conflictCheckButton;
+    private JButton autoAllocateButton;
     
     // Status and progress
     private JLabel statusLabel;
@@ -63,7 +68,7 @@ public class GateManagementFrame extends JFrame {
     
     // Data components
     private GateDAO gateDAO;
-    private FlightDAO flightDAO;
+    private FlightRepository flightRepository;
     private Gate selectedGate;
     private GateAssignment selectedAssignment;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
@@ -71,11 +76,15 @@ public class GateManagementFrame extends JFrame {
     // Search timer for debouncing
     private Timer searchTimer;
     
+    // Background loads for the gate and assignment tables
+    private final AsyncLoader loader;
+    
     public GateManagementFrame() {
         this.gateDAO = new GateDAO();
-        this.flightDAO = new FlightDAO();
+        this.flightRepository = FlightRepository.getInstance();
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         configureWindow();
         loadGates();
@@ -99,6 +108,7 @@ public class GateManagementFrame extends JFrame {
         removeAssignmentButton = new JButton("Remove Assignment");
         exportButton = new JButton("Export Data");
         conflictCheckButton = new JButton("Check Conflicts");
+        autoAllocateButton = new JButton("Auto Allocate");
         
         // Status components
         statusLabel = new JLabel("Ready");
@@ -123,6 +133,7 @@ public class GateManagementFrame extends JFrame {
         styleEnhancedButton(removeAssignmentButton, "Remove Assignment", ThemeManager.WARNING_AMBER, ThemeManager.WHITE);
         styleEnhancedButton(exportButton, "Export Data", ThemeManager.SECONDARY_BLUE, ThemeManager.WHITE);
         styleEnhancedButton(conflictCheckButton, "Check Conflicts", ThemeManager.PRIMARY_BLUE, ThemeManager.WHITE);
+        styleEnhancedButton(autoAllocateButton, "Auto Allocate", ThemeManager.SUCCESS_GREEN, ThemeManager.WHITE);
         
         // Search button styling
         styleEnhancedButton(searchButton, "Search", ThemeManager.PRIMARY_BLUE, ThemeManager.WHITE);
@@ -435,6 +446,7 @@ public class GateManagementFrame extends JFrame {
         actionButtonPanel.add(removeAssignmentButton);
         actionButtonPanel.add(exportButton);
         actionButtonPanel.add(conflictCheckButton);
+        actionButtonPanel.add(autoAllocateButton);
         
         // Status panel
         JPanel statusPanel = new JPanel(new BorderLayout(10, 0));
@@ -469,7 +481,8 @@ public class GateManagementFrame extends JFrame {
         removeAssignmentButton.addActionListener(e -> handleRemoveAssignment());
         exportButton.addActionListener(e -> handleExportData());
         conflictCheckButton.addActionListener(e -> handleConflictCheck());
-        
+        autoAllocateButton.addActionListener(e -> handleAutoAllocate());
+                 
                  // Search field event handler
          searchField.addKeyListener(new KeyAdapter() {
              @Override
@@ -559,7 +572,7 @@ public class GateManagementFrame extends JFrame {
                         "Error", 
                         JOptionPane.ERROR_MESSAGE);
                 }
-                
+            
             } catch (DatabaseException ex) {
                 FileLogger.getInstance().logError("Failed to delete gate: " + ex.getMessage());
                 JOptionPane.showMessageDialog(this, 
@@ -660,7 +673,7 @@ public class GateManagementFrame extends JFrame {
                 dialog.dispose();
                 loadGates();
                 updateStats();
-                
+            
             } catch (DatabaseException ex) {
                 FileLogger.getInstance().logError("Failed to add gate: " + ex.getMessage());
                 JOptionPane.showMessageDialog(dialog, 
@@ -778,9 +791,9 @@ public class GateManagementFrame extends JFrame {
                 gate.setGateName(gateName);
                 gate.setTerminal(terminal);
                 gate.setStatus(Gate.GateStatus.valueOf(status));
-                
+                                 
                                  boolean updated = gateDAO.updateGate(gate);
-                
+                                 
                                  FileLogger.getInstance().logInfo("Edited gate: " + gate.getGateName());
                 JOptionPane.showMessageDialog(dialog, 
                     "Gate updated successfully!", 
@@ -790,7 +803,7 @@ public class GateManagementFrame extends JFrame {
                 dialog.dispose();
                 loadGates();
                 updateStats();
-                
+            
             } catch (DatabaseException ex) {
                 FileLogger.getInstance().logError("Failed to edit gate: " + ex.getMessage());
                 JOptionPane.showMessageDialog(dialog, 
@@ -865,7 +878,7 @@ public class GateManagementFrame extends JFrame {
         
         // Load flights
         try {
-            List<Flight> flights = flightDAO.getAllFlights();
+            List<Flight> flights = flightRepository.getAllFlights();
             for (Flight flight : flights) {
                 flightComboBox.addItem(flight);
             }
@@ -911,7 +924,7 @@ public class GateManagementFrame extends JFrame {
                 
                 dialog.dispose();
                 loadAssignments();
-                
+            
             } catch (GateConflictException ex) {
                 FileLogger.getInstance().logError("Gate conflict: " + ex.getMessage());
                 JOptionPane.showMessageDialog(dialog, 
@@ -973,7 +986,7 @@ public class GateManagementFrame extends JFrame {
                         "Error", 
                         JOptionPane.ERROR_MESSAGE);
                 }
-                
+            
             } catch (DatabaseException ex) {
                 FileLogger.getInstance().logError("Failed to remove assignment: " + ex.getMessage());
                 JOptionPane.showMessageDialog(this, 
@@ -992,74 +1005,135 @@ public class GateManagementFrame extends JFrame {
     }
     
     private void handleExportData() {
-        try {
+        String exportPath = System.getProperty("user.home") + "/aerodesk_gate_data.csv";
+        statusLabel.setText("Exporting gate data...");
+        // Queries and file write run off the EDT; a second click while exporting is ignored
+        loader.refresh("export", () -> {
             List<Gate> gates = gateDAO.getAllGates();
             List<GateAssignment> assignments = gateDAO.getAllAssignments();
             
-                         String csvContent = "Gate,Status,Created At\n";
-             for (Gate gate : gates) {
-                 csvContent += gate.getGateName() + "," + gate.getStatus().name() + "," +
-                                (gate.getCreatedAt() != null ? gate.getCreatedAt().format(dateFormatter) : "N/A") + "\n";
-             }
+            // Gate names come from the gate list already loaded, not one query per assignment
+            Map<Integer, String> gateNames = new HashMap<>();
+            StringBuilder csvContent = new StringBuilder("Gate,Status,Created At\n");
+            for (Gate gate : gates) {
+                gateNames.put(gate.getGateId(), gate.getGateName());
+                csvContent.append(gate.getGateName()).append(",").append(gate.getStatus().name()).append(",")
+                          .append(gate.getCreatedAt() != null ? gate.getCreatedAt().format(dateFormatter) : "N/A").append("\n");
+            }
             
-            csvContent += "\nAssignment,Gate,Flight No,Assigned From,Assigned To,Status\n";
+            csvContent.append("\nAssignment,Gate,Flight No,Assigned From,Assigned To,Status\n");
             for (GateAssignment assignment : assignments) {
-                try {
-                    Gate gate = gateDAO.getGateById(assignment.getGateId());
-                    Flight flight = flightDAO.getFlightById(assignment.getFlightId());
-                    
-                    String gateInfo = gate != null ? gate.getGateName() : "Unknown";
-                    String flightInfo = flight != null ? flight.getFlightNo() : "Unknown";
-                    
-                                         csvContent += assignment.getAssignmentId() + "," +
-                                    gateInfo + "," +
-                                    flightInfo + "," +
-                                    (assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A") + "," +
-                                    (assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A") + "\n";
-                } catch (DatabaseException ex) {
-                    FileLogger.getInstance().logError("Error exporting assignment details: " + ex.getMessage());
-                }
+                Flight flight = flightRepository.getFlightById(assignment.getFlightId());
+                
+                String gateInfo = gateNames.getOrDefault(assignment.getGateId(), "Unknown");
+                String flightInfo = flight != null ? flight.getFlightNo() : "Unknown";
+                
+                csvContent.append(assignment.getAssignmentId()).append(",")
+                          .append(gateInfo).append(",")
+                          .append(flightInfo).append(",")
+                          .append(assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A").append(",")
+                          .append(assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A").append("\n");
             }
             
+            try (java.io.PrintWriter writer = new java.io.PrintWriter(exportPath)) {
+                writer.write(csvContent.toString());
+            }
+            return assignments.size();
+        }, exported -> {
             FileLogger.getInstance().logInfo("Exported data to CSV");
+            updateStatus("Exported " + exported + " assignments");
             JOptionPane.showMessageDialog(this, 
-                "Data exported successfully to " + System.getProperty("user.home") + "/aerodesk_gate_data.csv", 
+                "Data exported successfully to " + exportPath, 
                 "Export Successful", 
                 JOptionPane.INFORMATION_MESSAGE);
-        } catch (DatabaseException ex) {
+        }, ex -> {
             FileLogger.getInstance().logError("Failed to export data: " + ex.getMessage());
+            updateStatus("Export failed");
             JOptionPane.showMessageDialog(this, 
                 "Failed to export data: " + ex.getMessage(), 
                 "Error", 
                 JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
     
-         private void handleConflictCheck() {
-         try {
-             List<GateAssignment> assignments = gateDAO.getAllAssignments();
-             
-             if (assignments.isEmpty()) {
-                 conflictStatusLabel.setText("Conflicts: None detected");
-                 JOptionPane.showMessageDialog(this, 
-                     "No assignments found to check for conflicts.", 
-                     "No Assignments", 
-                     JOptionPane.INFORMATION_MESSAGE);
-             } else {
-                 conflictStatusLabel.setText("Conflicts: Checked " + assignments.size() + " assignments");
-                 JOptionPane.showMessageDialog(this, 
-                     "Conflict check completed. Found " + assignments.size() + " assignments to review.", 
-                     "Conflict Check Complete", 
-                     JOptionPane.INFORMATION_MESSAGE);
-             }
-         } catch (DatabaseException ex) {
-             FileLogger.getInstance().logError("Failed to check conflicts: " + ex.getMessage());
-             JOptionPane.showMessageDialog(this, 
-                 "Failed to check conflicts: " + ex.getMessage(), 
-                 "Error", 
-                 JOptionPane.ERROR_MESSAGE);
-         }
-     }
+    private void handleConflictCheck() {
+        conflictStatusLabel.setText("Conflicts: Checking...");
+        
+        loader.refresh("conflicts", gateDAO::getAllAssignments, assignments -> {
+            if (assignments.isEmpty()) {
+                conflictStatusLabel.setText("Conflicts: None detected");
+                JOptionPane.showMessageDialog(this, 
+                    "No assignments found to check for conflicts.", 
+                    "No Assignments", 
+                    JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                conflictStatusLabel.setText("Conflicts: Checked " + assignments.size() + " assignments");
+                JOptionPane.showMessageDialog(this, 
+                    "Conflict check completed. Found " + assignments.size() + " assignments to review.", 
+                    "Conflict Check Complete", 
+                    JOptionPane.INFORMATION_MESSAGE);
+            }
+        }, ex -> {
+            FileLogger.getInstance().logError("Failed to check conflicts: " + ex.getMessage());
+            conflictStatusLabel.setText("Conflicts: Check failed");
+            JOptionPane.showMessageDialog(this, 
+                "Failed to check conflicts: " + ex.getMessage(), 
+                "Error", 
+                JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void handleAutoAllocate() {
+        LocalDate day = LocalDate.now();
+        autoAllocateButton.setEnabled(false);
+        statusLabel.setText("Planning gate allocation for " + day + "...");
+        
+        loader.refresh("allocation", () -> GateAllocationService.getInstance().planDay(day), plan -> {
+            autoAllocateButton.setEnabled(true);
+            statusLabel.setText(plan.toString());
+            if (plan.getAssignments().isEmpty()) {
+                JOptionPane.showMessageDialog(this, 
+                    "No unassigned flights could be placed for " + day + ".\n" + 
+                    "Unassigned: " + plan.getUnassigned().size(), 
+                    "Auto Allocate", 
+                    JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            
+            int choice = JOptionPane.showConfirmDialog(this, 
+                "Planned " + plan.getAssignments().size() + " assignments in " + plan.getElapsedMillis() + " ms.\n" + 
+                "Flights without a gate: " + plan.getUnassigned().size() + "\n\nApply this plan?", 
+                "Auto Allocate", 
+                JOptionPane.YES_NO_OPTION);
+            if (choice == JOptionPane.YES_OPTION) {
+                applyAllocationPlan(plan);
+            }
+        }, ex -> {
+            autoAllocateButton.setEnabled(true);
+            statusLabel.setText("Gate allocation failed");
+            JOptionPane.showMessageDialog(this, 
+                "Failed to plan gate allocation: " + ex.getMessage(), 
+                "Error", 
+                JOptionPane.ERROR_MESSAGE);
+        });
+    }
+    
+    private void applyAllocationPlan(GateAllocationService.AllocationPlan plan) {
+        autoAllocateButton.setEnabled(false);
+        statusLabel.setText("Applying gate allocation...");
+        
+        loader.refresh("allocation", () -> GateAllocationService.getInstance().applyPlan(plan), created -> {
+            autoAllocateButton.setEnabled(true);
+            statusLabel.setText("Created " + created + " gate assignments");
+            loadAssignments();
+            updateStats();
+        }, ex -> {
+            autoAllocateButton.setEnabled(true);
+            statusLabel.setText("Gate allocation failed");
+            loadAssignments();
+            updateStats();
+        });
+    }
     
     private void handleGateSelection() {
         int selectedRow = gatesTable.getSelectedRow();
@@ -1102,70 +1176,74 @@ public class GateManagementFrame extends JFrame {
     }
     
     private void loadGates() {
-        try {
-            List<Gate> gates = gateDAO.getAllGates();
-            gatesTableModel.setRowCount(0);
-            
-            for (Gate gate : gates) {
-                                 Object[] row = {
-                     gate.getGateId(),
-                     gate.getGateName(),
-                     gate.getStatus().name(),
-                     "0", // Placeholder for assignments count
-                     gate.getCreatedAt() != null ? gate.getCreatedAt().format(dateFormatter) : "N/A",
-                     "N/A" // Placeholder for updated at
-                 };
-                gatesTableModel.addRow(row);
-            }
-            
+        // Searches share the "gates" key, so a full reload replaces any search in flight
+        loader.latest("gates", gateDAO::getAllGates, gates -> {
+            updateGatesTable(gates);
             FileLogger.getInstance().logInfo("Loaded " + gates.size() + " gates");
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load gates: " + ex.getMessage());
-            JOptionPane.showMessageDialog(this, 
-                "Failed to load gates: " + ex.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
+        }, ex -> JOptionPane.showMessageDialog(this, 
+            "Failed to load gates: " + ex.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE));
+    }
+    
+    private void updateGatesTable(List<Gate> gates) {
+        gatesTableModel.setRowCount(0);
+        for (Gate gate : gates) {
+            Object[] row = {
+                gate.getGateId(),
+                gate.getGateName(),
+                gate.getStatus().name(),
+                "0", // Placeholder for assignments count
+                gate.getCreatedAt() != null ? gate.getCreatedAt().format(dateFormatter) : "N/A",
+                "N/A" // Placeholder for updated at
+            };
+            gatesTableModel.addRow(row);
         }
     }
     
     private void loadAssignments() {
-        try {
+        loader.latest("assignments", () -> {
             List<GateAssignment> assignments = gateDAO.getAllAssignments();
-            assignmentsTableModel.setRowCount(0);
             
+            // Resolve gate names from one query instead of one per assignment
+            Map<Integer, String> gateNames = new HashMap<>();
+            for (Gate gate : gateDAO.getAllGates()) {
+                gateNames.put(gate.getGateId(), gate.getGateName());
+            }
+            
+            List<Object[]> rows = new ArrayList<>(assignments.size());
             for (GateAssignment assignment : assignments) {
                 try {
-                    Gate gate = gateDAO.getGateById(assignment.getGateId());
-                    Flight flight = flightDAO.getFlightById(assignment.getFlightId());
+                    Flight flight = flightRepository.getFlightById(assignment.getFlightId());
                     
-                    String gateInfo = gate != null ? gate.getGateName() : "Unknown";
+                    String gateInfo = gateNames.getOrDefault(assignment.getGateId(), "Unknown");
                     String flightInfo = flight != null ? flight.getFlightNo() : "Unknown";
                     
-                                         Object[] row = {
-                         assignment.getAssignmentId(),
-                         gateInfo,
-                         flightInfo,
-                         assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A",
-                         assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A"
-                     };
-                    assignmentsTableModel.addRow(row);
+                    rows.add(new Object[]{
+                        assignment.getAssignmentId(),
+                        gateInfo,
+                        flightInfo,
+                        assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A",
+                        assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A"
+                    });
                 } catch (DatabaseException ex) {
                     FileLogger.getInstance().logError("Error loading assignment details: " + ex.getMessage());
                 }
             }
+            return rows;
+        }, rows -> {
+            assignmentsTableModel.setRowCount(0);
+            for (Object[] row : rows) {
+                assignmentsTableModel.addRow(row);
+            }
             
-            FileLogger.getInstance().logInfo("Loaded " + assignments.size() + " gate assignments");
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load assignments: " + ex.getMessage());
-            JOptionPane.showMessageDialog(this, 
-                "Failed to load assignments: " + ex.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-        }
+            FileLogger.getInstance().logInfo("Loaded " + rows.size() + " gate assignments");
+        }, ex -> JOptionPane.showMessageDialog(this, 
+            "Failed to load assignments: " + ex.getMessage(), 
+            "Error", 
+            JOptionPane.ERROR_MESSAGE));
     }
-    
+         
          private void performSearch() {
          String searchText = searchField.getText().trim();
          String statusFilter = statusFilterComboBox.getSelectedItem().toString();
@@ -1181,7 +1259,8 @@ public class GateManagementFrame extends JFrame {
              searchTimer.stop();
          }
          
-         try {
+         // A newer search cancels the one still running
+         loader.latest("gates", () -> {
              List<Gate> allGates = gateDAO.getAllGates();
              List<Gate> filteredGates = new ArrayList<>();
              
@@ -1189,47 +1268,30 @@ public class GateManagementFrame extends JFrame {
                  boolean matchesSearch = searchText.isEmpty() || 
                      gate.getGateName().toLowerCase().contains(searchText.toLowerCase()) ||
                      String.valueOf(gate.getGateId()).contains(searchText);
-                     
+                 
                  boolean matchesStatus = statusFilter.equals("All Status") || 
                      gate.getStatus().name().equals(statusFilter);
-                     
+                 
                  if (matchesSearch && matchesStatus) {
                      filteredGates.add(gate);
                  }
              }
-             
-             gatesTableModel.setRowCount(0);
-             for (Gate gate : filteredGates) {
-                 Object[] row = {
-                     gate.getGateId(),
-                     gate.getGateName(),
-                     gate.getStatus().name(),
-                     "0", // Placeholder for assignments count
-                     gate.getCreatedAt() != null ? gate.getCreatedAt().format(dateFormatter) : "N/A",
-                     "N/A" // Placeholder for updated at
-                 };
-                 gatesTableModel.addRow(row);
-             }
-             
+             return filteredGates;
+         }, filteredGates -> {
+             updateGatesTable(filteredGates);
              updateStatus("Found " + filteredGates.size() + " gates");
-             
-         } catch (DatabaseException ex) {
-             FileLogger.getInstance().logError("Failed to search gates: " + ex.getMessage());
-             updateStatus("Search failed: " + ex.getMessage());
-         }
+         }, ex -> updateStatus("Search failed: " + ex.getMessage()));
      }
      
      private void updateStats() {
-         try {
+         loader.latest("stats", () -> {
              List<Gate> gates = gateDAO.getAllGates();
              int totalGates = gates.size();
              int activeGates = (int) gates.stream().filter(g -> g.getStatus().name().equals("AVAILABLE")).count();
              int assignmentsCount = gateDAO.getAllAssignments().size();
              
-             statsLabel.setText("Total Gates: " + totalGates + " | Active: " + activeGates + " | Assignments: " + assignmentsCount);
-         } catch (DatabaseException ex) {
-             FileLogger.getInstance().logError("Failed to update stats: " + ex.getMessage());
-         }
+             return "Total Gates: " + totalGates + " | Active: " + activeGates + " | Assignments: " + assignmentsCount;
+         }, statsLabel::setText, ex -> updateStatus("Failed to load statistics: " + ex.getMessage()));
      }
      
      private void updateStatus(String message) {
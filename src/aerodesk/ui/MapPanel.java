@@ -6,6 +6,7 @@ import aerodesk.service.AviationStackService;
 import aerodesk.service.WeatherService;
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
+import aerodesk.util.TaskScheduler;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -16,8 +17,6 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -32,7 +31,8 @@ public class MapPanel extends JPanel {
     private JPanel mapCanvas;
     private JLabel statusLabel;
     private JTextArea flightInfoArea;
-    private final ScheduledExecutorService updateScheduler;
+    private final TaskScheduler updateScheduler;
+    private final AsyncLoader loader = new AsyncLoader("MapPanel");
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
     
     private List<Flight> currentFlights;
@@ -54,7 +54,7 @@ public class MapPanel extends JPanel {
     public MapPanel() {
         this.aviationService = new AviationStackService();
         this.weatherService = WeatherService.getInstance();
-        this.updateScheduler = Executors.newScheduledThreadPool(1);
+        this.updateScheduler = TaskScheduler.getInstance();
         
         initializeComponents();
         setupLayout();
@@ -430,7 +430,7 @@ public class MapPanel extends JPanel {
      * Start automatic updates
      */
     private void startAutoUpdate() {
-        updateScheduler.scheduleAtFixedRate(() -> {
+        updateScheduler.scheduleAtFixedRate(this, "MapPanel.autoUpdate", () -> {
             SwingUtilities.invokeLater(this::refreshData);
         }, 0, 60, TimeUnit.SECONDS);
     }
@@ -439,28 +439,26 @@ public class MapPanel extends JPanel {
      * Refresh map data
      */
     public void refreshData() {
-        try {
-            statusLabel.setText("Updating flight data...");
-            
-            // Update flights - convert FlightInfo to Flight
-            List<AviationStackService.FlightInfo> flightInfos = aviationService.getFlightsByAirport("JFK", "departure");
-            currentFlights = flightInfos.stream()
-                .map(this::convertFlightInfoToFlight)
-                .collect(Collectors.toList());
-            
-            // Update weather
-            currentWeather = weatherService.getMajorAirportsWeather().get();
-            
-            // Update display
-            mapCanvas.repaint();
-            statusLabel.setText("Last Update: " + LocalDateTime.now().format(timeFormatter));
-            
-            FileLogger.getInstance().logInfo("Map data refreshed");
-            
-        } catch (Exception e) {
-            FileLogger.getInstance().logError("Error refreshing map data: " + e.getMessage());
-            statusLabel.setText("Error updating data");
-        }
+        statusLabel.setText("Updating flight data...");
+        
+        // Flights and weather load in parallel and repaint together when both are back
+        loader.refresh("flights", () -> aviationService.getFlightsByAirport("JFK", "departure").stream()
+            .map(this::convertFlightInfoToFlight)
+            .collect(Collectors.toList()), flights -> {
+            currentFlights = flights;
+            mapUpdated();
+        }, e -> statusLabel.setText("Error updating data"));
+        
+        loader.refresh("weather", () -> weatherService.getMajorAirportsWeather().get(), weather -> {
+            currentWeather = weather;
+            mapUpdated();
+        }, e -> statusLabel.setText("Error updating data"));
+    }
+    
+    private void mapUpdated() {
+        mapCanvas.repaint();
+        statusLabel.setText("Last Update: " + LocalDateTime.now().format(timeFormatter));
+        FileLogger.getInstance().logInfo("Map data refreshed");
     }
     
     /**
@@ -494,17 +492,8 @@ public class MapPanel extends JPanel {
      * Cleanup resources
      */
     public void cleanup() {
-        if (updateScheduler != null && !updateScheduler.isShutdown()) {
-            updateScheduler.shutdown();
-            try {
-                if (!updateScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                    updateScheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                updateScheduler.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        updateScheduler.cancelAll(this);
+        loader.close();
         FileLogger.getInstance().logInfo("Map panel cleanup completed");
     }
 } 
\ No newline at end of file
@@ -2,18 +2,28 @@ package aerodesk.ui;
 
 import aerodesk.util.ThemeManager;
 import aerodesk.util.FileLogger;
+import aerodesk.util.KpiHistory;
 import aerodesk.util.ConfigManager;
-import aerodesk.dao.FlightDAO;
+import aerodesk.util.StatusCounter;
+import aerodesk.util.TaskScheduler;
+import aerodesk.dao.FlightRepository;
 import aerodesk.dao.BookingDAO;
 import aerodesk.dao.BaggageDAO;
 import aerodesk.dao.GateDAO;
+import aerodesk.dao.GlobalSearchIndex;
+import aerodesk.service.DelayAnalytics;
+import aerodesk.service.ReportEngine;
+import aerodesk.service.ReportSnapshotService;
 import aerodesk.model.Flight;
 import aerodesk.model.Booking;
+import aerodesk.model.DailySummary;
 import aerodesk.model.Baggage;
+import aerodesk.model.Gate;
 import aerodesk.model.GateAssignment;
 import aerodesk.exception.DatabaseException;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
@@ -22,14 +32,28 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyAdapter;
 import java.io.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.awt.print.PrinterJob;
+import javax.print.PrintService;
+import javax.print.attribute.HashPrintRequestAttributeSet;
+import javax.print.attribute.PrintRequestAttributeSet;
+import javax.print.attribute.standard.DialogOwner;
 import java.awt.print.Printable;
 import static java.awt.print.Printable.NO_SUCH_PAGE;
 import static java.awt.print.Printable.PAGE_EXISTS;
@@ -49,6 +73,11 @@ public class ReportsFrame extends JFrame {
     private DefaultTableModel baggageReportModel;
     private JTable gatesReportTable;
     private DefaultTableModel gatesReportModel;
+    private JTable dailySummaryTable;
+    private DefaultTableModel dailySummaryModel;
+    private JTable routeSummaryTable;
+    private DefaultTableModel routeSummaryModel;
+    private JLabel summarySourceLabel;
     
     // UI Components - Text Areas
     private JTextArea logsArea;
@@ -60,6 +89,10 @@ public class ReportsFrame extends JFrame {
     private JComboBox<String> searchTypeCombo;
     private JComboBox<String> dateRangeCombo;
     
+    // UI Components - KPI trends
+    private JComboBox<String> trendKpiCombo;
+    private TrendChart trendChart;
+    
     // UI Components - Buttons
     private JButton exportButton;
     private JButton refreshButton;
@@ -69,38 +102,62 @@ public class ReportsFrame extends JFrame {
     private JButton clearSearchButton;
     private JButton printButton;
     private JButton emailButton;
+    private JButton previousPageButton;
+    private JButton nextPageButton;
     
     // UI Components - Labels and Status
     private JLabel statusLabel;
     private JLabel lastUpdateLabel;
     private JLabel totalRecordsLabel;
+    private JLabel searchPageLabel;
     
     // Data Access Objects
-    private FlightDAO flightDAO;
+    private FlightRepository flightRepository;
     private BookingDAO bookingDAO;
     private BaggageDAO baggageDAO;
     private GateDAO gateDAO;
+    private GlobalSearchIndex searchIndex;
+    
+    // Search paging: the current query and the offset of the page shown
+    private final int searchPageSize = ConfigManager.getInstance().getIntProperty("search.page.size", 50);
+    private String searchTerm;
+    private String searchType;
+    private int searchOffset;
+    
+    // KPI trends are charted from the hourly averages in the KPI history
+    private static final int TREND_DAYS = 30;
+    // Daily summaries shown: past days from the snapshots plus today so far
+    private static final int SUMMARY_DAYS = 30;
+    
+    // Detail tables and the daily summary load when their tab is shown; a refresh marks
+    // the hidden ones stale
+    private static final int SUMMARY_TAB = 8;
+    private final boolean[] staleReports = new boolean[SUMMARY_TAB + 1];
     
     // Configuration and Utilities
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private final DateTimeFormatter shortDateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private ScheduledExecutorService autoRefreshScheduler;
+    private final TaskScheduler autoRefreshScheduler = TaskScheduler.getInstance();
+    private final AsyncLoader loader;
     private boolean autoRefreshEnabled = false;
     
     public ReportsFrame() {
-        this.flightDAO = new FlightDAO();
+        this.flightRepository = FlightRepository.getInstance();
         this.bookingDAO = new BookingDAO();
         this.baggageDAO = new BaggageDAO();
         this.gateDAO = new GateDAO();
+        this.searchIndex = GlobalSearchIndex.getInstance();
         
         initializeComponents();
         setupLayout();
+        loader = new AsyncLoader(this);
         setupEventHandlers();
         setupAutoRefresh();
         configureWindow();
         loadAllReports();
         loadSystemLogs();
         updateSystemStats();
+        updateTrendChart();
     }
     
     private void initializeComponents() {
@@ -156,6 +213,30 @@ public class ReportsFrame extends JFrame {
         gatesReportTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         ThemeManager.styleTable(gatesReportTable);
         
+        // Daily Summary Tables, read from the report snapshots
+        String[] summaryColumns = {"Date", "Flights", "Delayed", "Cancelled", "Bookings", "Check-in %", "Bags", "Delivered %", "Gate Use %"};
+        dailySummaryModel = new DefaultTableModel(summaryColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        dailySummaryTable = new JTable(dailySummaryModel);
+        dailySummaryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        ThemeManager.styleTable(dailySummaryTable);
+        
+        String[] routeColumns = {"Route", "Flights", "Delayed", "Delayed %"};
+        routeSummaryModel = new DefaultTableModel(routeColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        routeSummaryTable = new JTable(routeSummaryModel);
+        routeSummaryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        ThemeManager.styleTable(routeSummaryTable);
+        summarySourceLabel = ThemeManager.createBodyLabel("");
+        
         // Enhanced Text Areas
         logsArea = new JTextArea();
         logsArea.setEditable(false);
@@ -181,6 +262,14 @@ public class ReportsFrame extends JFrame {
         
         dateRangeCombo = new JComboBox<>(new String[]{"All Time", "Today", "Last 7 Days", "Last 30 Days", "This Month", "Last Month"});
         ThemeManager.styleComboBox(dateRangeCombo);
+        dateRangeCombo.setToolTipText("Date range for searches and for exported or printed reports");
+        
+        // KPI trend chart
+        trendKpiCombo = new JComboBox<>();
+        ThemeManager.styleComboBox(trendKpiCombo);
+        trendChart = new TrendChart("MM-dd HH:mm");
+        trendChart.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        trendChart.setEmptyText("No KPI history yet; it is recorded while the dashboard is running");
         
         // Enhanced Buttons with wider width
         exportButton = new JButton("Export Report");
@@ -191,6 +280,10 @@ public class ReportsFrame extends JFrame {
         clearSearchButton = new JButton("Clear Search");
         printButton = new JButton("Print Report");
         emailButton = new JButton("Email Report");
+        previousPageButton = new JButton("< Previous");
+        nextPageButton = new JButton("Next >");
+        previousPageButton.setEnabled(false);
+        nextPageButton.setEnabled(false);
         
         // Set wider preferred size for all buttons
         Dimension wideButtonSize = new Dimension(150, 40);
@@ -210,6 +303,8 @@ public class ReportsFrame extends JFrame {
         ThemeManager.styleButton(saveLogsButton, ThemeManager.SECONDARY_BLUE, ThemeManager.WHITE);
         ThemeManager.styleButton(searchButton, ThemeManager.ACCENT_ORANGE, ThemeManager.WHITE);
         ThemeManager.styleButton(clearSearchButton, ThemeManager.DARK_GRAY, ThemeManager.WHITE);
+        ThemeManager.styleButton(previousPageButton, ThemeManager.DARK_GRAY, ThemeManager.WHITE);
+        ThemeManager.styleButton(nextPageButton, ThemeManager.DARK_GRAY, ThemeManager.WHITE);
         ThemeManager.styleButton(printButton, ThemeManager.PRIMARY_BLUE, ThemeManager.WHITE);
         ThemeManager.styleButton(emailButton, ThemeManager.SUCCESS_GREEN, ThemeManager.WHITE);
         
@@ -257,6 +352,8 @@ public class ReportsFrame extends JFrame {
         createLogsTab();
         createStatsTab();
         createSearchTab();
+        createTrendsTab();
+        createSummaryTab();
         
         // Enhanced button panel with card styling
         JPanel buttonPanel = ThemeManager.createCardPanel();
@@ -301,15 +398,15 @@ public class ReportsFrame extends JFrame {
     }
     
     private void setupAutoRefresh() {
-        autoRefreshScheduler = Executors.newScheduledThreadPool(1);
         // Auto-refresh every 5 minutes
-        autoRefreshScheduler.scheduleAtFixedRate(() -> {
+        autoRefreshScheduler.scheduleAtFixedRate(this, "Reports.autoRefresh", () -> {
             if (autoRefreshEnabled) {
+                // Each load updates the status labels when it is delivered
                 SwingUtilities.invokeLater(() -> {
                     loadAllReports();
                     loadSystemLogs();
                     updateSystemStats();
-                    updateStatusLabels();
+                    updateTrendChart();
                 });
             }
         }, 5, 5, TimeUnit.MINUTES);
@@ -341,6 +438,10 @@ public class ReportsFrame extends JFrame {
         headerPanel.setBackground(ThemeManager.WHITE);
         JLabel headerLabel = ThemeManager.createSubheaderLabel("Search Results");
         headerPanel.add(headerLabel);
+        searchPageLabel = new JLabel(" ");
+        headerPanel.add(previousPageButton);
+        headerPanel.add(nextPageButton);
+        headerPanel.add(searchPageLabel);
         
         JScrollPane scrollPane = new JScrollPane(searchResultsArea);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -453,6 +554,47 @@ public class ReportsFrame extends JFrame {
         tabbedPane.addTab("Statistics", panel);
     }
     
+    private void createTrendsTab() {
+        JPanel panel = ThemeManager.createCardPanel();
+        panel.setLayout(new BorderLayout());
+        
+        JPanel headerPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        headerPanel.setBackground(ThemeManager.WHITE);
+        JLabel headerLabel = ThemeManager.createSubheaderLabel("KPI Trends (last " + TREND_DAYS + " days, hourly averages)");
+        headerPanel.add(headerLabel);
+        headerPanel.add(ThemeManager.createBodyLabel("KPI:"));
+        headerPanel.add(trendKpiCombo);
+        
+        panel.add(headerPanel, BorderLayout.NORTH);
+        panel.add(trendChart, BorderLayout.CENTER);
+        
+        tabbedPane.addTab("Trends", panel);
+    }
+    
+    private void createSummaryTab() {
+        JPanel panel = ThemeManager.createCardPanel();
+        panel.setLayout(new BorderLayout());
+        
+        JPanel headerPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        headerPanel.setBackground(ThemeManager.WHITE);
+        JLabel headerLabel = ThemeManager.createSubheaderLabel("Daily Summary (last " + SUMMARY_DAYS + " days)");
+        headerPanel.add(headerLabel);
+        headerPanel.add(summarySourceLabel);
+        
+        JScrollPane daysPane = new JScrollPane(dailySummaryTable);
+        daysPane.setBorder(BorderFactory.createEmptyBorder());
+        JScrollPane routesPane = new JScrollPane(routeSummaryTable);
+        routesPane.setBorder(BorderFactory.createTitledBorder("Routes, most delayed first"));
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, daysPane, routesPane);
+        splitPane.setResizeWeight(0.6);
+        splitPane.setBorder(BorderFactory.createEmptyBorder());
+        
+        panel.add(headerPanel, BorderLayout.NORTH);
+        panel.add(splitPane, BorderLayout.CENTER);
+        
+        tabbedPane.addTab("Daily Summary", panel);
+    }
+    
     private void setupEventHandlers() {
         exportButton.addActionListener(e -> handleExport());
         refreshButton.addActionListener(e -> handleRefresh());
@@ -460,8 +602,11 @@ public class ReportsFrame extends JFrame {
         saveLogsButton.addActionListener(e -> handleSaveLogs());
         searchButton.addActionListener(e -> handleSearch());
         clearSearchButton.addActionListener(e -> handleClearSearch());
+        previousPageButton.addActionListener(e -> showSearchPage(Math.max(0, searchOffset - searchPageSize)));
+        nextPageButton.addActionListener(e -> showSearchPage(searchOffset + searchPageSize));
         printButton.addActionListener(e -> handlePrint());
         emailButton.addActionListener(e -> handleEmail());
+        trendKpiCombo.addActionListener(e -> showTrend());
         
         // Add keyboard shortcuts
         searchField.addKeyListener(new KeyAdapter() {
@@ -475,6 +620,7 @@ public class ReportsFrame extends JFrame {
         
         // Add tab change listener
         tabbedPane.addChangeListener(e -> {
+            loadSelectedReport();
             updateStatusLabels();
             statusLabel.setText("Viewing: " + tabbedPane.getTitleAt(tabbedPane.getSelectedIndex()));
         });
@@ -483,6 +629,11 @@ public class ReportsFrame extends JFrame {
     private void handleExport() {
         int selectedTab = tabbedPane.getSelectedIndex();
         String reportType = tabbedPane.getTitleAt(selectedTab);
+        ReportEngine.Template template = reportTemplate(selectedTab);
+        if (template != null) {
+            exportReport(template);
+            return;
+        }
         
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Export " + reportType + " Report");
@@ -499,60 +650,96 @@ public class ReportsFrame extends JFrame {
     }
     
     private void handleSearch() {
-        String searchTerm = searchField.getText().trim();
-        String searchType = (String) searchTypeCombo.getSelectedItem();
-        String dateRange = (String) dateRangeCombo.getSelectedItem();
+        String term = searchField.getText().trim();
         
-        if (searchTerm.isEmpty()) {
+        if (term.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please enter a search term", "Search Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
+        searchTerm = term;
+        searchType = (String) searchTypeCombo.getSelectedItem();
+        showSearchPage(0);
+    }
+    
+    private void showSearchPage(int offset) {
+        if (searchTerm == null) {
+            return;
+        }
+        String term = searchTerm;
+        String type = searchType;
+        String dateRange = (String) dateRangeCombo.getSelectedItem();
+        
         StringBuilder results = new StringBuilder();
         results.append("=== Search Results ===\n");
-        results.append("Search Term: ").append(searchTerm).append("\n");
-        results.append("Type: ").append(searchType).append("\n");
+        results.append("Search Term: ").append(term).append("\n");
+        results.append("Type: ").append(type).append("\n");
         results.append("Date Range: ").append(dateRange).append("\n");
         results.append("Timestamp: ").append(LocalDateTime.now().format(dateFormatter)).append("\n");
         results.append("=".repeat(50)).append("\n\n");
         
-        // Perform search based on type
-        switch (searchType) {
-            case "Flights":
-                searchFlights(searchTerm, results);
-                break;
-            case "Bookings":
-                searchBookings(searchTerm, results);
-                break;
-            case "Baggage":
-                searchBaggage(searchTerm, results);
-                break;
-            case "Gates":
-                searchGates(searchTerm, results);
-                break;
-            case "Logs":
-                searchLogs(searchTerm, results);
-                break;
-            case "All":
-                searchAll(searchTerm, results);
-                break;
+        // Logs are not indexed and are still scanned; a new search cancels the previous one
+        loader.latest("search", () -> {
+            if ("Logs".equals(type)) {
+                searchLogs(term, results);
+                return new SearchView(results.toString(), null);
+            }
+            long start = System.nanoTime();
+            GlobalSearchIndex.Page page = searchIndex.search(term, searchTypes(type), offset, searchPageSize);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            if (page.getTotal() == 0) {
+                results.append("No matches\n");
+            } else {
+                results.append("Results ").append(page.getOffset() + 1).append("-")
+                       .append(page.getOffset() + page.getHits().size()).append(" of ").append(page.getTotal())
+                       .append(" (").append(elapsedMillis).append(" ms)\n\n");
+                appendHits(page.getHits(), results);
+            }
+            return new SearchView(results.toString(), page);
+        }, view -> {
+            searchResultsArea.setText(view.text);
+            searchResultsArea.setCaretPosition(0);
+            searchOffset = offset;
+            updateSearchPaging(view.page);
+            tabbedPane.setSelectedIndex(6); // Switch to Search tab
+            statusLabel.setText("Search completed - " + term);
+            updateStatusLabels();
+        }, ex -> statusLabel.setText("Search failed - " + ex.getMessage()));
+    }
+    
+    private void updateSearchPaging(GlobalSearchIndex.Page page) {
+        if (page == null || page.getTotal() == 0) {
+            previousPageButton.setEnabled(false);
+            nextPageButton.setEnabled(false);
+            searchPageLabel.setText(" ");
+            return;
         }
-        
-        searchResultsArea.setText(results.toString());
-        tabbedPane.setSelectedIndex(6); // Switch to Search tab
-        statusLabel.setText("Search completed - " + searchTerm);
-        updateStatusLabels();
+        int pages = (page.getTotal() + searchPageSize - 1) / searchPageSize;
+        previousPageButton.setEnabled(page.getOffset() > 0);
+        nextPageButton.setEnabled(page.hasNext());
+        searchPageLabel.setText("Page " + (page.getOffset() / searchPageSize + 1) + " of " + pages
+            + " (" + page.getTotal() + " results)");
     }
     
     private void handleClearSearch() {
         searchField.setText("");
         searchResultsArea.setText("");
+        loader.cancel("search");
+        searchTerm = null;
+        searchOffset = 0;
+        updateSearchPaging(null);
         statusLabel.setText("Search cleared");
     }
     
     private void handlePrint() {
         int selectedTab = tabbedPane.getSelectedIndex();
         String reportType = tabbedPane.getTitleAt(selectedTab);
+        ReportEngine.Template template = reportTemplate(selectedTab);
+        if (template != null) {
+            printReport(template);
+            return;
+        }
         
         try {
             // Create a print job
@@ -592,6 +779,136 @@ public class ReportsFrame extends JFrame {
         }
     }
     
+    /**
+     * Exports a table report with the report engine; the rows are read from the
+     * database for the selected date range, not from the table, and the report is
+     * filled and written off the EDT
+     */
+    private void exportReport(ReportEngine.Template template) {
+        if (loader.isLoading("export")) {
+            statusLabel.setText("An export is already running");
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export " + template.getTitle());
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        Map<FileNameExtensionFilter, ReportEngine.Format> formats = new HashMap<>();
+        for (ReportEngine.Format format : ReportEngine.getInstance().getFormats()) {
+            FileNameExtensionFilter filter = new FileNameExtensionFilter(format.getDescription() + " (*." + format.getExtension() + ")", format.getExtension());
+            formats.put(filter, format);
+            fileChooser.addChoosableFileFilter(filter);
+            if (format == ReportEngine.Format.XLSX) {
+                fileChooser.setFileFilter(filter);
+            }
+        }
+        fileChooser.setSelectedFile(new File(template.name().toLowerCase() + "_report_" +
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        
+        ReportEngine.Format format = formats.get(fileChooser.getFileFilter());
+        File chosen = fileChooser.getSelectedFile();
+        File file = chosen.getName().toLowerCase().endsWith("." + format.getExtension())
+            ? chosen : new File(chosen.getParentFile(), chosen.getName() + "." + format.getExtension());
+        LocalDateTime[] range = reportRange();
+        statusLabel.setText("Exporting " + template.getTitle() + " (" + dateRangeCombo.getSelectedItem() + ")...");
+        
+        loader.latestCancellable("export",
+            canceller -> ReportEngine.getInstance().export(template, range[0], range[1], format, file, canceller),
+            result -> {
+                statusLabel.setText("Export completed: " + result);
+                JOptionPane.showMessageDialog(this,
+                    "Report exported successfully to:\n" + result.getFile().getAbsolutePath() + "\n" + result,
+                    "Export Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+            },
+            ex -> {
+                FileLogger.getInstance().logError("Failed to export report: " + ex.getMessage());
+                statusLabel.setText("Export failed");
+                JOptionPane.showMessageDialog(this,
+                    "Failed to export report: " + ex.getMessage(),
+                    "Export Error",
+                    JOptionPane.ERROR_MESSAGE);
+            });
+    }
+    
+    /**
+     * Prints a table report with the report engine; the report is filled off the EDT,
+     * the print dialog is shown on it over this window, and the pages are sent off it
+     */
+    private void printReport(ReportEngine.Template template) {
+        if (loader.isLoading("print") || loader.isLoading("printing")) {
+            statusLabel.setText("A print job is already being prepared");
+            return;
+        }
+        LocalDateTime[] range = reportRange();
+        statusLabel.setText("Preparing " + template.getTitle() + " for printing...");
+        loader.latestCancellable("print",
+            canceller -> ReportEngine.getInstance().fillForPrint(template, range[0], range[1], canceller),
+            job -> {
+                PrinterJob printerJob = PrinterJob.getPrinterJob();
+                PrintRequestAttributeSet attributes = new HashPrintRequestAttributeSet();
+                attributes.add(new DialogOwner(this));
+                if (!printerJob.printDialog(attributes)) {
+                    job.close();
+                    statusLabel.setText("Print cancelled");
+                    return;
+                }
+                attributes.remove(DialogOwner.class);
+                PrintService service = printerJob.getPrintService();
+                statusLabel.setText("Printing " + template.getTitle() + " (" + job.getPages() + " pages)...");
+                loader.refresh("printing", () -> {
+                    try (job) {
+                        ReportEngine.getInstance().print(job, service, attributes);
+                    }
+                    return job.getPages();
+                }, pages -> statusLabel.setText("Print job completed (" + pages + " pages)"), this::showPrintError);
+            },
+            this::showPrintError);
+    }
+    
+    private void showPrintError(Exception ex) {
+        FileLogger.getInstance().logError("Print error: " + ex.getMessage());
+        statusLabel.setText("Print failed");
+        JOptionPane.showMessageDialog(this, "Print error: " + ex.getMessage(), "Print Error", JOptionPane.ERROR_MESSAGE);
+    }
+    
+    /**
+     * @return The report of a table tab, or null for the other tabs
+     */
+    private static ReportEngine.Template reportTemplate(int tabIndex) {
+        switch (tabIndex) {
+            case 0: return ReportEngine.Template.FLIGHTS;
+            case 1: return ReportEngine.Template.BOOKINGS;
+            case 2: return ReportEngine.Template.BAGGAGE;
+            case 3: return ReportEngine.Template.GATES;
+            default: return null;
+        }
+    }
+    
+    /**
+     * @return The selected date range as [from, to)
+     */
+    private LocalDateTime[] reportRange() {
+        LocalDate today = LocalDate.now();
+        String dateRange = (String) dateRangeCombo.getSelectedItem();
+        switch (dateRange != null ? dateRange : "All Time") {
+            case "Today":
+                return new LocalDateTime[]{today.atStartOfDay(), today.plusDays(1).atStartOfDay()};
+            case "Last 7 Days":
+                return new LocalDateTime[]{today.minusDays(6).atStartOfDay(), today.plusDays(1).atStartOfDay()};
+            case "Last 30 Days":
+                return new LocalDateTime[]{today.minusDays(29).atStartOfDay(), today.plusDays(1).atStartOfDay()};
+            case "This Month":
+                return new LocalDateTime[]{today.withDayOfMonth(1).atStartOfDay(), today.withDayOfMonth(1).plusMonths(1).atStartOfDay()};
+            case "Last Month":
+                return new LocalDateTime[]{today.withDayOfMonth(1).minusMonths(1).atStartOfDay(), today.withDayOfMonth(1).atStartOfDay()};
+            default:
+                return new LocalDateTime[]{ReportEngine.ALL_TIME_FROM, ReportEngine.ALL_TIME_TO};
+        }
+    }
+    
     private void handleEmail() {
         String email = JOptionPane.showInputDialog(this, "Enter email address:", "Email Report", JOptionPane.QUESTION_MESSAGE);
         if (email != null && !email.trim().isEmpty()) {
@@ -619,6 +936,9 @@ public class ReportsFrame extends JFrame {
                 case 3: // Gates
                     model = gatesReportModel;
                     break;
+                case 8: // Daily Summary
+                    model = dailySummaryModel;
+                    break;
             }
             
             if (model != null) {
@@ -659,6 +979,7 @@ public class ReportsFrame extends JFrame {
         loadAllReports();
         loadSystemLogs();
         updateSystemStats();
+        updateTrendChart();
         FileLogger.getInstance().logInfo("Reports data refreshed");
         JOptionPane.showMessageDialog(this, 
             "All reports refreshed successfully.", 
@@ -705,19 +1026,97 @@ public class ReportsFrame extends JFrame {
     }
     
     private void loadAllReports() {
-        loadFlightsReport();
-        loadBookingsReport();
-        loadBaggageReport();
-        loadGatesReport();
+        Arrays.fill(staleReports, true);
+        loadSelectedReport();
+    }
+    
+    /**
+     * Loads the detail table or daily summary of the selected tab if it is stale
+     */
+    private void loadSelectedReport() {
+        int tab = tabbedPane.getSelectedIndex();
+        if (tab < 0 || tab >= staleReports.length || !staleReports[tab]) {
+            return;
+        }
+        staleReports[tab] = false;
+        switch (tab) {
+            case 0: loadFlightsReport(); break;
+            case 1: loadBookingsReport(); break;
+            case 2: loadBaggageReport(); break;
+            case 3: loadGatesReport(); break;
+            case SUMMARY_TAB: loadDailySummary(); break;
+            default: break;
+        }
+    }
+    
+    /**
+     * Fills the Daily Summary tab: past days come from the materialized snapshots and
+     * only today is counted from the operational tables
+     */
+    private void loadDailySummary() {
+        loader.refresh("dailySummary", () -> {
+            long start = System.nanoTime();
+            List<DailySummary> days = ReportSnapshotService.getInstance().getRecentDays(SUMMARY_DAYS);
+            return new SummaryView(days, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }, view -> {
+            dailySummaryModel.setRowCount(0);
+            Map<String, int[]> routes = new TreeMap<>();
+            // Newest first, like the other reports
+            for (int i = view.days.size() - 1; i >= 0; i--) {
+                DailySummary day = view.days.get(i);
+                dailySummaryModel.addRow(new Object[]{
+                    day.getDate().format(shortDateFormatter) + (day.isLive() ? " (so far)" : ""),
+                    day.getFlights(),
+                    day.getDelayedFlights(),
+                    day.getCancelledFlights(),
+                    day.getBookings(),
+                    String.format("%.1f", day.getCheckInRate()),
+                    day.getBags(),
+                    String.format("%.1f", day.getDeliveryRate()),
+                    String.format("%.1f", day.getGateUtilization())
+                });
+                for (String route : day.getDimensions(DailySummary.ROUTE)) {
+                    int[] totals = routes.computeIfAbsent(route, r -> new int[2]);
+                    totals[0] += day.getCount(DailySummary.ROUTE, route);
+                    totals[1] += day.getMeasure(DailySummary.ROUTE, route);
+                }
+            }
+            
+            routeSummaryModel.setRowCount(0);
+            List<Map.Entry<String, int[]>> sorted = new ArrayList<>(routes.entrySet());
+            sorted.sort((a, b) -> Double.compare(delayedShare(b.getValue()), delayedShare(a.getValue())));
+            for (Map.Entry<String, int[]> route : sorted) {
+                routeSummaryModel.addRow(new Object[]{
+                    route.getKey(), route.getValue()[0], route.getValue()[1],
+                    String.format("%.1f", 100 * delayedShare(route.getValue()))
+                });
+            }
+            summarySourceLabel.setText((view.days.size() - 1) + " days from snapshots, today live ("
+                + view.elapsedMillis + " ms)");
+        }, ex -> statusLabel.setText("Failed to load daily summary: " + ex.getMessage()));
+    }
+    
+    private static double delayedShare(int[] totals) {
+        return totals[0] > 0 ? (double) totals[1] / totals[0] : 0;
+    }
+    
+    private void loadReport(String key, DefaultTableModel model, AsyncLoader.Query<List<Object[]>> query) {
+        loader.refresh(key, query, rows -> {
+            model.setRowCount(0);
+            for (Object[] row : rows) {
+                model.addRow(row);
+            }
+            updateStatusLabels();
+        }, ex -> statusLabel.setText("Failed to load " + key + ": " + ex.getMessage()));
     }
     
     private void loadFlightsReport() {
-        try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            flightsReportModel.setRowCount(0);
+        loadReport("flightsReport", flightsReportModel, () -> {
+            List<Flight> flights = flightRepository.getAllFlights();
+            List<Object[]> rows = new ArrayList<>(flights.size());
             
             for (Flight flight : flights) {
-                Object[] row = {
+                rows.add(new Object[]{
                     flight.getFlightNo(),
                     flight.getOrigin(),
                     flight.getDestination(),
@@ -725,127 +1124,163 @@ public class ReportsFrame extends JFrame {
                     flight.getArriveTime() != null ? flight.getArriveTime().format(dateFormatter) : "N/A",
                     flight.getStatus(),
                     flight.getAircraftType()
-                };
-                flightsReportModel.addRow(row);
+                });
             }
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load flights report: " + ex.getMessage());
-        }
+            return rows;
+        });
     }
     
     private void loadBookingsReport() {
-        try {
+        loadReport("bookingsReport", bookingsReportModel, () -> {
             List<Booking> bookings = bookingDAO.getAllBookings();
-            bookingsReportModel.setRowCount(0);
+            Map<Integer, String> flightNumbers = flightNumbersById();
+            List<Object[]> rows = new ArrayList<>(bookings.size());
             
             for (Booking booking : bookings) {
-                try {
-                    Flight flight = flightDAO.getFlightById(booking.getFlightId());
-                    String flightNo = flight != null ? flight.getFlightNo() : "N/A";
-                    
-                    Object[] row = {
-                        booking.getBookingId(),
-                        booking.getPassengerName(),
-                        flightNo,
-                        booking.getSeatNo() != null ? booking.getSeatNo() : "Not Assigned",
-                        booking.isCheckedIn() ? "Yes" : "No",
-                        booking.getCheckInTime() != null ? booking.getCheckInTime().format(dateFormatter) : "N/A"
-                    };
-                    bookingsReportModel.addRow(row);
-                } catch (DatabaseException ex) {
-                    FileLogger.getInstance().logError("Error loading flight for booking: " + ex.getMessage());
-                }
+                rows.add(new Object[]{
+                    booking.getBookingId(),
+                    booking.getPassengerName(),
+                    flightNumbers.getOrDefault(booking.getFlightId(), "N/A"),
+                    booking.getSeatNo() != null ? booking.getSeatNo() : "Not Assigned",
+                    booking.isCheckedIn() ? "Yes" : "No",
+                    booking.getCheckInTime() != null ? booking.getCheckInTime().format(dateFormatter) : "N/A"
+                });
             }
-            
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load bookings report: " + ex.getMessage());
-        }
+            return rows;
+        });
     }
     
     private void loadBaggageReport() {
-        try {
+        loadReport("baggageReport", baggageReportModel, () -> {
             List<Baggage> baggageList = baggageDAO.getAllBaggage();
-            baggageReportModel.setRowCount(0);
             
-            for (Baggage baggage : baggageList) {
-                try {
-                    Booking booking = bookingDAO.getBookingById(baggage.getBookingId());
-                    String passengerName = booking != null ? booking.getPassengerName() : "Unknown";
-                    
-                    Object[] row = {
-                        baggage.getTagNumber(),
-                        passengerName,
-                        String.format("%.1f kg", baggage.getWeightKg()),
-                        baggage.getBaggageType(),
-                        baggage.getStatus(),
-                        baggage.getCreatedAt() != null ? baggage.getCreatedAt().format(dateFormatter) : "N/A"
-                    };
-                    baggageReportModel.addRow(row);
-                } catch (DatabaseException ex) {
-                    FileLogger.getInstance().logError("Error loading booking for baggage: " + ex.getMessage());
-                }
+            // One bookings query instead of one per bag
+            Map<Integer, String> passengerNames = new HashMap<>();
+            for (Booking booking : bookingDAO.getAllBookings()) {
+                passengerNames.put(booking.getBookingId(), booking.getPassengerName());
             }
             
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load baggage report: " + ex.getMessage());
-        }
+            List<Object[]> rows = new ArrayList<>(baggageList.size());
+            for (Baggage baggage : baggageList) {
+                rows.add(new Object[]{
+                    baggage.getTagNumber(),
+                    passengerNames.getOrDefault(baggage.getBookingId(), "Unknown"),
+                    String.format("%.1f kg", baggage.getWeightKg()),
+                    baggage.getBaggageType(),
+                    baggage.getStatus(),
+                    baggage.getCreatedAt() != null ? baggage.getCreatedAt().format(dateFormatter) : "N/A"
+                });
+            }
+            return rows;
+        });
     }
     
     private void loadGatesReport() {
-        try {
-                         List<GateAssignment> assignments = gateDAO.getAllAssignments();
-             gatesReportModel.setRowCount(0);
-             
-             for (GateAssignment assignment : assignments) {
-                try {
-                    Flight flight = flightDAO.getFlightById(assignment.getFlightId());
-                    String flightNo = flight != null ? flight.getFlightNo() : "Unknown";
-                    
-                    Object[] row = {
-                        "Gate " + assignment.getGateId(),
-                        flightNo,
-                        assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A",
-                        assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A",
-                        "Active"
-                    };
-                    gatesReportModel.addRow(row);
-                } catch (DatabaseException ex) {
-                    FileLogger.getInstance().logError("Error loading flight for gate assignment: " + ex.getMessage());
-                }
-            }
+        loadReport("gatesReport", gatesReportModel, () -> {
+            List<GateAssignment> assignments = gateDAO.getAllAssignments();
+            Map<Integer, String> flightNumbers = flightNumbersById();
+            List<Object[]> rows = new ArrayList<>(assignments.size());
             
-        } catch (DatabaseException ex) {
-            FileLogger.getInstance().logError("Failed to load gates report: " + ex.getMessage());
+            for (GateAssignment assignment : assignments) {
+                rows.add(new Object[]{
+                    "Gate " + assignment.getGateId(),
+                    flightNumbers.getOrDefault(assignment.getFlightId(), "Unknown"),
+                    assignment.getAssignmentTime() != null ? assignment.getAssignmentTime().format(dateFormatter) : "N/A",
+                    assignment.getDepartureTime() != null ? assignment.getDepartureTime().format(dateFormatter) : "N/A",
+                    "Active"
+                });
+            }
+            return rows;
+        });
+    }
+    
+    private Map<Integer, String> flightNumbersById() throws DatabaseException {
+        Map<Integer, String> flightNumbers = new HashMap<>();
+        for (Flight flight : flightRepository.getAllFlights()) {
+            flightNumbers.put(flight.getFlightId(), flight.getFlightNo());
         }
+        return flightNumbers;
     }
     
     private void loadSystemLogs() {
-        try {
+        loader.refresh("logs", () -> {
             // Read the log file
             File logFile = new File("aerodesk.log");
-            if (logFile.exists()) {
-                StringBuilder logContent = new StringBuilder();
-                try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        logContent.append(line).append("\n");
-                    }
+            if (!logFile.exists()) {
+                return null;
+            }
+            StringBuilder logContent = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    logContent.append(line).append("\n");
                 }
-                logsArea.setText(logContent.toString());
-                
-                // Scroll to bottom to show latest logs
-                logsArea.setCaretPosition(logsArea.getDocument().getLength());
-            } else {
+            }
+            return logContent.toString();
+        }, logContent -> {
+            if (logContent == null) {
                 logsArea.setText("No log file found.");
+                return;
             }
-        } catch (IOException ex) {
-            logsArea.setText("Error reading log file: " + ex.getMessage());
-            FileLogger.getInstance().logError("Failed to read log file: " + ex.getMessage());
-        }
+            logsArea.setText(logContent);
+            
+            // Scroll to bottom to show latest logs
+            logsArea.setCaretPosition(logsArea.getDocument().getLength());
+        }, ex -> logsArea.setText("Error reading log file: " + ex.getMessage()));
     }
     
     private void updateSystemStats() {
+        loader.refresh("systemStats", this::buildSystemStats, systemStatsArea::setText, ex -> { });
+    }
+    
+    /**
+     * Lists the KPIs with history and redraws the selected one; reads only the
+     * in-memory KPI history, not the operational tables
+     */
+    private void updateTrendChart() {
+        Object selected = trendKpiCombo.getSelectedItem();
+        List<String> keys = new ArrayList<>(KpiHistory.getInstance().getKeys());
+        if (keys.size() != trendKpiCombo.getItemCount()) {
+            trendKpiCombo.setModel(new DefaultComboBoxModel<>(keys.toArray(new String[0])));
+            if (selected != null && keys.contains(selected)) {
+                trendKpiCombo.setSelectedItem(selected);
+            }
+        }
+        showTrend();
+    }
+    
+    private void showTrend() {
+        String key = (String) trendKpiCombo.getSelectedItem();
+        long since = Instant.now().getEpochSecond() - TREND_DAYS * 24L * 3600;
+        trendChart.setPoints(key != null ? KpiHistory.getInstance().getHourAverages(key, since) : KpiHistory.Points.EMPTY);
+    }
+    
+    /**
+     * Daily averages of the charted KPI, for printing and e-mailing the Trends tab
+     */
+    private String getTrendContent() {
+        String key = (String) trendKpiCombo.getSelectedItem();
+        if (key == null) {
+            return "No KPI history available";
+        }
+        KpiHistory.Points hours = KpiHistory.getInstance().getHourAverages(key,
+            Instant.now().getEpochSecond() - TREND_DAYS * 24L * 3600);
+        StringBuilder content = new StringBuilder("Date\tAverage " + key + "\n");
+        ZoneId zone = ZoneId.systemDefault();
+        for (int i = 0; i < hours.size();) {
+            LocalDate day = Instant.ofEpochSecond(hours.getTime(i)).atZone(zone).toLocalDate();
+            double sum = 0;
+            int count = 0;
+            for (; i < hours.size() && Instant.ofEpochSecond(hours.getTime(i)).atZone(zone).toLocalDate().equals(day); i++) {
+                sum += hours.getValue(i);
+                count++;
+            }
+            content.append(day.format(shortDateFormatter)).append("\t").append(String.format("%.1f", sum / count)).append("\n");
+        }
+        return content.toString();
+    }
+    
+    private String buildSystemStats() {
         StringBuilder stats = new StringBuilder();
         LocalDateTime now = LocalDateTime.now();
         
@@ -855,21 +1290,33 @@ public class ReportsFrame extends JFrame {
         
         try {
             // Flight statistics
-            List<Flight> flights = flightDAO.getAllFlights();
-            long scheduledFlights = flights.stream().filter(f -> f.getStatus() == Flight.FlightStatus.SCHEDULED).count();
-            long onTimeFlights = flights.stream().filter(f -> f.getStatus() == Flight.FlightStatus.ON_TIME).count();
-            long delayedFlights = flights.stream().filter(f -> f.getStatus() == Flight.FlightStatus.DELAYED).count();
-            long departedFlights = flights.stream().filter(f -> f.getStatus() == Flight.FlightStatus.DEPARTED).count();
-            long cancelledFlights = flights.stream().filter(f -> f.getStatus() == Flight.FlightStatus.CANCELLED).count();
+            List<Flight> flights = flightRepository.getAllFlights();
+            StatusCounter<Flight.FlightStatus> flightCounts = StatusCounter.of(Flight.FlightStatus.class);
+            for (Flight flight : flights) {
+                flightCounts.add(flight.getStatus());
+            }
             
             stats.append("FLIGHT STATISTICS:\n");
             stats.append("-----------------\n");
             stats.append("Total Flights: ").append(flights.size()).append("\n");
-            stats.append("Scheduled: ").append(scheduledFlights).append("\n");
-            stats.append("On Time: ").append(onTimeFlights).append("\n");
-            stats.append("Delayed: ").append(delayedFlights).append("\n");
-            stats.append("Departed: ").append(departedFlights).append("\n");
-            stats.append("Cancelled: ").append(cancelledFlights).append("\n\n");
+            stats.append("Scheduled: ").append(flightCounts.get(Flight.FlightStatus.SCHEDULED)).append("\n");
+            stats.append("On Time: ").append(flightCounts.get(Flight.FlightStatus.ON_TIME)).append("\n");
+            stats.append("Delayed: ").append(flightCounts.get(Flight.FlightStatus.DELAYED)).append("\n");
+            stats.append("Departed: ").append(flightCounts.get(Flight.FlightStatus.DEPARTED)).append("\n");
+            stats.append("Cancelled: ").append(flightCounts.get(Flight.FlightStatus.CANCELLED)).append("\n\n");
+            
+            // Delay statistics, kept up to date incrementally by the delay analytics engine
+            DelayAnalytics delays = DelayAnalytics.getInstance();
+            stats.append("DELAY STATISTICS (minutes, from estimated/actual departures):\n");
+            stats.append("-------------------------------------------------------------\n");
+            stats.append(delays.getOverall()).append("\n");
+            stats.append(String.format("Rolling average: last hour %.1f, last 24 hours %.1f%n",
+                delays.getRollingAverage(Duration.ofHours(1)), delays.getRollingAverage(Duration.ofHours(24))));
+            stats.append("Worst airlines:\n");
+            delays.getAirlineSummaries().stream().limit(5).forEach(s -> stats.append("  ").append(s).append("\n"));
+            stats.append("Worst routes:\n");
+            delays.getRouteSummaries().stream().limit(5).forEach(s -> stats.append("  ").append(s).append("\n"));
+            stats.append("\n");
             
             // Booking statistics
             List<Booking> bookings = bookingDAO.getAllBookings();
@@ -885,8 +1332,11 @@ public class ReportsFrame extends JFrame {
             
             // Baggage statistics
             List<Baggage> baggageList = baggageDAO.getAllBaggage();
-            long deliveredBaggage = baggageList.stream()
-                .filter(b -> b.getStatus().equals("DELIVERED")).count();
+            StatusCounter<Baggage.BaggageStatus> baggageCounts = StatusCounter.of(Baggage.BaggageStatus.class);
+            for (Baggage baggage : baggageList) {
+                baggageCounts.add(baggage.getStatus());
+            }
+            long deliveredBaggage = baggageCounts.get(Baggage.BaggageStatus.DELIVERED);
             
             stats.append("BAGGAGE STATISTICS:\n");
             stats.append("-------------------\n");
@@ -909,7 +1359,7 @@ public class ReportsFrame extends JFrame {
             FileLogger.getInstance().logError("Failed to generate system stats: " + ex.getMessage());
         }
         
-        systemStatsArea.setText(stats.toString());
+        return stats.toString();
     }
     
     private void configureWindow() {
@@ -922,89 +1372,104 @@ public class ReportsFrame extends JFrame {
     }
     
     // Search methods
-    private void searchFlights(String searchTerm, StringBuilder results) {
-        try {
-            List<Flight> flights = flightDAO.getAllFlights();
-            results.append("=== Flight Search Results ===\n");
-            
-            for (Flight flight : flights) {
-                if (flight.getFlightNo().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    flight.getOrigin().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    flight.getDestination().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    flight.getStatus().toString().toLowerCase().contains(searchTerm.toLowerCase())) {
-                    
-                    results.append("Flight: ").append(flight.getFlightNo()).append("\n");
-                    results.append("Route: ").append(flight.getOrigin()).append(" → ").append(flight.getDestination()).append("\n");
-                    results.append("Status: ").append(flight.getStatus()).append("\n");
-                    results.append("Aircraft: ").append(flight.getAircraftType()).append("\n");
-                    results.append("-".repeat(30)).append("\n");
-                }
-            }
-        } catch (DatabaseException ex) {
-            results.append("Error searching flights: ").append(ex.getMessage()).append("\n");
+    private Set<GlobalSearchIndex.EntityType> searchTypes(String searchType) {
+        switch (searchType) {
+            case "Flights":
+                return EnumSet.of(GlobalSearchIndex.EntityType.FLIGHT);
+            case "Bookings":
+                return EnumSet.of(GlobalSearchIndex.EntityType.BOOKING);
+            case "Baggage":
+                return EnumSet.of(GlobalSearchIndex.EntityType.BAGGAGE);
+            case "Gates":
+                return EnumSet.of(GlobalSearchIndex.EntityType.GATE, GlobalSearchIndex.EntityType.GATE_ASSIGNMENT);
+            default:
+                return EnumSet.allOf(GlobalSearchIndex.EntityType.class);
         }
     }
     
-    private void searchBookings(String searchTerm, StringBuilder results) {
-        try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
-            results.append("=== Booking Search Results ===\n");
-            
-            for (Booking booking : bookings) {
-                if (booking.getPassengerName().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    String.valueOf(booking.getBookingId()).toLowerCase().contains(searchTerm.toLowerCase())) {
-                    
-                    results.append("Booking ID: ").append(booking.getBookingId()).append("\n");
-                    results.append("Passenger: ").append(booking.getPassengerName()).append("\n");
-                    results.append("Checked In: ").append(booking.isCheckedIn() ? "Yes" : "No").append("\n");
-                    results.append("-".repeat(30)).append("\n");
-                }
+    /**
+     * Loads the entities of one page of hits, one query per type, and appends
+     * a line per hit in rank order; hits deleted since they were indexed are skipped
+     */
+    private void appendHits(List<GlobalSearchIndex.Hit> hits, StringBuilder results) throws DatabaseException {
+        Map<GlobalSearchIndex.EntityType, List<Integer>> idsByType = new EnumMap<>(GlobalSearchIndex.EntityType.class);
+        for (GlobalSearchIndex.Hit hit : hits) {
+            idsByType.computeIfAbsent(hit.getType(), t -> new ArrayList<>()).add(hit.getId());
+        }
+        
+        Map<Integer, Booking> bookings = new HashMap<>();
+        for (Booking booking : bookingDAO.getBookingsByIds(idsByType.getOrDefault(GlobalSearchIndex.EntityType.BOOKING, List.of()))) {
+            bookings.put(booking.getBookingId(), booking);
+        }
+        Map<Integer, Baggage> baggage = new HashMap<>();
+        for (Baggage bag : baggageDAO.getBaggageByIds(idsByType.getOrDefault(GlobalSearchIndex.EntityType.BAGGAGE, List.of()))) {
+            baggage.put(bag.getBaggageId(), bag);
+        }
+        Map<Integer, Gate> gates = new HashMap<>();
+        Map<Integer, GateAssignment> assignments = new HashMap<>();
+        if (idsByType.containsKey(GlobalSearchIndex.EntityType.GATE) || idsByType.containsKey(GlobalSearchIndex.EntityType.GATE_ASSIGNMENT)) {
+            for (Gate gate : gateDAO.getAllGates()) {
+                gates.put(gate.getGateId(), gate);
             }
-        } catch (DatabaseException ex) {
-            results.append("Error searching bookings: ").append(ex.getMessage()).append("\n");
         }
-    }
-    
-    private void searchBaggage(String searchTerm, StringBuilder results) {
-        try {
-            List<Baggage> baggageList = baggageDAO.getAllBaggage();
-            results.append("=== Baggage Search Results ===\n");
-            
-            for (Baggage baggage : baggageList) {
-                if (baggage.getTagNumber().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    baggage.getBaggageType().toString().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                    baggage.getStatus().toString().toLowerCase().contains(searchTerm.toLowerCase())) {
-                    
-                    results.append("Tag: ").append(baggage.getTagNumber()).append("\n");
-                    results.append("Type: ").append(baggage.getBaggageType()).append("\n");
-                    results.append("Weight: ").append(baggage.getWeightKg()).append(" kg\n");
-                    results.append("Status: ").append(baggage.getStatus()).append("\n");
-                    results.append("-".repeat(30)).append("\n");
-                }
+        if (idsByType.containsKey(GlobalSearchIndex.EntityType.GATE_ASSIGNMENT)) {
+            for (GateAssignment assignment : gateDAO.getAllAssignments()) {
+                assignments.put(assignment.getAssignmentId(), assignment);
             }
-        } catch (DatabaseException ex) {
-            results.append("Error searching baggage: ").append(ex.getMessage()).append("\n");
         }
-    }
-    
-    private void searchGates(String searchTerm, StringBuilder results) {
-        try {
-            List<GateAssignment> assignments = gateDAO.getAllAssignments();
-            results.append("=== Gate Search Results ===\n");
-            
-            for (GateAssignment assignment : assignments) {
-                String gateText = "Gate " + String.valueOf(assignment.getGateId());
-                if (gateText.toLowerCase().contains(searchTerm.toLowerCase())) {
-                    results.append("Gate: ").append(assignment.getGateId()).append("\n");
-                    results.append("Assignment Time: ").append(assignment.getAssignmentTime()).append("\n");
-                    results.append("-".repeat(30)).append("\n");
-                }
+        
+        for (GlobalSearchIndex.Hit hit : hits) {
+            String detail = null;
+            switch (hit.getType()) {
+                case FLIGHT:
+                    Flight flight = flightRepository.getFlightById(hit.getId());
+                    if (flight != null) {
+                        detail = flight.getFlightNo() + "  " + flight.getOrigin() + " → " + flight.getDestination()
+                            + "  " + flight.getStatus() + "  " + flight.getAircraftType();
+                    }
+                    break;
+                case BOOKING:
+                    Booking booking = bookings.get(hit.getId());
+                    if (booking != null) {
+                        detail = booking.getBookingReference() + "  " + booking.getPassengerName()
+                            + "  Flight " + flightNumber(booking.getFlightId())
+                            + "  Checked In: " + (booking.isCheckedIn() ? "Yes" : "No");
+                    }
+                    break;
+                case BAGGAGE:
+                    Baggage bag = baggage.get(hit.getId());
+                    if (bag != null) {
+                        detail = bag.getTagNumber() + "  " + bag.getBaggageType() + "  "
+                            + bag.getWeightKg() + " kg  " + bag.getStatus();
+                    }
+                    break;
+                case GATE:
+                    Gate gate = gates.get(hit.getId());
+                    if (gate != null) {
+                        detail = gate.getGateName() + "  Terminal " + gate.getTerminal() + "  " + gate.getStatus();
+                    }
+                    break;
+                case GATE_ASSIGNMENT:
+                    GateAssignment assignment = assignments.get(hit.getId());
+                    if (assignment != null) {
+                        Gate assigned = gates.get(assignment.getGateId());
+                        detail = (assigned != null ? assigned.getGateName() : "Gate " + assignment.getGateId())
+                            + " ← " + flightNumber(assignment.getFlightId())
+                            + "  " + assignment.getAssignmentTime().format(dateFormatter);
+                    }
+                    break;
+            }
+            if (detail != null) {
+                results.append(String.format("%-16s %s%n", hit.getType().getLabel(), detail));
             }
-        } catch (DatabaseException ex) {
-            results.append("Error searching gates: ").append(ex.getMessage()).append("\n");
         }
     }
     
+    private String flightNumber(int flightId) throws DatabaseException {
+        Flight flight = flightRepository.getFlightById(flightId);
+        return flight != null ? flight.getFlightNo() : "N/A";
+    }
+    
     private void searchLogs(String searchTerm, StringBuilder results) {
         try {
             File logFile = new File("aerodesk.log");
@@ -1024,14 +1489,6 @@ public class ReportsFrame extends JFrame {
         }
     }
     
-    private void searchAll(String searchTerm, StringBuilder results) {
-        searchFlights(searchTerm, results);
-        searchBookings(searchTerm, results);
-        searchBaggage(searchTerm, results);
-        searchGates(searchTerm, results);
-        searchLogs(searchTerm, results);
-    }
-    
     private String getCurrentTabContent() {
         int selectedTab = tabbedPane.getSelectedIndex();
         switch (selectedTab) {
@@ -1049,6 +1506,10 @@ public class ReportsFrame extends JFrame {
                 return systemStatsArea.getText();
             case 6: // Search
                 return searchResultsArea.getText();
+            case 7: // Trends
+                return getTrendContent();
+            case 8: // Daily Summary
+                return getTableContent(dailySummaryTable) + "\n" + getTableContent(routeSummaryTable);
             default:
                 return "No content available";
         }
@@ -1078,9 +1539,33 @@ public class ReportsFrame extends JFrame {
     
     @Override
     public void dispose() {
-        if (autoRefreshScheduler != null && !autoRefreshScheduler.isShutdown()) {
-            autoRefreshScheduler.shutdown();
-        }
+        autoRefreshScheduler.cancelAll(this);
         super.dispose();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Daily summaries and how long reading them took
+     */
+    private static final class SummaryView {
+        private final List<DailySummary> days;
+        private final long elapsedMillis;
+        
+        SummaryView(List<DailySummary> days, long elapsedMillis) {
+            this.days = days;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+    
+    /**
+     * Rendered search text and the index page it shows; page is null for log searches
+     */
+    private static final class SearchView {
+        private final String text;
+        private final GlobalSearchIndex.Page page;
+        
+        SearchView(String text, GlobalSearchIndex.Page page) {
+            this.text = text;
+            this.page = page;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package aerodesk.ui;
+
+import aerodesk.dao.SeatMap;
+import aerodesk.model.SeatLayout;
+import aerodesk.util.ThemeManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Seat map picker dialog for AeroDesk Pro
+ * Paints a flight's seat map from one occupancy snapshot, only the rows inside the
+ * visible clip, so wide-body cabins open instantly. A free seat is picked by
+ * clicking it, with Next Free or with a block of adjacent seats for a party.
+ */
+public class SeatMapPicker extends JDialog {
+    private static final int SEAT_WIDTH = 28;
+    private static final int SEAT_HEIGHT = 24;
+    private static final int GAP = 4;
+    private static final int AISLE = 18;
+    private static final int ROW_LABEL_WIDTH = 32;
+    private static final int HEADER_HEIGHT = 22;
+    private static final Color FREE = new Color(200, 230, 201);
+    private static final Color OCCUPIED = new Color(189, 189, 189);
+    
+    private final SeatMap seatMap;
+    private final SeatLayout layout;
+    private final BitSet occupied;
+    private final int currentIndex;
+    private final List<Integer> highlighted = new ArrayList<>();
+    private final SeatGrid grid = new SeatGrid();
+    private final JLabel selectionLabel = new JLabel(" ");
+    private int selectedIndex;
+    private String result;
+    
+    private SeatMapPicker(Window owner, String title, SeatMap seatMap, String currentSeat) {
+        super(owner, title, ModalityType.APPLICATION_MODAL);
+        this.seatMap = seatMap;
+        this.layout = seatMap.getLayout();
+        this.occupied = seatMap.snapshot();
+        this.currentIndex = layout.indexOf(currentSeat);
+        this.selectedIndex = currentIndex;
+        
+        initializeComponents();
+        updateSelectionLabel();
+    }
+    
+    /**
+     * Shows the picker and waits for a seat to be chosen
+     * @param owner The owning window
+     * @param title Dialog title, e.g. the flight number
+     * @param seatMap The flight's seat map
+     * @param currentSeat The seat the passenger holds now, selectable although taken, or null
+     * @return The chosen seat number, or null if cancelled
+     */
+    public static String pick(Window owner, String title, SeatMap seatMap, String currentSeat) {
+        SeatMapPicker picker = new SeatMapPicker(owner, title, seatMap, currentSeat);
+        picker.setVisible(true);
+        return picker.result;
+    }
+    
+    private void initializeComponents() {
+        setLayout(new BorderLayout());
+        getContentPane().setBackground(ThemeManager.WHITE);
+        
+        JPanel headerPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 8));
+        headerPanel.setBackground(ThemeManager.WHITE);
+        int free = layout.getCapacity() - occupied.cardinality();
+        headerPanel.add(ThemeManager.createSubheaderLabel(free + " of " + layout.getCapacity() + " seats free"));
+        headerPanel.add(legend("Free", FREE));
+        headerPanel.add(legend("Taken", OCCUPIED));
+        headerPanel.add(legend("Selected", ThemeManager.PRIMARY_BLUE));
+        
+        JScrollPane scrollPane = new JScrollPane(grid);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getVerticalScrollBar().setUnitIncrement(SEAT_HEIGHT + GAP);
+        scrollPane.setPreferredSize(new Dimension(grid.getPreferredSize().width + 30, 520));
+        
+        JSpinner partySpinner = new JSpinner(new SpinnerNumberModel(2, 1, layout.getColumns(), 1));
+        JButton togetherButton = new JButton("Seats Together");
+        JButton nextFreeButton = new JButton("Next Free");
+        JButton selectButton = new JButton("Select");
+        JButton cancelButton = new JButton("Cancel");
+        ThemeManager.styleButton(togetherButton, ThemeManager.SECONDARY_BLUE, ThemeManager.WHITE);
+        ThemeManager.styleButton(nextFreeButton, ThemeManager.SECONDARY_BLUE, ThemeManager.WHITE);
+        ThemeManager.styleButton(selectButton, ThemeManager.SUCCESS_GREEN, ThemeManager.WHITE);
+        ThemeManager.styleButton(cancelButton, ThemeManager.DARK_GRAY, ThemeManager.WHITE);
+        
+        togetherButton.addActionListener(e -> {
+            List<String> block = seatMap.findAdjacent((Integer) partySpinner.getValue());
+            highlighted.clear();
+            if (block.isEmpty()) {
+                selectionLabel.setText("No " + partySpinner.getValue() + " adjacent seats free");
+                grid.repaint();
+                return;
+            }
+            for (String seat : block) {
+                highlighted.add(layout.indexOf(seat));
+            }
+            select(highlighted.get(0));
+        });
+        nextFreeButton.addActionListener(e -> {
+            String after = selectedIndex >= 0 ? layout.getSeatNo(selectedIndex) : null;
+            String seat = seatMap.nextFree(after);
+            if (seat != null && layout.indexOf(seat) == selectedIndex) {
+                seat = selectedIndex + 1 < layout.getCapacity() ? seatMap.nextFree(layout.getSeatNo(selectedIndex + 1)) : null;
+            }
+            if (seat == null) {
+                seat = seatMap.nextFree(null);
+            }
+            if (seat != null) {
+                highlighted.clear();
+                select(layout.indexOf(seat));
+            }
+        });
+        selectButton.addActionListener(e -> confirm());
+        cancelButton.addActionListener(e -> dispose());
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 10));
+        buttonPanel.setBackground(ThemeManager.WHITE);
+        buttonPanel.add(new JLabel("Party:"));
+        buttonPanel.add(partySpinner);
+        buttonPanel.add(togetherButton);
+        buttonPanel.add(nextFreeButton);
+        buttonPanel.add(selectionLabel);
+        buttonPanel.add(selectButton);
+        buttonPanel.add(cancelButton);
+        
+        add(headerPanel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+        
+        pack();
+        setLocationRelativeTo(getOwner());
+        SwingUtilities.invokeLater(() -> scrollToSelection());
+    }
+    
+    private JLabel legend(String text, Color color) {
+        JLabel label = new JLabel(text);
+        label.setIcon(new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                g.setColor(color);
+                g.fillRoundRect(x, y, 14, 12, 4, 4);
+            }
+            
+            @Override
+            public int getIconWidth() {
+                return 14;
+            }
+            
+            @Override
+            public int getIconHeight() {
+                return 12;
+            }
+        });
+        return label;
+    }
+    
+    private boolean isSelectable(int index) {
+        return index >= 0 && (!occupied.get(index) || index == currentIndex);
+    }
+    
+    private void select(int index) {
+        if (!isSelectable(index)) {
+            return;
+        }
+        selectedIndex = index;
+        updateSelectionLabel();
+        scrollToSelection();
+        grid.repaint();
+    }
+    
+    private void confirm() {
+        if (selectedIndex < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a seat", "No Seat Selected", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        result = layout.getSeatNo(selectedIndex);
+        dispose();
+    }
+    
+    private void updateSelectionLabel() {
+        selectionLabel.setText(selectedIndex >= 0 ? "Seat " + layout.getSeatNo(selectedIndex) : "No seat selected");
+    }
+    
+    private void scrollToSelection() {
+        if (selectedIndex >= 0) {
+            grid.scrollRectToVisible(grid.seatBounds(selectedIndex));
+        }
+    }
+    
+    /**
+     * The painted cabin; row r, column c is drawn at columnX(c), rowY(r)
+     */
+    private final class SeatGrid extends JComponent {
+        private final int[] columnX;
+        
+        SeatGrid() {
+            columnX = new int[layout.getColumns()];
+            int x = ROW_LABEL_WIDTH;
+            for (int section = 0; section < layout.getSectionCount(); section++) {
+                for (int column = layout.getSectionStart(section); column < layout.getSectionEnd(section); column++) {
+                    columnX[column] = x;
+                    x += SEAT_WIDTH + GAP;
+                }
+                x += AISLE;
+            }
+            setPreferredSize(new Dimension(x, HEADER_HEIGHT + layout.getRows() * (SEAT_HEIGHT + GAP) + GAP));
+            setToolTipText("");
+            
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int index = seatAt(e.getPoint());
+                    if (isSelectable(index)) {
+                        highlighted.clear();
+                        select(index);
+                        if (e.getClickCount() == 2) {
+                            confirm();
+                        }
+                    }
+                }
+            });
+        }
+        
+        Rectangle seatBounds(int index) {
+            int row = index / layout.getColumns();
+            int column = index % layout.getColumns();
+            return new Rectangle(columnX[column], rowY(row), SEAT_WIDTH, SEAT_HEIGHT);
+        }
+        
+        private int rowY(int row) {
+            return HEADER_HEIGHT + row * (SEAT_HEIGHT + GAP);
+        }
+        
+        private int seatAt(Point point) {
+            int row = (point.y - HEADER_HEIGHT) / (SEAT_HEIGHT + GAP);
+            if (point.y < HEADER_HEIGHT || row >= layout.getRows()) {
+                return -1;
+            }
+            for (int column = 0; column < columnX.length; column++) {
+                if (point.x >= columnX[column] && point.x < columnX[column] + SEAT_WIDTH) {
+                    return row * layout.getColumns() + column;
+                }
+            }
+            return -1;
+        }
+        
+        @Override
+        public String getToolTipText(MouseEvent e) {
+            int index = seatAt(e.getPoint());
+            if (index < 0) {
+                return null;
+            }
+            return layout.getSeatNo(index) + (occupied.get(index) && index != currentIndex ? " (taken)" : "");
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Rectangle clip = g2.getClipBounds();
+            g2.setColor(ThemeManager.WHITE);
+            g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+            g2.setFont(ThemeManager.BODY_FONT);
+            FontMetrics metrics = g2.getFontMetrics();
+            
+            g2.setColor(ThemeManager.DARK_GRAY);
+            for (int column = 0; column < columnX.length; column++) {
+                String letter = String.valueOf(layout.getLetter(column));
+                g2.drawString(letter, columnX[column] + (SEAT_WIDTH - metrics.stringWidth(letter)) / 2, HEADER_HEIGHT - 6);
+            }
+            
+            // Only the rows inside the clip are painted
+            int firstRow = Math.max(0, (clip.y - HEADER_HEIGHT) / (SEAT_HEIGHT + GAP));
+            int lastRow = Math.min(layout.getRows() - 1, (clip.y + clip.height - HEADER_HEIGHT) / (SEAT_HEIGHT + GAP));
+            int columns = layout.getColumns();
+            for (int row = firstRow; row <= lastRow; row++) {
+                int y = rowY(row);
+                String label = String.valueOf(row + 1);
+                g2.setColor(ThemeManager.DARK_GRAY);
+                g2.drawString(label, ROW_LABEL_WIDTH - GAP - 4 - metrics.stringWidth(label), y + (SEAT_HEIGHT + metrics.getAscent()) / 2 - 2);
+                for (int column = 0; column < columns; column++) {
+                    int index = row * columns + column;
+                    if (index == selectedIndex) {
+                        g2.setColor(ThemeManager.PRIMARY_BLUE);
+                    } else if (highlighted.contains(index)) {
+                        g2.setColor(ThemeManager.SECONDARY_BLUE);
+                    } else if (index == currentIndex) {
+                        g2.setColor(ThemeManager.ACCENT_ORANGE);
+                    } else {
+                        g2.setColor(occupied.get(index) ? OCCUPIED : FREE);
+                    }
+                    g2.fillRoundRect(columnX[column], y, SEAT_WIDTH, SEAT_HEIGHT, 8, 8);
+                }
+            }
+            g2.dispose();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package aerodesk.ui;
+
+import aerodesk.util.KpiHistory;
+import aerodesk.util.ThemeManager;
+
+import javax.swing.JComponent;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Line chart of a KPI history series for AeroDesk Pro
+ * As a sparkline it draws only the line, scaled to its own minimum and maximum; as a
+ * chart it adds the value range and the first and last time, e.g. for ReportsFrame.
+ * Points are painted from the arrays copied out of {@link KpiHistory}.
+ */
+public final class TrendChart extends JComponent {
+    
+    private static final int LABEL_GAP = 4;
+    
+    private final boolean sparkline;
+    private final DateTimeFormatter timeFormatter;
+    private KpiHistory.Points points = KpiHistory.Points.EMPTY;
+    private String emptyText = "No history yet";
+    
+    /**
+     * Creates a sparkline
+     */
+    public TrendChart() {
+        this(true, null);
+    }
+    
+    /**
+     * Creates a chart with axis labels
+     * @param timePattern Pattern for the time labels, e.g. "MM-dd HH:mm"
+     */
+    public TrendChart(String timePattern) {
+        this(false, DateTimeFormatter.ofPattern(timePattern).withZone(ZoneId.systemDefault()));
+    }
+    
+    private TrendChart(boolean sparkline, DateTimeFormatter timeFormatter) {
+        this.sparkline = sparkline;
+        this.timeFormatter = timeFormatter;
+        setPreferredSize(sparkline ? new Dimension(120, 28) : new Dimension(600, 300));
+        setFont(ThemeManager.BODY_FONT);
+    }
+    
+    /**
+     * Replaces the points and repaints
+     * @param points Points in time order
+     */
+    public void setPoints(KpiHistory.Points points) {
+        this.points = points;
+        repaint();
+    }
+    
+    public void setEmptyText(String emptyText) {
+        this.emptyText = emptyText;
+        repaint();
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Insets insets = getInsets();
+        Rectangle area = new Rectangle(insets.left, insets.top,
+            getWidth() - insets.left - insets.right, getHeight() - insets.top - insets.bottom);
+        KpiHistory.Points shown = points;
+        FontMetrics metrics = g2.getFontMetrics();
+        
+        if (shown.size() < 2) {
+            if (!sparkline) {
+                g2.setColor(ThemeManager.DARK_GRAY);
+                g2.drawString(emptyText, area.x + (area.width - metrics.stringWidth(emptyText)) / 2, area.y + area.height / 2);
+            }
+            g2.dispose();
+            return;
+        }
+        
+        double min = shown.getMin();
+        double max = shown.getMax();
+        if (!sparkline) {
+            // Leave room for the value labels on the left and the time labels below
+            String maxLabel = formatValue(max);
+            String minLabel = formatValue(min);
+            int labelWidth = Math.max(metrics.stringWidth(maxLabel), metrics.stringWidth(minLabel)) + LABEL_GAP;
+            int labelHeight = metrics.getHeight();
+            g2.setColor(ThemeManager.DARK_GRAY);
+            g2.drawString(maxLabel, area.x, area.y + metrics.getAscent());
+            g2.drawString(minLabel, area.x, area.y + area.height - labelHeight - LABEL_GAP);
+            String first = timeFormatter.format(Instant.ofEpochSecond(shown.getTime(0)));
+            String last = timeFormatter.format(Instant.ofEpochSecond(shown.getTime(shown.size() - 1)));
+            int baseline = area.y + area.height - metrics.getDescent();
+            g2.drawString(first, area.x + labelWidth, baseline);
+            g2.drawString(last, area.x + area.width - metrics.stringWidth(last), baseline);
+            area = new Rectangle(area.x + labelWidth, area.y + metrics.getAscent() / 2,
+                area.width - labelWidth, area.height - labelHeight - LABEL_GAP - metrics.getAscent() / 2);
+            g2.setColor(ThemeManager.LIGHT_GRAY);
+            g2.drawLine(area.x, area.y + area.height, area.x + area.width, area.y + area.height);
+        }
+        
+        // A flat series is drawn through the middle
+        double range = max > min ? max - min : 1;
+        double offset = max > min ? 0 : 0.5;
+        long firstTime = shown.getTime(0);
+        double span = Math.max(1, shown.getTime(shown.size() - 1) - firstTime);
+        Path2D.Double line = new Path2D.Double();
+        for (int i = 0; i < shown.size(); i++) {
+            double x = area.x + (shown.getTime(i) - firstTime) / span * (area.width - 1);
+            double y = area.y + (1 - ((shown.getValue(i) - min) / range + offset)) * (area.height - 1);
+            if (i == 0) {
+                line.moveTo(x, y);
+            } else {
+                line.lineTo(x, y);
+            }
+        }
+        g2.setColor(ThemeManager.PRIMARY_BLUE);
+        g2.setStroke(new BasicStroke(sparkline ? 1.5f : 2f));
+        g2.draw(line);
+        g2.dispose();
+    }
+    
+    private static String formatValue(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.1f", value);
+    }
+}
@@ -171,6 +171,10 @@ public class ApiIntegrator {
     private static String makeHttpRequest(String urlString) throws IOException {
         URL url = new URL(urlString);
         HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        String metric = "http." + url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+        EdtWatchdog.Operation operation = EdtWatchdog.enter(metric + " " + url.getHost());
+        long start = System.nanoTime();
         
         try {
             connection.setRequestMethod("GET");
@@ -180,6 +184,7 @@ public class ApiIntegrator {
             connection.setRequestProperty("Accept", "application/json");
             
             int responseCode = connection.getResponseCode();
+            metrics.increment("http.status." + responseCode);
             
             if (responseCode == HttpURLConnection.HTTP_OK) {
                 BufferedReader reader = new BufferedReader(
@@ -199,7 +204,13 @@ public class ApiIntegrator {
                 FileLogger.getInstance().logError("API request failed with code: " + responseCode + " for URL: " + urlString);
                 throw new IOException("HTTP request failed with code: " + responseCode);
             }
+        } catch (IOException e) {
+            metrics.increment("http.errors");
+            metrics.increment(metric + ".errors");
+            throw e;
         } finally {
+            metrics.recordSince(metric, start);
+            EdtWatchdog.exit(operation);
             connection.disconnect();
         }
     }
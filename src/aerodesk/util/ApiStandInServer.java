@@ -0,0 +1,356 @@
+package aerodesk.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Aviation Stack and OpenWeather APIs for AeroDesk Pro
+ * Serves recorded or generated payloads with configurable latency, error rate and
+ * rate limiting (429) so the flight data sync path can be load-tested offline.
+ *
+ * Point the application at it with
+ *   aviationstack.api.url=http://localhost:8089/v1
+ *   weather.api.url=http://localhost:8089/data/2.5/weather
+ * (or -Daerodesk.<key>=... overrides) and any non-placeholder API keys.
+ *
+ * Recorded payloads are read from standin.replay.dir as &lt;endpoint&gt;/&lt;key&gt;.json,
+ * falling back to &lt;endpoint&gt;.json, e.g. flights/UL225.json or weather.json.
+ * GET /stats returns the request counters.
+ */
+public class ApiStandInServer {
+    
+    private static final DateTimeFormatter API_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'+00:00'");
+    private static final String[] STATUSES = {"scheduled", "scheduled", "active", "landed", "delayed", "cancelled"};
+    private static final String[] AIRPORTS = {"CMB", "DXB", "SIN", "LHR", "JFK", "LAX", "HKG", "SYD", "FRA", "CDG", "NRT"};
+    private static final String[] CONDITIONS = {"Clear", "Clouds", "Rain", "Thunderstorm", "Mist"};
+    
+    private final int port;
+    private final int threads;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final double throttleRate;
+    private final int requestsPerSecond;
+    private final Path replayDir;
+    
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final Object bucketLock = new Object();
+    private long bucketSecond;
+    private int bucketCount;
+    
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * Creates a server from the standin.* keys in config.properties
+     */
+    public ApiStandInServer() {
+        this(ConfigManager.getInstance(), new HashMap<>());
+    }
+    
+    /**
+     * Creates a server from configuration with explicit overrides
+     * @param config Configuration supplying standin.* defaults
+     * @param overrides Values keyed without the standin. prefix, e.g. "error.rate"
+     */
+    public ApiStandInServer(ConfigManager config, Map<String, String> overrides) {
+        this.port = Integer.parseInt(setting(config, overrides, "port", "8089"));
+        this.threads = Integer.parseInt(setting(config, overrides, "threads", "16"));
+        this.latencyMillis = Long.parseLong(setting(config, overrides, "latency.ms", "150"));
+        this.jitterMillis = Long.parseLong(setting(config, overrides, "latency.jitter.ms", "50"));
+        this.errorRate = Double.parseDouble(setting(config, overrides, "error.rate", "0.0"));
+        this.throttleRate = Double.parseDouble(setting(config, overrides, "throttle.rate", "0.0"));
+        this.requestsPerSecond = Integer.parseInt(setting(config, overrides, "ratelimit.rps", "0"));
+        String dir = setting(config, overrides, "replay.dir", "");
+        this.replayDir = dir.isEmpty() ? null : Paths.get(dir);
+    }
+    
+    private static String setting(ConfigManager config, Map<String, String> overrides, String key, String defaultValue) {
+        String value = overrides.get(key);
+        return value != null ? value : config.getProperty("standin." + key, defaultValue).trim();
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Map<String, String> overrides = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Usage: ApiStandInServer [--port=8089] [--threads=16] [--latency.ms=150] [--latency.jitter.ms=50]"
+                    + " [--error.rate=0.0] [--throttle.rate=0.0] [--ratelimit.rps=0] [--replay.dir=path]");
+                System.exit(2);
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            overrides.put(pair[0], pair[1]);
+        }
+        
+        ApiStandInServer standIn = new ApiStandInServer(ConfigManager.getInstance(), overrides);
+        standIn.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println(standIn.getStatsJson());
+            standIn.stop();
+        }));
+        System.out.println("API stand-in listening on http://localhost:" + standIn.getPort());
+    }
+    
+    /**
+     * Starts serving requests
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "ApiStandIn-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        FileLogger.getInstance().logInfo("API stand-in started on port " + getPort() + " (latency " + latencyMillis
+            + "+/-" + jitterMillis + " ms, error rate " + errorRate + ", throttle rate " + throttleRate
+            + ", limit " + requestsPerSecond + " rps)");
+    }
+    
+    /**
+     * Stops the server and its worker threads
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            FileLogger.getInstance().logInfo("API stand-in stopped: " + getStatsJson());
+        }
+    }
+    
+    /**
+     * Gets the bound port, which differs from the configured one when that was 0
+     * @return The listening port
+     */
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+    
+    /**
+     * Gets the request counters as JSON
+     * @return Counters for received, served, failed and throttled requests
+     */
+    public String getStatsJson() {
+        return String.format(Locale.ROOT, "{\"requests\":%d,\"served\":%d,\"errors\":%d,\"throttled\":%d}",
+            requests.get(), served.get(), errors.get(), throttled.get());
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            
+            if (path.equals("/stats")) {
+                send(exchange, 200, getStatsJson());
+                return;
+            }
+            requests.incrementAndGet();
+            
+            if (isRateLimited() || (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate)) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "{\"error\":{\"code\":\"rate_limit_reached\",\"message\":\"Too many requests\"}}");
+                return;
+            }
+            
+            simulateLatency();
+            
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                send(exchange, 500, "{\"error\":{\"code\":\"internal_error\",\"message\":\"Injected failure\"}}");
+                return;
+            }
+            
+            String body = respond(path, query);
+            if (body == null) {
+                send(exchange, 404, "{\"error\":{\"code\":\"not_found\",\"message\":\"Unknown endpoint " + path + "\"}}");
+                return;
+            }
+            served.incrementAndGet();
+            send(exchange, 200, body);
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    private boolean isRateLimited() {
+        if (requestsPerSecond <= 0) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        synchronized (bucketLock) {
+            if (second != bucketSecond) {
+                bucketSecond = second;
+                bucketCount = 0;
+            }
+            return ++bucketCount > requestsPerSecond;
+        }
+    }
+    
+    private void simulateLatency() {
+        long delay = latencyMillis;
+        if (jitterMillis > 0) {
+            delay += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+        }
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private String respond(String path, Map<String, String> query) throws IOException {
+        if (path.endsWith("/flights")) {
+            String flight = query.getOrDefault("flight_iata", "XX000");
+            String recorded = replay("flights", flight);
+            return recorded != null ? recorded : generateFlight(flight, "1".equals(query.get("live")));
+        }
+        if (path.endsWith("/airports")) {
+            String code = query.getOrDefault("iata_code", "XXX");
+            String recorded = replay("airports", code);
+            return recorded != null ? recorded : generateAirport(code);
+        }
+        if (path.endsWith("/airlines")) {
+            String code = query.getOrDefault("iata_code", "XX");
+            String recorded = replay("airlines", code);
+            return recorded != null ? recorded : generateAirline(code);
+        }
+        if (path.endsWith("/weather")) {
+            String key = query.containsKey("q") ? query.get("q") : query.getOrDefault("lat", "0") + "," + query.getOrDefault("lon", "0");
+            String recorded = replay("weather", key);
+            return recorded != null ? recorded : generateWeather(key, query);
+        }
+        return null;
+    }
+    
+    private String replay(String endpoint, String key) throws IOException {
+        if (replayDir == null) {
+            return null;
+        }
+        Path exact = replayDir.resolve(endpoint).resolve(key.replaceAll("[^A-Za-z0-9,._-]", "_") + ".json");
+        if (Files.isRegularFile(exact)) {
+            return Files.readString(exact, StandardCharsets.UTF_8);
+        }
+        Path fallback = replayDir.resolve(endpoint + ".json");
+        return Files.isRegularFile(fallback) ? Files.readString(fallback, StandardCharsets.UTF_8) : null;
+    }
+    
+    private String generateFlight(String flightIata, boolean live) {
+        // Route and schedule are stable per flight; status changes every 10 minutes
+        int hash = flightIata.hashCode() & 0x7fffffff;
+        String origin = AIRPORTS[hash % AIRPORTS.length];
+        String destination = AIRPORTS[(hash / AIRPORTS.length + 1 + hash % AIRPORTS.length) % AIRPORTS.length];
+        String status = STATUSES[(int) ((hash + System.currentTimeMillis() / 600_000) % STATUSES.length)];
+        int delay = "delayed".equals(status) ? 15 + hash % 90 : 0;
+        LocalDateTime departure = LocalDateTime.now().withSecond(0).withNano(0).plusMinutes(hash % 720);
+        LocalDateTime arrival = departure.plusMinutes(60 + hash % 600);
+        String airline = flightIata.length() >= 2 ? flightIata.substring(0, 2) : flightIata;
+        String number = flightIata.length() > 2 ? flightIata.substring(2) : flightIata;
+        
+        String liveJson = live || "active".equals(status)
+            ? String.format(Locale.ROOT, "{\"updated\":\"%s\",\"latitude\":%.4f,\"longitude\":%.4f,\"altitude\":%d,\"direction\":%d,"
+                + "\"speed_horizontal\":%d,\"speed_vertical\":0,\"is_ground\":false}",
+                API_TIME.format(LocalDateTime.now()), -60 + hash % 120 + 0.5, -170 + hash % 340 + 0.25,
+                9000 + hash % 3000, hash % 360, 700 + hash % 200)
+            : "null";
+        
+        return String.format(Locale.ROOT, "{\"pagination\":{\"limit\":100,\"offset\":0,\"count\":1,\"total\":1},\"data\":[{"
+            + "\"flight_date\":\"%s\",\"flight_status\":\"%s\","
+            + "\"departure\":{\"airport\":\"%s International\",\"timezone\":\"UTC\",\"iata\":\"%s\",\"icao\":null,"
+            + "\"terminal\":\"%d\",\"gate\":\"%s%d\",\"delay\":%s,\"scheduled\":\"%s\",\"estimated\":\"%s\",\"actual\":null},"
+            + "\"arrival\":{\"airport\":\"%s International\",\"timezone\":\"UTC\",\"iata\":\"%s\",\"icao\":null,"
+            + "\"terminal\":\"%d\",\"gate\":null,\"scheduled\":\"%s\",\"estimated\":\"%s\",\"actual\":null},"
+            + "\"airline\":{\"name\":\"%s Airways\",\"iata\":\"%s\",\"icao\":null},"
+            + "\"flight\":{\"number\":\"%s\",\"iata\":\"%s\",\"icao\":null},"
+            + "\"aircraft\":{\"registration\":\"N%dAD\",\"iata\":\"A320\",\"icao\":\"A320\"},"
+            + "\"live\":%s}]}",
+            departure.toLocalDate(), status,
+            origin, origin, 1 + hash % 3, (char) ('A' + hash % 3), 1 + hash % 20, delay > 0 ? String.valueOf(delay) : "null",
+            API_TIME.format(departure), API_TIME.format(departure.plusMinutes(delay)),
+            destination, destination, 1 + hash % 5, API_TIME.format(arrival), API_TIME.format(arrival.plusMinutes(delay)),
+            airline, airline, number, flightIata, 100 + hash % 900, liveJson);
+    }
+    
+    private String generateAirport(String code) {
+        int hash = code.hashCode() & 0x7fffffff;
+        return String.format(Locale.ROOT, "{\"pagination\":{\"limit\":100,\"offset\":0,\"count\":1,\"total\":1},\"data\":[{"
+            + "\"airport_name\":\"%s International Airport\",\"iata_code\":\"%s\",\"icao_code\":\"K%s\","
+            + "\"latitude\":\"%.4f\",\"longitude\":\"%.4f\",\"geoname_id\":\"%d\",\"timezone\":\"UTC\",\"gmt\":\"0\","
+            + "\"phone_number\":null,\"country_name\":\"Standland\",\"country_iso2\":\"SL\",\"city_iata_code\":\"%s\"}]}",
+            code, code, code, -60 + hash % 120 + 0.5, -170 + hash % 340 + 0.25, hash % 1_000_000, code);
+    }
+    
+    private String generateAirline(String code) {
+        int hash = code.hashCode() & 0x7fffffff;
+        return String.format(Locale.ROOT, "{\"pagination\":{\"limit\":100,\"offset\":0,\"count\":1,\"total\":1},\"data\":[{"
+            + "\"airline_name\":\"%s Airways\",\"iata_code\":\"%s\",\"icao_code\":\"%sX\",\"callsign\":\"STANDIN\","
+            + "\"country_name\":\"Standland\",\"country_iso2\":\"SL\",\"fleet_size\":\"%d\",\"fleet_average_age\":\"%.1f\","
+            + "\"date_founded\":\"%d\",\"status\":\"active\",\"type\":\"scheduled\"}]}",
+            code, code, code, 20 + hash % 400, 5 + hash % 100 / 10.0, 1920 + hash % 90);
+    }
+    
+    private String generateWeather(String key, Map<String, String> query) {
+        int hash = key.hashCode() & 0x7fffffff;
+        String condition = CONDITIONS[(int) ((hash + System.currentTimeMillis() / 1_800_000) % CONDITIONS.length)];
+        return String.format(Locale.ROOT, "{\"coord\":{\"lon\":%s,\"lat\":%s},"
+            + "\"weather\":[{\"id\":800,\"main\":\"%s\",\"description\":\"%s\",\"icon\":\"01d\"}],"
+            + "\"main\":{\"temp\":%.1f,\"feels_like\":%.1f,\"pressure\":%d,\"humidity\":%d},"
+            + "\"visibility\":%d,\"wind\":{\"speed\":%.1f,\"deg\":%d},\"clouds\":{\"all\":%d},"
+            + "\"dt\":%d,\"name\":\"%s\",\"cod\":200}",
+            query.getOrDefault("lon", "0"), query.getOrDefault("lat", "0"), condition, condition.toLowerCase(Locale.ROOT),
+            -5 + hash % 40 + 0.5, -7 + hash % 40 + 0.5, 990 + hash % 40, 30 + hash % 70,
+            2000 + hash % 8000, hash % 200 / 10.0, hash % 360, hash % 100,
+            System.currentTimeMillis() / 1000, query.getOrDefault("q", key));
+    }
+    
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int split = pair.indexOf('=');
+            String name = split >= 0 ? pair.substring(0, split) : pair;
+            String value = split >= 0 ? pair.substring(split + 1) : "";
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+    
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -32,6 +32,19 @@ public class ConfigManager {
             // Set default values
             setDefaultProperties();
         }
+        applySystemOverrides();
+    }
+    
+    /**
+     * Lets -Daerodesk.<key>=<value> override a configuration key, e.g.
+     * -Daerodesk.aviationstack.api.url=http://localhost:8089/v1
+     */
+    private void applySystemOverrides() {
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("aerodesk.")) {
+                properties.setProperty(name.substring("aerodesk.".length()), System.getProperty(name));
+            }
+        }
     }
     
     private void setDefaultProperties() {
@@ -50,6 +63,15 @@ public class ConfigManager {
         return properties.getProperty(key, defaultValue);
     }
     
+    /**
+     * Overrides a configuration value for the running process only
+     * @param key The configuration key
+     * @param value The new value
+     */
+    public void setProperty(String key, String value) {
+        properties.setProperty(key, value);
+    }
+    
     public int getIntProperty(String key, int defaultValue) {
         try {
             return Integer.parseInt(properties.getProperty(key));
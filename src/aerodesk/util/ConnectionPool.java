@@ -0,0 +1,434 @@
+package aerodesk.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC connection pool for AeroDesk Pro
+ * Keeps up to db.pool.max.idle physical connections open between DAO calls, so a
+ * query no longer pays for a connect and login. Each pooled connection caches the
+ * prepared statements declared in {@link StatementRegistry} (up to
+ * db.statement.cache.size per connection): closing one returns it to the cache, and
+ * the next prepare of the same SQL on that connection reuses it without a parse;
+ * parameters and per-caller settings (fetch size, max rows, query timeout) are reset
+ * when it is returned. When no connection is idle a new one is opened, up to
+ * db.pool.max.size open connections; beyond that a borrow waits up to
+ * db.pool.borrow.timeout ms for one to be returned. Connections beyond the idle
+ * limit are closed when they are returned.
+ */
+final class ConnectionPool {
+    
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxIdle;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final int statementCacheSize;
+    private final long validateAfterNanos;
+    // Most recently returned first, so a quiet pool keeps reusing the same warm connections
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    // Physical connections open or being opened (guarded by idle)
+    private int openCount;
+    
+    ConnectionPool(String url, String username, String password) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxIdle = config.getIntProperty("db.pool.max.idle", 10);
+        this.maxSize = Math.max(1, config.getIntProperty("db.pool.max.size", 20));
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIntProperty("db.pool.borrow.timeout", 10000));
+        this.statementCacheSize = config.getIntProperty("db.statement.cache.size", 64);
+        this.validateAfterNanos = TimeUnit.MILLISECONDS.toNanos(config.getIntProperty("db.pool.validate.after", 30000));
+        MetricsRegistry.getInstance().gauge("db.pool.idle", this::getIdleCount);
+    }
+    
+    /**
+     * Borrows a connection; closing it returns it to the pool
+     * @return A connection in auto-commit mode
+     * @throws SQLException if a new connection cannot be opened, or none was returned
+     *         within db.pool.borrow.timeout while the pool was at db.pool.max.size
+     */
+    Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + borrowTimeoutNanos;
+        long waitStart = 0;
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                while ((pooled = idle.pollFirst()) == null && openCount >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        MetricsRegistry.getInstance().increment("db.pool.exhausted");
+                        throw new SQLException("No database connection available within "
+                            + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + " ms (db.pool.max.size=" + maxSize + ")");
+                    }
+                    if (waitStart == 0) {
+                        waitStart = System.nanoTime();
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    }
+                }
+                if (pooled == null) {
+                    openCount++;
+                }
+            }
+            if (waitStart != 0) {
+                MetricsRegistry.getInstance().recordSince("db.pool.wait", waitStart);
+                waitStart = 0;
+            }
+            
+            if (pooled == null) {
+                try {
+                    return open().lease();
+                } catch (SQLException | RuntimeException e) {
+                    connectionClosed();
+                    throw e;
+                }
+            }
+            if (pooled.isUsable()) {
+                MetricsRegistry.getInstance().increment("db.pool.reused");
+                return pooled.lease();
+            }
+            pooled.closePhysical();
+        }
+    }
+    
+    int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+    
+    // Frees the slot of a closed (or never opened) physical connection
+    private void connectionClosed() {
+        synchronized (idle) {
+            openCount--;
+            idle.notifyAll();
+        }
+    }
+    
+    private PooledConnection open() throws SQLException {
+        EdtWatchdog.Operation operation = EdtWatchdog.enter("db.connect");
+        long start = System.nanoTime();
+        Connection physical;
+        try {
+            physical = DriverManager.getConnection(url, username, password);
+        } finally {
+            MetricsRegistry.getInstance().recordSince("db.connect", start);
+            EdtWatchdog.exit(operation);
+        }
+        MetricsRegistry.getInstance().increment("db.connections.opened");
+        FileLogger.getInstance().logDebug("Database connection established successfully");
+        return new PooledConnection(physical);
+    }
+    
+    private void release(PooledConnection pooled) {
+        if (pooled.reset()) {
+            synchronized (idle) {
+                if (idle.size() < maxIdle) {
+                    idle.addFirst(pooled);
+                    idle.notifyAll();
+                    return;
+                }
+            }
+        }
+        pooled.closePhysical();
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * One physical connection and its statement cache; used by one lease at a time
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        // Cache key -> statement, least recently used first
+        private final Map<String, CachedStatement> statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+        // Statements outside the cache, closed when the lease ends if the caller did not
+        private final List<Statement> uncached = new ArrayList<>();
+        private long returnedAt = System.nanoTime();
+        
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+        
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new LeaseHandler(this));
+        }
+        
+        boolean isUsable() {
+            try {
+                if (System.nanoTime() - returnedAt < validateAfterNanos) {
+                    return !physical.isClosed();
+                }
+                return physical.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+        
+        /**
+         * Prepares a statement, from the cache if its SQL was declared
+         */
+        PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+            String name = StatementRegistry.nameOf(sql);
+            if (name == null) {
+                PreparedStatement statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                    ? physical.prepareStatement(sql) : physical.prepareStatement(sql, autoGeneratedKeys);
+                uncached.add(statement);
+                return statement;
+            }
+            
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            String key = autoGeneratedKeys == Statement.NO_GENERATED_KEYS ? sql : autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse) {
+                metrics.increment("db.statements.cache.hits");
+                metrics.increment("db.statement." + name + ".hits");
+                return cached.checkOut();
+            }
+            metrics.increment("db.statements.cache.misses");
+            metrics.increment("db.statement." + name + ".misses");
+            PreparedStatement statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                ? physical.prepareStatement(sql) : physical.prepareStatement(sql, autoGeneratedKeys);
+            if (cached != null) {
+                // The same SQL is open twice on this connection; the second copy is not kept
+                uncached.add(statement);
+                return statement;
+            }
+            try {
+                cached = new CachedStatement(statement);
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+            statements.put(key, cached);
+            return cached.checkOut();
+        }
+        
+        Statement track(Statement statement) {
+            uncached.add(statement);
+            return statement;
+        }
+        
+        /**
+         * Returns the connection to auto-commit and closes what the lease left open
+         * @return false if the connection cannot be reused
+         */
+        boolean reset() {
+            try {
+                for (Statement statement : uncached) {
+                    statement.close();
+                }
+                uncached.clear();
+                for (CachedStatement cached : statements.values()) {
+                    if (cached.inUse) {
+                        cached.checkIn();
+                    }
+                }
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                returnedAt = System.nanoTime();
+                return true;
+            } catch (SQLException e) {
+                FileLogger.getInstance().logWarning("Discarding pooled connection: " + e.getMessage());
+                return false;
+            }
+        }
+        
+        void closePhysical() {
+            for (Iterator<CachedStatement> it = statements.values().iterator(); it.hasNext();) {
+                it.next().evict();
+                it.remove();
+            }
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                FileLogger.getInstance().logWarning("Failed to close pooled connection: " + e.getMessage());
+            } finally {
+                connectionClosed();
+            }
+        }
+    }
+    
+    /**
+     * A cached prepared statement; closing the checked-out proxy returns it to the cache
+     */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        // Driver defaults, restored on check-in so one caller's settings do not reach the next
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+        private StatementHandler handler;
+        
+        CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+        
+        PreparedStatement checkOut() {
+            inUse = true;
+            handler = new StatementHandler(this);
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+        }
+        
+        // Synchronized with StatementHandler's cancel, so a cancel of this checkout
+        // either completes before the statement is returned or sees it closed
+        synchronized void checkIn() throws SQLException {
+            handler.closed = true;
+            inUse = false;
+            if (evicted) {
+                statement.close();
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+        
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    FileLogger.getInstance().logWarning("Failed to close cached statement: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private static final class StatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        // Read by QueryCanceller threads
+        private volatile boolean closed;
+        
+        StatementHandler(CachedStatement cached) {
+            this.cached = cached;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        cached.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "cancel":
+                    // Once returned to the cache the statement may be running for another lease;
+                    // each checkout has its own handler, so closed is this lease's state
+                    synchronized (cached) {
+                        if (!closed) {
+                            cached.statement.cancel();
+                        }
+                    }
+                    return null;
+                default:
+                    if (closed) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    return ConnectionPool.invoke(cached.statement, method, args);
+            }
+        }
+    }
+    
+    /**
+     * One borrower's view of a pooled connection; unusable once closed
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+        
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                if (!closed) {
+                    closed = true;
+                    release(pooled);
+                }
+                return null;
+            }
+            if (name.equals("isClosed")) {
+                return closed || pooled.physical.isClosed();
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            if (name.equals("prepareStatement") && args.length == 1) {
+                return pooled.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (name.equals("prepareStatement") && args.length == 2 && args[1] instanceof Integer) {
+                return pooled.prepare((String) args[0], (Integer) args[1]);
+            }
+            Object result = ConnectionPool.invoke(pooled.physical, method, args);
+            if (result instanceof Statement) {
+                pooled.track((Statement) result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package aerodesk.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV utility for AeroDesk Pro
+ * Parses and formats single CSV lines for the import/export screens
+ */
+public class CsvUtils {
+    
+    private CsvUtils() {
+    }
+    
+    /**
+     * Splits a CSV line into trimmed values. Commas inside double quotes do not
+     * split, and a doubled quote inside a quoted value is read as one quote.
+     * @param line The CSV line
+     * @return Parsed values
+     */
+    public static String[] parseLine(String line) {
+        List<String> result = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder current = new StringBuilder();
+        
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == ',' && !inQuotes) {
+                result.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        result.add(current.toString().trim());
+        
+        return result.toArray(new String[0]);
+    }
+    
+    /**
+     * Formats values as one CSV line with every value quoted
+     * @param values The values (null is written as "null")
+     * @return CSV line without a line terminator
+     */
+    public static String formatLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        appendLine(line, values);
+        return line.toString();
+    }
+    
+    /**
+     * Appends values as one CSV line (without terminator) to a builder
+     * @param line The builder to append to
+     * @param values The values (null is written as "null")
+     */
+    public static void appendLine(StringBuilder line, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append('"');
+            String value = String.valueOf(values[i]);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package aerodesk.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Database connection utility for AeroDesk Pro
- * Handles MySQL database connections with proper exception handling
+ * Handles database connections with proper exception handling. The JDBC backend
+ * is chosen with db.backend (mysql by default, or e.g. h2 for an embedded database
+ * in MySQL mode); settings are read from db.<backend>.url/username/password/driver
+ * and fall back to db.url/username/password/driver. The system property
+ * aerodesk.db.backend overrides the configured backend. Connections come from a
+ * pool that caches declared prepared statements per connection (see ConnectionPool).
  */
 public class DatabaseConnection {
     private static DatabaseConnection instance;
@@ -14,35 +18,52 @@ public class DatabaseConnection {
     private final String username;
     private final String password;
     private final String driver;
+    private final String backend;
+    private final ConnectionPool pool;
     
     private DatabaseConnection() {
         ConfigManager config = ConfigManager.getInstance();
-        this.url = config.getProperty("db.url");
-        this.username = config.getProperty("db.username");
-        this.password = config.getProperty("db.password");
-        this.driver = config.getProperty("db.driver");
+        this.backend = System.getProperty("aerodesk.db.backend", config.getProperty("db.backend", "mysql")).trim().toLowerCase();
+        this.url = getBackendProperty(config, "url");
+        this.username = getBackendProperty(config, "username");
+        this.password = getBackendProperty(config, "password");
+        this.driver = getBackendProperty(config, "driver");
         
         try {
             Class.forName(driver);
         } catch (ClassNotFoundException e) {
-            FileLogger.getInstance().logError("Database driver not found: " + e.getMessage());
+            FileLogger.getInstance().logError("Database driver not found for backend '" + backend + "': " + e.getMessage());
             throw new RuntimeException("Database driver not found", e);
         }
+        FileLogger.getInstance().logInfo("Using '" + backend + "' database backend");
+        this.pool = new ConnectionPool(url, username, password);
     }
     
-    public static DatabaseConnection getInstance() {
+    private String getBackendProperty(ConfigManager config, String key) {
+        String value = config.getProperty("db." + backend + "." + key);
+        return value != null ? value : config.getProperty("db." + key);
+    }
+    
+    public static synchronized DatabaseConnection getInstance() {
         if (instance == null) {
             instance = new DatabaseConnection();
         }
         return instance;
     }
     
+    /**
+     * Gets the name of the active JDBC backend
+     * @return Backend name, e.g. mysql or h2
+     */
+    public String getBackend() {
+        return backend;
+    }
+    
     public Connection getConnection() throws SQLException {
         try {
-            Connection connection = DriverManager.getConnection(url, username, password);
-            FileLogger.getInstance().logDebug("Database connection established successfully");
-            return connection;
+            return JdbcMetrics.wrap(pool.borrow());
         } catch (SQLException e) {
+            MetricsRegistry.getInstance().increment("db.connect.errors");
             FileLogger.getInstance().logError("Failed to establish database connection: " + e.getMessage());
             throw e;
         }
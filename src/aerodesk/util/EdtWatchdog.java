@@ -0,0 +1,285 @@
+package aerodesk.util;
+
+import javax.swing.SwingUtilities;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event Dispatch Thread watchdog for AeroDesk Pro
+ * Posts a heartbeat to the EDT and, when it is not processed within
+ * edt.stall.threshold.ms, captures the EDT stack and the DAO/API call in flight.
+ * Stalls are kept in a rolling history, counted in the metrics registry and
+ * appended to edt.stall.report.file; blocking calls made on the EDT that exceed
+ * edt.slow.operation.ms are logged with the UI method that issued them.
+ */
+public class EdtWatchdog {
+    private static EdtWatchdog instance;
+    
+    // Read by the DAO/API hooks on every call, so kept static and lock-free
+    private static volatile Thread edtThread;
+    private static volatile Operation inFlight;
+    private static volatile long slowOperationNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private final int historySize;
+    private final String reportFile;
+    private final Deque<Stall> history = new ArrayDeque<>();
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private volatile boolean running = false;
+    private long postedAt;
+    private boolean beatPending;
+    private Stall currentStall;
+    
+    private EdtWatchdog() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getIntProperty("edt.stall.threshold.ms", 500));
+        this.intervalMillis = Math.max(10, config.getIntProperty("edt.watchdog.interval.ms", 100));
+        this.historySize = Math.max(1, config.getIntProperty("edt.stall.history", 50));
+        this.reportFile = config.getProperty("edt.stall.report.file", "edt-stalls.log");
+        slowOperationNanos = TimeUnit.MILLISECONDS.toNanos(config.getIntProperty("edt.slow.operation.ms", 50));
+    }
+    
+    public static synchronized EdtWatchdog getInstance() {
+        if (instance == null) {
+            instance = new EdtWatchdog();
+        }
+        return instance;
+    }
+    
+    /**
+     * Starts the watchdog thread unless edt.watchdog.enabled is false
+     */
+    public synchronized void start() {
+        if (running || !Boolean.parseBoolean(ConfigManager.getInstance().getProperty("edt.watchdog.enabled", "true"))) {
+            return;
+        }
+        running = true;
+        Thread watcher = new Thread(this::watch, "aerodesk-edt-watchdog");
+        watcher.setDaemon(true);
+        watcher.start();
+        FileLogger.getInstance().logInfo("EDT watchdog started (stall threshold "
+            + TimeUnit.NANOSECONDS.toMillis(thresholdNanos) + " ms)");
+    }
+    
+    /**
+     * Stops the watchdog thread
+     */
+    public synchronized void stop() {
+        running = false;
+    }
+    
+    private void watch() {
+        while (running) {
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (!beatPending) {
+                    beatPending = true;
+                    postedAt = now;
+                    SwingUtilities.invokeLater(this::beat);
+                } else if (currentStall == null && now - postedAt > thresholdNanos && edtThread != null) {
+                    captureStall(now);
+                }
+            }
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private void beat() {
+        // The EDT can be replaced after an uncaught exception, so refresh it on every beat
+        edtThread = Thread.currentThread();
+        Stall stall;
+        long delay;
+        synchronized (this) {
+            delay = System.nanoTime() - postedAt;
+            stall = currentStall;
+            currentStall = null;
+            beatPending = false;
+        }
+        MetricsRegistry.getInstance().histogram("edt.heartbeat").record(delay);
+        if (stall != null) {
+            finishStall(stall, delay);
+        }
+    }
+    
+    private void captureStall(long now) {
+        Operation operation = inFlight;
+        String operationText = operation != null
+            ? operation.name + " (running " + TimeUnit.NANOSECONDS.toMillis(now - operation.startNanos) + " ms)"
+            : null;
+        currentStall = new Stall(LocalDateTime.now(), edtThread.getStackTrace(), operationText);
+    }
+    
+    private void finishStall(Stall stall, long durationNanos) {
+        stall.durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.increment("edt.stalls");
+        metrics.histogram("edt.stall").record(durationNanos);
+        
+        synchronized (history) {
+            history.addLast(stall);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+        }
+        
+        // Runs on the EDT, so leave the file writes to the scheduler
+        TaskScheduler.getInstance().submitBlocking("EdtWatchdog.report", () -> {
+            FileLogger.getInstance().logWarning("EDT blocked for " + stall.durationMillis + " ms at " + stall.topFrame()
+                + (stall.operation != null ? " during " + stall.operation : ""));
+            try (PrintWriter out = new PrintWriter(new FileWriter(reportFile, true))) {
+                out.println(stall.format(formatter));
+            } catch (IOException e) {
+                FileLogger.getInstance().logError("Failed to write EDT stall report: " + e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Marks the start of a blocking call; a no-op unless called on the EDT
+     * @param name Operation name, e.g. db.baggage.getBaggageByStatus
+     * @return Token for {@link #exit(Operation)}, or null when not on the EDT
+     */
+    public static Operation enter(String name) {
+        if (Thread.currentThread() != edtThread) {
+            return null;
+        }
+        Operation operation = new Operation(name, System.nanoTime(), inFlight);
+        inFlight = operation;
+        return operation;
+    }
+    
+    /**
+     * Marks the end of a blocking call started with {@link #enter(String)}
+     * @param operation Token returned by enter; null is ignored
+     */
+    public static void exit(Operation operation) {
+        if (operation == null) {
+            return;
+        }
+        inFlight = operation.previous;
+        long elapsed = System.nanoTime() - operation.startNanos;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.increment("edt.blocking.calls");
+        metrics.histogram("edt.blocking").record(elapsed);
+        if (elapsed > slowOperationNanos) {
+            metrics.increment("edt.slow.calls");
+            FileLogger.getInstance().logWarning("Slow call on EDT: " + operation.name + " took "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms from " + uiCaller());
+        }
+    }
+    
+    private static String uiCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith("aerodesk.ui."))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring("aerodesk.ui.".length()) + "." + frame.getMethodName()
+                + ":" + frame.getLineNumber())
+            .orElse("unknown"));
+    }
+    
+    /**
+     * Gets the most recent stalls, oldest first
+     * @return Copy of the rolling stall history
+     */
+    public List<Stall> getRecentStalls() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+    
+    /**
+     * Gets a text report of the rolling stall history
+     * @return Report with one line per stall
+     */
+    public String getReport() {
+        List<Stall> stalls = getRecentStalls();
+        StringBuilder report = new StringBuilder();
+        report.append("=== EDT Stalls (last ").append(stalls.size()).append(") ===\n");
+        for (Stall stall : stalls) {
+            report.append(stall.getTime().format(formatter)).append("  ")
+                  .append(stall.getDurationMillis()).append(" ms  ")
+                  .append(stall.topFrame());
+            if (stall.getOperation() != null) {
+                report.append("  [").append(stall.getOperation()).append("]");
+            }
+            report.append('\n');
+        }
+        return report.toString();
+    }
+    
+    /**
+     * A blocking call in progress on the EDT
+     */
+    public static final class Operation {
+        private final String name;
+        private final long startNanos;
+        private final Operation previous;
+        
+        private Operation(String name, long startNanos, Operation previous) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.previous = previous;
+        }
+    }
+    
+    /**
+     * One detected EDT stall
+     */
+    public static final class Stall {
+        private final LocalDateTime time;
+        private final StackTraceElement[] stack;
+        private final String operation;
+        private volatile long durationMillis;
+        
+        Stall(LocalDateTime time, StackTraceElement[] stack, String operation) {
+            this.time = time;
+            this.stack = stack;
+            this.operation = operation;
+        }
+        
+        public LocalDateTime getTime() { return time; }
+        public StackTraceElement[] getStack() { return stack.clone(); }
+        public String getOperation() { return operation; }
+        public long getDurationMillis() { return durationMillis; }
+        
+        /**
+         * Gets the innermost application frame, or the top frame if none
+         * @return Frame description
+         */
+        public String topFrame() {
+            for (StackTraceElement frame : stack) {
+                if (frame.getClassName().startsWith("aerodesk.")) {
+                    return frame.toString();
+                }
+            }
+            return stack.length > 0 ? stack[0].toString() : "unknown";
+        }
+        
+        String format(DateTimeFormatter formatter) {
+            StringBuilder text = new StringBuilder();
+            text.append("[").append(time.format(formatter)).append("] EDT blocked for ").append(durationMillis).append(" ms");
+            if (operation != null) {
+                text.append(" during ").append(operation);
+            }
+            text.append('\n');
+            for (StackTraceElement frame : stack) {
+                text.append("    at ").append(frame).append('\n');
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package aerodesk.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented AVL interval tree for AeroDesk Pro
+ * Stores closed intervals [start, end] keyed by (start, id) and answers overlap
+ * queries in O(log n + k). Each node tracks the maximum end of its subtree so
+ * whole branches that end before the query window are skipped.
+ * Not thread-safe; callers guard access.
+ * @param <T> Value stored with each interval
+ */
+public class IntervalTree<T> {
+    
+    private Node<T> root;
+    private int size;
+    
+    private static final class Node<T> {
+        final long start;
+        final long end;
+        final long id;
+        final T value;
+        long maxEnd;
+        int height = 1;
+        Node<T> left;
+        Node<T> right;
+        
+        Node(long start, long end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+    
+    /**
+     * Adds an interval
+     * @param start Interval start (inclusive)
+     * @param end Interval end (inclusive)
+     * @param id Unique identifier used to tell apart intervals with equal start
+     * @param value Value stored with the interval
+     */
+    public void insert(long start, long end, long id, T value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end is before start");
+        }
+        root = insert(root, new Node<>(start, end, id, value));
+    }
+    
+    /**
+     * Removes an interval
+     * @param start Start the interval was inserted with
+     * @param id Identifier the interval was inserted with
+     * @return true if the interval was present
+     */
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+    
+    /**
+     * Checks whether any stored interval overlaps [start, end]
+     * @param start Query start (inclusive)
+     * @param end Query end (inclusive)
+     * @param excludeId Identifier to ignore (e.g. the interval being moved), or -1
+     * @return true if an overlapping interval exists
+     */
+    public boolean overlapsAny(long start, long end, long excludeId) {
+        return overlapsAny(root, start, end, excludeId);
+    }
+    
+    /**
+     * Finds all stored intervals overlapping [start, end], ordered by start
+     * @param start Query start (inclusive)
+     * @param end Query end (inclusive)
+     * @return Values of overlapping intervals
+     */
+    public List<T> findOverlapping(long start, long end) {
+        List<T> result = new ArrayList<>();
+        collectOverlapping(root, start, end, result);
+        return result;
+    }
+    
+    /**
+     * Collects the intervals intersecting [start, end] as {start, end} pairs in start order
+     * @param start Window start (inclusive)
+     * @param end Window end (inclusive)
+     * @return Intersecting intervals, not clipped to the window
+     */
+    public List<long[]> findOverlappingRanges(long start, long end) {
+        List<long[]> result = new ArrayList<>();
+        collectRanges(root, start, end, result);
+        return result;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+    
+    private boolean overlapsAny(Node<T> node, long start, long end, long excludeId) {
+        while (node != null) {
+            if (node.maxEnd < start) {
+                return false;
+            }
+            if (node.start <= end && node.end >= start && node.id != excludeId) {
+                return true;
+            }
+            // Left subtree may still hold a match; only descend right if keys can start before end
+            if (node.left != null && node.left.maxEnd >= start && overlapsAny(node.left, start, end, excludeId)) {
+                return true;
+            }
+            if (node.start > end) {
+                return false;
+            }
+            node = node.right;
+        }
+        return false;
+    }
+    
+    private void collectOverlapping(Node<T> node, long start, long end, List<T> out) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, out);
+        if (node.start <= end && node.end >= start) {
+            out.add(node.value);
+        }
+        if (node.start <= end) {
+            collectOverlapping(node.right, start, end, out);
+        }
+    }
+    
+    private void collectRanges(Node<T> node, long start, long end, List<long[]> out) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collectRanges(node.left, start, end, out);
+        if (node.start <= end && node.end >= start) {
+            out.add(new long[]{node.start, node.end});
+        }
+        if (node.start <= end) {
+            collectRanges(node.right, start, end, out);
+        }
+    }
+    
+    private int compare(long start, long id, Node<T> node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : Long.compare(id, node.id);
+    }
+    
+    private Node<T> insert(Node<T> node, Node<T> fresh) {
+        if (node == null) {
+            size++;
+            return fresh;
+        }
+        int c = compare(fresh.start, fresh.id, node);
+        if (c < 0) {
+            node.left = insert(node.left, fresh);
+        } else if (c > 0) {
+            node.right = insert(node.right, fresh);
+        } else {
+            // Same key: replace in place
+            Node<T> replacement = new Node<>(fresh.start, fresh.end, fresh.id, fresh.value);
+            replacement.left = node.left;
+            replacement.right = node.right;
+            update(replacement);
+            return replacement;
+        }
+        return rebalance(node);
+    }
+    
+    private Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (c > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+    
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+    
+    private int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+    
+    private void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null && node.left.maxEnd > max) {
+            max = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > max) {
+            max = node.right.maxEnd;
+        }
+        node.maxEnd = max;
+    }
+    
+    private Node<T> rebalance(Node<T> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+    
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,139 @@
+package aerodesk.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JDBC instrumentation for AeroDesk Pro
+ * Wraps connections so every statement execution is timed in the metrics registry.
+ * Statements declared in StatementRegistry are timed under db.&lt;statement name&gt;;
+ * other SQL under db.&lt;DAO class&gt;.&lt;method&gt; of the first caller that prepared
+ * it, so the stack is walked once per SQL string rather than on every prepare.
+ */
+final class JdbcMetrics {
+    
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+    // Undeclared SQL -> metric name; bounded so per-call SQL cannot grow it without limit
+    private static final Map<String, String> CALLER_NAMES = new ConcurrentHashMap<>();
+    private static final int MAX_CALLER_NAMES = 1000;
+    
+    static {
+        MetricsRegistry.getInstance().gauge("db.connections.open", OPEN_CONNECTIONS::get);
+    }
+    
+    private JdbcMetrics() {
+    }
+    
+    /**
+     * Wraps a connection with timing for the statements it creates
+     * @param connection The driver connection
+     * @return Instrumented connection
+     */
+    static Connection wrap(Connection connection) {
+        OPEN_CONNECTIONS.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(JdbcMetrics.class.getClassLoader(), new Class<?>[]{Connection.class},
+            new ConnectionHandler(connection));
+    }
+    
+    private static String metricName(Object[] args) {
+        if (args == null || args.length == 0 || !(args[0] instanceof String)) {
+            // createStatement: no SQL to key on
+            return callerName();
+        }
+        String sql = (String) args[0];
+        String name = StatementRegistry.nameOf(sql);
+        if (name != null) {
+            return "db." + name;
+        }
+        String caller = CALLER_NAMES.get(sql);
+        if (caller == null) {
+            caller = callerName();
+            if (CALLER_NAMES.size() < MAX_CALLER_NAMES) {
+                CALLER_NAMES.putIfAbsent(sql, caller);
+            }
+        }
+        return caller;
+    }
+    
+    private static String callerName() {
+        return WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith("aerodesk.") && !frame.getClassName().startsWith(JdbcMetrics.class.getName()))
+            .findFirst()
+            .map(frame -> "db." + frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+            .orElse("db.other"));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("unwrap") && args[0] == Connection.class) {
+                return connection;
+            }
+            if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                OPEN_CONNECTIONS.decrementAndGet();
+            }
+            Object result = JdbcMetrics.invoke(connection, method, args);
+            Class<?> type = method.getReturnType();
+            if (result != null && Statement.class.isAssignableFrom(type)) {
+                // Statement, PreparedStatement or CallableStatement
+                return Proxy.newProxyInstance(JdbcMetrics.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(result, metricName(args)));
+            }
+            return result;
+        }
+    }
+    
+    private static final class StatementHandler implements InvocationHandler {
+        private final Object statement;
+        private final String metric;
+        
+        StatementHandler(Object statement, String metric) {
+            this.statement = statement;
+            this.metric = metric;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return JdbcMetrics.invoke(statement, method, args);
+            }
+            MetricsRegistry metrics = MetricsRegistry.getInstance();
+            EdtWatchdog.Operation operation = EdtWatchdog.enter(metric);
+            long start = System.nanoTime();
+            try {
+                return JdbcMetrics.invoke(statement, method, args);
+            } catch (Throwable t) {
+                metrics.increment("db.errors");
+                metrics.increment(metric + ".errors");
+                throw t;
+            } finally {
+                metrics.recordSince(metric, start);
+                EdtWatchdog.exit(operation);
+            }
+        }
+    }
+}
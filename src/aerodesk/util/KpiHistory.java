@@ -0,0 +1,378 @@
+package aerodesk.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * KPI time-series store for AeroDesk Pro
+ * Keeps the recent history of each dashboard KPI in memory as three rings of
+ * primitive arrays: the raw samples (kpi.history.raw.size), one-minute averages
+ * (kpi.history.minutes) and one-hour averages (kpi.history.hours), so trends can be
+ * drawn without querying the operational tables. Every sample is appended to
+ * kpi.history.file and the file is replayed at startup; when it grows past
+ * kpi.history.compact.lines it is rewritten with only what the rings still hold.
+ *
+ * File lines: "R epochSecond key value" for a sample, "M|H epochSecond key sum count"
+ * for the part of a minute or hour bucket that is no longer held at a finer level.
+ */
+public class KpiHistory {
+    private static KpiHistory instance;
+    
+    private final Path file;
+    private final int rawSize;
+    private final int minuteSize;
+    private final int hourSize;
+    private final int compactLines;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private int linesWritten;
+    
+    private KpiHistory() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.file = Paths.get(config.getProperty("kpi.history.file", "kpi-history.log"));
+        this.rawSize = config.getIntProperty("kpi.history.raw.size", 2880);
+        this.minuteSize = config.getIntProperty("kpi.history.minutes", 2880);
+        this.hourSize = config.getIntProperty("kpi.history.hours", 2160);
+        this.compactLines = config.getIntProperty("kpi.history.compact.lines", 200000);
+        load();
+    }
+    
+    public static synchronized KpiHistory getInstance() {
+        if (instance == null) {
+            instance = new KpiHistory();
+        }
+        return instance;
+    }
+    
+    /**
+     * Records one sample per KPI at the current time and appends them to the file
+     * @param values KPI key -> value
+     */
+    public void record(Map<String, Double> values) {
+        record(Instant.now().getEpochSecond(), values);
+    }
+    
+    /**
+     * Records one sample per KPI and appends them to the file
+     * @param epochSecond Sample time
+     * @param values KPI key -> value; NaN and infinite values are skipped
+     */
+    public synchronized void record(long epochSecond, Map<String, Double> values) {
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, Double> entry : values.entrySet()) {
+            double value = entry.getValue();
+            if (Double.isNaN(value) || Double.isInfinite(value) || entry.getKey().contains(" ")) {
+                continue;
+            }
+            seriesFor(entry.getKey()).add(epochSecond, value);
+            lines.append("R ").append(epochSecond).append(' ').append(entry.getKey()).append(' ').append(value).append('\n');
+            linesWritten++;
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(lines.toString());
+        } catch (IOException e) {
+            FileLogger.getInstance().logError("Failed to append KPI history: " + e.getMessage());
+        }
+        if (linesWritten > compactLines) {
+            compact();
+        }
+    }
+    
+    /**
+     * Gets the most recent raw samples of a KPI
+     * @param key KPI key
+     * @param since Earliest sample time (epoch second)
+     * @return Samples in time order, empty for an unknown KPI
+     */
+    public Points getSamples(String key, long since) {
+        Series s = series.get(key);
+        return s != null ? s.copy(s.raw, since) : Points.EMPTY;
+    }
+    
+    /**
+     * Gets the one-minute averages of a KPI
+     * @param key KPI key
+     * @param since Earliest bucket start (epoch second)
+     * @return Averages keyed by the start of their minute, in time order
+     */
+    public Points getMinuteAverages(String key, long since) {
+        Series s = series.get(key);
+        return s != null ? s.copy(s.minutes, since) : Points.EMPTY;
+    }
+    
+    /**
+     * Gets the one-hour averages of a KPI
+     * @param key KPI key
+     * @param since Earliest bucket start (epoch second)
+     * @return Averages keyed by the start of their hour, in time order
+     */
+    public Points getHourAverages(String key, long since) {
+        Series s = series.get(key);
+        return s != null ? s.copy(s.hours, since) : Points.EMPTY;
+    }
+    
+    /**
+     * @return Keys of all KPIs with history, sorted
+     */
+    public Set<String> getKeys() {
+        return new TreeSet<>(series.keySet());
+    }
+    
+    private Series seriesFor(String key) {
+        return series.computeIfAbsent(key, k -> new Series());
+    }
+    
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long start = System.nanoTime();
+        int skipped = 0;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                linesWritten++;
+                String[] parts = line.split(" ");
+                try {
+                    long epochSecond = Long.parseLong(parts[1]);
+                    Series s = seriesFor(parts[2]);
+                    switch (parts[0]) {
+                        case "R":
+                            s.add(epochSecond, Double.parseDouble(parts[3]));
+                            break;
+                        case "M":
+                            s.addMinute(epochSecond, Double.parseDouble(parts[3]), Integer.parseInt(parts[4]));
+                            break;
+                        case "H":
+                            s.hours.add(epochSecond, Double.parseDouble(parts[3]), Integer.parseInt(parts[4]));
+                            break;
+                        default:
+                            skipped++;
+                    }
+                } catch (RuntimeException e) {
+                    // A line cut short by a crash during an append
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            FileLogger.getInstance().logError("Failed to read KPI history: " + e.getMessage());
+            return;
+        }
+        MetricsRegistry.getInstance().recordSince("kpi.history.load", start);
+        FileLogger.getInstance().logInfo("KPI history loaded: " + linesWritten + " lines, " + series.size() + " KPIs"
+            + (skipped > 0 ? ", " + skipped + " unreadable lines skipped" : ""));
+        if (linesWritten > compactLines) {
+            compact();
+        }
+    }
+    
+    /**
+     * Rewrites the file with what the rings hold: for each hour and minute the part not
+     * covered by the finer level, then the samples, so replay rebuilds the same rings
+     */
+    private synchronized void compact() {
+        long start = System.nanoTime();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Series> entry : series.entrySet()) {
+                lines += entry.getValue().write(entry.getKey(), out);
+            }
+        } catch (IOException e) {
+            FileLogger.getInstance().logError("Failed to compact KPI history: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FileLogger.getInstance().logError("Failed to replace KPI history file: " + e.getMessage());
+            return;
+        }
+        FileLogger.getInstance().logInfo("KPI history compacted from " + linesWritten + " to " + lines + " lines");
+        linesWritten = lines;
+        MetricsRegistry.getInstance().recordSince("kpi.history.compact", start);
+    }
+    
+    /**
+     * Time-ordered points copied out of a ring
+     */
+    public static final class Points {
+        public static final Points EMPTY = new Points(new long[0], new double[0]);
+        
+        private final long[] times;
+        private final double[] values;
+        
+        Points(long[] times, double[] values) {
+            this.times = times;
+            this.values = values;
+        }
+        
+        public int size() { return times.length; }
+        public long getTime(int i) { return times[i]; }
+        public double getValue(int i) { return values[i]; }
+        
+        public double getMin() {
+            double min = Double.POSITIVE_INFINITY;
+            for (double value : values) {
+                min = Math.min(min, value);
+            }
+            return min;
+        }
+        
+        public double getMax() {
+            double max = Double.NEGATIVE_INFINITY;
+            for (double value : values) {
+                max = Math.max(max, value);
+            }
+            return max;
+        }
+    }
+    
+    /**
+     * The three rings of one KPI
+     */
+    private final class Series {
+        // The raw ring keeps the last sample of each second; the rollups average all of them
+        private final Ring raw = new Ring(rawSize, 1, true);
+        private final Ring minutes = new Ring(minuteSize, 60, false);
+        private final Ring hours = new Ring(hourSize, 3600, false);
+        
+        synchronized void add(long epochSecond, double value) {
+            raw.add(epochSecond, value, 1);
+            addMinute(epochSecond, value, 1);
+        }
+        
+        synchronized void addMinute(long epochSecond, double sum, int count) {
+            minutes.add(epochSecond, sum, count);
+            hours.add(epochSecond, sum, count);
+        }
+        
+        synchronized Points copy(Ring ring, long since) {
+            return ring.copy(since);
+        }
+        
+        synchronized int write(String key, BufferedWriter out) throws IOException {
+            // Each level is written minus what the finer level replays into it
+            return hours.writeResidual(key, "H", minutes, out)
+                + minutes.writeResidual(key, "M", raw, out)
+                + raw.writeSamples(key, out);
+        }
+    }
+    
+    /**
+     * Fixed-width time buckets in a ring of primitive arrays; the oldest bucket is
+     * overwritten when a new one is needed and the ring is full
+     */
+    private static final class Ring {
+        private final long[] starts;
+        private final double[] sums;
+        private final int[] counts;
+        private final long width;
+        private final boolean replace;
+        private int head;
+        private int size;
+        
+        Ring(int capacity, long width, boolean replace) {
+            this.starts = new long[Math.max(1, capacity)];
+            this.sums = new double[starts.length];
+            this.counts = new int[starts.length];
+            this.width = width;
+            this.replace = replace;
+        }
+        
+        void add(long epochSecond, double sum, int count) {
+            long start = Math.floorDiv(epochSecond, width) * width;
+            // Samples normally arrive in order; a late one joins its bucket if still held
+            for (int n = 0; n < size; n++) {
+                int i = index(size - 1 - n);
+                if (starts[i] == start) {
+                    sums[i] = replace ? sum : sums[i] + sum;
+                    counts[i] = replace ? count : counts[i] + count;
+                    return;
+                }
+                if (starts[i] < start) {
+                    if (n > 0) {
+                        return;
+                    }
+                    break;
+                }
+            }
+            if (size > 0 && starts[index(size - 1)] > start) {
+                return;
+            }
+            int i = size < starts.length ? index(size++) : advance();
+            starts[i] = start;
+            sums[i] = sum;
+            counts[i] = count;
+        }
+        
+        private int advance() {
+            int i = head;
+            head = (head + 1) % starts.length;
+            return i;
+        }
+        
+        private int index(int n) {
+            return (head + n) % starts.length;
+        }
+        
+        Points copy(long since) {
+            int first = 0;
+            while (first < size && starts[index(first)] < since) {
+                first++;
+            }
+            long[] times = new long[size - first];
+            double[] values = new double[times.length];
+            for (int n = first; n < size; n++) {
+                int i = index(n);
+                times[n - first] = starts[i];
+                values[n - first] = sums[i] / counts[i];
+            }
+            return new Points(times, values);
+        }
+        
+        int writeSamples(String key, BufferedWriter out) throws IOException {
+            for (int n = 0; n < size; n++) {
+                int i = index(n);
+                out.write("R " + starts[i] + " " + key + " " + (sums[i] / counts[i]) + "\n");
+            }
+            return size;
+        }
+        
+        int writeResidual(String key, String level, Ring finer, BufferedWriter out) throws IOException {
+            Map<Long, double[]> covered = new HashMap<>();
+            for (int n = 0; n < finer.size; n++) {
+                int i = finer.index(n);
+                double[] total = covered.computeIfAbsent(Math.floorDiv(finer.starts[i], width) * width, s -> new double[2]);
+                total[0] += finer.sums[i];
+                total[1] += finer.counts[i];
+            }
+            List<String> lines = new ArrayList<>();
+            for (int n = 0; n < size; n++) {
+                int i = index(n);
+                double[] total = covered.getOrDefault(starts[i], new double[2]);
+                int count = counts[i] - (int) total[1];
+                if (count > 0) {
+                    lines.add(level + " " + starts[i] + " " + key + " " + (sums[i] - total[0]) + " " + count + "\n");
+                }
+            }
+            for (String line : lines) {
+                out.write(line);
+            }
+            return lines.size();
+        }
+    }
+}
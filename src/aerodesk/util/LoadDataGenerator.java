@@ -0,0 +1,324 @@
+package aerodesk.util;
+
+import aerodesk.dao.BaggageDAO;
+import aerodesk.dao.BookingDAO;
+import aerodesk.dao.FlightDAO;
+import aerodesk.exception.DatabaseException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Load data generator for AeroDesk Pro
+ * Fills the configured database (MySQL, or embedded H2 with db.backend=h2) with
+ * realistic volumes of flights, bookings and baggage using batched inserts, then
+ * probes DAO lookup latency so DAO throughput can be measured offline and in CI.
+ * Generated keys continue from the current maximum IDs, so runs can be repeated.
+ *
+ * Usage: java aerodesk.util.LoadDataGenerator [--init-schema[=db/setup_database.sql]]
+ *        [--flights=50000] [--bookings=1000000] [--bags=3000000] [--batch=5000] [--probe=1000] [--seed=42]
+ */
+public class LoadDataGenerator {
+    
+    private static final String[] AIRPORTS = {
+        "CMB", "DXB", "SIN", "LHR", "JFK", "LAX", "HKG", "SYD", "FRA", "DEL", "BKK", "KUL",
+        "DOH", "CDG", "NRT", "MLE", "ORD", "ATL", "SFO", "MIA", "AMS", "IST", "MAA", "BOM"
+    };
+    private static final String[] AIRLINES = {"UL", "EK", "SQ", "BA", "AA", "QR", "CX", "LH", "DL", "UA"};
+    private static final String[] AIRCRAFT = {"Airbus A320", "Airbus A330", "Airbus A350", "Boeing 737", "Boeing 777", "Boeing 787"};
+    private static final String[] FLIGHT_STATUSES = {"SCHEDULED", "SCHEDULED", "SCHEDULED", "DELAYED", "DEPARTED", "CANCELLED"};
+    private static final String[] CHECK_IN_STATUSES = {"NOT_CHECKED_IN", "NOT_CHECKED_IN", "CHECKED_IN", "BOARDED"};
+    private static final String[] BAGGAGE_STATUSES = {"CHECKED_IN", "LOADED", "LOADED", "DELIVERED", "DELIVERED", "LOST"};
+    private static final String[] FIRST_NAMES = {
+        "Amal", "Nimali", "John", "Jane", "Kasun", "Priya", "Ahmed", "Fatima", "Chen", "Yuki",
+        "Maria", "Lucas", "Olivia", "Noah", "Sofia", "Ravi", "Anika", "Omar", "Elena", "Tom"
+    };
+    private static final String[] LAST_NAMES = {
+        "Perera", "Fernando", "Smith", "Silva", "Khan", "Wang", "Tanaka", "Garcia", "Brown", "Jayasinghe",
+        "Müller", "Rossi", "Kumar", "Ali", "Johnson", "Dias", "Nakamura", "Lopez", "Wilson", "Bandara"
+    };
+    
+    private final Random random;
+    private final int batchSize;
+    
+    public LoadDataGenerator(long seed, int batchSize) {
+        this.random = new Random(seed);
+        this.batchSize = batchSize;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        int flights = 50_000;
+        int bookings = 1_000_000;
+        int bags = 3_000_000;
+        int batch = 5_000;
+        int probe = 1_000;
+        long seed = 42;
+        String schema = null;
+        
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            String value = pair.length > 1 ? pair[1] : null;
+            switch (pair[0]) {
+                case "--flights": flights = Integer.parseInt(value); break;
+                case "--bookings": bookings = Integer.parseInt(value); break;
+                case "--bags": bags = Integer.parseInt(value); break;
+                case "--batch": batch = Integer.parseInt(value); break;
+                case "--probe": probe = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--init-schema": schema = value != null ? value : "db/setup_database.sql"; break;
+                default:
+                    System.err.println("Unknown option: " + arg);
+                    System.exit(2);
+            }
+        }
+        
+        System.out.println("Backend: " + DatabaseConnection.getInstance().getBackend());
+        LoadDataGenerator generator = new LoadDataGenerator(seed, batch);
+        if (schema != null) {
+            generator.initSchema(schema);
+        }
+        generator.generate(flights, bookings, bags);
+        if (probe > 0) {
+            generator.probe(probe);
+        }
+        System.exit(0);
+    }
+    
+    /**
+     * Creates the tables from a MySQL setup script, skipping server administration
+     * statements (CREATE DATABASE, USE, CREATE USER, GRANT, FLUSH) and status SELECTs,
+     * then applies the schema migrations
+     * @param scriptPath Path to the SQL script
+     * @throws IOException if the script cannot be read
+     * @throws SQLException if a statement fails
+     */
+    public void initSchema(String scriptPath) throws IOException, SQLException {
+        int executed = 0;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String statement : SchemaMigrator.readScript(Paths.get(scriptPath))) {
+                String upper = statement.toUpperCase();
+                if (upper.startsWith("CREATE DATABASE") || upper.startsWith("USE ")
+                        || upper.startsWith("CREATE USER") || upper.startsWith("GRANT") || upper.startsWith("FLUSH")
+                        || upper.startsWith("SELECT")) {
+                    continue;
+                }
+                stmt.execute(statement);
+                executed++;
+            }
+        }
+        System.out.println("Schema initialised from " + scriptPath + " (" + executed + " statements)");
+        System.out.println("Schema migrations applied: " + new SchemaMigrator().migrate());
+    }
+    
+    /**
+     * Inserts flights, bookings and baggage
+     * @param flights Number of flights
+     * @param bookings Number of bookings, spread over the new flights
+     * @param bags Number of baggage items, spread over the new bookings
+     * @throws SQLException if an insert fails
+     */
+    public void generate(int flights, int bookings, int bags) throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            int[] flightIds = insertFlights(conn, flights);
+            int[] bookingIds = insertBookings(conn, bookings, flightIds);
+            insertBaggage(conn, bags, bookingIds);
+            conn.setAutoCommit(true);
+        }
+    }
+    
+    private int[] insertFlights(Connection conn, int count) throws SQLException {
+        long firstId = maxId(conn, "flights") + 1;
+        String sql = "INSERT INTO flights (flight_number, origin, destination, departure_time, arrival_time, aircraft_type, status, " +
+                    "estimated_departure, actual_departure) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now().withSecond(0).withNano(0);
+        LocalDateTime base = now.minusDays(30);
+        
+        long started = System.nanoTime();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                int origin = random.nextInt(AIRPORTS.length);
+                int destination = (origin + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+                // Departures over 60 days in 5-minute slots, 1-14 hour sectors
+                LocalDateTime departure = base.plusMinutes(5L * random.nextInt(60 * 24 * 12));
+                LocalDateTime arrival = departure.plusMinutes(60 + 5L * random.nextInt(157));
+                
+                stmt.setString(1, AIRLINES[random.nextInt(AIRLINES.length)].charAt(0) + "X" + (firstId + i));
+                stmt.setString(2, AIRPORTS[origin]);
+                stmt.setString(3, AIRPORTS[destination]);
+                stmt.setTimestamp(4, Timestamp.valueOf(departure));
+                stmt.setTimestamp(5, Timestamp.valueOf(arrival));
+                stmt.setString(6, AIRCRAFT[random.nextInt(AIRCRAFT.length)]);
+                stmt.setString(7, FLIGHT_STATUSES[random.nextInt(FLIGHT_STATUSES.length)]);
+                // Most flights leave within a few minutes of schedule, with a long tail of delays;
+                // flights in the past also get the same time as their actual departure
+                long delay = random.nextInt(10) < 7 ? random.nextInt(6) : Math.min(180, 5 + (long) (-30 * Math.log(1 - random.nextDouble())));
+                LocalDateTime expected = departure.plusMinutes(delay);
+                stmt.setTimestamp(8, Timestamp.valueOf(expected));
+                if (expected.isBefore(now)) {
+                    stmt.setTimestamp(9, Timestamp.valueOf(expected));
+                } else {
+                    stmt.setNull(9, Types.TIMESTAMP);
+                }
+                addToBatch(conn, stmt, i + 1, count);
+            }
+        }
+        report("flights", count, started);
+        return idsFrom(conn, "flights", firstId);
+    }
+    
+    private int[] insertBookings(Connection conn, int count, int[] flightIds) throws SQLException {
+        if (flightIds.length == 0) {
+            return new int[0];
+        }
+        long firstId = maxId(conn, "bookings") + 1;
+        String sql = "INSERT INTO bookings (booking_reference, passenger_name, flight_id, seat_number, check_in_status) " +
+                    "VALUES (?, ?, ?, ?, ?)";
+        
+        long started = System.nanoTime();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                // Bookings are spread evenly, so seat numbers stay unique per flight up to 60 rows x 6 seats
+                int flightIndex = i % flightIds.length;
+                int seatIndex = i / flightIds.length;
+                
+                stmt.setString(1, "BK" + (firstId + i));
+                stmt.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                stmt.setInt(3, flightIds[flightIndex]);
+                stmt.setString(4, seatIndex < 360 ? (1 + seatIndex / 6) + String.valueOf((char) ('A' + seatIndex % 6)) : null);
+                stmt.setString(5, CHECK_IN_STATUSES[random.nextInt(CHECK_IN_STATUSES.length)]);
+                addToBatch(conn, stmt, i + 1, count);
+            }
+        }
+        report("bookings", count, started);
+        return idsFrom(conn, "bookings", firstId);
+    }
+    
+    private void insertBaggage(Connection conn, int count, int[] bookingIds) throws SQLException {
+        if (bookingIds.length == 0) {
+            return;
+        }
+        long firstId = maxId(conn, "baggage") + 1;
+        String sql = "INSERT INTO baggage (baggage_tag, booking_id, weight, status) VALUES (?, ?, ?, ?)";
+        
+        long started = System.nanoTime();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "TG" + (firstId + i));
+                stmt.setInt(2, bookingIds[random.nextInt(bookingIds.length)]);
+                stmt.setBigDecimal(3, java.math.BigDecimal.valueOf(500 + random.nextInt(2700), 2));
+                stmt.setString(4, BAGGAGE_STATUSES[random.nextInt(BAGGAGE_STATUSES.length)]);
+                addToBatch(conn, stmt, i + 1, count);
+            }
+        }
+        report("baggage", count, started);
+    }
+    
+    private void addToBatch(Connection conn, PreparedStatement stmt, int rows, int total) throws SQLException {
+        stmt.addBatch();
+        if (rows % batchSize == 0 || rows == total) {
+            stmt.executeBatch();
+            conn.commit();
+        }
+    }
+    
+    private long maxId(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+    
+    private int[] idsFrom(Connection conn, String table, long firstId) throws SQLException {
+        int[] ids = new int[1024];
+        int size = 0;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM " + table + " WHERE id >= ? ORDER BY id")) {
+            stmt.setLong(1, firstId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                    }
+                    ids[size++] = rs.getInt(1);
+                }
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+    
+    /**
+     * Measures single-row DAO lookups against the generated data
+     * @param iterations Lookups per DAO method
+     * @throws DatabaseException if a lookup fails
+     * @throws SQLException if the key ranges cannot be read
+     */
+    public void probe(int iterations) throws DatabaseException, SQLException {
+        long maxFlight;
+        long maxBooking;
+        long maxBag;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            maxFlight = maxId(conn, "flights");
+            maxBooking = maxId(conn, "bookings");
+            maxBag = maxId(conn, "baggage");
+        }
+        
+        FlightDAO flightDAO = new FlightDAO();
+        BookingDAO bookingDAO = new BookingDAO();
+        BaggageDAO baggageDAO = new BaggageDAO();
+        long[] samples = new long[iterations];
+        
+        if (maxFlight > 0) {
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                flightDAO.getFlightById(1 + random.nextInt((int) maxFlight));
+                samples[i] = System.nanoTime() - start;
+            }
+            printLatency("FlightDAO.getFlightById", samples);
+        }
+        if (maxBooking > 0) {
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                bookingDAO.getBookingByReference("BK" + (1 + random.nextInt((int) maxBooking)));
+                samples[i] = System.nanoTime() - start;
+            }
+            printLatency("BookingDAO.getBookingByReference", samples);
+        }
+        if (maxBag > 0) {
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                baggageDAO.getBaggageByTagNumber("TG" + (1 + random.nextInt((int) maxBag)));
+                samples[i] = System.nanoTime() - start;
+            }
+            printLatency("BaggageDAO.getBaggageByTagNumber", samples);
+        }
+    }
+    
+    private void printLatency(String name, long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        double avgMillis = total / 1e6 / sorted.length;
+        System.out.printf("%-36s avg %.3f ms  p50 %.3f ms  p95 %.3f ms  p99 %.3f ms  %.0f ops/s%n", name, avgMillis,
+            sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.95)] / 1e6,
+            sorted[(int) (sorted.length * 0.99)] / 1e6, 1000.0 / avgMillis);
+    }
+    
+    private void report(String table, int rows, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        System.out.printf("Inserted %,d %s in %.1f s (%,.0f rows/s)%n", rows, table, seconds, rows / Math.max(seconds, 1e-9));
+    }
+}
@@ -0,0 +1,357 @@
+package aerodesk.util;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Application metrics registry for AeroDesk Pro
+ * Holds named counters, gauges and latency histograms, offers snapshots for the UI
+ * and can append a periodic dump to a file (metrics.dump.file, metrics.dump.interval).
+ */
+public class MetricsRegistry {
+    private static MetricsRegistry instance;
+    
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private boolean dumping = false;
+    
+    private MetricsRegistry() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        gauge("jvm.heap.used.mb", () -> memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+        gauge("jvm.threads", () -> ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+    
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+    
+    /**
+     * Gets or creates a counter
+     * @param name Metric name
+     * @return The counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+    
+    /**
+     * Increments a counter by one
+     * @param name Metric name
+     */
+    public void increment(String name) {
+        counter(name).increment();
+    }
+    
+    /**
+     * Registers a gauge, replacing any previous gauge with the same name
+     * @param name Metric name
+     * @param supplier Supplies the current value when a snapshot is taken
+     */
+    public void gauge(String name, Supplier<? extends Number> supplier) {
+        gauges.put(name, supplier);
+    }
+    
+    /**
+     * Gets or creates a latency histogram
+     * @param name Metric name
+     * @return The histogram
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+    
+    /**
+     * Records a duration measured with System.nanoTime()
+     * @param name Histogram name
+     * @param startNanos Value of System.nanoTime() when the operation started
+     */
+    public void recordSince(String name, long startNanos) {
+        histogram(name).record(System.nanoTime() - startNanos);
+    }
+    
+    /**
+     * Takes a point-in-time copy of all metrics
+     * @return Snapshot sorted by metric name
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        
+        Map<String, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, supplier) -> {
+            try {
+                Number value = supplier.get();
+                gaugeValues.put(name, value != null ? value.doubleValue() : Double.NaN);
+            } catch (RuntimeException e) {
+                gaugeValues.put(name, Double.NaN);
+            }
+        });
+        
+        List<HistogramSnapshot> histogramValues = new ArrayList<>();
+        new TreeMap<>(histograms).forEach((name, histogram) -> histogramValues.add(histogram.snapshot(name)));
+        
+        return new Snapshot(LocalDateTime.now(), counterValues, gaugeValues, histogramValues);
+    }
+    
+    /**
+     * Summarizes several histograms as one, e.g. all database statements
+     * @param name Name for the combined summary
+     * @param filter Selects the histograms to combine by name
+     * @return Combined summary with exact bucket-level percentiles
+     */
+    public HistogramSnapshot combined(String name, Predicate<String> filter) {
+        long[] merged = new long[Histogram.BUCKETS];
+        long recorded = 0;
+        long sum = 0;
+        long maxValue = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                Histogram histogram = entry.getValue();
+                recorded += histogram.mergeInto(merged);
+                sum += histogram.total.sum();
+                maxValue = Math.max(maxValue, histogram.max.get());
+            }
+        }
+        return Histogram.summarize(name, merged, recorded, sum, maxValue);
+    }
+    
+    /**
+     * Starts appending snapshots to the configured dump file on the task scheduler
+     */
+    public synchronized void startPeriodicDump() {
+        ConfigManager config = ConfigManager.getInstance();
+        int interval = config.getIntProperty("metrics.dump.interval", 60000);
+        String file = config.getProperty("metrics.dump.file", "metrics.log");
+        if (dumping || interval <= 0) {
+            return;
+        }
+        dumping = true;
+        TaskScheduler.getInstance().scheduleBlockingAtFixedRate(this, "MetricsRegistry.dump",
+            () -> dump(file), interval, interval, TimeUnit.MILLISECONDS);
+        FileLogger.getInstance().logInfo("Metrics dump every " + interval + " ms to " + file);
+    }
+    
+    /**
+     * Appends the current snapshot to a file
+     * @param file Path of the dump file
+     */
+    public void dump(String file) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) {
+            out.print(snapshot().format(formatter));
+            out.println();
+        } catch (IOException e) {
+            FileLogger.getInstance().logError("Failed to write metrics dump: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Monotonic event counter
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+        
+        public void increment() { value.increment(); }
+        public void add(long delta) { value.add(delta); }
+        public long get() { return value.sum(); }
+    }
+    
+    /**
+     * Latency histogram with HDR-style log-linear buckets (16 sub-buckets per power
+     * of two, about 6% precision) from 1 ns to about 18 minutes. Recording is lock-free:
+     * each thread writes to one of several striped bucket arrays, merged on snapshot.
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAX_EXPONENT = 40;
+        private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+        
+        private final AtomicLongArray[] stripes;
+        private final int stripeMask;
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        
+        Histogram() {
+            int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+            stripes = new AtomicLongArray[Math.min(stripeCount, 32)];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new AtomicLongArray(BUCKETS);
+            }
+            stripeMask = stripes.length - 1;
+        }
+        
+        /**
+         * Records one value
+         * @param nanos Duration in nanoseconds; negative values count as zero
+         */
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            long threadId = Thread.currentThread().threadId();
+            int stripe = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+            stripes[stripe].incrementAndGet(bucketOf(value));
+            total.add(value);
+            max.accumulate(value);
+        }
+        
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent > MAX_EXPONENT) {
+                return BUCKETS - 1;
+            }
+            int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+        
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+            return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+        
+        HistogramSnapshot snapshot(String name) {
+            long[] merged = new long[BUCKETS];
+            long recorded = mergeInto(merged);
+            return summarize(name, merged, recorded, total.sum(), max.get());
+        }
+        
+        long mergeInto(long[] merged) {
+            long recorded = 0;
+            for (AtomicLongArray stripe : stripes) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    long c = stripe.get(i);
+                    merged[i] += c;
+                    recorded += c;
+                }
+            }
+            return recorded;
+        }
+        
+        static HistogramSnapshot summarize(String name, long[] merged, long recorded, long sum, long maxValue) {
+            return new HistogramSnapshot(name, recorded,
+                recorded > 0 ? sum / (double) recorded : 0,
+                percentile(merged, recorded, 0.50, maxValue),
+                percentile(merged, recorded, 0.95, maxValue),
+                percentile(merged, recorded, 0.99, maxValue),
+                maxValue);
+        }
+        
+        private static long percentile(long[] buckets, long recorded, double quantile, long maxValue) {
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(recorded * quantile));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+    }
+    
+    /**
+     * Summary of one histogram; times in milliseconds
+     */
+    public static final class HistogramSnapshot {
+        private final String name;
+        private final long count;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        
+        HistogramSnapshot(String name, long count, double meanNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+            this.name = name;
+            this.count = count;
+            this.meanMillis = meanNanos / 1_000_000.0;
+            this.p50Millis = p50Nanos / 1_000_000.0;
+            this.p95Millis = p95Nanos / 1_000_000.0;
+            this.p99Millis = p99Nanos / 1_000_000.0;
+            this.maxMillis = maxNanos / 1_000_000.0;
+        }
+        
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public double getMeanMillis() { return meanMillis; }
+        public double getP50Millis() { return p50Millis; }
+        public double getP95Millis() { return p95Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s count=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                                 name, count, meanMillis, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+    
+    /**
+     * Point-in-time copy of all metrics
+     */
+    public static final class Snapshot {
+        private final LocalDateTime takenAt;
+        private final Map<String, Long> counters;
+        private final Map<String, Double> gauges;
+        private final List<HistogramSnapshot> histograms;
+        
+        Snapshot(LocalDateTime takenAt, Map<String, Long> counters, Map<String, Double> gauges, List<HistogramSnapshot> histograms) {
+            this.takenAt = takenAt;
+            this.counters = Collections.unmodifiableMap(counters);
+            this.gauges = Collections.unmodifiableMap(gauges);
+            this.histograms = Collections.unmodifiableList(histograms);
+        }
+        
+        public LocalDateTime getTakenAt() { return takenAt; }
+        public Map<String, Long> getCounters() { return counters; }
+        public Map<String, Double> getGauges() { return gauges; }
+        public List<HistogramSnapshot> getHistograms() { return histograms; }
+        
+        /**
+         * Formats the snapshot as text, one metric per line
+         * @param formatter Formatter for the timestamp header
+         * @return Formatted snapshot
+         */
+        public String format(DateTimeFormatter formatter) {
+            StringBuilder text = new StringBuilder();
+            text.append("=== Metrics ").append(takenAt.format(formatter)).append(" ===\n");
+            counters.forEach((name, value) -> text.append("counter ").append(name).append(' ').append(value).append('\n'));
+            gauges.forEach((name, value) -> text.append("gauge ").append(name).append(' ').append(value).append('\n'));
+            for (HistogramSnapshot histogram : histograms) {
+                text.append("timer ").append(histogram).append('\n');
+            }
+            return text.toString();
+        }
+    }
+}
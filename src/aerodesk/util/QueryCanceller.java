@@ -0,0 +1,77 @@
+package aerodesk.util;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC query cancellation for AeroDesk Pro
+ * A DAO attaches the statement it is executing; cancelling from another thread
+ * calls Statement.cancel so the database stops work on a result nobody will read.
+ * The cancel itself runs on the scheduler's I/O threads because drivers such as
+ * MySQL Connector/J open a second connection to kill the query. It only reaches the
+ * statement while it is still attached: detach waits for a cancel in progress, and
+ * a cancel that runs after detach does nothing, so it cannot hit a pooled statement
+ * or connection that has since been handed to another caller.
+ */
+public final class QueryCanceller {
+    private Statement statement;
+    private boolean cancelled;
+    
+    /**
+     * Registers the statement about to be executed
+     * @param statement The statement
+     * @throws SQLException if the query was already cancelled
+     */
+    public synchronized void attach(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled before execution");
+        }
+        this.statement = statement;
+    }
+    
+    /**
+     * Unregisters the statement once it has finished; blocks while a cancel of it is running
+     */
+    public synchronized void detach() {
+        this.statement = null;
+    }
+    
+    /**
+     * Checks whether the query was cancelled
+     * @return true after {@link #cancel()}
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Cancels the attached statement, and any statement attached later
+     */
+    public void cancel() {
+        Statement running;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            running = statement;
+        }
+        if (running == null) {
+            return;
+        }
+        MetricsRegistry.getInstance().increment("db.statements.cancelled");
+        TaskScheduler.getInstance().submitBlocking("QueryCanceller.cancel", () -> {
+            synchronized (this) {
+                if (statement != running) {
+                    // Finished and detached before the cancel ran
+                    return;
+                }
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    FileLogger.getInstance().logWarning("Failed to cancel query: " + e.getMessage());
+                }
+            }
+        });
+    }
+}
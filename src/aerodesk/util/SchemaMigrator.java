@@ -0,0 +1,283 @@
+package aerodesk.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schema migrations for AeroDesk Pro
+ * Applies the scripts in db.migrations.dir named V&lt;version&gt;__&lt;description&gt;.sql
+ * in version order and records each in the schema_migrations table, so every
+ * desk's database converges on the same schema at startup. Statements that
+ * create a table, column or index that already exists are skipped, so databases
+ * set up from a newer setup_database.sql are recorded without changes.
+ *
+ * The explain check runs EXPLAIN for every statement declared in StatementRegistry
+ * and reports the ones that scan a whole table, exiting with status 1 if any do, so
+ * CI can run it against a database filled by LoadDataGenerator.
+ *
+ * Usage: java aerodesk.util.SchemaMigrator [--explain]
+ */
+public class SchemaMigrator {
+    
+    private static final Pattern MIGRATION_FILE = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // H2 plans name scanned tables as /* PUBLIC.BOOKINGS.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* (\\S+)\\.tableScan");
+    // The DAOs whose statements the explain check covers; loading them declares their SQL
+    private static final String[] DAO_CLASSES = {
+        "aerodesk.dao.BookingDAO", "aerodesk.dao.BaggageDAO", "aerodesk.dao.FlightDAO",
+        "aerodesk.dao.GateDAO", "aerodesk.dao.UserDAO", "aerodesk.dao.BlockSequence", "aerodesk.dao.ReportSummaryDAO"
+    };
+    
+    private final Path migrationsDir;
+    
+    public SchemaMigrator() {
+        this.migrationsDir = Paths.get(ConfigManager.getInstance().getProperty("db.migrations.dir", "db/migrations"));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        boolean explain = Arrays.asList(args).contains("--explain");
+        SchemaMigrator migrator = new SchemaMigrator();
+        migrator.migrate();
+        if (explain) {
+            List<String> scans = migrator.explainStatements();
+            scans.forEach(System.out::println);
+            System.out.println(scans.isEmpty() ? "All declared statements use an index" : scans.size() + " statements scan a table");
+            System.exit(scans.isEmpty() ? 0 : 1);
+        }
+        System.exit(0);
+    }
+    
+    /**
+     * Applies the migrations not yet recorded in schema_migrations
+     * @return Number of migrations applied
+     * @throws IOException if a migration script cannot be read
+     * @throws SQLException if a migration fails
+     */
+    public int migrate() throws IOException, SQLException {
+        TreeMap<Integer, Path> migrations = findMigrations();
+        int applied = 0;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_migrations (version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            }
+            Set<Integer> done = new HashSet<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT version FROM schema_migrations")) {
+                while (rs.next()) {
+                    done.add(rs.getInt(1));
+                }
+            }
+            
+            for (Map.Entry<Integer, Path> migration : migrations.entrySet()) {
+                if (!done.contains(migration.getKey())) {
+                    apply(conn, migration.getKey(), migration.getValue());
+                    applied++;
+                }
+            }
+        }
+        FileLogger.getInstance().logInfo("Schema at version " + (migrations.isEmpty() ? 0 : migrations.lastKey())
+            + " (" + applied + " migrations applied)");
+        return applied;
+    }
+    
+    private TreeMap<Integer, Path> findMigrations() throws IOException {
+        TreeMap<Integer, Path> migrations = new TreeMap<>();
+        if (!Files.isDirectory(migrationsDir)) {
+            FileLogger.getInstance().logWarning("Migrations directory not found: " + migrationsDir.toAbsolutePath());
+            return migrations;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(migrationsDir, "V*.sql")) {
+            for (Path file : files) {
+                Matcher matcher = MIGRATION_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    migrations.put(Integer.parseInt(matcher.group(1)), file);
+                }
+            }
+        }
+        return migrations;
+    }
+    
+    private void apply(Connection conn, int version, Path script) throws IOException, SQLException {
+        Matcher matcher = MIGRATION_FILE.matcher(script.getFileName().toString());
+        String description = matcher.matches() ? matcher.group(2).replace('_', ' ') : script.getFileName().toString();
+        long start = System.nanoTime();
+        int skipped = 0;
+        
+        // DDL commits implicitly on MySQL, so each statement stands alone and a failed
+        // migration is retried from the top next time, skipping what already exists
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : readScript(script)) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    if (!isAlreadyApplied(e)) {
+                        FileLogger.getInstance().logError("Migration V" + version + " failed at: " + sql + " - " + e.getMessage());
+                        throw e;
+                    }
+                    skipped++;
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO schema_migrations (version, description) VALUES (?, ?)")) {
+            stmt.setInt(1, version);
+            stmt.setString(2, description);
+            stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Another desk applied the same migration at the same time
+            FileLogger.getInstance().logInfo("Migration V" + version + " was recorded by another instance");
+        }
+        FileLogger.getInstance().logInfo(String.format("Applied migration V%d %s in %.0f ms%s", version, description,
+            (System.nanoTime() - start) / 1e6, skipped > 0 ? " (" + skipped + " statements already applied)" : ""));
+    }
+    
+    /**
+     * Checks whether a DDL failure means the table, column or index already exists
+     */
+    private static boolean isAlreadyApplied(SQLException e) {
+        String state = e.getSQLState();
+        // MySQL 1050/1060/1061: table, column or key name exists; H2 reports 42S01/42S21/42S11
+        return e.getErrorCode() == 1050 || e.getErrorCode() == 1060 || e.getErrorCode() == 1061
+            || "42S01".equals(state) || "42S11".equals(state) || "42S21".equals(state);
+    }
+    
+    /**
+     * Reads the statements of a SQL script, skipping comment lines
+     * @param script Path to the script; statements end with ; at the end of a line
+     * @return The statements without their terminating ;
+     * @throws IOException if the script cannot be read
+     */
+    public static List<String> readScript(Path script) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            if (!line.trim().startsWith("--")) {
+                text.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String sql : text.toString().split(";\\s*\\n")) {
+            String statement = sql.trim();
+            if (statement.endsWith(";")) {
+                statement = statement.substring(0, statement.length() - 1).trim();
+            }
+            if (!statement.isEmpty()) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+    
+    /**
+     * Runs EXPLAIN for every declared SELECT, UPDATE and DELETE with a WHERE clause and
+     * reports full scans of tables with at least db.explain.min.rows rows (MySQL) or any
+     * table scan (H2). Statements listed in db.explain.ignore are expected to scan.
+     * @return One line per scanning statement, empty if all use an index
+     * @throws SQLException if a statement cannot be explained
+     */
+    public List<String> explainStatements() throws SQLException {
+        for (String dao : DAO_CLASSES) {
+            try {
+                Class.forName(dao);
+            } catch (ClassNotFoundException e) {
+                FileLogger.getInstance().logWarning("DAO class not found for explain: " + dao);
+            }
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        int minRows = config.getIntProperty("db.explain.min.rows", 1000);
+        Set<String> ignored = new HashSet<>(Arrays.asList(config.getProperty("db.explain.ignore", "").split("\\s*,\\s*")));
+        
+        List<String> scans = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            for (Map.Entry<String, String> statement : StatementRegistry.getStatements().entrySet()) {
+                String sql = statement.getValue();
+                if (ignored.contains(statement.getKey()) || !sql.toUpperCase().contains(" WHERE ") || sql.toUpperCase().startsWith("INSERT")) {
+                    continue;
+                }
+                String scanned = explain(conn, sql, minRows);
+                if (scanned != null) {
+                    scans.add(statement.getKey() + " scans " + scanned + ": " + sql);
+                }
+            }
+        }
+        return scans;
+    }
+    
+    /**
+     * @return The scanned table, or null if the plan uses an index
+     */
+    private String explain(Connection conn, String sql, int minRows) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            bindSampleParameters(stmt, sql);
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    if (meta.getColumnCount() == 1) {
+                        Matcher matcher = H2_TABLE_SCAN.matcher(rs.getString(1));
+                        if (matcher.find()) {
+                            return matcher.group(1);
+                        }
+                    } else if ("ALL".equalsIgnoreCase(rs.getString("type")) && rs.getLong("rows") >= minRows) {
+                        return rs.getString("table") + " (" + rs.getLong("rows") + " rows)";
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private void bindSampleParameters(PreparedStatement stmt, String sql) throws SQLException {
+        int count = (int) sql.chars().filter(c -> c == '?').count();
+        ParameterMetaData meta = null;
+        try {
+            meta = stmt.getParameterMetaData();
+        } catch (SQLException e) {
+            // Not all drivers describe parameters; strings convert to any column type for planning
+        }
+        for (int i = 1; i <= count; i++) {
+            int type = Types.VARCHAR;
+            try {
+                type = meta != null ? meta.getParameterType(i) : Types.VARCHAR;
+            } catch (SQLException e) {
+                meta = null;
+            }
+            switch (type) {
+                case Types.INTEGER: case Types.BIGINT: case Types.SMALLINT: case Types.TINYINT:
+                case Types.DECIMAL: case Types.NUMERIC: case Types.DOUBLE: case Types.REAL:
+                    stmt.setInt(i, 1);
+                    break;
+                case Types.TIMESTAMP: case Types.DATE: case Types.TIME:
+                    stmt.setTimestamp(i, Timestamp.valueOf(LocalDateTime.now()));
+                    break;
+                case Types.BOOLEAN: case Types.BIT:
+                    stmt.setBoolean(i, true);
+                    break;
+                default:
+                    stmt.setString(i, "1");
+            }
+        }
+    }
+}
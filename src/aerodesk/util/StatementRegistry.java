@@ -0,0 +1,56 @@
+package aerodesk.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named SQL statements for AeroDesk Pro
+ * DAOs declare their fixed queries once, as constants, through {@link #declare}.
+ * Only declared SQL is kept in the prepared statement cache of each pooled
+ * connection, so per-call SQL (IN lists, dynamic filters) cannot evict the hot
+ * statements. Cache hits and misses are counted per statement under
+ * db.statement.&lt;name&gt;.hits/misses and for all statements under
+ * db.statements.cache.hits/misses.
+ */
+public final class StatementRegistry {
+    
+    // SQL -> statement name
+    private static final Map<String, String> NAMES = new ConcurrentHashMap<>();
+    
+    private StatementRegistry() {
+    }
+    
+    /**
+     * Declares a named statement; SQL declared twice keeps its first name
+     * @param name Statement name, e.g. "booking.getByReference"
+     * @param sql The SQL, with ? parameters
+     * @return The SQL, to be kept in a constant and passed to prepareStatement
+     */
+    public static String declare(String name, String sql) {
+        NAMES.putIfAbsent(sql, name);
+        return sql;
+    }
+    
+    /**
+     * Gets the name a statement was declared under
+     * @param sql The SQL
+     * @return The name, or null for SQL that was not declared
+     */
+    static String nameOf(String sql) {
+        return NAMES.get(sql);
+    }
+    
+    /**
+     * Gets all declared statements, e.g. for diagnostics
+     * @return Statement name -> SQL, sorted by name
+     */
+    public static Map<String, String> getStatements() {
+        Map<String, String> statements = new TreeMap<>();
+        for (Map.Entry<String, String> entry : NAMES.entrySet()) {
+            statements.put(entry.getValue(), entry.getKey());
+        }
+        return Collections.unmodifiableMap(statements);
+    }
+}
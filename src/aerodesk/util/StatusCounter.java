@@ -0,0 +1,190 @@
+package aerodesk.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Single-pass status counter for AeroDesk Pro
+ * Counts enum statuses (e.g. Flight.FlightStatus, Baggage.BaggageStatus) in a
+ * primitive long array indexed by ordinal, optionally bucketed by epoch day, so
+ * a metric needs one loop over the data with no boxing or per-status streams.
+ * Not thread-safe; build one per computation.
+ * @param <E> Status enum type
+ */
+public class StatusCounter<E extends Enum<E>> {
+    
+    private final Class<E> type;
+    private final int width;          // one slot per constant plus one for null status
+    private final boolean bucketed;
+    private final long firstDay;
+    private final int days;
+    private final long[] counts;      // [dayIndex * width + ordinal]
+    private long total;
+    
+    private StatusCounter(Class<E> type, boolean bucketed, long firstDay, int days) {
+        this.type = type;
+        this.width = type.getEnumConstants().length + 1;
+        this.bucketed = bucketed;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.counts = new long[width * days];
+    }
+    
+    /**
+     * Creates a counter without day buckets
+     * @param type Status enum class
+     * @return New counter
+     */
+    public static <E extends Enum<E>> StatusCounter<E> of(Class<E> type) {
+        return new StatusCounter<>(type, false, 0, 1);
+    }
+    
+    /**
+     * Creates a counter bucketed by day over [firstDay, firstDay + days)
+     * @param type Status enum class
+     * @param firstDay First day counted
+     * @param days Number of days counted
+     * @return New counter
+     */
+    public static <E extends Enum<E>> StatusCounter<E> forDays(Class<E> type, LocalDate firstDay, int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be at least 1");
+        }
+        return new StatusCounter<>(type, true, firstDay.toEpochDay(), days);
+    }
+    
+    /**
+     * Counts one status (counters without day buckets only)
+     * @param status The status, may be null
+     */
+    public void add(E status) {
+        if (bucketed) {
+            throw new IllegalStateException("Counter is bucketed by day; use add(LocalDateTime, status)");
+        }
+        counts[slot(status)]++;
+        total++;
+    }
+    
+    /**
+     * Counts one status at a point in time. Times outside the day window are ignored.
+     * @param time The time used for day bucketing
+     * @param status The status, may be null
+     * @return true if the status was counted
+     */
+    public boolean add(LocalDateTime time, E status) {
+        if (!bucketed) {
+            add(status);
+            return true;
+        }
+        if (time == null) {
+            return false;
+        }
+        long dayIndex = time.toLocalDate().toEpochDay() - firstDay;
+        if (dayIndex < 0 || dayIndex >= days) {
+            return false;
+        }
+        counts[(int) dayIndex * width + slot(status)]++;
+        total++;
+        return true;
+    }
+    
+    /**
+     * Gets the count of a status over all days
+     * @param status The status, or null for items without a status
+     * @return Count
+     */
+    public long get(E status) {
+        int slot = slot(status);
+        long sum = 0;
+        for (int d = 0; d < days; d++) {
+            sum += counts[d * width + slot];
+        }
+        return sum;
+    }
+    
+    /**
+     * Gets the count of a status on one day
+     * @param day The day
+     * @param status The status, or null for items without a status
+     * @return Count, or 0 if the day is outside the window
+     */
+    public long get(LocalDate day, E status) {
+        int dayIndex = dayIndex(day);
+        return dayIndex < 0 ? 0 : counts[dayIndex * width + slot(status)];
+    }
+    
+    /**
+     * Gets the combined count of several statuses over all days
+     * @param statuses The statuses
+     * @return Count
+     */
+    @SafeVarargs
+    public final long sum(E... statuses) {
+        long sum = 0;
+        for (E status : statuses) {
+            sum += get(status);
+        }
+        return sum;
+    }
+    
+    /**
+     * Gets the number of items counted
+     * @return Total count
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    /**
+     * Gets the number of items counted on one day
+     * @param day The day
+     * @return Total count for the day, or 0 if outside the window
+     */
+    public long getTotal(LocalDate day) {
+        int dayIndex = dayIndex(day);
+        if (dayIndex < 0) {
+            return 0;
+        }
+        long sum = 0;
+        int base = dayIndex * width;
+        for (int i = 0; i < width; i++) {
+            sum += counts[base + i];
+        }
+        return sum;
+    }
+    
+    /**
+     * Gets the share of a status in the total as a percentage
+     * @param status The status
+     * @return Percentage between 0 and 100, or 0 when nothing was counted
+     */
+    public double getPercentage(E status) {
+        return total > 0 ? get(status) * 100.0 / total : 0.0;
+    }
+    
+    /**
+     * Gets the counts over all days as a map (for display)
+     * @return Count per status, including statuses with zero count
+     */
+    public Map<E, Long> toMap() {
+        Map<E, Long> map = new EnumMap<>(type);
+        for (E status : type.getEnumConstants()) {
+            map.put(status, get(status));
+        }
+        return map;
+    }
+    
+    private int slot(E status) {
+        return status == null ? width - 1 : status.ordinal();
+    }
+    
+    private int dayIndex(LocalDate day) {
+        if (!bucketed) {
+            return 0;
+        }
+        long dayIndex = day.toEpochDay() - firstDay;
+        return dayIndex < 0 || dayIndex >= days ? -1 : (int) dayIndex;
+    }
+}
@@ -0,0 +1,383 @@
+package aerodesk.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application-wide task scheduler for AeroDesk Pro
+ * Replaces per-frame thread pools with one shared timer pool (platform threads)
+ * and a virtual-thread executor for blocking database and HTTP work.
+ * Tasks are registered by name against an owner and cancelled together when
+ * the owner is disposed.
+ */
+public class TaskScheduler {
+    private static TaskScheduler instance;
+    
+    private final ScheduledThreadPoolExecutor timerPool;
+    private final ExecutorService blockingExecutor;
+    private final Map<String, ScheduledTask> tasks;
+    private final AtomicInteger taskSequence = new AtomicInteger();
+    
+    private TaskScheduler() {
+        int timerThreads = ConfigManager.getInstance().getIntProperty("scheduler.timer.threads", 2);
+        this.timerPool = new ScheduledThreadPoolExecutor(Math.max(1, timerThreads), new NamedDaemonThreadFactory("aerodesk-timer-"));
+        this.timerPool.setRemoveOnCancelPolicy(true);
+        this.timerPool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.blockingExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("aerodesk-io-", 0).factory());
+        this.tasks = new ConcurrentHashMap<>();
+        MetricsRegistry.getInstance().gauge("scheduler.queued.timer.jobs", () -> timerPool.getQueue().size());
+        MetricsRegistry.getInstance().gauge("scheduler.active.timer.threads", timerPool::getActiveCount);
+        
+        FileLogger.getInstance().logInfo("Task scheduler started with " + timerPool.getCorePoolSize() + " timer threads");
+    }
+    
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+    
+    /**
+     * Schedules a short, non-blocking task that runs directly on a timer thread.
+     * Re-registering the same name for the same owner replaces the previous task.
+     * @param owner The component that owns the task (used for lifecycle cleanup)
+     * @param name The task name shown in statistics
+     * @param task The task to run
+     * @param initialDelay Delay before the first run
+     * @param period Period between run starts
+     * @param unit Time unit for delay and period
+     * @return The registered task name
+     */
+    public String scheduleAtFixedRate(Object owner, String name, Runnable task,
+                                      long initialDelay, long period, TimeUnit unit) {
+        return register(owner, name, task, initialDelay, period, unit, false);
+    }
+    
+    /**
+     * Schedules a blocking task (database or HTTP) that is dispatched from a timer
+     * thread onto a virtual thread. A run is skipped if the previous one has not
+     * finished yet, and the skip is counted as an overrun.
+     * @param owner The component that owns the task (used for lifecycle cleanup)
+     * @param name The task name shown in statistics
+     * @param task The task to run
+     * @param initialDelay Delay before the first run
+     * @param period Period between run starts
+     * @param unit Time unit for delay and period
+     * @return The registered task name
+     */
+    public String scheduleBlockingAtFixedRate(Object owner, String name, Runnable task,
+                                              long initialDelay, long period, TimeUnit unit) {
+        return register(owner, name, task, initialDelay, period, unit, true);
+    }
+    
+    /**
+     * Runs a one-off blocking task on a virtual thread
+     * @param name The task name used in error logs
+     * @param task The task to run
+     * @return Future for the submitted task
+     */
+    public Future<?> submitBlocking(String name, Runnable task) {
+        return blockingExecutor.submit(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                FileLogger.getInstance().logError("Blocking task '" + name + "' failed: " + e.getMessage());
+                throw e;
+            }
+        });
+    }
+    
+    /**
+     * Cancels a named task registered by the given owner
+     * @param owner The owning component
+     * @param name The task name
+     * @return true if a task was cancelled
+     */
+    public boolean cancel(Object owner, String name) {
+        ScheduledTask task = tasks.remove(qualify(owner, name));
+        if (task == null) {
+            return false;
+        }
+        task.cancel();
+        return true;
+    }
+    
+    /**
+     * Cancels every task registered by the given owner
+     * @param owner The owning component
+     * @return Number of tasks cancelled
+     */
+    public int cancelAll(Object owner) {
+        int cancelled = 0;
+        for (ScheduledTask task : new ArrayList<>(tasks.values())) {
+            if (task.owner == owner && tasks.remove(task.key, task)) {
+                task.cancel();
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            FileLogger.getInstance().logInfo("Cancelled " + cancelled + " scheduled tasks for " + owner.getClass().getSimpleName());
+        }
+        return cancelled;
+    }
+    
+    /**
+     * Gets run-time statistics for all registered tasks
+     * @return Snapshot of task statistics ordered by name
+     */
+    public List<TaskStats> getTaskStats() {
+        List<TaskStats> stats = new ArrayList<>();
+        for (ScheduledTask task : tasks.values()) {
+            stats.add(task.snapshot());
+        }
+        stats.sort(Comparator.comparing(TaskStats::getName));
+        return stats;
+    }
+    
+    /**
+     * Gets the number of timer jobs queued but not yet started
+     * @return Timer queue length
+     */
+    public int getQueuedTimerJobs() {
+        return timerPool.getQueue().size();
+    }
+    
+    /**
+     * Gets a formatted summary of scheduler statistics
+     * @return Statistics summary
+     */
+    public String getStatsSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("=== Scheduler Statistics ===\n");
+        summary.append("Registered tasks: ").append(tasks.size()).append("\n");
+        summary.append("Timer threads: ").append(timerPool.getPoolSize())
+               .append(", active: ").append(timerPool.getActiveCount()).append("\n\n");
+        for (TaskStats stats : getTaskStats()) {
+            summary.append(stats).append("\n");
+        }
+        return summary.toString();
+    }
+    
+    /**
+     * Shuts down the scheduler and cancels all tasks
+     */
+    public void shutdown() {
+        tasks.values().forEach(ScheduledTask::cancel);
+        tasks.clear();
+        timerPool.shutdown();
+        blockingExecutor.shutdown();
+        try {
+            if (!timerPool.awaitTermination(5, TimeUnit.SECONDS)) {
+                timerPool.shutdownNow();
+            }
+            if (!blockingExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                blockingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            timerPool.shutdownNow();
+            blockingExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        FileLogger.getInstance().logInfo("Task scheduler shutdown");
+    }
+    
+    private String register(Object owner, String name, Runnable runnable, long initialDelay,
+                            long period, TimeUnit unit, boolean blocking) {
+        String key = qualify(owner, name);
+        ScheduledTask task = new ScheduledTask(key, name, owner, runnable, unit.toNanos(period), blocking);
+        ScheduledTask previous = tasks.put(key, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        task.future = timerPool.scheduleAtFixedRate(task::fire, initialDelay, period, unit);
+        FileLogger.getInstance().logDebug("Scheduled task '" + name + "' every " + period + " " + unit.name().toLowerCase());
+        return name;
+    }
+    
+    private String qualify(Object owner, String name) {
+        return name + "@" + Integer.toHexString(System.identityHashCode(owner));
+    }
+    
+    /**
+     * A registered periodic task and its run-time counters
+     */
+    private final class ScheduledTask {
+        private final String key;
+        private final String name;
+        private final Object owner;
+        private final Runnable runnable;
+        private final long periodNanos;
+        private final boolean blocking;
+        private final int id = taskSequence.incrementAndGet();
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder overruns = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile long lastNanos;
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+        
+        ScheduledTask(String key, String name, Object owner, Runnable runnable, long periodNanos, boolean blocking) {
+            this.key = key;
+            this.name = name;
+            this.owner = owner;
+            this.runnable = runnable;
+            this.periodNanos = periodNanos;
+            this.blocking = blocking;
+        }
+        
+        void fire() {
+            if (cancelled) {
+                return;
+            }
+            if (!running.compareAndSet(false, true)) {
+                // Previous (blocking) run is still in progress
+                skipped.increment();
+                overruns.increment();
+                return;
+            }
+            if (blocking) {
+                try {
+                    blockingExecutor.execute(this::runOnce);
+                } catch (RuntimeException e) {
+                    running.set(false);
+                    FileLogger.getInstance().logError("Could not dispatch task '" + name + "': " + e.getMessage());
+                }
+            } else {
+                runOnce();
+            }
+        }
+        
+        void runOnce() {
+            long start = System.nanoTime();
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                // Never let an exception cancel the periodic schedule
+                failures.increment();
+                FileLogger.getInstance().logError("Scheduled task '" + name + "' failed: " + t.getMessage());
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                MetricsRegistry.getInstance().histogram("task." + name).record(elapsed);
+                runs.increment();
+                totalNanos.add(elapsed);
+                lastNanos = elapsed;
+                maxNanos.accumulateAndGet(elapsed, Math::max);
+                if (elapsed > periodNanos) {
+                    overruns.increment();
+                }
+                running.set(false);
+            }
+        }
+        
+        void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+        
+        TaskStats snapshot() {
+            long runCount = runs.sum();
+            return new TaskStats(name + (blocking ? " [io]" : "") + " #" + id,
+                                 owner.getClass().getSimpleName(),
+                                 TimeUnit.NANOSECONDS.toMillis(periodNanos),
+                                 runCount,
+                                 failures.sum(),
+                                 overruns.sum(),
+                                 skipped.sum(),
+                                 runCount > 0 ? totalNanos.sum() / runCount / 1_000_000.0 : 0.0,
+                                 lastNanos / 1_000_000.0,
+                                 maxNanos.get() / 1_000_000.0,
+                                 running.get());
+        }
+    }
+    
+    /**
+     * Immutable snapshot of a task's run-time statistics
+     */
+    public static final class TaskStats {
+        private final String name;
+        private final String owner;
+        private final long periodMillis;
+        private final long runs;
+        private final long failures;
+        private final long overruns;
+        private final long skipped;
+        private final double avgMillis;
+        private final double lastMillis;
+        private final double maxMillis;
+        private final boolean running;
+        
+        TaskStats(String name, String owner, long periodMillis, long runs, long failures, long overruns,
+                  long skipped, double avgMillis, double lastMillis, double maxMillis, boolean running) {
+            this.name = name;
+            this.owner = owner;
+            this.periodMillis = periodMillis;
+            this.runs = runs;
+            this.failures = failures;
+            this.overruns = overruns;
+            this.skipped = skipped;
+            this.avgMillis = avgMillis;
+            this.lastMillis = lastMillis;
+            this.maxMillis = maxMillis;
+            this.running = running;
+        }
+        
+        public String getName() { return name; }
+        public String getOwner() { return owner; }
+        public long getPeriodMillis() { return periodMillis; }
+        public long getRuns() { return runs; }
+        public long getFailures() { return failures; }
+        public long getOverruns() { return overruns; }
+        public long getSkipped() { return skipped; }
+        public double getAvgMillis() { return avgMillis; }
+        public double getLastMillis() { return lastMillis; }
+        public double getMaxMillis() { return maxMillis; }
+        public boolean isRunning() { return running; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s (%s): every %dms, runs=%d, avg=%.1fms, last=%.1fms, max=%.1fms, overruns=%d, skipped=%d, failures=%d",
+                               name, owner, periodMillis, runs, avgMillis, lastMillis, maxMillis, overruns, skipped, failures);
+        }
+    }
+    
+    /**
+     * Thread factory producing named daemon threads so timers never block JVM exit
+     */
+    private static final class NamedDaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+        
+        NamedDaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+        
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}